@@ -0,0 +1,56 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.integtests.resolve.http
+
+import org.gradle.integtests.fixtures.AbstractDependencyResolutionTest
+
+class HttpResumeDownloadIntegrationTest extends AbstractDependencyResolutionTest {
+    public void "resumes download of artifact when connection is dropped part way through"() {
+        server.start()
+
+        given:
+        def module = mavenRepo().module('group', 'projectA', '1.2').publish()
+        module.artifactFile.text = "some content " * 10000
+
+        and:
+        buildFile << """
+repositories {
+    maven { url "http://localhost:${server.port}/repo" }
+}
+configurations { compile }
+dependencies { compile 'group:projectA:1.2' }
+task retrieve(type: Sync) {
+    from configurations.compile
+    into 'libs'
+}
+"""
+
+        when:
+        server.expectHead('/repo/group/projectA/1.2/projectA-1.2.pom', module.pomFile)
+        server.expectGetMissing('/repo/group/projectA/1.2/projectA-1.2.pom.sha1')
+        server.expectGet('/repo/group/projectA/1.2/projectA-1.2.pom', module.pomFile)
+        server.expectHead('/repo/group/projectA/1.2/projectA-1.2.jar', module.artifactFile)
+        server.expectGetMissing('/repo/group/projectA/1.2/projectA-1.2.jar.sha1')
+        server.expectGetInterrupted('/repo/group/projectA/1.2/projectA-1.2.jar', module.artifactFile, 4096)
+        server.expectGetRange('/repo/group/projectA/1.2/projectA-1.2.jar', module.artifactFile)
+
+        then:
+        succeeds('retrieve')
+
+        and:
+        file('libs/projectA-1.2.jar').assertIsCopyOf(module.artifactFile)
+    }
+}
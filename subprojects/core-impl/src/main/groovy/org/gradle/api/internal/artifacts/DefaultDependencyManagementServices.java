@@ -45,15 +45,22 @@ import org.gradle.api.internal.artifacts.ivyservice.moduleconverter.*;
 import org.gradle.api.internal.artifacts.ivyservice.moduleconverter.dependencies.*;
 import org.gradle.api.internal.artifacts.ivyservice.projectmodule.DefaultProjectModuleRegistry;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.DefaultDependencyResolver;
+import org.gradle.api.internal.artifacts.ivyservice.resultcache.ResolutionInputsHasher;
+import org.gradle.api.internal.artifacts.ivyservice.resultcache.ResolvedGraphCache;
+import org.gradle.api.internal.artifacts.ivyservice.resultcache.ResolvedGraphCachingDependencyResolver;
 import org.gradle.api.internal.artifacts.mvnsettings.*;
 import org.gradle.api.internal.artifacts.repositories.DefaultBaseRepositoryFactory;
 import org.gradle.api.internal.artifacts.repositories.cachemanager.DownloadingRepositoryCacheManager;
 import org.gradle.api.internal.artifacts.repositories.cachemanager.LocalFileRepositoryCacheManager;
 import org.gradle.api.internal.artifacts.repositories.transport.RepositoryTransportFactory;
 import org.gradle.api.internal.externalresource.cached.ByUrlCachedExternalResourceIndex;
+import org.gradle.api.internal.externalresource.cached.ByUrlCachedResourceContentIndex;
 import org.gradle.api.internal.externalresource.ivy.ArtifactAtRepositoryCachedArtifactIndex;
+import org.gradle.api.internal.externalresource.ivy.ByChecksumCachedArtifactIndex;
 import org.gradle.api.internal.externalresource.local.LocallyAvailableResourceFinder;
 import org.gradle.api.internal.externalresource.local.ivy.LocallyAvailableResourceFinderFactory;
+import org.gradle.api.internal.externalresource.transport.http.HttpClientStatistics;
+import org.gradle.api.internal.externalresource.transport.http.SharedHttpConnectionPool;
 import org.gradle.api.internal.file.FileResolver;
 import org.gradle.api.internal.file.IdentityFileResolver;
 import org.gradle.api.internal.file.TmpDirTemporaryFileProvider;
@@ -191,9 +198,25 @@ public class DefaultDependencyManagementServices extends DefaultServiceRegistry
         );
     }
 
+    protected ByChecksumCachedArtifactIndex createArtifactChecksumIndex() {
+        return new ByChecksumCachedArtifactIndex(new File(get(ArtifactCacheMetaData.class).getCacheDir(), "artifact-by-checksum.bin"),
+                get(BuildCommencedTimeProvider.class),
+                get(CacheLockingManager.class)
+        );
+    }
+
     protected ByUrlCachedExternalResourceIndex createArtifactUrlCachedResolutionIndex() {
         return new ByUrlCachedExternalResourceIndex(
-                new File(get(ArtifactCacheMetaData.class).getCacheDir(), "artifact-at-url.bin"),
+                // The entries of 'artifact-at-url.bin' use Java serialization, and may still be in use by older Gradle versions that share this cache layout
+                new File(get(ArtifactCacheMetaData.class).getCacheDir(), "artifact-at-url-2.bin"),
+                get(BuildCommencedTimeProvider.class),
+                get(CacheLockingManager.class)
+        );
+    }
+
+    protected ByUrlCachedResourceContentIndex createResourceContentIndex() {
+        return new ByUrlCachedResourceContentIndex(
+                new File(get(ArtifactCacheMetaData.class).getCacheDir(), "resource-content.bin"),
                 get(BuildCommencedTimeProvider.class),
                 get(CacheLockingManager.class)
         );
@@ -229,7 +252,7 @@ public class DefaultDependencyManagementServices extends DefaultServiceRegistry
 
     protected LocallyAvailableResourceFinder<ArtifactRevisionId> createArtifactRevisionIdLocallyAvailableResourceFinder() {
         LocallyAvailableResourceFinderFactory finderFactory = new LocallyAvailableResourceFinderFactory(
-                get(ArtifactCacheMetaData.class), get(LocalMavenRepositoryLocator.class), get(ArtifactRevisionIdFileStore.class)
+                get(ArtifactCacheMetaData.class), get(LocalMavenRepositoryLocator.class), get(ArtifactRevisionIdFileStore.class), get(ByChecksumCachedArtifactIndex.class)
         );
         return finderFactory.create();
     }
@@ -240,7 +263,7 @@ public class DefaultDependencyManagementServices extends DefaultServiceRegistry
 
     protected DownloadingRepositoryCacheManager createDownloadingRepositoryCacheManager() {
         return new DownloadingRepositoryCacheManager("downloading", get(ArtifactRevisionIdFileStore.class), get(ByUrlCachedExternalResourceIndex.class),
-                new TmpDirTemporaryFileProvider(), get(CacheLockingManager.class));
+                get(ByChecksumCachedArtifactIndex.class), new TmpDirTemporaryFileProvider(), get(CacheLockingManager.class));
     }
 
     protected RepositoryTransportFactory createRepositoryTransportFactory() {
@@ -249,10 +272,16 @@ public class DefaultDependencyManagementServices extends DefaultServiceRegistry
                 get(LocalFileRepositoryCacheManager.class),
                 get(DownloadingRepositoryCacheManager.class),
                 new TmpDirTemporaryFileProvider(),
-                get(ByUrlCachedExternalResourceIndex.class)
+                get(ByUrlCachedExternalResourceIndex.class),
+                get(ByUrlCachedResourceContentIndex.class),
+                get(HttpClientStatistics.class)
         );
     }
 
+    protected HttpClientStatistics createHttpClientStatistics() {
+        return new HttpClientStatistics(SharedHttpConnectionPool.getInstance());
+    }
+
     protected ResolveIvyFactory createResolveIvyFactory() {
         StartParameter startParameter = get(StartParameter.class);
         StartParameterResolutionOverride startParameterResolutionOverride = new StartParameterResolutionOverride(startParameter);
@@ -268,6 +297,10 @@ public class DefaultDependencyManagementServices extends DefaultServiceRegistry
                 get(TopLevelDependencyManagementServices.class).get(InMemoryDependencyMetadataCache.class));
     }
 
+    protected ResolvedGraphCache createResolvedGraphCache() {
+        return new ResolvedGraphCache(get(CacheLockingManager.class));
+    }
+
     protected ArtifactDependencyResolver createArtifactDependencyResolver() {
         ArtifactDependencyResolver resolver = new DefaultDependencyResolver(
                 get(ResolveIvyFactory.class),
@@ -279,12 +312,19 @@ public class DefaultDependencyManagementServices extends DefaultServiceRegistry
                         get(PublishModuleDescriptorConverter.class)),
                 get(CacheLockingManager.class)
         );
+        if (!get(StartParameter.class).isRefreshDependencies()) {
+            resolver = new ResolvedGraphCachingDependencyResolver(
+                    resolver,
+                    new ResolutionInputsHasher(get(ArtifactCacheMetaData.class).getCacheDir().getAbsolutePath()),
+                    get(ResolvedGraphCache.class),
+                    get(CacheLockingManager.class),
+                    get(BuildCommencedTimeProvider.class)
+            );
+        }
         return new ErrorHandlingArtifactDependencyResolver(
                 new ShortcircuitEmptyConfigsArtifactDependencyResolver(
                         new SelfResolvingDependencyResolver(
-                                new CacheLockingArtifactDependencyResolver(
-                                        get(CacheLockingManager.class),
-                                        resolver))));
+                                resolver)));
     }
 
     private class DefaultDependencyResolutionServices implements DependencyResolutionServices {
@@ -114,6 +114,17 @@ public class DefaultResolvedArtifact implements ResolvedArtifact {
     public String getClassifier() {
         return extraAttributes.get(Dependency.CLASSIFIER);
     }
+
+    public Map<String, String> getExtraAttributes() {
+        return extraAttributes;
+    }
+
+    /**
+     * Returns the file of this artifact if it has already been resolved, or null if not.
+     */
+    public File getResolvedFile() {
+        return file;
+    }
     
     public File getFile() {
         if (file == null) {
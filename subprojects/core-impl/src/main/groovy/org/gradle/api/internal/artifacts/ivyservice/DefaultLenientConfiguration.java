@@ -72,6 +72,10 @@ public class DefaultLenientConfiguration implements ResolvedConfigurationBuilder
         firstLevelDependencies.put(moduleDependency, refersTo);
     }
 
+    public Map<ModuleDependency, ResolvedDependency> getFirstLevelDependencies() {
+        return firstLevelDependencies;
+    }
+
     public void addArtifact(ResolvedArtifact artifact) {
         artifacts.add(artifact);
     }
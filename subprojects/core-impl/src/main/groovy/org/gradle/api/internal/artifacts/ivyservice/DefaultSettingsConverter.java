@@ -22,10 +22,15 @@ import org.apache.ivy.util.Message;
 import org.gradle.internal.Factory;
 
 /**
+ * Creates the Ivy settings used for publishing and resolving.
+ *
+ * <p>Resolves may run concurrently, so each resolve is given its own settings, rather than replacing the resolvers of a single shared instance.</p>
+ *
  * @author Hans Dockter
  */
 public class DefaultSettingsConverter implements SettingsConverter {
     private final Factory<IvySettings> settingsFactory;
+    // Guarded by this
     private IvySettings publishSettings;
     private IvySettings resolveSettings;
 
@@ -34,7 +39,7 @@ public class DefaultSettingsConverter implements SettingsConverter {
         Message.setDefaultLogger(new IvyLoggingAdaper());
     }
 
-    public IvySettings convertForPublish() {
+    public synchronized IvySettings convertForPublish() {
         if (publishSettings == null) {
             publishSettings = settingsFactory.create();
         } else {
@@ -44,19 +49,13 @@ public class DefaultSettingsConverter implements SettingsConverter {
     }
 
     public IvySettings convertForResolve(DependencyResolver defaultResolver) {
-        if (resolveSettings == null) {
-            resolveSettings = settingsFactory.create();
-        } else {
-            resolveSettings.getResolvers().clear();
-        }
-
-        resolveSettings.addResolver(defaultResolver);
-        resolveSettings.setDefaultResolver(defaultResolver.getName());
-        
-        return resolveSettings;
+        IvySettings settings = settingsFactory.create();
+        settings.addResolver(defaultResolver);
+        settings.setDefaultResolver(defaultResolver.getName());
+        return settings;
     }
 
-    public IvySettings getForResolve() {
+    public synchronized IvySettings getForResolve() {
         if (resolveSettings == null) {
             resolveSettings = settingsFactory.create();
         }
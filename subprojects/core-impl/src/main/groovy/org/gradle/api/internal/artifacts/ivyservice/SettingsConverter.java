@@ -26,6 +26,9 @@ public interface SettingsConverter {
 
     IvySettings convertForPublish();
 
+    /**
+     * Creates new settings for a single resolve, with the given resolver as the default resolver. The settings are not shared with any other resolve.
+     */
     IvySettings convertForResolve(DependencyResolver defaultResolver);
 
     IvySettings getForResolve();
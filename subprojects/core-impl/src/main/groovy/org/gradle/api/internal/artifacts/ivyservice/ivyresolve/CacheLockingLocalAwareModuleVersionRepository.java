@@ -0,0 +1,70 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve;
+
+import org.apache.ivy.core.module.descriptor.Artifact;
+import org.gradle.api.internal.artifacts.ivyservice.BuildableArtifactResolveResult;
+import org.gradle.api.internal.artifacts.ivyservice.CacheLockingManager;
+
+/**
+ * A wrapper around a {@link LocalAwareModuleVersionRepository} that holds the lock on the cache for each request made to the repository.
+ *
+ * <p>The cache is locked only while a single module or artifact is being located, rather than for the whole resolve, so that configurations
+ * can be resolved by several threads at the same time. Remote requests made by the repository release the lock while they run, by way of
+ * {@link CacheLockingModuleVersionRepository}.</p>
+ */
+public class CacheLockingLocalAwareModuleVersionRepository implements LocalAwareModuleVersionRepository {
+    private final LocalAwareModuleVersionRepository repository;
+    private final CacheLockingManager cacheLockingManager;
+
+    public CacheLockingLocalAwareModuleVersionRepository(LocalAwareModuleVersionRepository repository, CacheLockingManager cacheLockingManager) {
+        this.repository = repository;
+        this.cacheLockingManager = cacheLockingManager;
+    }
+
+    public String getId() {
+        return repository.getId();
+    }
+
+    public String getName() {
+        return repository.getName();
+    }
+
+    public void getLocalDependency(final DependencyMetaData dependency, final BuildableModuleVersionMetaDataResolveResult result) {
+        cacheLockingManager.useCache(String.format("Resolve %s from cache of repository %s", dependency, getId()), new Runnable() {
+            public void run() {
+                repository.getLocalDependency(dependency, result);
+            }
+        });
+    }
+
+    public void getDependency(final DependencyMetaData dependency, final BuildableModuleVersionMetaDataResolveResult result) {
+        cacheLockingManager.useCache(String.format("Resolve %s using repository %s", dependency, getId()), new Runnable() {
+            public void run() {
+                repository.getDependency(dependency, result);
+            }
+        });
+    }
+
+    public void resolve(final Artifact artifact, final BuildableArtifactResolveResult result, final ModuleSource moduleSource) {
+        cacheLockingManager.useCache(String.format("Download %s using repository %s", artifact, getId()), new Runnable() {
+            public void run() {
+                repository.resolve(artifact, result, moduleSource);
+            }
+        });
+    }
+}
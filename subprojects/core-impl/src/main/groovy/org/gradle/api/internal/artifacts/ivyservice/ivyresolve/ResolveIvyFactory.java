@@ -59,6 +59,18 @@ public class ResolveIvyFactory {
         this.inMemoryCache = inMemoryCache;
     }
 
+    /**
+     * Creates the resolver chain for a single resolve. Resolves may run concurrently, and only hold the artifact cache lock for the following:
+     *
+     * <ul>
+     * <li>Each lookup of a module or artifact in the cache of a repository, and the matching cache update, using a {@link CacheLockingLocalAwareModuleVersionRepository}.
+     * Requests to a remote repository release the lock while they run, using a {@link CacheLockingModuleVersionRepository}.</li>
+     * <li>Each module or artifact requested by Ivy through the {@link LoopbackDependencyResolver}.</li>
+     * </ul>
+     *
+     * <p>Outside of the resolve, the lock is also held to download and store an artifact file, to visit the artifacts of a resolved configuration
+     * and to look up or store a cached dependency graph. Graph traversal and result building do not hold the lock.</p>
+     */
     public IvyAdapter create(ConfigurationInternal configuration, Iterable<? extends ResolutionAwareRepository> repositories) {
         UserResolverChain userResolverChain = new UserResolverChain();
         ResolutionRules resolutionRules = configuration.getResolutionStrategy().getResolutionRules();
@@ -86,6 +98,7 @@ public class ResolveIvyFactory {
                 localAwareRepository = new CachingModuleVersionRepository(wrapperRepository, moduleResolutionCache, moduleDescriptorCache, artifactAtRepositoryCachedResolutionIndex,
                         configuration.getResolutionStrategy().getCachePolicy(), timeProvider);
             }
+            localAwareRepository = new CacheLockingLocalAwareModuleVersionRepository(localAwareRepository, cacheLockingManager);
             if (moduleVersionRepository.isDynamicResolveMode()) {
                 localAwareRepository = new IvyDynamicResolveModuleVersionRepository(localAwareRepository);
             }
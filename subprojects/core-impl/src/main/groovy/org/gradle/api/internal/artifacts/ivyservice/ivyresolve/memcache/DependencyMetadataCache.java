@@ -22,16 +22,16 @@ import org.gradle.api.internal.artifacts.ivyservice.BuildableArtifactResolveResu
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.BuildableModuleVersionMetaDataResolveResult;
 
 import java.io.File;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
 * By Szczepan Faber on 4/19/13
 */
 class DependencyMetadataCache {
-    private final Map<ModuleVersionSelector, CachedModuleVersionResult> localMetaData = new HashMap<ModuleVersionSelector, CachedModuleVersionResult>();
-    private final Map<ModuleVersionSelector, CachedModuleVersionResult> metaData = new HashMap<ModuleVersionSelector, CachedModuleVersionResult>();
-    private final Map<ArtifactIdentifier, File> artifacts = new HashMap<ArtifactIdentifier, File>();
+    private final Map<ModuleVersionSelector, CachedModuleVersionResult> localMetaData = new ConcurrentHashMap<ModuleVersionSelector, CachedModuleVersionResult>();
+    private final Map<ModuleVersionSelector, CachedModuleVersionResult> metaData = new ConcurrentHashMap<ModuleVersionSelector, CachedModuleVersionResult>();
+    private final Map<ArtifactIdentifier, File> artifacts = new ConcurrentHashMap<ArtifactIdentifier, File>();
     private DependencyMetadataCacheStats stats;
 
     DependencyMetadataCache(DependencyMetadataCacheStats stats) {
@@ -52,7 +52,7 @@ class DependencyMetadataCache {
             return false;
         }
         fromCache.supply(result);
-        stats.metadataServed++;
+        stats.metadataServed.incrementAndGet();
         return true;
     }
 
@@ -75,13 +75,16 @@ class DependencyMetadataCache {
         File fromCache = artifacts.get(id);
         if (fromCache != null) {
             result.resolved(fromCache);
-            stats.artifactsServed++;
+            stats.artifactsServed.incrementAndGet();
             return true;
         }
         return false;
     }
 
     public void newArtifact(ArtifactIdentifier id, BuildableArtifactResolveResult result) {
-        artifacts.put(id, result.getFile());
+        File file = result.getFile();
+        if (file != null) {
+            artifacts.put(id, file);
+        }
     }
 }
\ No newline at end of file
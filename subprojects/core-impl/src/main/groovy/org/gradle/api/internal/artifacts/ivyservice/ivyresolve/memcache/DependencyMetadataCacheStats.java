@@ -16,14 +16,17 @@
 
 package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.memcache;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
 * By Szczepan Faber on 4/19/13
 */
 class DependencyMetadataCacheStats {
-    int cacheInstances;
-    int reposWrapped;
-    int metadataServed;
-    int artifactsServed;
+    // The served counts are updated by the resolving threads without holding any lock
+    final AtomicInteger cacheInstances = new AtomicInteger();
+    final AtomicInteger reposWrapped = new AtomicInteger();
+    final AtomicInteger metadataServed = new AtomicInteger();
+    final AtomicInteger artifactsServed = new AtomicInteger();
     public String toString() {
         return String.format(
                 "Repos cached: %s, cache instances: %s, modules served from cache: %s, artifacts: %s",
@@ -37,17 +37,17 @@ public class InMemoryDependencyMetadataCache implements Stoppable {
 
     final DependencyMetadataCacheStats stats = new DependencyMetadataCacheStats();
 
-    public LocalAwareModuleVersionRepository cached(LocalAwareModuleVersionRepository input) {
+    public synchronized LocalAwareModuleVersionRepository cached(LocalAwareModuleVersionRepository input) {
         if ("false".equalsIgnoreCase(System.getProperty(TOGGLE_PROPERTY))) {
             return input;
         }
 
         DependencyMetadataCache dataCache = cachePerRepo.get(input.getId());
-        stats.reposWrapped++;
+        stats.reposWrapped.incrementAndGet();
         if (dataCache == null) {
             LOG.debug("Creating new in-memory cache for repo '{}' [{}].", input.getName(), input.getId());
             dataCache = new DependencyMetadataCache(stats);
-            stats.cacheInstances++;
+            stats.cacheInstances.incrementAndGet();
             cachePerRepo.put(input.getId(), dataCache);
         } else {
             LOG.debug("Reusing in-memory cache for repo '{}' [{}].", input.getName(), input.getId());
@@ -55,7 +55,7 @@ public class InMemoryDependencyMetadataCache implements Stoppable {
         return new CachedRepository(dataCache, input, stats);
     }
 
-    public void stop() {
+    public synchronized void stop() {
         cachePerRepo.clear();
         LOG.info("In-memory dependency metadata cache closed. {}", stats);
     }
@@ -15,6 +15,8 @@
  */
 package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser;
 
+import com.google.common.collect.MapMaker;
+import org.apache.commons.io.IOUtils;
 import org.apache.ivy.core.IvyContext;
 import org.apache.ivy.core.module.descriptor.*;
 import org.apache.ivy.core.module.descriptor.Configuration.Visibility;
@@ -27,12 +29,12 @@ import org.apache.ivy.plugins.namespace.NameSpaceHelper;
 import org.apache.ivy.plugins.parser.ModuleDescriptorParser;
 import org.apache.ivy.plugins.parser.ParserSettings;
 import org.apache.ivy.plugins.parser.m2.PomDependencyMgt;
-import org.apache.ivy.plugins.parser.m2.PomReader;
 import org.apache.ivy.plugins.repository.Resource;
 import org.apache.ivy.plugins.repository.url.URLResource;
 import org.apache.ivy.plugins.resolver.DependencyResolver;
 import org.apache.ivy.util.Message;
 import org.gradle.internal.UncheckedException;
+import org.gradle.util.hash.HashUtil;
 import org.xml.sax.SAXException;
 
 import java.io.File;
@@ -49,10 +51,16 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * This a straight copy of org.apache.ivy.plugins.parser.m2.PomModuleDescriptorParser, with one change: we do NOT attempt to retrieve source and javadoc artifacts when parsing the POM. This cuts the
- * number of remote call in half to resolve a module.
+ * This a straight copy of org.apache.ivy.plugins.parser.m2.PomModuleDescriptorParser, with these changes:
+ * <ul>
+ * <li>We do NOT attempt to retrieve source and javadoc artifacts when parsing the POM. This cuts the number of remote call in half to resolve a module.</li>
+ * <li>The POM is read using a streaming {@link PomModel} rather than a DOM. The model of each distinct POM content is parsed once and shared, so that a
+ * parent or imported POM used by many modules is parsed only once for the lifetime of this process.</li>
+ * </ul>
  */
 public final class GradlePomModuleDescriptorParser implements ModuleDescriptorParser {
+    private static final Map<String, PomModel> PARSED_POMS = new MapMaker().softValues().makeMap();
+
     public void toIvyFile(InputStream is, Resource res, File destFile, ModuleDescriptor md)
             throws ParseException, IOException {
         throw new UnsupportedOperationException();
@@ -88,17 +96,16 @@ public final class GradlePomModuleDescriptorParser implements ModuleDescriptorPa
         GradlePomModuleDescriptorBuilder mdBuilder = new GradlePomModuleDescriptorBuilder(this, res, ivySettings);
 
         try {
-            PomReader domReader = new PomReader(descriptorURL, res);
+            PomModelReader domReader = new PomModelReader(readModel(descriptorURL, res));
             domReader.setProperty("parent.version", domReader.getParentVersion());
             domReader.setProperty("parent.groupId", domReader.getParentGroupId());
             domReader.setProperty("project.parent.version", domReader.getParentVersion());
             domReader.setProperty("project.parent.groupId", domReader.getParentGroupId());
 
-            Map pomProperties = domReader.getPomProperties();
-            for (Object o : pomProperties.entrySet()) {
-                Map.Entry prop = (Map.Entry) o;
-                domReader.setProperty((String) prop.getKey(), (String) prop.getValue());
-                mdBuilder.addProperty((String) prop.getKey(), (String) prop.getValue());
+            Map<String, String> pomProperties = domReader.getPomProperties();
+            for (Map.Entry<String, String> prop : pomProperties.entrySet()) {
+                domReader.setProperty(prop.getKey(), prop.getValue());
+                mdBuilder.addProperty(prop.getKey(), prop.getValue());
             }
 
             ModuleDescriptor parentDescr = null;
@@ -199,8 +206,7 @@ public final class GradlePomModuleDescriptorParser implements ModuleDescriptorPa
                     }
                 }
 
-                for (Object o : domReader.getDependencyMgt()) {
-                    PomDependencyMgt dep = (PomDependencyMgt) o;
+                for (PomDependencyMgt dep : domReader.getDependencyMgt()) {
                     if ("import".equals(dep.getScope())) {
                         ModuleRevisionId importModRevID = ModuleRevisionId.newInstance(
                                 dep.getGroupId(),
@@ -225,8 +231,7 @@ public final class GradlePomModuleDescriptorParser implements ModuleDescriptorPa
                     }
                 }
 
-                for (Object o : domReader.getDependencies()) {
-                    PomReader.PomDependencyData dep = (PomReader.PomDependencyData) o;
+                for (PomModelReader.PomDependencyData dep : domReader.getDependencies()) {
                     mdBuilder.addDependency(dep);
                 }
 
@@ -236,8 +241,7 @@ public final class GradlePomModuleDescriptorParser implements ModuleDescriptorPa
                     }
                 }
 
-                for (Object o : domReader.getPlugins()) {
-                    PomReader.PomPluginElement plugin = (PomReader.PomPluginElement) o;
+                for (PomDependencyMgt plugin : domReader.getPlugins()) {
                     mdBuilder.addPlugin(plugin);
                 }
 
@@ -250,6 +254,23 @@ public final class GradlePomModuleDescriptorParser implements ModuleDescriptorPa
         return mdBuilder.getModuleDescriptor();
     }
 
+    private PomModel readModel(URL descriptorURL, Resource res) throws IOException, SAXException {
+        byte[] content;
+        InputStream inputStream = descriptorURL.openStream();
+        try {
+            content = IOUtils.toByteArray(inputStream);
+        } finally {
+            inputStream.close();
+        }
+        String key = HashUtil.sha1(content).asHexString();
+        PomModel model = PARSED_POMS.get(key);
+        if (model == null) {
+            model = PomModel.parse(content, res.getName());
+            PARSED_POMS.put(key, model);
+        }
+        return model;
+    }
+
     private ResolvedModuleRevision parseOtherPom(ParserSettings ivySettings,
                                                  ModuleRevisionId parentModRevID) throws ParseException {
         DependencyDescriptor dd = new DefaultDependencyDescriptor(parentModRevID, true);
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser;
+
+import org.apache.ivy.plugins.parser.m2.PomModuleDescriptorParser;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UnsupportedEncodingException;
+import java.util.*;
+
+/**
+ * The content of a POM file, as read from the file. Property references are not replaced, as their values depend on the parent POMs.
+ *
+ * <p>Instances are immutable, and so can be shared by any number of {@link PomModelReader}s. The file is read using a streaming parser, which only
+ * retains the elements used by {@link GradlePomModuleDescriptorParser}. The same element selection rules as Ivy's DOM-based {@code PomReader} are
+ * used, where only the first occurrence of a single-valued element is considered.</p>
+ */
+public class PomModel {
+    private static final String M2_ENTITIES = "m2-entities.ent";
+    private static final String DOCTYPE = "<!DOCTYPE project SYSTEM \"" + M2_ENTITIES + "\">\n";
+    private static final SAXParserFactory PARSER_FACTORY = SAXParserFactory.newInstance();
+
+    private final Map<String, String> fields = new HashMap<String, String>();
+    private final Map<String, String> properties = new LinkedHashMap<String, String>();
+    private final List<Dependency> dependencies = new ArrayList<Dependency>();
+    private final List<Dependency> dependencyManagement = new ArrayList<Dependency>();
+    private final List<Dependency> plugins = new ArrayList<Dependency>();
+    private final List<License> licenses = new ArrayList<License>();
+    private boolean hasParent;
+    private boolean hasRelocation;
+
+    private PomModel() {
+    }
+
+    /**
+     * Reads the given POM content.
+     */
+    public static PomModel parse(byte[] content, String resourceName) throws IOException, SAXException {
+        PomModel model = new PomModel();
+        SAXParser parser;
+        try {
+            synchronized (PARSER_FACTORY) {
+                parser = PARSER_FACTORY.newSAXParser();
+            }
+        } catch (ParserConfigurationException e) {
+            throw new SAXException(e);
+        }
+        InputSource source = new InputSource(new ByteArrayInputStream(addDocType(content)));
+        source.setSystemId(resourceName);
+        parser.parse(source, model.new ContentHandler(resourceName));
+        return model;
+    }
+
+    /**
+     * Declares the entities commonly used in POM files, such as HTML character entities, in the same way as Ivy's {@code PomReader}.
+     */
+    private static byte[] addDocType(byte[] content) throws UnsupportedEncodingException {
+        String start = new String(content, 0, Math.min(content.length, 1024), "ISO-8859-1");
+        if (start.contains("<!DOCTYPE")) {
+            return content;
+        }
+        int insertAt = 0;
+        if (start.startsWith("\u00ef\u00bb\u00bf")) {
+            insertAt = 3;
+        }
+        if (start.startsWith("<?xml", insertAt)) {
+            int endOfDeclaration = start.indexOf("?>", insertAt);
+            if (endOfDeclaration < 0) {
+                return content;
+            }
+            insertAt = endOfDeclaration + 2;
+        }
+        byte[] docType = DOCTYPE.getBytes("ISO-8859-1");
+        byte[] result = new byte[content.length + docType.length];
+        System.arraycopy(content, 0, result, 0, insertAt);
+        System.arraycopy(docType, 0, result, insertAt, docType.length);
+        System.arraycopy(content, insertAt, result, insertAt + docType.length, content.length - insertAt);
+        return result;
+    }
+
+    /**
+     * Returns the text of the element with the given path relative to the project element, eg {@code parent/groupId}. Returns null when the element is
+     * not present.
+     */
+    public String getField(String path) {
+        return fields.get(path);
+    }
+
+    public boolean hasParent() {
+        return hasParent;
+    }
+
+    public boolean hasRelocation() {
+        return hasRelocation;
+    }
+
+    public Map<String, String> getProperties() {
+        return Collections.unmodifiableMap(properties);
+    }
+
+    public List<Dependency> getDependencies() {
+        return Collections.unmodifiableList(dependencies);
+    }
+
+    public List<Dependency> getDependencyManagement() {
+        return Collections.unmodifiableList(dependencyManagement);
+    }
+
+    public List<Dependency> getPlugins() {
+        return Collections.unmodifiableList(plugins);
+    }
+
+    public List<License> getLicenses() {
+        return Collections.unmodifiableList(licenses);
+    }
+
+    /**
+     * A dependency, managed dependency or plugin element.
+     */
+    public static class Dependency {
+        private final Map<String, String> fields = new HashMap<String, String>();
+        private List<String[]> exclusions;
+
+        /**
+         * Returns the text of the given child element, or null when not present.
+         */
+        public String getField(String name) {
+            return fields.get(name);
+        }
+
+        /**
+         * Returns the (groupId, artifactId) pairs of the exclusions, or null when there is no exclusions element.
+         */
+        public List<String[]> getExclusions() {
+            return exclusions;
+        }
+    }
+
+    public static class License {
+        private String name;
+        private String url;
+
+        public String getName() {
+            return name;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+    }
+
+    private static class Element {
+        final Element parent;
+        final String name;
+        final String path;
+        final boolean selected;
+        final Set<String> childNames = new HashSet<String>();
+        final StringBuilder text = new StringBuilder();
+
+        Element(Element parent, String name, String path, boolean selected) {
+            this.parent = parent;
+            this.name = name;
+            this.path = path;
+            this.selected = selected;
+        }
+    }
+
+    private class ContentHandler extends DefaultHandler {
+        private final String resourceName;
+        private Element current;
+        private Dependency dependency;
+        private String[] exclusion;
+        private License license;
+
+        private ContentHandler(String resourceName) {
+            this.resourceName = resourceName;
+        }
+
+        @Override
+        public InputSource resolveEntity(String publicId, String systemId) throws IOException, SAXException {
+            if (systemId != null && systemId.endsWith(M2_ENTITIES)) {
+                InputStream entities = PomModuleDescriptorParser.class.getResourceAsStream(M2_ENTITIES);
+                if (entities != null) {
+                    return new InputSource(entities);
+                }
+                return new InputSource(new StringReader(""));
+            }
+            return null;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+            if (current == null) {
+                if (!"project".equals(qName) && !"model".equals(qName)) {
+                    throw new SAXParseException("project must be the root tag", resourceName, resourceName, 0, 0);
+                }
+                current = new Element(null, qName, "", true);
+                return;
+            }
+
+            boolean first = current.childNames.add(qName);
+            String path = current.path.length() == 0 ? qName : current.path + "/" + qName;
+            boolean listItem = isListItem(path);
+            boolean selected = current.selected && (first || listItem);
+            current = new Element(current, qName, path, selected);
+            if (!selected) {
+                return;
+            }
+
+            if (path.equals("parent")) {
+                hasParent = true;
+            } else if (path.equals("distributionManagement/relocation")) {
+                hasRelocation = true;
+            } else if (path.equals("dependencies/dependency")) {
+                dependency = new Dependency();
+                dependencies.add(dependency);
+            } else if (path.equals("dependencyManagement/dependencies/dependency")) {
+                dependency = new Dependency();
+                dependencyManagement.add(dependency);
+            } else if (path.equals("build/plugins/plugin")) {
+                dependency = new Dependency();
+                plugins.add(dependency);
+            } else if (path.endsWith("dependency/exclusions") && dependency != null) {
+                dependency.exclusions = new ArrayList<String[]>();
+            } else if (path.endsWith("dependency/exclusions/exclusion") && dependency != null && dependency.exclusions != null) {
+                exclusion = new String[2];
+            } else if (current.parent.path.equals("licenses")) {
+                license = new License();
+            }
+        }
+
+        private boolean isListItem(String path) {
+            return path.equals("dependencies/dependency")
+                    || path.equals("dependencyManagement/dependencies/dependency")
+                    || path.equals("build/plugins/plugin")
+                    || path.endsWith("dependency/exclusions/exclusion")
+                    || isChildOf(path, "licenses")
+                    || isChildOf(path, "properties");
+        }
+
+        private boolean isChildOf(String path, String parentPath) {
+            return path.startsWith(parentPath + "/") && path.indexOf('/', parentPath.length() + 1) < 0;
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            if (current != null && current.selected) {
+                current.text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            Element element = current;
+            current = element.parent;
+            if (!element.selected || current == null) {
+                return;
+            }
+
+            String path = element.path;
+            String text = element.text.toString();
+            String parentPath = current.path;
+            if (parentPath.equals("properties")) {
+                properties.put(element.name, text);
+            } else if (parentPath.equals("") || parentPath.equals("parent") || parentPath.equals("distributionManagement/relocation")) {
+                fields.put(path, text);
+            } else if (parentPath.endsWith("dependency/exclusions/exclusion")) {
+                if (exclusion != null && element.name.equals("groupId")) {
+                    exclusion[0] = text;
+                } else if (exclusion != null && element.name.equals("artifactId")) {
+                    exclusion[1] = text;
+                }
+            } else if (path.endsWith("dependency/exclusions/exclusion")) {
+                if (exclusion != null && exclusion[0] != null && exclusion[1] != null) {
+                    dependency.exclusions.add(exclusion);
+                }
+                exclusion = null;
+            } else if (parentPath.equals("dependencies/dependency") || parentPath.equals("dependencyManagement/dependencies/dependency") || parentPath.equals("build/plugins/plugin")) {
+                dependency.fields.put(element.name, text);
+            } else if (path.equals("dependencies/dependency") || path.equals("dependencyManagement/dependencies/dependency") || path.equals("build/plugins/plugin")) {
+                dependency = null;
+            } else if (isChildOf(parentPath, "licenses")) {
+                if (element.name.equals("name")) {
+                    license.name = text;
+                } else if (element.name.equals("url")) {
+                    license.url = text;
+                }
+            } else if (parentPath.equals("licenses")) {
+                if (license.name != null || license.url != null) {
+                    licenses.add(license);
+                }
+                license = null;
+            }
+        }
+    }
+}
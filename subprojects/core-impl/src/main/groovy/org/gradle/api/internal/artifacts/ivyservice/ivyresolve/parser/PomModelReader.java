@@ -0,0 +1,222 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser;
+
+import org.apache.ivy.core.IvyPatternHelper;
+import org.apache.ivy.core.module.descriptor.License;
+import org.apache.ivy.core.module.id.ModuleId;
+import org.apache.ivy.core.module.id.ModuleRevisionId;
+import org.apache.ivy.plugins.parser.m2.PomDependencyMgt;
+
+import java.util.*;
+
+/**
+ * Provides access to the content of a POM, with property references replaced. A replacement for Ivy's DOM-based {@code PomReader}, which reads from a
+ * shared {@link PomModel}.
+ */
+public class PomModelReader {
+    private final PomModel model;
+    private final Map<String, String> properties = new HashMap<String, String>();
+
+    public PomModelReader(PomModel model) {
+        this.model = model;
+    }
+
+    public void setProperty(String property, String value) {
+        properties.put(property, value);
+    }
+
+    public Map<String, String> getPomProperties() {
+        return model.getProperties();
+    }
+
+    public boolean hasParent() {
+        return model.hasParent();
+    }
+
+    public String getGroupId() {
+        return replaceProps(firstNonNull(model.getField("groupId"), model.getField("parent/groupId")));
+    }
+
+    public String getParentGroupId() {
+        return replaceProps(firstNonNull(model.getField("parent/groupId"), model.getField("groupId")));
+    }
+
+    public String getArtifactId() {
+        return replaceProps(model.getField("artifactId"));
+    }
+
+    public String getParentArtifactId() {
+        return replaceProps(firstNonNull(model.getField("parent/artifactId"), model.getField("artifactId")));
+    }
+
+    public String getVersion() {
+        return replaceProps(firstNonNull(model.getField("version"), model.getField("parent/version")));
+    }
+
+    public String getParentVersion() {
+        return replaceProps(firstNonNull(model.getField("parent/version"), model.getField("version")));
+    }
+
+    public String getPackaging() {
+        return firstNonNull(model.getField("packaging"), "jar");
+    }
+
+    public String getHomePage() {
+        return firstNonNull(model.getField("url"), "");
+    }
+
+    public String getDescription() {
+        return firstNonNull(model.getField("description"), "").trim();
+    }
+
+    public License[] getLicenses() {
+        List<License> licenses = new ArrayList<License>();
+        for (PomModel.License license : model.getLicenses()) {
+            licenses.add(new License(firstNonNull(license.getName(), "Unknown License"), license.getUrl()));
+        }
+        return licenses.toArray(new License[licenses.size()]);
+    }
+
+    public ModuleRevisionId getRelocation() {
+        if (!model.hasRelocation()) {
+            return null;
+        }
+        String groupId = model.getField("distributionManagement/relocation/groupId");
+        String artifactId = model.getField("distributionManagement/relocation/artifactId");
+        String version = model.getField("distributionManagement/relocation/version");
+        return ModuleRevisionId.newInstance(
+                groupId == null ? getGroupId() : groupId,
+                artifactId == null ? getArtifactId() : artifactId,
+                version == null ? getVersion() : version);
+    }
+
+    public List<PomDependencyData> getDependencies() {
+        List<PomDependencyData> dependencies = new ArrayList<PomDependencyData>();
+        for (PomModel.Dependency dependency : model.getDependencies()) {
+            dependencies.add(new PomDependencyData(dependency));
+        }
+        return dependencies;
+    }
+
+    public List<PomDependencyMgt> getDependencyMgt() {
+        List<PomDependencyMgt> dependencies = new ArrayList<PomDependencyMgt>();
+        for (PomModel.Dependency dependency : model.getDependencyManagement()) {
+            dependencies.add(new PomDependencyMgtElement(dependency));
+        }
+        return dependencies;
+    }
+
+    public List<PomDependencyMgt> getPlugins() {
+        List<PomDependencyMgt> plugins = new ArrayList<PomDependencyMgt>();
+        for (PomModel.Dependency plugin : model.getPlugins()) {
+            plugins.add(new PomPluginElement(plugin));
+        }
+        return plugins;
+    }
+
+    private String replaceProps(String value) {
+        if (value == null) {
+            return null;
+        }
+        return IvyPatternHelper.substituteVariables(value, properties).trim();
+    }
+
+    private static String firstNonNull(String value, String defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    public class PomDependencyMgtElement implements PomDependencyMgt {
+        protected final PomModel.Dependency dependency;
+
+        private PomDependencyMgtElement(PomModel.Dependency dependency) {
+            this.dependency = dependency;
+        }
+
+        public String getGroupId() {
+            return replaceProps(dependency.getField("groupId"));
+        }
+
+        public String getArtifactId() {
+            return replaceProps(dependency.getField("artifactId"));
+        }
+
+        public String getVersion() {
+            return replaceProps(dependency.getField("version"));
+        }
+
+        public String getScope() {
+            return replaceProps(dependency.getField("scope"));
+        }
+
+        public List<ModuleId> getExcludedModules() {
+            if (dependency.getExclusions() == null) {
+                return Collections.emptyList();
+            }
+            List<ModuleId> exclusions = new LinkedList<ModuleId>();
+            for (String[] exclusion : dependency.getExclusions()) {
+                exclusions.add(ModuleId.newInstance(replaceProps(exclusion[0]), replaceProps(exclusion[1])));
+            }
+            return exclusions;
+        }
+    }
+
+    public class PomDependencyData extends PomDependencyMgtElement {
+        private PomDependencyData(PomModel.Dependency dependency) {
+            super(dependency);
+        }
+
+        public String getClassifier() {
+            return replaceProps(dependency.getField("classifier"));
+        }
+
+        public String getType() {
+            return replaceProps(dependency.getField("type"));
+        }
+
+        public boolean isOptional() {
+            return Boolean.valueOf(dependency.getField("optional"));
+        }
+    }
+
+    public class PomPluginElement implements PomDependencyMgt {
+        private final PomModel.Dependency plugin;
+
+        private PomPluginElement(PomModel.Dependency plugin) {
+            this.plugin = plugin;
+        }
+
+        public String getGroupId() {
+            return replaceProps(plugin.getField("groupId"));
+        }
+
+        public String getArtifactId() {
+            return replaceProps(plugin.getField("artifactId"));
+        }
+
+        public String getVersion() {
+            return replaceProps(plugin.getField("version"));
+        }
+
+        public String getScope() {
+            return null;
+        }
+
+        public List<ModuleId> getExcludedModules() {
+            return Collections.emptyList();
+        }
+    }
+}
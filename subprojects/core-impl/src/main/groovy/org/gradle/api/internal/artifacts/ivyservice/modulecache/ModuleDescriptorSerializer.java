@@ -0,0 +1,426 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.artifacts.ivyservice.modulecache;
+
+import org.apache.ivy.core.module.descriptor.*;
+import org.apache.ivy.core.module.id.ArtifactId;
+import org.apache.ivy.core.module.id.ModuleId;
+import org.apache.ivy.core.module.id.ModuleRevisionId;
+import org.apache.ivy.plugins.matcher.*;
+import org.gradle.messaging.serialize.DataStreamBackedSerializer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Writes and reads a module descriptor in a compact binary format, so that a cached descriptor can be loaded without parsing ivy.xml.
+ *
+ * <p>The format covers the parts of a descriptor that {@link org.gradle.api.internal.artifacts.ivyservice.IvyXmlModuleDescriptorWriter} writes,
+ * except for inherited descriptors, dependency mediators, custom namespaces and pattern matchers other than exact and regexp. Use {@link #canSerialize(ModuleDescriptor)}
+ * to check whether a descriptor can be written.</p>
+ */
+public class ModuleDescriptorSerializer extends DataStreamBackedSerializer<ModuleDescriptor> {
+    /**
+     * Should be incremented whenever the format changes. Entries written with any other version are ignored.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final Map<String, PatternMatcher> MATCHERS = new HashMap<String, PatternMatcher>();
+
+    static {
+        addMatcher(ExactPatternMatcher.INSTANCE);
+        addMatcher(RegexpPatternMatcher.INSTANCE);
+        addMatcher(ExactOrRegexpPatternMatcher.INSTANCE);
+    }
+
+    private static void addMatcher(PatternMatcher matcher) {
+        MATCHERS.put(matcher.getName(), matcher);
+    }
+
+    public boolean canSerialize(ModuleDescriptor md) {
+        if (md.getInheritedDescriptors().length > 0 || !md.getAllDependencyDescriptorMediators().getAllRules().isEmpty()) {
+            return false;
+        }
+        if (md instanceof DefaultModuleDescriptor) {
+            DefaultModuleDescriptor dmd = (DefaultModuleDescriptor) md;
+            if (dmd.getNamespace() != null && !dmd.getNamespace().getName().equals("system")) {
+                return false;
+            }
+        }
+        for (ExcludeRule rule : md.getAllExcludeRules()) {
+            if (!MATCHERS.containsKey(rule.getMatcher().getName())) {
+                return false;
+            }
+        }
+        for (DependencyDescriptor dependency : md.getDependencies()) {
+            for (IncludeRule rule : dependency.getAllIncludeRules()) {
+                if (!MATCHERS.containsKey(rule.getMatcher().getName())) {
+                    return false;
+                }
+            }
+            for (ExcludeRule rule : dependency.getAllExcludeRules()) {
+                if (!MATCHERS.containsKey(rule.getMatcher().getName())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void write(DataOutput output, ModuleDescriptor md) throws IOException {
+        output.writeInt(FORMAT_VERSION);
+        ModuleRevisionId id = md.getModuleRevisionId();
+        ModuleRevisionId resolvedId = md.getResolvedModuleRevisionId();
+        writeString(output, id.getOrganisation());
+        writeString(output, id.getName());
+        writeString(output, resolvedId.getBranch());
+        writeString(output, resolvedId.getRevision());
+        writeMap(output, id.getQualifiedExtraAttributes());
+        writeString(output, md.getStatus());
+        output.writeLong(md.getResolvedPublicationDate().getTime());
+        output.writeBoolean(md.isDefault());
+        writeMap(output, md.getExtraAttributesNamespaces());
+        writeString(output, md.getHomePage());
+        writeString(output, md.getDescription());
+        writeMap(output, md.getExtraInfo());
+
+        License[] licenses = md.getLicenses();
+        output.writeInt(licenses.length);
+        for (License license : licenses) {
+            writeString(output, license.getName());
+            writeString(output, license.getUrl());
+        }
+
+        Configuration[] configurations = md.getConfigurations();
+        output.writeInt(configurations.length);
+        for (Configuration configuration : configurations) {
+            writeString(output, configuration.getName());
+            writeString(output, configuration.getVisibility().toString());
+            writeString(output, configuration.getDescription());
+            writeStrings(output, configuration.getExtends());
+            output.writeBoolean(configuration.isTransitive());
+            writeString(output, configuration.getDeprecated());
+            writeMap(output, configuration.getQualifiedExtraAttributes());
+        }
+
+        Artifact[] artifacts = md.getAllArtifacts();
+        output.writeInt(artifacts.length);
+        for (Artifact artifact : artifacts) {
+            writeString(output, artifact.getName());
+            writeString(output, artifact.getType());
+            writeString(output, artifact.getExt());
+            writeStrings(output, getConfigurations(md, artifact));
+            writeMap(output, artifact.getQualifiedExtraAttributes());
+        }
+
+        DependencyDescriptor[] dependencies = md.getDependencies();
+        output.writeInt(dependencies.length);
+        for (DependencyDescriptor dependency : dependencies) {
+            writeDependency(output, dependency);
+        }
+
+        ExcludeRule[] excludeRules = md.getAllExcludeRules();
+        output.writeInt(excludeRules.length);
+        for (ExcludeRule rule : excludeRules) {
+            writeRule(output, rule.getId(), rule.getMatcher(), rule.getConfigurations(), rule.getQualifiedExtraAttributes());
+        }
+    }
+
+    private void writeDependency(DataOutput output, DependencyDescriptor dependency) throws IOException {
+        writeRevisionId(output, dependency.getDependencyRevisionId());
+        writeRevisionId(output, dependency.getDynamicConstraintDependencyRevisionId());
+        output.writeBoolean(dependency.isForce());
+        output.writeBoolean(dependency.isChanging());
+        output.writeBoolean(dependency.isTransitive());
+        String[] moduleConfigurations = dependency.getModuleConfigurations();
+        output.writeInt(moduleConfigurations.length);
+        for (String moduleConfiguration : moduleConfigurations) {
+            writeString(output, moduleConfiguration);
+            writeStrings(output, dependency.getDependencyConfigurations(moduleConfiguration));
+        }
+
+        DependencyArtifactDescriptor[] artifacts = dependency.getAllDependencyArtifacts();
+        output.writeInt(artifacts.length);
+        for (DependencyArtifactDescriptor artifact : artifacts) {
+            writeString(output, artifact.getName());
+            writeString(output, artifact.getType());
+            writeString(output, artifact.getExt());
+            writeStrings(output, artifact.getConfigurations());
+            writeMap(output, artifact.getQualifiedExtraAttributes());
+        }
+
+        IncludeRule[] includeRules = dependency.getAllIncludeRules();
+        output.writeInt(includeRules.length);
+        for (IncludeRule rule : includeRules) {
+            writeRule(output, rule.getId(), rule.getMatcher(), rule.getConfigurations(), rule.getQualifiedExtraAttributes());
+        }
+
+        ExcludeRule[] excludeRules = dependency.getAllExcludeRules();
+        output.writeInt(excludeRules.length);
+        for (ExcludeRule rule : excludeRules) {
+            writeRule(output, rule.getId(), rule.getMatcher(), rule.getConfigurations(), rule.getQualifiedExtraAttributes());
+        }
+    }
+
+    private void writeRevisionId(DataOutput output, ModuleRevisionId id) throws IOException {
+        writeString(output, id.getOrganisation());
+        writeString(output, id.getName());
+        writeString(output, id.getBranch());
+        writeString(output, id.getRevision());
+        writeMap(output, id.getQualifiedExtraAttributes());
+    }
+
+    private void writeRule(DataOutput output, ArtifactId id, PatternMatcher matcher, String[] configurations, Map extraAttributes) throws IOException {
+        writeString(output, id.getModuleId().getOrganisation());
+        writeString(output, id.getModuleId().getName());
+        writeString(output, id.getName());
+        writeString(output, id.getType());
+        writeString(output, id.getExt());
+        writeString(output, matcher.getName());
+        writeStrings(output, configurations);
+        writeMap(output, extraAttributes);
+    }
+
+    private static String[] getConfigurations(ModuleDescriptor md, Artifact artifact) {
+        List<String> configurations = new ArrayList<String>();
+        for (String configuration : md.getConfigurationsNames()) {
+            if (Arrays.asList(md.getArtifacts(configuration)).contains(artifact)) {
+                configurations.add(configuration);
+            }
+        }
+        return configurations.toArray(new String[configurations.size()]);
+    }
+
+    @Override
+    public ModuleDescriptor read(DataInput input) throws IOException {
+        int version = input.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException(String.format("Unexpected module descriptor format version %s, expected %s.", version, FORMAT_VERSION));
+        }
+        String organisation = readString(input);
+        String name = readString(input);
+        String branch = readString(input);
+        String revision = readString(input);
+        Map<String, String> extraAttributes = readMap(input);
+        ModuleRevisionId id = ModuleRevisionId.newInstance(organisation, name, branch, revision, extraAttributes);
+        String status = readString(input);
+        Date publicationDate = new Date(input.readLong());
+        boolean isDefault = input.readBoolean();
+        DefaultModuleDescriptor md = new DefaultModuleDescriptor(id, status, publicationDate, isDefault);
+        for (Map.Entry<String, String> entry : readMap(input).entrySet()) {
+            md.addExtraAttributeNamespace(entry.getKey(), entry.getValue());
+        }
+        md.setHomePage(readString(input));
+        md.setDescription(readString(input));
+        for (Map.Entry<String, String> entry : readMap(input).entrySet()) {
+            md.addExtraInfo(entry.getKey(), entry.getValue());
+        }
+
+        int count = input.readInt();
+        for (int i = 0; i < count; i++) {
+            md.addLicense(new License(readString(input), readString(input)));
+        }
+
+        count = input.readInt();
+        for (int i = 0; i < count; i++) {
+            String configurationName = readString(input);
+            Configuration.Visibility visibility = Configuration.Visibility.getVisibility(readString(input));
+            String description = readString(input);
+            String[] extendsFrom = readStrings(input);
+            boolean transitive = input.readBoolean();
+            String deprecated = readString(input);
+            Configuration configuration = new Configuration(configurationName, visibility, description, extendsFrom, transitive, deprecated);
+            addExtraAttributes(configuration, readMap(input));
+            md.addConfiguration(configuration);
+        }
+
+        count = input.readInt();
+        for (int i = 0; i < count; i++) {
+            String artifactName = readString(input);
+            String type = readString(input);
+            String ext = readString(input);
+            String[] configurations = readStrings(input);
+            MDArtifact artifact = new MDArtifact(md, artifactName, type, ext, null, readMap(input));
+            for (String configuration : configurations) {
+                artifact.addConfiguration(configuration);
+                md.addArtifact(configuration, artifact);
+            }
+        }
+
+        count = input.readInt();
+        for (int i = 0; i < count; i++) {
+            md.addDependency(readDependency(input, md));
+        }
+
+        count = input.readInt();
+        for (int i = 0; i < count; i++) {
+            md.addExcludeRule(readExcludeRule(input));
+        }
+        return md;
+    }
+
+    private DependencyDescriptor readDependency(DataInput input, ModuleDescriptor md) throws IOException {
+        ModuleRevisionId id = readRevisionId(input);
+        ModuleRevisionId dynamicId = readRevisionId(input);
+        boolean force = input.readBoolean();
+        boolean changing = input.readBoolean();
+        boolean transitive = input.readBoolean();
+        DefaultDependencyDescriptor dependency = new DefaultDependencyDescriptor(md, id, dynamicId, force, changing, transitive);
+        int count = input.readInt();
+        for (int i = 0; i < count; i++) {
+            String moduleConfiguration = readString(input);
+            for (String dependencyConfiguration : readStrings(input)) {
+                dependency.addDependencyConfiguration(moduleConfiguration, dependencyConfiguration);
+            }
+        }
+
+        count = input.readInt();
+        for (int i = 0; i < count; i++) {
+            String artifactName = readString(input);
+            String type = readString(input);
+            String ext = readString(input);
+            String[] configurations = readStrings(input);
+            DefaultDependencyArtifactDescriptor artifact = new DefaultDependencyArtifactDescriptor(dependency, artifactName, type, ext, null, readMap(input));
+            for (String configuration : configurations) {
+                artifact.addConfiguration(configuration);
+                dependency.addDependencyArtifact(configuration, artifact);
+            }
+        }
+
+        count = input.readInt();
+        for (int i = 0; i < count; i++) {
+            ArtifactId ruleId = readArtifactId(input);
+            PatternMatcher matcher = readMatcher(input);
+            String[] configurations = readStrings(input);
+            DefaultIncludeRule rule = new DefaultIncludeRule(ruleId, matcher, readMap(input));
+            for (String configuration : configurations) {
+                rule.addConfiguration(configuration);
+                dependency.addIncludeRule(configuration, rule);
+            }
+        }
+
+        count = input.readInt();
+        for (int i = 0; i < count; i++) {
+            DefaultExcludeRule rule = readExcludeRule(input);
+            for (String configuration : rule.getConfigurations()) {
+                dependency.addExcludeRule(configuration, rule);
+            }
+        }
+        return dependency;
+    }
+
+    private DefaultExcludeRule readExcludeRule(DataInput input) throws IOException {
+        ArtifactId ruleId = readArtifactId(input);
+        PatternMatcher matcher = readMatcher(input);
+        String[] configurations = readStrings(input);
+        DefaultExcludeRule rule = new DefaultExcludeRule(ruleId, matcher, readMap(input));
+        for (String configuration : configurations) {
+            rule.addConfiguration(configuration);
+        }
+        return rule;
+    }
+
+    private ModuleRevisionId readRevisionId(DataInput input) throws IOException {
+        String organisation = readString(input);
+        String name = readString(input);
+        String branch = readString(input);
+        String revision = readString(input);
+        return ModuleRevisionId.newInstance(organisation, name, branch, revision, readMap(input));
+    }
+
+    private ArtifactId readArtifactId(DataInput input) throws IOException {
+        String organisation = readString(input);
+        String module = readString(input);
+        String name = readString(input);
+        String type = readString(input);
+        String ext = readString(input);
+        return new ArtifactId(new ModuleId(organisation, module), name, type, ext);
+    }
+
+    private PatternMatcher readMatcher(DataInput input) throws IOException {
+        String name = readString(input);
+        PatternMatcher matcher = MATCHERS.get(name);
+        if (matcher == null) {
+            throw new IOException(String.format("Unknown pattern matcher '%s'.", name));
+        }
+        return matcher;
+    }
+
+    private static void addExtraAttributes(Configuration configuration, Map<String, String> extraAttributes) {
+        for (Map.Entry<String, String> entry : extraAttributes.entrySet()) {
+            configuration.setExtraAttribute(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static void writeString(DataOutput output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes("UTF-8");
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInput input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, "UTF-8");
+    }
+
+    private static void writeStrings(DataOutput output, String[] values) throws IOException {
+        output.writeInt(values.length);
+        for (String value : values) {
+            writeString(output, value);
+        }
+    }
+
+    private static String[] readStrings(DataInput input) throws IOException {
+        String[] values = new String[input.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readString(input);
+        }
+        return values;
+    }
+
+    private static void writeMap(DataOutput output, Map<?, ?> values) throws IOException {
+        if (values == null) {
+            output.writeInt(0);
+            return;
+        }
+        output.writeInt(values.size());
+        for (Map.Entry<?, ?> entry : values.entrySet()) {
+            writeString(output, entry.getKey().toString());
+            writeString(output, entry.getValue() == null ? null : entry.getValue().toString());
+        }
+    }
+
+    private static Map<String, String> readMap(DataInput input) throws IOException {
+        int count = input.readInt();
+        Map<String, String> values = new LinkedHashMap<String, String>(count);
+        for (int i = 0; i < count; i++) {
+            values.put(readString(input), readString(input));
+        }
+        return values;
+    }
+}
@@ -27,35 +27,57 @@ import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.IvyXmlModu
 import org.gradle.api.internal.filestore.FileStoreEntry;
 import org.gradle.api.internal.filestore.PathKeyFileStore;
 import org.gradle.internal.UncheckedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.io.File;
+import java.io.*;
 import java.net.URL;
 
+/**
+ * Stores the descriptor of each cached module as an ivy.xml file, along with a binary copy which can be loaded much more quickly than the ivy.xml
+ * can be parsed. The ivy.xml file remains the master copy, and the binary copy is ignored and replaced when it is stale or cannot be read.
+ */
 public class ModuleDescriptorStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ModuleDescriptorStore.class);
 
     public static final String FILE_PATH_PATTERN = "module-metadata/%s/%s/%s/%s/ivy.xml";
+    public static final String BINARY_FILE_PATH_PATTERN = "module-metadata/%s/%s/%s/%s/descriptor.bin";
     private final IvyXmlModuleDescriptorParser parser;
     private final PathKeyFileStore pathKeyFileStore;
     private final IvyModuleDescriptorWriter ivyModuleDescriptorWriter;
+    private final ModuleDescriptorSerializer serializer;
 
-    public ModuleDescriptorStore(PathKeyFileStore pathKeyFileStore, IvyModuleDescriptorWriter ivyModuleDescriptorWriter, IvyXmlModuleDescriptorParser ivyXmlModuleDescriptorParser) {
+    public ModuleDescriptorStore(PathKeyFileStore pathKeyFileStore, IvyModuleDescriptorWriter ivyModuleDescriptorWriter, IvyXmlModuleDescriptorParser ivyXmlModuleDescriptorParser,
+                                 ModuleDescriptorSerializer serializer) {
         this.pathKeyFileStore = pathKeyFileStore;
         this.ivyModuleDescriptorWriter = ivyModuleDescriptorWriter;
+        this.serializer = serializer;
         parser = ivyXmlModuleDescriptorParser;
     }
 
     public ModuleDescriptor getModuleDescriptor(ModuleVersionRepository repository, ModuleVersionIdentifier moduleVersionIdentifier) {
         String filePath = getFilePath(repository, moduleVersionIdentifier);
         final FileStoreEntry fileStoreEntry = pathKeyFileStore.get(filePath);
-        if (fileStoreEntry != null) {
-            return parseModuleDescriptorFile(fileStoreEntry.getFile());
+        if (fileStoreEntry == null) {
+            return null;
+        }
+        File descriptorFile = fileStoreEntry.getFile();
+        String binaryFilePath = getBinaryFilePath(repository, moduleVersionIdentifier);
+        FileStoreEntry binaryEntry = pathKeyFileStore.get(binaryFilePath);
+        if (binaryEntry != null) {
+            ModuleDescriptor moduleDescriptor = readBinaryDescriptor(binaryEntry.getFile(), descriptorFile);
+            if (moduleDescriptor != null) {
+                return moduleDescriptor;
+            }
         }
-        return null;
+        ModuleDescriptor moduleDescriptor = parseModuleDescriptorFile(descriptorFile);
+        writeBinaryDescriptor(binaryFilePath, moduleDescriptor, descriptorFile);
+        return moduleDescriptor;
     }
 
     public FileStoreEntry putModuleDescriptor(ModuleVersionRepository repository, final ModuleDescriptor moduleDescriptor) {
         String filePath = getFilePath(repository, moduleDescriptor.getModuleRevisionId());
-        return pathKeyFileStore.add(filePath, new Action<File>() {
+        FileStoreEntry fileStoreEntry = pathKeyFileStore.add(filePath, new Action<File>() {
             public void execute(File moduleDescriptorFile) {
                 try {
                     ivyModuleDescriptorWriter.write(moduleDescriptor, moduleDescriptorFile);
@@ -64,6 +86,55 @@ public class ModuleDescriptorStore {
                 }
             }
         });
+        writeBinaryDescriptor(getBinaryFilePath(repository, moduleDescriptor.getModuleRevisionId()), moduleDescriptor, fileStoreEntry.getFile());
+        return fileStoreEntry;
+    }
+
+    /**
+     * Reads the binary descriptor, returning null when it was not written from the current content of the given ivy.xml file or cannot be read.
+     */
+    private ModuleDescriptor readBinaryDescriptor(File binaryFile, File descriptorFile) {
+        try {
+            DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(binaryFile)));
+            try {
+                if (input.readLong() != descriptorFile.length() || input.readLong() != descriptorFile.lastModified()) {
+                    return null;
+                }
+                return serializer.read((DataInput) input);
+            } finally {
+                input.close();
+            }
+        } catch (Exception e) {
+            LOGGER.debug(String.format("Could not read binary module descriptor %s. Will parse %s instead.", binaryFile, descriptorFile), e);
+            return null;
+        }
+    }
+
+    private void writeBinaryDescriptor(String binaryFilePath, final ModuleDescriptor moduleDescriptor, final File descriptorFile) {
+        if (!serializer.canSerialize(moduleDescriptor)) {
+            return;
+        }
+        try {
+            pathKeyFileStore.add(binaryFilePath, new Action<File>() {
+                public void execute(File binaryFile) {
+                    try {
+                        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(binaryFile)));
+                        try {
+                            output.writeLong(descriptorFile.length());
+                            output.writeLong(descriptorFile.lastModified());
+                            serializer.write((DataOutput) output, moduleDescriptor);
+                        } finally {
+                            output.close();
+                        }
+                    } catch (Exception e) {
+                        throw UncheckedException.throwAsUncheckedException(e);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // The ivy.xml file will be parsed instead
+            LOGGER.debug(String.format("Could not write binary module descriptor for %s.", moduleDescriptor.getModuleRevisionId()), e);
+        }
     }
 
     private ModuleDescriptor parseModuleDescriptorFile(File moduleDescriptorFile) {
@@ -80,6 +151,14 @@ public class ModuleDescriptorStore {
         return String.format(FILE_PATH_PATTERN, moduleRevisionId.getOrganisation(), moduleRevisionId.getName(), moduleRevisionId.getRevision(), repository.getId());
     }
 
+    private String getBinaryFilePath(ModuleVersionRepository repository, ModuleRevisionId moduleRevisionId) {
+        return String.format(BINARY_FILE_PATH_PATTERN, moduleRevisionId.getOrganisation(), moduleRevisionId.getName(), moduleRevisionId.getRevision(), repository.getId());
+    }
+
+    private String getBinaryFilePath(ModuleVersionRepository repository, ModuleVersionIdentifier moduleVersionIdentifier) {
+        return String.format(BINARY_FILE_PATH_PATTERN, moduleVersionIdentifier.getGroup(), moduleVersionIdentifier.getName(), moduleVersionIdentifier.getVersion(), repository.getId());
+    }
+
     private String getFilePath(ModuleVersionRepository repository, ModuleVersionIdentifier moduleVersionIdentifier) {
         return String.format(FILE_PATH_PATTERN, moduleVersionIdentifier.getGroup(), moduleVersionIdentifier.getName(), moduleVersionIdentifier.getVersion(), repository.getId());
     }
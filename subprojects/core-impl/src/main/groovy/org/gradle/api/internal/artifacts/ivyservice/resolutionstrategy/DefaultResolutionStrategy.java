@@ -89,6 +89,10 @@ public class DefaultResolutionStrategy implements ResolutionStrategyInternal {
         return Actions.composite(allRules);
     }
 
+    public boolean hasDependencyResolveRules() {
+        return !dependencyResolveRules.isEmpty();
+    }
+
     public DefaultResolutionStrategy setForcedModules(Object ... moduleVersionSelectorNotations) {
         Set<ModuleVersionSelector> forcedModules = ModuleVersionSelectorParsers.multiParser().parseNotation(moduleVersionSelectorNotations);
         this.forcedModules = forcedModules;
@@ -274,6 +274,7 @@ public class DependencyGraphBuilder {
         private final Set<ConfigurationNode> targetConfigurations = new LinkedHashSet<ConfigurationNode>();
         private final ModuleVersionSelectorResolveState selector;
         private ModuleVersionResolveState targetModuleRevision;
+        private ModuleVersionSpec transitiveSelector;
 
         public DependencyEdge(ConfigurationNode from, DependencyMetaData dependencyMetaData, Set<String> targetConfigurationRules, ModuleVersionSpec selectorSpec, ResolveState resolveState) {
             this.from = from;
@@ -340,10 +341,9 @@ public class DependencyGraphBuilder {
             }
 
             ModuleDescriptor targetDescriptor = targetModuleVersion.getDescriptor();
-            IvyNode node = new IvyNode(resolveState.resolveData, targetDescriptor);
             Set<String> targets = new LinkedHashSet<String>();
             for (String targetConfiguration : targetConfigurationRules) {
-                Collections.addAll(targets, node.getRealConfs(targetConfiguration));
+                Collections.addAll(targets, targetModuleRevision.getRealConfigurations(targetConfiguration));
             }
 
             for (String targetConfigurationName : targets) {
@@ -359,8 +359,7 @@ public class DependencyGraphBuilder {
         }
 
         private Set<ResolvedArtifact> getArtifacts(ConfigurationNode childConfiguration, ResolvedArtifactFactory resolvedArtifactFactory) {
-            String[] targetConfigurations = from.metaData.getHierarchy().toArray(new String[from.metaData.getHierarchy().size()]);
-            DependencyArtifactDescriptor[] dependencyArtifacts = dependencyDescriptor.getDependencyArtifacts(targetConfigurations);
+            DependencyArtifactDescriptor[] dependencyArtifacts = dependencyDescriptor.getDependencyArtifacts(from.getHierarchy());
             if (dependencyArtifacts.length == 0) {
                 return Collections.emptySet();
             }
@@ -394,9 +393,12 @@ public class DependencyGraphBuilder {
         }
 
         public ModuleVersionSpec getSelector() {
-            String[] configurations = from.metaData.getHierarchy().toArray(new String[from.metaData.getHierarchy().size()]);
-            ModuleVersionSpec selector = ModuleVersionSpec.forExcludes(dependencyDescriptor.getExcludeRules(configurations));
-            return selector.intersect(selectorSpec);
+            // The excludes of an edge do not change, so calculate them once rather than each time the target is traversed
+            if (transitiveSelector == null) {
+                ModuleVersionSpec selector = ModuleVersionSpec.forExcludes(dependencyDescriptor.getExcludeRules(from.getHierarchy()));
+                transitiveSelector = selector.intersect(selectorSpec);
+            }
+            return transitiveSelector;
         }
 
         public ModuleVersionSelector getRequested() {
@@ -609,6 +611,7 @@ public class DependencyGraphBuilder {
         ModuleVersionIdResolveResult idResolveResult;
         ModuleVersionResolveResult resolveResult;
         ModuleVersionResolveException failure;
+        Map<String, String[]> realConfigurations;
 
         private ModuleVersionResolveState(ModuleResolveState module, ModuleVersionIdentifier id, ResolveState resolveState) {
             this.module = module;
@@ -680,6 +683,24 @@ public class DependencyGraphBuilder {
             this.resolveResult = resolveResult;
             this.metaData = resolveResult.getMetaData();
             this.failure = null;
+            this.realConfigurations = null;
+        }
+
+        /**
+         * Returns the configurations of this module version that the given target configuration rule refers to. The result is shared by all
+         * incoming edges, so it must not be modified.
+         */
+        public String[] getRealConfigurations(String configurationRule) {
+            if (realConfigurations == null) {
+                realConfigurations = new HashMap<String, String[]>();
+            }
+            String[] configurations = realConfigurations.get(configurationRule);
+            if (configurations == null) {
+                IvyNode node = new IvyNode(resolveState.resolveData, getMetaData().getDescriptor());
+                configurations = node.getRealConfs(configurationRule);
+                realConfigurations.put(configurationRule, configurations);
+            }
+            return configurations;
         }
 
         public void addConfiguration(ConfigurationNode configurationNode) {
@@ -714,6 +735,8 @@ public class DependencyGraphBuilder {
         DefaultResolvedDependency result;
         ModuleVersionSpec previousTraversal;
         Set<ResolvedArtifact> artifacts;
+        String[] hierarchy;
+        ModuleVersionSpec excludes;
 
         private ConfigurationNode(ModuleVersionResolveState moduleRevision, ModuleVersionMetaData moduleMetaData, String configurationName, ResolveState resolveState) {
             this.moduleRevision = moduleRevision;
@@ -752,6 +775,13 @@ public class DependencyGraphBuilder {
             return metaData.isTransitive();
         }
 
+        public String[] getHierarchy() {
+            if (hierarchy == null) {
+                hierarchy = metaData.getHierarchy().toArray(new String[metaData.getHierarchy().size()]);
+            }
+            return hierarchy;
+        }
+
         public void visitOutgoingDependencies(Collection<DependencyEdge> target) {
             // If this configuration's version is in conflict, don't do anything
             // If not traversed before, add all selected outgoing edges
@@ -765,7 +795,7 @@ public class DependencyGraphBuilder {
                 return;
             }
 
-            List<DependencyEdge> transitiveIncoming = new ArrayList<DependencyEdge>();
+            List<DependencyEdge> transitiveIncoming = new ArrayList<DependencyEdge>(incomingEdges.size());
             for (DependencyEdge edge : incomingEdges) {
                 if (edge.isTransitive()) {
                     transitiveIncoming.add(edge);
@@ -811,15 +841,19 @@ public class DependencyGraphBuilder {
         }
 
         Set<String> getTargetConfigurations(DependencyDescriptor dependencyDescriptor) {
-            Set<String> targetConfigurations = new LinkedHashSet<String>();
+            // Most dependencies do not apply to a given configuration, so only allocate a set for those that do
+            Set<String> targetConfigurations = null;
             for (String moduleConfiguration : dependencyDescriptor.getModuleConfigurations()) {
                 if (moduleConfiguration.equals("*") || metaData.getHierarchy().contains(moduleConfiguration)) {
                     for (String targetConfiguration : dependencyDescriptor.getDependencyConfigurations(moduleConfiguration)) {
+                        if (targetConfigurations == null) {
+                            targetConfigurations = new LinkedHashSet<String>();
+                        }
                         targetConfigurations.add(targetConfiguration);
                     }
                 }
             }
-            return targetConfigurations;
+            return targetConfigurations == null ? Collections.<String>emptySet() : targetConfigurations;
         }
 
         public void addIncomingEdge(DependencyEdge dependencyEdge) {
@@ -860,8 +894,10 @@ public class DependencyGraphBuilder {
                     selector = selector.union(dependencyEdge.getSelector());
                 }
             }
-            String[] configurations = metaData.getHierarchy().toArray(new String[metaData.getHierarchy().size()]);
-            selector = selector.intersect(ModuleVersionSpec.forExcludes(descriptor.getExcludeRules(configurations)));
+            if (excludes == null) {
+                excludes = ModuleVersionSpec.forExcludes(descriptor.getExcludeRules(getHierarchy()));
+            }
+            selector = selector.intersect(excludes);
             return selector;
         }
 
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.artifacts.ivyservice.resultcache;
+
+import org.gradle.api.artifacts.*;
+import org.gradle.api.internal.artifacts.configurations.ConfigurationInternal;
+import org.gradle.api.internal.artifacts.configurations.ResolutionStrategyInternal;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.IvyAwareModuleVersionRepository;
+import org.gradle.api.internal.artifacts.repositories.ResolutionAwareRepository;
+import org.gradle.internal.UncheckedException;
+import org.gradle.util.hash.HashValue;
+
+import java.io.File;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Calculates a hash of everything that can affect the result of resolving a configuration, for use as the key of the {@link ResolvedGraphCache}.
+ *
+ * <p>Only configurations whose result can be determined from these inputs alone can be cached. This excludes configurations with client modules,
+ * dynamic or changing versions, dependency resolve rules, or local repositories, whose content can change without Gradle knowing. Project
+ * dependencies are hashed using the path of the target project and the inputs of the target configuration.</p>
+ *
+ * <p>The identity of each repository is calculated the first time the repository is used, and is reused for later lookups. A repository is not
+ * expected to change once it has been used for resolution.</p>
+ */
+public class ResolutionInputsHasher {
+    private final String cacheLocation;
+    private final Map<ResolutionAwareRepository, RepositoryId> repositoryIds = new WeakHashMap<ResolutionAwareRepository, RepositoryId>();
+
+    public ResolutionInputsHasher(String cacheLocation) {
+        this.cacheLocation = cacheLocation;
+    }
+
+    /**
+     * Returns the hash of the inputs of the given configuration, or null when the configuration cannot be cached.
+     */
+    public HashValue hash(ConfigurationInternal configuration, List<? extends ResolutionAwareRepository> repositories) {
+        if (configuration.getResolutionStrategy().hasDependencyResolveRules()) {
+            return null;
+        }
+        Hasher hasher = new Hasher();
+        hasher.put(cacheLocation);
+
+        if (!hashConfiguration(configuration, hasher, new HashSet<Configuration>())) {
+            return null;
+        }
+
+        ResolutionStrategyInternal resolutionStrategy = configuration.getResolutionStrategy();
+        hasher.put(resolutionStrategy.getConflictResolution().getClass().getName());
+        for (ModuleVersionSelector forcedModule : resolutionStrategy.getForcedModules()) {
+            hasher.put(forcedModule.getGroup()).put(forcedModule.getName()).put(forcedModule.getVersion());
+        }
+
+        for (ResolutionAwareRepository repository : repositories) {
+            RepositoryId repositoryId = getRepositoryId(repository);
+            if (repositoryId.local) {
+                return null;
+            }
+            hasher.put(repositoryId.id);
+        }
+        return hasher.hash();
+    }
+
+    private boolean hashConfiguration(Configuration configuration, Hasher hasher, Set<Configuration> visited) {
+        if (!visited.add(configuration)) {
+            // Already included
+            hasher.put(true);
+            return true;
+        }
+
+        Module module = ((ConfigurationInternal) configuration).getModule();
+        hasher.put(module.getGroup()).put(module.getName()).put(module.getVersion()).put(module.getStatus());
+        hasher.put(configuration.getName()).put(configuration.isTransitive());
+        for (Configuration inherited : configuration.getHierarchy()) {
+            hasher.put(inherited.getName());
+            for (ExcludeRule excludeRule : inherited.getExcludeRules()) {
+                hasher.put(excludeRule.getExcludeArgs());
+            }
+        }
+
+        for (Dependency dependency : configuration.getAllDependencies()) {
+            if (dependency instanceof ProjectDependency) {
+                ProjectDependency projectDependency = (ProjectDependency) dependency;
+                hasher.put(projectDependency.getDependencyProject().getPath());
+                hashModuleDependency(projectDependency, hasher);
+                Configuration targetConfiguration = projectDependency.getProjectConfiguration();
+                for (PublishArtifact artifact : targetConfiguration.getAllArtifacts()) {
+                    File file = artifact.getFile();
+                    hasher.put(artifact.getName()).put(artifact.getType()).put(artifact.getExtension()).put(artifact.getClassifier()).put(file == null ? null : file.getAbsolutePath());
+                }
+                if (!hashConfiguration(targetConfiguration, hasher, visited)) {
+                    return false;
+                }
+                continue;
+            }
+            if (dependency instanceof SelfResolvingDependency) {
+                // Not resolved from a repository
+                continue;
+            }
+            if (!(dependency instanceof ExternalModuleDependency) || dependency instanceof ClientModule) {
+                return false;
+            }
+            ExternalModuleDependency moduleDependency = (ExternalModuleDependency) dependency;
+            if (moduleDependency.isChanging() || !isStaticVersion(moduleDependency.getVersion())) {
+                return false;
+            }
+            hasher.put(moduleDependency.getGroup()).put(moduleDependency.getName()).put(moduleDependency.getVersion()).put(moduleDependency.isForce());
+            hashModuleDependency(moduleDependency, hasher);
+        }
+        return true;
+    }
+
+    private void hashModuleDependency(ModuleDependency dependency, Hasher hasher) {
+        hasher.put(dependency.getConfiguration()).put(dependency.isTransitive());
+        for (DependencyArtifact artifact : dependency.getArtifacts()) {
+            hasher.put(artifact.getName()).put(artifact.getType()).put(artifact.getExtension()).put(artifact.getClassifier()).put(artifact.getUrl());
+        }
+        for (ExcludeRule excludeRule : dependency.getExcludeRules()) {
+            hasher.put(excludeRule.getExcludeArgs());
+        }
+    }
+
+    private RepositoryId getRepositoryId(ResolutionAwareRepository repository) {
+        synchronized (repositoryIds) {
+            RepositoryId repositoryId = repositoryIds.get(repository);
+            if (repositoryId == null) {
+                IvyAwareModuleVersionRepository moduleVersionRepository = repository.createResolver();
+                repositoryId = new RepositoryId(moduleVersionRepository.getId(), moduleVersionRepository.isLocal());
+                repositoryIds.put(repository, repositoryId);
+            }
+            return repositoryId;
+        }
+    }
+
+    static boolean isStaticVersion(String version) {
+        if (version == null || version.startsWith("latest.") || version.endsWith("SNAPSHOT")) {
+            return false;
+        }
+        for (int i = 0; i < version.length(); i++) {
+            char ch = version.charAt(i);
+            if (ch == '+' || ch == '[' || ch == ']' || ch == '(' || ch == ')' || ch == ',') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class RepositoryId {
+        private final String id;
+        private final boolean local;
+
+        private RepositoryId(String id, boolean local) {
+            this.id = id;
+            this.local = local;
+        }
+    }
+
+    private static class Hasher {
+        private final MessageDigest digest;
+
+        private Hasher() {
+            try {
+                digest = MessageDigest.getInstance("SHA1");
+            } catch (NoSuchAlgorithmException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+
+        Hasher put(String value) {
+            if (value == null) {
+                digest.update((byte) 0);
+            } else {
+                digest.update((byte) 1);
+                try {
+                    digest.update(value.getBytes("UTF-8"));
+                } catch (UnsupportedEncodingException e) {
+                    throw UncheckedException.throwAsUncheckedException(e);
+                }
+                digest.update((byte) 0);
+            }
+            return this;
+        }
+
+        Hasher put(boolean value) {
+            digest.update(value ? (byte) 1 : (byte) 0);
+            return this;
+        }
+
+        Hasher put(Map<String, String> values) {
+            for (Map.Entry<String, String> entry : new TreeMap<String, String>(values).entrySet()) {
+                put(entry.getKey()).put(entry.getValue());
+            }
+            digest.update((byte) 2);
+            return this;
+        }
+
+        HashValue hash() {
+            return new HashValue(digest.digest());
+        }
+    }
+}
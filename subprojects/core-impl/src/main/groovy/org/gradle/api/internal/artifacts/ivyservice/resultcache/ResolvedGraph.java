@@ -0,0 +1,271 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.artifacts.ivyservice.resultcache;
+
+import org.gradle.api.artifacts.*;
+import org.gradle.api.internal.artifacts.DefaultResolvedArtifact;
+import org.gradle.api.internal.artifacts.ivyservice.DefaultLenientConfiguration;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * A compact, persistable copy of the resolved dependency graph of a configuration. Nodes and artifacts are referred to by their index.
+ * The root is always node 0.
+ */
+public class ResolvedGraph {
+    private final List<Node> nodes;
+    private final List<Artifact> artifacts;
+    private final List<Edge> edges;
+    private final int[] artifactOrder;
+    private final Map<Integer, Integer> firstLevelDependencies;
+    private final long timestamp;
+
+    public ResolvedGraph(List<Node> nodes, List<Artifact> artifacts, List<Edge> edges, int[] artifactOrder, Map<Integer, Integer> firstLevelDependencies, long timestamp) {
+        this.nodes = nodes;
+        this.artifacts = artifacts;
+        this.edges = edges;
+        this.artifactOrder = artifactOrder;
+        this.firstLevelDependencies = firstLevelDependencies;
+        this.timestamp = timestamp;
+    }
+
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    public List<Artifact> getArtifacts() {
+        return artifacts;
+    }
+
+    public List<Edge> getEdges() {
+        return edges;
+    }
+
+    /**
+     * The order in which the artifacts were added to the result.
+     */
+    public int[] getArtifactOrder() {
+        return artifactOrder;
+    }
+
+    /**
+     * Maps the index of a first level dependency, as counted by {@link #cacheableDependencies(Configuration)}, to the index of the node it refers to.
+     */
+    public Map<Integer, Integer> getFirstLevelDependencies() {
+        return firstLevelDependencies;
+    }
+
+    /**
+     * The time at which the graph was resolved.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns the dependencies of the given configuration that are part of the graph, including project dependencies, in the order used to index
+     * the first level dependencies.
+     */
+    public static List<ModuleDependency> cacheableDependencies(Configuration configuration) {
+        List<ModuleDependency> dependencies = new ArrayList<ModuleDependency>();
+        for (Dependency dependency : configuration.getAllDependencies()) {
+            if (dependency instanceof ModuleDependency) {
+                dependencies.add((ModuleDependency) dependency);
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * Creates a copy of the given result. Artifact files are not resolved by this method, only the files of artifacts which have already been
+     * resolved are recorded.
+     */
+    public static ResolvedGraph copyOf(Configuration configuration, DefaultLenientConfiguration result, long timestamp) {
+        Map<ResolvedDependency, Integer> nodeIndexes = new HashMap<ResolvedDependency, Integer>();
+        Map<ResolvedArtifact, Integer> artifactIndexes = new HashMap<ResolvedArtifact, Integer>();
+        List<Node> nodes = new ArrayList<Node>();
+        List<Artifact> artifacts = new ArrayList<Artifact>();
+        List<Edge> edges = new ArrayList<Edge>();
+
+        LinkedList<ResolvedDependency> queue = new LinkedList<ResolvedDependency>();
+        queue.add(result.getRoot());
+        nodeIndexes.put(result.getRoot(), 0);
+        nodes.add(Node.of(result.getRoot()));
+        while (!queue.isEmpty()) {
+            ResolvedDependency parent = queue.removeFirst();
+            int parentIndex = nodeIndexes.get(parent);
+            for (ResolvedDependency child : parent.getChildren()) {
+                Integer childIndex = nodeIndexes.get(child);
+                if (childIndex == null) {
+                    childIndex = nodes.size();
+                    nodeIndexes.put(child, childIndex);
+                    nodes.add(Node.of(child));
+                    queue.add(child);
+                }
+                Set<ResolvedArtifact> parentArtifacts = child.getParentArtifacts(parent);
+                int[] edgeArtifacts = new int[parentArtifacts.size()];
+                int i = 0;
+                for (ResolvedArtifact artifact : parentArtifacts) {
+                    Integer artifactIndex = artifactIndexes.get(artifact);
+                    if (artifactIndex == null) {
+                        artifactIndex = artifacts.size();
+                        artifactIndexes.put(artifact, artifactIndex);
+                        artifacts.add(Artifact.of(childIndex, (DefaultResolvedArtifact) artifact));
+                    }
+                    edgeArtifacts[i++] = artifactIndex;
+                }
+                edges.add(new Edge(parentIndex, childIndex, edgeArtifacts));
+            }
+        }
+
+        Set<ResolvedArtifact> resolvedArtifacts = result.getResolvedArtifacts();
+        int[] artifactOrder = new int[resolvedArtifacts.size()];
+        int i = 0;
+        for (ResolvedArtifact artifact : resolvedArtifacts) {
+            artifactOrder[i++] = artifactIndexes.get(artifact);
+        }
+
+        Map<ModuleDependency, ResolvedDependency> firstLevel = result.getFirstLevelDependencies();
+        Map<Integer, Integer> firstLevelDependencies = new LinkedHashMap<Integer, Integer>();
+        List<ModuleDependency> dependencies = cacheableDependencies(configuration);
+        for (int dependencyIndex = 0; dependencyIndex < dependencies.size(); dependencyIndex++) {
+            ResolvedDependency refersTo = firstLevel.get(dependencies.get(dependencyIndex));
+            if (refersTo != null) {
+                firstLevelDependencies.put(dependencyIndex, nodeIndexes.get(refersTo));
+            }
+        }
+
+        return new ResolvedGraph(nodes, artifacts, edges, artifactOrder, firstLevelDependencies, timestamp);
+    }
+
+    public static class Node {
+        private final String group;
+        private final String name;
+        private final String version;
+        private final String configuration;
+
+        public Node(String group, String name, String version, String configuration) {
+            this.group = group;
+            this.name = name;
+            this.version = version;
+            this.configuration = configuration;
+        }
+
+        static Node of(ResolvedDependency dependency) {
+            return new Node(dependency.getModuleGroup(), dependency.getModuleName(), dependency.getModuleVersion(), dependency.getConfiguration());
+        }
+
+        public String getGroup() {
+            return group;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public String getConfiguration() {
+            return configuration;
+        }
+    }
+
+    public static class Artifact {
+        private final int owner;
+        private final String name;
+        private final String type;
+        private final String extension;
+        private final Map<String, String> extraAttributes;
+        private volatile File file;
+
+        public Artifact(int owner, String name, String type, String extension, Map<String, String> extraAttributes, File file) {
+            this.owner = owner;
+            this.name = name;
+            this.type = type;
+            this.extension = extension;
+            this.extraAttributes = extraAttributes;
+            this.file = file;
+        }
+
+        static Artifact of(int owner, DefaultResolvedArtifact artifact) {
+            return new Artifact(owner, artifact.getName(), artifact.getType(), artifact.getExtension(), artifact.getExtraAttributes(), artifact.getResolvedFile());
+        }
+
+        /**
+         * The index of the node that owns this artifact.
+         */
+        public int getOwner() {
+            return owner;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public Map<String, String> getExtraAttributes() {
+            return extraAttributes;
+        }
+
+        /**
+         * The file of this artifact, or null if not known.
+         */
+        public File getFile() {
+            return file;
+        }
+
+        public void setFile(File file) {
+            this.file = file;
+        }
+    }
+
+    public static class Edge {
+        private final int parent;
+        private final int child;
+        private final int[] artifacts;
+
+        public Edge(int parent, int child, int[] artifacts) {
+            this.parent = parent;
+            this.child = child;
+            this.artifacts = artifacts;
+        }
+
+        public int getParent() {
+            return parent;
+        }
+
+        public int getChild() {
+            return child;
+        }
+
+        /**
+         * The indexes of the artifacts the child contributes to the parent.
+         */
+        public int[] getArtifacts() {
+            return artifacts;
+        }
+    }
+}
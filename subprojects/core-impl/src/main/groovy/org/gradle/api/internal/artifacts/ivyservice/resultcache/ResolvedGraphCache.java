@@ -0,0 +1,64 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.artifacts.ivyservice.resultcache;
+
+import org.gradle.api.internal.artifacts.ivyservice.CacheLockingManager;
+import org.gradle.cache.PersistentIndexedCache;
+import org.gradle.internal.Factory;
+import org.gradle.messaging.serialize.StringSerializer;
+import org.gradle.util.hash.HashValue;
+
+import java.io.File;
+
+/**
+ * A persistent cache of resolved dependency graphs, keyed by the hash of the resolution inputs. Locks the artifact cache for each lookup and update.
+ */
+public class ResolvedGraphCache {
+    private final CacheLockingManager cacheLockingManager;
+    private PersistentIndexedCache<String, ResolvedGraph> cache;
+
+    public ResolvedGraphCache(CacheLockingManager cacheLockingManager) {
+        this.cacheLockingManager = cacheLockingManager;
+    }
+
+    private synchronized PersistentIndexedCache<String, ResolvedGraph> getCache() {
+        if (cache == null) {
+            cache = initCache();
+        }
+        return cache;
+    }
+
+    private PersistentIndexedCache<String, ResolvedGraph> initCache() {
+        File resolvedGraphsFile = new File(cacheLockingManager.getCacheDir(), "resolved-graphs.bin");
+        return cacheLockingManager.createCache(resolvedGraphsFile, new StringSerializer(), new ResolvedGraphSerializer());
+    }
+
+    public ResolvedGraph get(final HashValue key) {
+        return cacheLockingManager.useCache("lookup from resolved dependency graph cache", new Factory<ResolvedGraph>() {
+            public ResolvedGraph create() {
+                return getCache().get(key.asHexString());
+            }
+        });
+    }
+
+    public void put(final HashValue key, final ResolvedGraph graph) {
+        cacheLockingManager.useCache("store into resolved dependency graph cache", new Runnable() {
+            public void run() {
+                getCache().put(key.asHexString(), graph);
+            }
+        });
+    }
+}
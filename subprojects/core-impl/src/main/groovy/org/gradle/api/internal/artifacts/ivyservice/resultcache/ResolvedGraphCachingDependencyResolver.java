@@ -0,0 +1,321 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.artifacts.ivyservice.resultcache;
+
+import groovy.lang.Closure;
+import org.apache.ivy.core.module.descriptor.DefaultArtifact;
+import org.gradle.api.Action;
+import org.gradle.api.artifacts.*;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolutionResult;
+import org.gradle.api.artifacts.result.ResolvedModuleVersionResult;
+import org.gradle.api.internal.artifacts.ArtifactDependencyResolver;
+import org.gradle.api.internal.artifacts.DefaultModuleVersionIdentifier;
+import org.gradle.api.internal.artifacts.DefaultResolvedArtifact;
+import org.gradle.api.internal.artifacts.DefaultResolvedDependency;
+import org.gradle.api.internal.artifacts.ResolverResults;
+import org.gradle.api.internal.artifacts.configurations.ConfigurationInternal;
+import org.gradle.api.internal.artifacts.configurations.dynamicversion.CachePolicy;
+import org.gradle.api.internal.artifacts.ivyservice.CacheLockingManager;
+import org.gradle.api.internal.artifacts.ivyservice.DefaultLenientConfiguration;
+import org.gradle.api.internal.artifacts.ivyservice.DefaultResolvedConfiguration;
+import org.gradle.api.internal.artifacts.ivyservice.IvyUtil;
+import org.gradle.api.internal.artifacts.ivyservice.dynamicversions.DefaultResolvedModuleVersion;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.ArtifactResolveException;
+import org.gradle.api.internal.artifacts.repositories.ResolutionAwareRepository;
+import org.gradle.internal.Factory;
+import org.gradle.internal.TimeProvider;
+import org.gradle.util.hash.HashValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * Reuses the dependency graph resolved for a configuration by a previous build, when the inputs of the resolution are unchanged.
+ *
+ * <p>The graph is rebuilt from the {@link ResolvedGraphCache} without traversing any module meta-data. Artifact files are taken from the cached graph
+ * when they are still present. Otherwise, or when the {@link ResolutionResult} is queried, the configuration is resolved in full, once, and any
+ * artifact files resolved are recorded for later builds.</p>
+ *
+ * <p>A graph is only recorded when none of the modules in the resolved graph were selected using a dynamic version, and none are snapshots. As a
+ * module in the graph may still be changing, a recorded graph is discarded once it is older than the resolution strategy allows a changing module
+ * to be cached for.</p>
+ */
+public class ResolvedGraphCachingDependencyResolver implements ArtifactDependencyResolver {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResolvedGraphCachingDependencyResolver.class);
+
+    private final ArtifactDependencyResolver resolver;
+    private final ResolutionInputsHasher hasher;
+    private final ResolvedGraphCache cache;
+    private final CacheLockingManager cacheLockingManager;
+    private final TimeProvider timeProvider;
+
+    public ResolvedGraphCachingDependencyResolver(ArtifactDependencyResolver resolver, ResolutionInputsHasher hasher, ResolvedGraphCache cache, CacheLockingManager cacheLockingManager,
+                                                  TimeProvider timeProvider) {
+        this.resolver = resolver;
+        this.hasher = hasher;
+        this.cache = cache;
+        this.cacheLockingManager = cacheLockingManager;
+        this.timeProvider = timeProvider;
+    }
+
+    public ResolverResults resolve(ConfigurationInternal configuration, List<? extends ResolutionAwareRepository> repositories) throws ResolveException {
+        HashValue key = hasher.hash(configuration, repositories);
+        if (key == null) {
+            return resolver.resolve(configuration, repositories);
+        }
+
+        ResolvedGraph graph = cache.get(key);
+        if (graph != null && !isExpired(configuration, graph)) {
+            LOGGER.debug("Using cached dependency graph for {}", configuration);
+            return new CachedGraph(configuration, repositories, key, graph).toResults();
+        }
+
+        ResolverResults results = resolver.resolve(configuration, repositories);
+        record(key, configuration, results);
+        return results;
+    }
+
+    private void record(HashValue key, ConfigurationInternal configuration, ResolverResults results) {
+        if (results.getResolvedConfiguration().hasError()) {
+            return;
+        }
+        LenientConfiguration lenientConfiguration = results.getResolvedConfiguration().getLenientConfiguration();
+        if (!(lenientConfiguration instanceof DefaultLenientConfiguration)) {
+            return;
+        }
+        if (!isStatic(configuration, results.getResolutionResult())) {
+            LOGGER.debug("Not caching dependency graph for {} as it contains dynamic or changing modules", configuration);
+            return;
+        }
+        LOGGER.debug("Caching dependency graph for {}", configuration);
+        cache.put(key, ResolvedGraph.copyOf(configuration, (DefaultLenientConfiguration) lenientConfiguration, timeProvider.getCurrentTime()));
+    }
+
+    private boolean isStatic(ConfigurationInternal configuration, ResolutionResult resolutionResult) {
+        Set<ModuleVersionIdentifier> projects = new HashSet<ModuleVersionIdentifier>();
+        collectProjects(configuration, projects, new HashSet<Configuration>());
+        for (DependencyResult dependency : resolutionResult.getAllDependencies()) {
+            ModuleVersionSelector requested = dependency.getRequested();
+            if (!ResolutionInputsHasher.isStaticVersion(requested.getVersion())
+                    && !projects.contains(DefaultModuleVersionIdentifier.newId(requested.getGroup(), requested.getName(), requested.getVersion()))) {
+                return false;
+            }
+        }
+        for (ResolvedModuleVersionResult module : resolutionResult.getAllModuleVersions()) {
+            if (module.getId().getVersion().endsWith("SNAPSHOT") && !projects.contains(module.getId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void collectProjects(Configuration configuration, Set<ModuleVersionIdentifier> projects, Set<Configuration> visited) {
+        if (!visited.add(configuration)) {
+            return;
+        }
+        Module module = ((ConfigurationInternal) configuration).getModule();
+        projects.add(DefaultModuleVersionIdentifier.newId(module.getGroup(), module.getName(), module.getVersion()));
+        for (Dependency dependency : configuration.getAllDependencies()) {
+            if (dependency instanceof ProjectDependency) {
+                collectProjects(((ProjectDependency) dependency).getProjectConfiguration(), projects, visited);
+            }
+        }
+    }
+
+    private boolean isExpired(ConfigurationInternal configuration, ResolvedGraph graph) {
+        CachePolicy cachePolicy = configuration.getResolutionStrategy().getCachePolicy();
+        long age = timeProvider.getCurrentTime() - graph.getTimestamp();
+        List<ResolvedGraph.Node> nodes = graph.getNodes();
+        // Don't know which modules were changing, so treat them all as changing
+        for (int i = 1; i < nodes.size(); i++) {
+            ResolvedGraph.Node node = nodes.get(i);
+            ModuleVersionIdentifier id = DefaultModuleVersionIdentifier.newId(node.getGroup(), node.getName(), node.getVersion());
+            if (cachePolicy.mustRefreshChangingModule(id, new DefaultResolvedModuleVersion(id), age)) {
+                LOGGER.debug("Cached dependency graph for {} has expired", configuration);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private class CachedGraph {
+        private final ConfigurationInternal configuration;
+        private final List<? extends ResolutionAwareRepository> repositories;
+        private final HashValue key;
+        private final ResolvedGraph graph;
+        private ResolvedArtifact[] artifacts;
+        // Guarded by this
+        private ResolverResults fullResults;
+        private boolean missingFilesResolved;
+
+        private CachedGraph(ConfigurationInternal configuration, List<? extends ResolutionAwareRepository> repositories, HashValue key, ResolvedGraph graph) {
+            this.configuration = configuration;
+            this.repositories = repositories;
+            this.key = key;
+            this.graph = graph;
+        }
+
+        ResolverResults toResults() {
+            List<ResolvedGraph.Node> recordedNodes = graph.getNodes();
+            DefaultResolvedDependency[] nodes = new DefaultResolvedDependency[recordedNodes.size()];
+            for (int i = 0; i < nodes.length; i++) {
+                ResolvedGraph.Node node = recordedNodes.get(i);
+                nodes[i] = new DefaultResolvedDependency(DefaultModuleVersionIdentifier.newId(node.getGroup(), node.getName(), node.getVersion()), node.getConfiguration());
+            }
+
+            List<ResolvedGraph.Artifact> recordedArtifacts = graph.getArtifacts();
+            artifacts = new ResolvedArtifact[recordedArtifacts.size()];
+            for (int i = 0; i < artifacts.length; i++) {
+                ResolvedGraph.Artifact artifact = recordedArtifacts.get(i);
+                ResolvedGraph.Node owner = recordedNodes.get(artifact.getOwner());
+                DefaultArtifact ivyArtifact = new DefaultArtifact(IvyUtil.createModuleRevisionId(owner.getGroup(), owner.getName(), owner.getVersion(), Collections.<String, String>emptyMap()),
+                        null, artifact.getName(), artifact.getType(), artifact.getExtension(), artifact.getExtraAttributes());
+                artifacts[i] = new DefaultResolvedArtifact(nodes[artifact.getOwner()], ivyArtifact, new CachedArtifactSource(artifact));
+            }
+
+            for (ResolvedGraph.Edge edge : graph.getEdges()) {
+                DefaultResolvedDependency parent = nodes[edge.getParent()];
+                DefaultResolvedDependency child = nodes[edge.getChild()];
+                parent.addChild(child);
+                Set<ResolvedArtifact> edgeArtifacts = new LinkedHashSet<ResolvedArtifact>();
+                for (int artifactIndex : edge.getArtifacts()) {
+                    edgeArtifacts.add(artifacts[artifactIndex]);
+                }
+                child.addParentSpecificArtifacts(parent, edgeArtifacts);
+            }
+
+            DefaultLenientConfiguration result = new DefaultLenientConfiguration(configuration, nodes[0], cacheLockingManager);
+            for (int artifactIndex : graph.getArtifactOrder()) {
+                result.addArtifact(artifacts[artifactIndex]);
+            }
+            List<ModuleDependency> dependencies = ResolvedGraph.cacheableDependencies(configuration);
+            for (Map.Entry<Integer, Integer> entry : graph.getFirstLevelDependencies().entrySet()) {
+                result.addFirstLevelDependency(dependencies.get(entry.getKey()), nodes[entry.getValue()]);
+            }
+
+            return new ResolverResults(new DefaultResolvedConfiguration(result), new FullResolutionResult());
+        }
+
+        synchronized ResolverResults getFullResults() {
+            if (fullResults == null) {
+                LOGGER.debug("Resolving {} in full", configuration);
+                fullResults = resolver.resolve(configuration, repositories);
+            }
+            return fullResults;
+        }
+
+        /**
+         * Resolves the files of all artifacts whose recorded file is missing, and records them in a single update of the cache.
+         */
+        synchronized void resolveMissingFiles() {
+            if (missingFilesResolved) {
+                return;
+            }
+            missingFilesResolved = true;
+
+            ResolverResults results = getFullResults();
+            results.getResolvedConfiguration().rethrowFailure();
+            Map<ResolvedArtifact, ResolvedArtifact> fullArtifacts = new HashMap<ResolvedArtifact, ResolvedArtifact>();
+            for (ResolvedArtifact fullArtifact : results.getResolvedConfiguration().getLenientConfiguration().getResolvedArtifacts()) {
+                fullArtifacts.put(fullArtifact, fullArtifact);
+            }
+
+            boolean updated = false;
+            List<ResolvedGraph.Artifact> recordedArtifacts = graph.getArtifacts();
+            for (int i = 0; i < artifacts.length; i++) {
+                ResolvedGraph.Artifact recordedArtifact = recordedArtifacts.get(i);
+                File recordedFile = recordedArtifact.getFile();
+                if (recordedFile != null && recordedFile.isFile()) {
+                    continue;
+                }
+                ResolvedArtifact fullArtifact = fullArtifacts.get(artifacts[i]);
+                if (fullArtifact == null) {
+                    continue;
+                }
+                File file = fullArtifact.getFile();
+                if (file != null) {
+                    recordedArtifact.setFile(file);
+                    updated = true;
+                }
+            }
+            if (updated) {
+                cache.put(key, graph);
+            }
+        }
+
+        private class CachedArtifactSource implements Factory<File> {
+            private final ResolvedGraph.Artifact artifact;
+
+            private CachedArtifactSource(ResolvedGraph.Artifact artifact) {
+                this.artifact = artifact;
+            }
+
+            public File create() {
+                File file = artifact.getFile();
+                if (file != null && file.isFile()) {
+                    return file;
+                }
+                return resolveAndRecord();
+            }
+
+            private File resolveAndRecord() {
+                resolveMissingFiles();
+                File file = artifact.getFile();
+                if (file == null) {
+                    throw new ArtifactResolveException(String.format("Could not find artifact '%s' when resolving %s.", artifact.getName(), configuration));
+                }
+                return file;
+            }
+        }
+
+        private class FullResolutionResult implements ResolutionResult {
+            private ResolutionResult getDelegate() {
+                return getFullResults().getResolutionResult();
+            }
+
+            public ResolvedModuleVersionResult getRoot() {
+                return getDelegate().getRoot();
+            }
+
+            public Set<? extends DependencyResult> getAllDependencies() {
+                return getDelegate().getAllDependencies();
+            }
+
+            public void allDependencies(Action<? super DependencyResult> action) {
+                getDelegate().allDependencies(action);
+            }
+
+            public void allDependencies(Closure closure) {
+                getDelegate().allDependencies(closure);
+            }
+
+            public Set<ResolvedModuleVersionResult> getAllModuleVersions() {
+                return getDelegate().getAllModuleVersions();
+            }
+
+            public void allModuleVersions(Action<? super ResolvedModuleVersionResult> action) {
+                getDelegate().allModuleVersions(action);
+            }
+
+            public void allModuleVersions(Closure closure) {
+                getDelegate().allModuleVersions(closure);
+            }
+        }
+    }
+}
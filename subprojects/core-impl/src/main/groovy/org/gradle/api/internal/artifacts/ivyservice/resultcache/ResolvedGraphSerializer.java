@@ -0,0 +1,147 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.artifacts.ivyservice.resultcache;
+
+import org.gradle.messaging.serialize.DataStreamBackedSerializer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Serializes a {@link ResolvedGraph} into a compact binary format. Returns null when reading an entry written using some other format version.
+ */
+public class ResolvedGraphSerializer extends DataStreamBackedSerializer<ResolvedGraph> {
+    static final int FORMAT_VERSION = 2;
+
+    @Override
+    public void write(DataOutput dataOutput, ResolvedGraph value) throws IOException {
+        dataOutput.writeInt(FORMAT_VERSION);
+        dataOutput.writeLong(value.getTimestamp());
+
+        dataOutput.writeInt(value.getNodes().size());
+        for (ResolvedGraph.Node node : value.getNodes()) {
+            writeString(dataOutput, node.getGroup());
+            writeString(dataOutput, node.getName());
+            writeString(dataOutput, node.getVersion());
+            writeString(dataOutput, node.getConfiguration());
+        }
+
+        dataOutput.writeInt(value.getArtifacts().size());
+        for (ResolvedGraph.Artifact artifact : value.getArtifacts()) {
+            dataOutput.writeInt(artifact.getOwner());
+            writeString(dataOutput, artifact.getName());
+            writeString(dataOutput, artifact.getType());
+            writeString(dataOutput, artifact.getExtension());
+            dataOutput.writeInt(artifact.getExtraAttributes().size());
+            for (Map.Entry<String, String> entry : artifact.getExtraAttributes().entrySet()) {
+                writeString(dataOutput, entry.getKey());
+                writeString(dataOutput, entry.getValue());
+            }
+            File file = artifact.getFile();
+            writeString(dataOutput, file == null ? null : file.getPath());
+        }
+
+        dataOutput.writeInt(value.getEdges().size());
+        for (ResolvedGraph.Edge edge : value.getEdges()) {
+            dataOutput.writeInt(edge.getParent());
+            dataOutput.writeInt(edge.getChild());
+            writeIndexes(dataOutput, edge.getArtifacts());
+        }
+
+        writeIndexes(dataOutput, value.getArtifactOrder());
+
+        dataOutput.writeInt(value.getFirstLevelDependencies().size());
+        for (Map.Entry<Integer, Integer> entry : value.getFirstLevelDependencies().entrySet()) {
+            dataOutput.writeInt(entry.getKey());
+            dataOutput.writeInt(entry.getValue());
+        }
+    }
+
+    @Override
+    public ResolvedGraph read(DataInput dataInput) throws IOException {
+        if (dataInput.readInt() != FORMAT_VERSION) {
+            return null;
+        }
+        long timestamp = dataInput.readLong();
+
+        int nodeCount = dataInput.readInt();
+        List<ResolvedGraph.Node> nodes = new ArrayList<ResolvedGraph.Node>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            nodes.add(new ResolvedGraph.Node(readString(dataInput), readString(dataInput), readString(dataInput), readString(dataInput)));
+        }
+
+        int artifactCount = dataInput.readInt();
+        List<ResolvedGraph.Artifact> artifacts = new ArrayList<ResolvedGraph.Artifact>(artifactCount);
+        for (int i = 0; i < artifactCount; i++) {
+            int owner = dataInput.readInt();
+            String name = readString(dataInput);
+            String type = readString(dataInput);
+            String extension = readString(dataInput);
+            int attributeCount = dataInput.readInt();
+            Map<String, String> extraAttributes = new HashMap<String, String>();
+            for (int j = 0; j < attributeCount; j++) {
+                extraAttributes.put(readString(dataInput), readString(dataInput));
+            }
+            String path = readString(dataInput);
+            artifacts.add(new ResolvedGraph.Artifact(owner, name, type, extension, extraAttributes, path == null ? null : new File(path)));
+        }
+
+        int edgeCount = dataInput.readInt();
+        List<ResolvedGraph.Edge> edges = new ArrayList<ResolvedGraph.Edge>(edgeCount);
+        for (int i = 0; i < edgeCount; i++) {
+            edges.add(new ResolvedGraph.Edge(dataInput.readInt(), dataInput.readInt(), readIndexes(dataInput)));
+        }
+
+        int[] artifactOrder = readIndexes(dataInput);
+
+        int firstLevelCount = dataInput.readInt();
+        Map<Integer, Integer> firstLevelDependencies = new LinkedHashMap<Integer, Integer>();
+        for (int i = 0; i < firstLevelCount; i++) {
+            firstLevelDependencies.put(dataInput.readInt(), dataInput.readInt());
+        }
+
+        return new ResolvedGraph(nodes, artifacts, edges, artifactOrder, firstLevelDependencies, timestamp);
+    }
+
+    private void writeIndexes(DataOutput dataOutput, int[] indexes) throws IOException {
+        dataOutput.writeInt(indexes.length);
+        for (int index : indexes) {
+            dataOutput.writeInt(index);
+        }
+    }
+
+    private int[] readIndexes(DataInput dataInput) throws IOException {
+        int[] indexes = new int[dataInput.readInt()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = dataInput.readInt();
+        }
+        return indexes;
+    }
+
+    private void writeString(DataOutput dataOutput, String value) throws IOException {
+        dataOutput.writeBoolean(value != null);
+        if (value != null) {
+            dataOutput.writeUTF(value);
+        }
+    }
+
+    private String readString(DataInput dataInput) throws IOException {
+        return dataInput.readBoolean() ? dataInput.readUTF() : null;
+    }
+}
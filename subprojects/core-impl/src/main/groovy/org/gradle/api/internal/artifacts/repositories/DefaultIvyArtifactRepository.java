@@ -102,7 +102,7 @@ public class DefaultIvyArtifactRepository extends AbstractAuthenticationSupporte
             throw new InvalidUserDataException("You may only specify 'file', 'http' and 'https' urls for an Ivy repository.");
         }
         if (WrapUtil.toSet("http", "https").containsAll(schemes)) {
-            return new IvyResolver(getName(), transportFactory.createHttpTransport(getName(), getCredentials()), locallyAvailableResourceFinder);
+            return new IvyResolver(getName(), transportFactory.createHttpTransport(this, getCredentials()), locallyAvailableResourceFinder);
         }
         if (WrapUtil.toSet("file").containsAll(schemes)) {
             return new IvyResolver(getName(), transportFactory.createFileTransport(getName()), locallyAvailableResourceFinder);
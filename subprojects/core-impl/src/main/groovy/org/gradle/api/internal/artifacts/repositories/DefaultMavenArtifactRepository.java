@@ -110,7 +110,7 @@ public class DefaultMavenArtifactRepository extends AbstractAuthenticationSuppor
         if (scheme.equalsIgnoreCase("file")) {
             return transportFactory.createFileTransport(getName());
         } else {
-            return transportFactory.createHttpTransport(getName(), getCredentials());
+            return transportFactory.createHttpTransport(this, getCredentials());
         }
     }
 
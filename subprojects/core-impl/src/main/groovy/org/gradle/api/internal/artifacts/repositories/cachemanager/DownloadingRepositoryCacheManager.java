@@ -36,6 +36,7 @@ import org.apache.ivy.util.Message;
 import org.gradle.api.internal.artifacts.ivyservice.CacheLockingManager;
 import org.gradle.api.internal.externalresource.ExternalResource;
 import org.gradle.api.internal.externalresource.cached.CachedExternalResourceIndex;
+import org.gradle.api.internal.externalresource.ivy.ByChecksumCachedArtifactIndex;
 import org.gradle.api.internal.externalresource.metadata.ExternalResourceMetaData;
 import org.gradle.api.internal.file.TemporaryFileProvider;
 import org.gradle.api.internal.filestore.FileStore;
@@ -52,14 +53,16 @@ import java.text.ParseException;
 public class DownloadingRepositoryCacheManager extends AbstractRepositoryCacheManager {
     private final FileStore<ArtifactRevisionId> fileStore;
     private final CachedExternalResourceIndex<String> artifactUrlCachedResolutionIndex;
+    private final ByChecksumCachedArtifactIndex artifactChecksumIndex;
     private final TemporaryFileProvider temporaryFileProvider;
     private final CacheLockingManager cacheLockingManager;
 
     public DownloadingRepositoryCacheManager(String name, FileStore<ArtifactRevisionId> fileStore, CachedExternalResourceIndex<String> artifactUrlCachedResolutionIndex,
-                                             TemporaryFileProvider temporaryFileProvider, CacheLockingManager cacheLockingManager) {
+                                             ByChecksumCachedArtifactIndex artifactChecksumIndex, TemporaryFileProvider temporaryFileProvider, CacheLockingManager cacheLockingManager) {
         super(name);
         this.fileStore = fileStore;
         this.artifactUrlCachedResolutionIndex = artifactUrlCachedResolutionIndex;
+        this.artifactChecksumIndex = artifactChecksumIndex;
         this.temporaryFileProvider = temporaryFileProvider;
         this.cacheLockingManager = cacheLockingManager;
     }
@@ -118,6 +121,7 @@ public class DownloadingRepositoryCacheManager extends AbstractRepositoryCacheMa
                 public File create() {
                     FileStoreEntry fileStoreEntry = fileStore.move(artifact.getId(), tmpFile);
                     File fileInFileStore = fileStoreEntry.getFile();
+                    artifactChecksumIndex.store(fileStoreEntry.getSha1(), fileInFileStore);
                     if (resource instanceof ExternalResource) {
                         ExternalResource externalResource = (ExternalResource) resource;
                         ExternalResourceMetaData metaData = externalResource.getMetaData();
@@ -53,7 +53,7 @@ class MavenMetadataLoader {
     }
 
     private void parseMavenMetadataInfo(final String metadataLocation, final MavenMetadata metadata) throws Exception {
-        final ExternalResource resource = repository.getResource(metadataLocation);
+        final ExternalResource resource = repository.getRevalidatedResource(metadataLocation);
         if (resource == null) {
             throw new ResourceNotFoundException(String.format("Maven meta-data not available: %s", metadataLocation));
         }
@@ -15,10 +15,13 @@
  */
 package org.gradle.api.internal.artifacts.repositories.transport;
 
+import org.gradle.api.artifacts.repositories.ArtifactRepository;
 import org.gradle.api.artifacts.repositories.PasswordCredentials;
 import org.gradle.api.internal.artifacts.repositories.cachemanager.RepositoryArtifactCache;
+import org.gradle.api.internal.externalresource.cached.ByUrlCachedResourceContentIndex;
 import org.gradle.api.internal.externalresource.cached.CachedExternalResourceIndex;
 import org.gradle.api.internal.externalresource.transport.file.FileTransport;
+import org.gradle.api.internal.externalresource.transport.http.HttpClientStatistics;
 import org.gradle.api.internal.externalresource.transport.http.HttpTransport;
 import org.gradle.api.internal.file.TemporaryFileProvider;
 import org.gradle.logging.ProgressLoggerFactory;
@@ -27,23 +30,29 @@ public class RepositoryTransportFactory {
     private final RepositoryArtifactCache downloadingCacheManager;
     private final TemporaryFileProvider temporaryFileProvider;
     private final CachedExternalResourceIndex<String> cachedExternalResourceIndex;
+    private final ByUrlCachedResourceContentIndex cachedResourceContentIndex;
     private final RepositoryArtifactCache localCacheManager;
     private final ProgressLoggerFactory progressLoggerFactory;
+    private final HttpClientStatistics httpClientStatistics;
 
     public RepositoryTransportFactory(ProgressLoggerFactory progressLoggerFactory,
                                       RepositoryArtifactCache localCacheManager,
                                       RepositoryArtifactCache downloadingCacheManager,
                                       TemporaryFileProvider temporaryFileProvider,
-                                      CachedExternalResourceIndex<String> cachedExternalResourceIndex) {
+                                      CachedExternalResourceIndex<String> cachedExternalResourceIndex,
+                                      ByUrlCachedResourceContentIndex cachedResourceContentIndex,
+                                      HttpClientStatistics httpClientStatistics) {
         this.progressLoggerFactory = progressLoggerFactory;
         this.localCacheManager = localCacheManager;
         this.downloadingCacheManager = downloadingCacheManager;
         this.temporaryFileProvider = temporaryFileProvider;
         this.cachedExternalResourceIndex = cachedExternalResourceIndex;
+        this.cachedResourceContentIndex = cachedResourceContentIndex;
+        this.httpClientStatistics = httpClientStatistics;
     }
 
-    public RepositoryTransport createHttpTransport(String name, PasswordCredentials credentials) {
-        return new HttpTransport(name, credentials, downloadingCacheManager, progressLoggerFactory, temporaryFileProvider, cachedExternalResourceIndex);
+    public RepositoryTransport createHttpTransport(ArtifactRepository repository, PasswordCredentials credentials) {
+        return new HttpTransport(repository, credentials, downloadingCacheManager, progressLoggerFactory, temporaryFileProvider, cachedExternalResourceIndex, cachedResourceContentIndex, httpClientStatistics);
     }
 
     public RepositoryTransport createFileTransport(String name) {
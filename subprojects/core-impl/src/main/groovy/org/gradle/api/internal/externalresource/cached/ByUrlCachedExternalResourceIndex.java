@@ -18,13 +18,14 @@ package org.gradle.api.internal.externalresource.cached;
 
 import org.gradle.api.internal.artifacts.ivyservice.CacheLockingManager;
 import org.gradle.internal.TimeProvider;
+import org.gradle.messaging.serialize.StringSerializer;
 
 import java.io.File;
 
 public class ByUrlCachedExternalResourceIndex extends DefaultCachedExternalResourceIndex<String> {
 
     public ByUrlCachedExternalResourceIndex(File persistentCacheFile, TimeProvider timeProvider, CacheLockingManager cacheLockingManager) {
-        super(persistentCacheFile, String.class, timeProvider, cacheLockingManager);
+        super(persistentCacheFile, new StringSerializer(), timeProvider, cacheLockingManager);
     }
 
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.externalresource.cached;
+
+import org.gradle.api.internal.artifacts.ivyservice.CacheLockingManager;
+import org.gradle.api.internal.externalresource.metadata.ExternalResourceMetaData;
+import org.gradle.api.internal.externalresource.metadata.ExternalResourceMetaDataSerializer;
+import org.gradle.cache.PersistentIndexedCache;
+import org.gradle.internal.Factory;
+import org.gradle.internal.TimeProvider;
+import org.gradle.messaging.serialize.DataStreamBackedSerializer;
+import org.gradle.messaging.serialize.StringSerializer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Keeps a copy of small resources that are fetched repeatedly, such as {@code maven-metadata.xml} files and directory listings, so that later builds
+ * can revalidate the copy using a conditional request instead of downloading the resource again.
+ */
+public class ByUrlCachedResourceContentIndex {
+    private final File persistentCacheFile;
+    private final TimeProvider timeProvider;
+    private final CacheLockingManager cacheLockingManager;
+    private PersistentIndexedCache<String, CachedResourceContent> persistentCache;
+
+    public ByUrlCachedResourceContentIndex(File persistentCacheFile, TimeProvider timeProvider, CacheLockingManager cacheLockingManager) {
+        this.persistentCacheFile = persistentCacheFile;
+        this.timeProvider = timeProvider;
+        this.cacheLockingManager = cacheLockingManager;
+    }
+
+    private PersistentIndexedCache<String, CachedResourceContent> getPersistentCache() {
+        if (persistentCache == null) {
+            persistentCache = cacheLockingManager.createCache(persistentCacheFile, new StringSerializer(), new CachedResourceContentSerializer());
+        }
+        return persistentCache;
+    }
+
+    private String operationName(String action) {
+        return String.format("%s resource content cache '%s'", action, persistentCacheFile.getName());
+    }
+
+    public CachedResourceContent lookup(final String url) {
+        return cacheLockingManager.useCache(operationName("lookup from"), new Factory<CachedResourceContent>() {
+            public CachedResourceContent create() {
+                return getPersistentCache().get(url);
+            }
+        });
+    }
+
+    public void store(final String url, byte[] content, String contentType, ExternalResourceMetaData metaData) {
+        final CachedResourceContent entry = new CachedResourceContent(content, contentType, metaData, timeProvider.getCurrentTime());
+        cacheLockingManager.useCache(operationName("store into"), new Runnable() {
+            public void run() {
+                getPersistentCache().put(url, entry);
+            }
+        });
+    }
+
+    public void clear(final String url) {
+        cacheLockingManager.useCache(operationName("clear from"), new Runnable() {
+            public void run() {
+                getPersistentCache().remove(url);
+            }
+        });
+    }
+
+    private static class CachedResourceContentSerializer extends DataStreamBackedSerializer<CachedResourceContent> {
+        private final ExternalResourceMetaDataSerializer metaDataSerializer = new ExternalResourceMetaDataSerializer();
+
+        @Override
+        public void write(DataOutput dataOutput, CachedResourceContent value) throws IOException {
+            dataOutput.writeLong(value.getCachedAt());
+            dataOutput.writeBoolean(value.getContentType() != null);
+            if (value.getContentType() != null) {
+                dataOutput.writeUTF(value.getContentType());
+            }
+            metaDataSerializer.write(dataOutput, value.getExternalResourceMetaData());
+            byte[] content = value.getContent();
+            dataOutput.writeInt(content.length);
+            dataOutput.write(content);
+        }
+
+        @Override
+        public CachedResourceContent read(DataInput dataInput) throws IOException {
+            long cachedAt = dataInput.readLong();
+            String contentType = dataInput.readBoolean() ? dataInput.readUTF() : null;
+            ExternalResourceMetaData metaData = metaDataSerializer.read(dataInput);
+            byte[] content = new byte[dataInput.readInt()];
+            dataInput.readFully(content);
+            return new CachedResourceContent(content, contentType, metaData, cachedAt);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.externalresource.cached;
+
+import org.gradle.api.internal.externalresource.metadata.ExternalResourceMetaData;
+import org.gradle.api.internal.externalresource.metadata.ExternalResourceMetaDataSerializer;
+import org.gradle.messaging.serialize.DataStreamBackedSerializer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+
+public class CachedExternalResourceSerializer extends DataStreamBackedSerializer<CachedExternalResource> {
+    private final ExternalResourceMetaDataSerializer metaDataSerializer = new ExternalResourceMetaDataSerializer();
+
+    @Override
+    public void write(DataOutput dataOutput, CachedExternalResource value) throws IOException {
+        dataOutput.writeLong(value.getCachedAt());
+        dataOutput.writeBoolean(value.isMissing());
+        if (value.isMissing()) {
+            return;
+        }
+        dataOutput.writeUTF(value.getCachedFile().getPath());
+        ExternalResourceMetaData metaData = value.getExternalResourceMetaData();
+        dataOutput.writeBoolean(metaData != null);
+        if (metaData != null) {
+            metaDataSerializer.write(dataOutput, metaData);
+        }
+    }
+
+    @Override
+    public CachedExternalResource read(DataInput dataInput) throws Exception {
+        long cachedAt = dataInput.readLong();
+        boolean isMissing = dataInput.readBoolean();
+        if (isMissing) {
+            return new DefaultCachedExternalResource(cachedAt);
+        }
+        File cachedFile = new File(dataInput.readUTF());
+        ExternalResourceMetaData metaData = dataInput.readBoolean() ? metaDataSerializer.read(dataInput) : null;
+        return new DefaultCachedExternalResource(cachedFile, cachedAt, metaData);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.externalresource.cached;
+
+import org.gradle.api.Nullable;
+import org.gradle.api.internal.externalresource.metadata.ExternalResourceMetaData;
+
+/**
+ * The content of a remote resource, held in the cache along with the meta-data used to revalidate it.
+ */
+public class CachedResourceContent {
+    private final byte[] content;
+    private final String contentType;
+    private final ExternalResourceMetaData externalResourceMetaData;
+    private final long cachedAt;
+
+    public CachedResourceContent(byte[] content, @Nullable String contentType, ExternalResourceMetaData externalResourceMetaData, long cachedAt) {
+        this.content = content;
+        this.contentType = contentType;
+        this.externalResourceMetaData = externalResourceMetaData;
+        this.cachedAt = cachedAt;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    @Nullable
+    public String getContentType() {
+        return contentType;
+    }
+
+    public ExternalResourceMetaData getExternalResourceMetaData() {
+        return externalResourceMetaData;
+    }
+
+    public long getCachedAt() {
+        return cachedAt;
+    }
+}
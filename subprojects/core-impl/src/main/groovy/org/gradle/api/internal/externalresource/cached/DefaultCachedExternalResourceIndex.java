@@ -20,17 +20,16 @@ import org.gradle.api.internal.artifacts.ivyservice.CacheLockingManager;
 import org.gradle.api.internal.externalresource.ivy.AbstractCachedIndex;
 import org.gradle.api.internal.externalresource.metadata.ExternalResourceMetaData;
 import org.gradle.internal.TimeProvider;
-import org.gradle.messaging.serialize.DefaultSerializer;
+import org.gradle.messaging.serialize.Serializer;
 
 import java.io.File;
-import java.io.Serializable;
 
-public class DefaultCachedExternalResourceIndex<K extends Serializable> extends AbstractCachedIndex<K, CachedExternalResource> implements CachedExternalResourceIndex<K> {
+public class DefaultCachedExternalResourceIndex<K> extends AbstractCachedIndex<K, CachedExternalResource> implements CachedExternalResourceIndex<K> {
 
     private final TimeProvider timeProvider;
 
-    public DefaultCachedExternalResourceIndex(File persistentCacheFile, Class<K> keyType, TimeProvider timeProvider, CacheLockingManager cacheLockingManager) {
-        super(persistentCacheFile, new DefaultSerializer<K>(keyType.getClassLoader()), new DefaultSerializer<CachedExternalResource>(CachedExternalResource.class.getClassLoader()), cacheLockingManager);
+    public DefaultCachedExternalResourceIndex(File persistentCacheFile, Serializer<K> keySerializer, TimeProvider timeProvider, CacheLockingManager cacheLockingManager) {
+        super(persistentCacheFile, keySerializer, new CachedExternalResourceSerializer(), cacheLockingManager);
         this.timeProvider = timeProvider;
     }
 
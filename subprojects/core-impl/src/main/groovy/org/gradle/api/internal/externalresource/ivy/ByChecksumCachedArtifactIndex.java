@@ -0,0 +1,120 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.externalresource.ivy;
+
+import org.gradle.api.Nullable;
+import org.gradle.api.internal.artifacts.ivyservice.CacheLockingManager;
+import org.gradle.api.internal.externalresource.cached.CachedItem;
+import org.gradle.internal.TimeProvider;
+import org.gradle.messaging.serialize.DataStreamBackedSerializer;
+import org.gradle.util.hash.HashValue;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * An index of the artifacts in the file store by the SHA1 checksum of their content, regardless of the module or repository the artifact was
+ * downloaded for. Allows content that is already in the file store to be located with a single lookup.
+ */
+public class ByChecksumCachedArtifactIndex extends AbstractCachedIndex<HashValue, ByChecksumCachedArtifactIndex.CachedContent> {
+    private final TimeProvider timeProvider;
+
+    public ByChecksumCachedArtifactIndex(File persistentCacheFile, TimeProvider timeProvider, CacheLockingManager cacheLockingManager) {
+        super(persistentCacheFile, new HashValueSerializer(), new CachedContentSerializer(), cacheLockingManager);
+        this.timeProvider = timeProvider;
+    }
+
+    public void store(HashValue sha1, File artifactFile) {
+        assertKeyNotNull(sha1);
+        assertArtifactFileNotNull(artifactFile);
+        storeInternal(sha1, new CachedContent(artifactFile, timeProvider.getCurrentTime()));
+    }
+
+    /**
+     * Locates a file in the file store with the given checksum. An entry whose file is no longer present in the file store is removed from the index.
+     *
+     * @return The file, or null if there is no such file.
+     */
+    @Nullable
+    public File findFile(HashValue sha1) {
+        CachedContent content = lookup(sha1);
+        if (content == null) {
+            return null;
+        }
+        File file = content.getCachedFile();
+        if (!file.isFile()) {
+            clear(sha1);
+            return null;
+        }
+        return file;
+    }
+
+    public static class CachedContent implements CachedItem {
+        private final File cachedFile;
+        private final long cachedAt;
+
+        public CachedContent(File cachedFile, long cachedAt) {
+            this.cachedFile = cachedFile;
+            this.cachedAt = cachedAt;
+        }
+
+        public boolean isMissing() {
+            return false;
+        }
+
+        public File getCachedFile() {
+            return cachedFile;
+        }
+
+        public long getCachedAt() {
+            return cachedAt;
+        }
+    }
+
+    private static class HashValueSerializer extends DataStreamBackedSerializer<HashValue> {
+        @Override
+        public void write(DataOutput dataOutput, HashValue value) throws IOException {
+            byte[] hash = value.asByteArray();
+            dataOutput.writeInt(hash.length);
+            dataOutput.write(hash);
+        }
+
+        @Override
+        public HashValue read(DataInput dataInput) throws IOException {
+            byte[] hash = new byte[dataInput.readInt()];
+            dataInput.readFully(hash);
+            return new HashValue(hash);
+        }
+    }
+
+    private static class CachedContentSerializer extends DataStreamBackedSerializer<CachedContent> {
+        @Override
+        public void write(DataOutput dataOutput, CachedContent value) throws IOException {
+            dataOutput.writeUTF(value.getCachedFile().getPath());
+            dataOutput.writeLong(value.getCachedAt());
+        }
+
+        @Override
+        public CachedContent read(DataInput dataInput) throws IOException {
+            File file = new File(dataInput.readUTF());
+            long cachedAt = dataInput.readLong();
+            return new CachedContent(file, cachedAt);
+        }
+    }
+}
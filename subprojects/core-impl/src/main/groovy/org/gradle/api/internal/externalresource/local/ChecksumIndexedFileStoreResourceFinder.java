@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.externalresource.local;
+
+import org.gradle.api.internal.externalresource.ivy.ByChecksumCachedArtifactIndex;
+import org.gradle.api.internal.filestore.FileStoreEntry;
+import org.gradle.api.internal.filestore.FileStoreSearcher;
+import org.gradle.util.hash.HashValue;
+
+import java.io.File;
+import java.util.Set;
+
+/**
+ * Finds resources in the file store. The entries stored for the criterion are matched using the checksum recorded by the file store, and
+ * otherwise content stored for some other criterion is located using the checksum index, so that no candidate file needs to be read.
+ *
+ * <p>Content stored for another criterion can only be found once the checksum is known, so the candidates are never reported as empty. This means
+ * the checksum of a resource is always requested, so that the checksum index is consulted.</p>
+ *
+ * @param <C> The type of criterion the file store can be searched for.
+ */
+public class ChecksumIndexedFileStoreResourceFinder<C> implements LocallyAvailableResourceFinder<C> {
+    private final FileStoreSearcher<C> fileStore;
+    private final ByChecksumCachedArtifactIndex checksumIndex;
+
+    public ChecksumIndexedFileStoreResourceFinder(FileStoreSearcher<C> fileStore, ByChecksumCachedArtifactIndex checksumIndex) {
+        this.fileStore = fileStore;
+        this.checksumIndex = checksumIndex;
+    }
+
+    public LocallyAvailableResourceCandidates findCandidates(final C criterion) {
+        return new LocallyAvailableResourceCandidates() {
+            private Set<? extends FileStoreEntry> entries;
+
+            private Set<? extends FileStoreEntry> getEntries() {
+                if (entries == null) {
+                    entries = fileStore.search(criterion);
+                }
+                return entries;
+            }
+
+            public boolean isNone() {
+                // May have matching content stored for some other criterion
+                return false;
+            }
+
+            public LocallyAvailableResource findByHashValue(HashValue hashValue) {
+                for (FileStoreEntry entry : getEntries()) {
+                    if (entry.getSha1().equals(hashValue)) {
+                        return new DefaultLocallyAvailableResource(entry.getFile(), hashValue);
+                    }
+                }
+                File file = checksumIndex.findFile(hashValue);
+                if (file != null) {
+                    return new DefaultLocallyAvailableResource(file, hashValue);
+                }
+                return null;
+            }
+        };
+    }
+}
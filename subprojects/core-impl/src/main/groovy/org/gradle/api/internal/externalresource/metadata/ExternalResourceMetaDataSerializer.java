@@ -0,0 +1,61 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.externalresource.metadata;
+
+import org.gradle.messaging.serialize.DataStreamBackedSerializer;
+import org.gradle.util.hash.HashValue;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Date;
+
+public class ExternalResourceMetaDataSerializer extends DataStreamBackedSerializer<ExternalResourceMetaData> {
+    @Override
+    public void write(DataOutput dataOutput, ExternalResourceMetaData metaData) throws IOException {
+        writeNullableString(dataOutput, metaData.getLocation());
+        Date lastModified = metaData.getLastModified();
+        dataOutput.writeBoolean(lastModified != null);
+        if (lastModified != null) {
+            dataOutput.writeLong(lastModified.getTime());
+        }
+        dataOutput.writeLong(metaData.getContentLength());
+        writeNullableString(dataOutput, metaData.getEtag());
+        HashValue sha1 = metaData.getSha1();
+        writeNullableString(dataOutput, sha1 == null ? null : sha1.asHexString());
+    }
+
+    @Override
+    public ExternalResourceMetaData read(DataInput dataInput) throws IOException {
+        String location = readNullableString(dataInput);
+        Date lastModified = dataInput.readBoolean() ? new Date(dataInput.readLong()) : null;
+        long contentLength = dataInput.readLong();
+        String etag = readNullableString(dataInput);
+        String sha1 = readNullableString(dataInput);
+        return new DefaultExternalResourceMetaData(location, lastModified, contentLength, etag, sha1 == null ? null : HashValue.parse(sha1));
+    }
+
+    private void writeNullableString(DataOutput dataOutput, String value) throws IOException {
+        dataOutput.writeBoolean(value != null);
+        if (value != null) {
+            dataOutput.writeUTF(value);
+        }
+    }
+
+    private String readNullableString(DataInput dataInput) throws IOException {
+        return dataInput.readBoolean() ? dataInput.readUTF() : null;
+    }
+}
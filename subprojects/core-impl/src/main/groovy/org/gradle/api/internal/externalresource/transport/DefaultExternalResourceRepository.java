@@ -41,6 +41,7 @@ public class DefaultExternalResourceRepository implements ExternalResourceReposi
     private final TemporaryFileProvider temporaryFileProvider;
     private final String name;
     private final ExternalResourceAccessor accessor;
+    private final ExternalResourceAccessor revalidatingAccessor;
     private final ExternalResourceUploader uploader;
     private final ExternalResourceLister lister;
 
@@ -49,8 +50,15 @@ public class DefaultExternalResourceRepository implements ExternalResourceReposi
     public DefaultExternalResourceRepository(String name, ExternalResourceAccessor accessor, ExternalResourceUploader uploader,
                                              ExternalResourceLister lister, TemporaryFileProvider temporaryFileProvider,
                                              CacheAwareExternalResourceAccessor cacheAwareAccessor) {
+        this(name, accessor, accessor, uploader, lister, temporaryFileProvider, cacheAwareAccessor);
+    }
+
+    public DefaultExternalResourceRepository(String name, ExternalResourceAccessor accessor, ExternalResourceAccessor revalidatingAccessor,
+                                             ExternalResourceUploader uploader, ExternalResourceLister lister, TemporaryFileProvider temporaryFileProvider,
+                                             CacheAwareExternalResourceAccessor cacheAwareAccessor) {
         this.name = name;
         this.accessor = accessor;
+        this.revalidatingAccessor = revalidatingAccessor;
         this.uploader = uploader;
         this.lister = lister;
         this.temporaryFileProvider = temporaryFileProvider;
@@ -65,6 +73,10 @@ public class DefaultExternalResourceRepository implements ExternalResourceReposi
         return cacheAwareAccessor.getResource(source, localCandidates);
     }
 
+    public ExternalResource getRevalidatedResource(String source) throws IOException {
+        return revalidatingAccessor.getResource(source);
+    }
+
     public ExternalResourceMetaData getResourceMetaData(String source) throws IOException {
         return accessor.getMetaData(source);
     }
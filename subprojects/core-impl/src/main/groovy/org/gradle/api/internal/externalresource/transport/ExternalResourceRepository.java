@@ -41,6 +41,15 @@ public interface ExternalResourceRepository {
      */
     ExternalResource getResource(String source, @Nullable LocallyAvailableResourceCandidates localCandidates) throws IOException;
 
+    /**
+     * Attempts to fetch a small resource which is fetched again each time the cached information derived from it expires, such as a
+     * {@code maven-metadata.xml} file. Where the transport supports it, a copy of the resource cached by an earlier request is revalidated
+     * rather than downloaded again.
+     *
+     * @return null if the resource is not found.
+     */
+    ExternalResource getRevalidatedResource(String source) throws IOException;
+
     /**
      * Transfer a resource to the repository
      *
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.externalresource.transport.http;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Records the number of bytes read from the content of a response.
+ */
+class CountingHttpEntity extends HttpEntityWrapper {
+    private final HttpRepositoryStatistics statistics;
+
+    CountingHttpEntity(HttpEntity wrappedEntity, HttpRepositoryStatistics statistics) {
+        super(wrappedEntity);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        return new FilterInputStream(super.getContent()) {
+            @Override
+            public int read() throws IOException {
+                int result = super.read();
+                if (result >= 0) {
+                    statistics.bytesRead(1);
+                }
+                return result;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int count = super.read(b, off, len);
+                if (count > 0) {
+                    statistics.bytesRead(count);
+                }
+                return count;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long count = super.skip(n);
+                statistics.bytesRead(count);
+                return count;
+            }
+        };
+    }
+
+    @Override
+    public void writeTo(OutputStream outstream) throws IOException {
+        InputStream content = getContent();
+        try {
+            IOUtils.copyLarge(content, outstream);
+        } finally {
+            content.close();
+        }
+    }
+}
@@ -16,13 +16,16 @@
 
 package org.gradle.api.internal.externalresource.transport.http;
 
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpHead;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.conn.ClientConnectionManager;
 import org.apache.http.impl.client.*;
 import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
 import org.apache.http.util.EntityUtils;
 import org.gradle.api.UncheckedIOException;
 import org.slf4j.Logger;
@@ -32,17 +35,27 @@ import java.io.IOException;
 
 /**
  * Provides some convenience and unified logging.
+ *
+ * <p>Connections are leased from the {@link SharedHttpConnectionPool}, so a helper can be used by multiple threads concurrently. Each thread uses its
+ * own context, which keeps the authentication state for the connections used by that thread.</p>
  */
 public class HttpClientHelper {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientHelper.class);
     private final HttpClient client;
-    private final BasicHttpContext httpContext = new BasicHttpContext();
+    private final HttpRepositoryStatistics statistics;
+    private final ThreadLocal<HttpContext> httpContext = new ThreadLocal<HttpContext>() {
+        @Override
+        protected HttpContext initialValue() {
+            return new BasicHttpContext();
+        }
+    };
 
-    public HttpClientHelper(HttpSettings settings) {
+    public HttpClientHelper(HttpSettings settings, SharedHttpConnectionPool connectionPool, HttpRepositoryStatistics statistics) {
         alwaysUseKeepAliveConnections();
 
-        DefaultHttpClient client = new SystemDefaultHttpClient();
+        this.statistics = statistics;
+        DefaultHttpClient client = new PooledHttpClient(connectionPool.createConnectionManager(statistics));
         new HttpClientConfigurer(settings).configure(client);
         this.client = new DecompressingHttpClient(client);
     }
@@ -104,11 +117,19 @@ public class HttpClientHelper {
     }
 
     public HttpResponse performHttpRequest(HttpRequestBase request) throws IOException {
+        HttpContext context = httpContext.get();
         // Without this, HTTP Client prohibits multiple redirects to the same location within the same context
-        httpContext.removeAttribute(DefaultRedirectStrategy.REDIRECT_LOCATIONS);
+        context.removeAttribute(DefaultRedirectStrategy.REDIRECT_LOCATIONS);
 
         LOGGER.debug("Performing HTTP {}: {}", request.getMethod(), request.getURI());
-        return client.execute(request, httpContext);
+        long start = System.currentTimeMillis();
+        HttpResponse response = client.execute(request, context);
+        statistics.requestCompleted(System.currentTimeMillis() - start);
+        HttpEntity entity = response.getEntity();
+        if (entity != null) {
+            response.setEntity(new CountingHttpEntity(entity, statistics));
+        }
+        return response;
     }
 
     private HttpResponse processResponse(String source, String method, HttpResponse response) {
@@ -125,5 +146,19 @@ public class HttpClientHelper {
         return response;
     }
 
+    /**
+     * Uses the system default configuration, such as the proxy selector, but leases connections from the shared pool.
+     */
+    private static class PooledHttpClient extends SystemDefaultHttpClient {
+        private final ClientConnectionManager connectionManager;
 
+        PooledHttpClient(ClientConnectionManager connectionManager) {
+            this.connectionManager = connectionManager;
+        }
+
+        @Override
+        protected ClientConnectionManager createClientConnectionManager() {
+            return connectionManager;
+        }
+    }
 }
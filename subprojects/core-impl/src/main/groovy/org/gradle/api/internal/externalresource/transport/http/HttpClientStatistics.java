@@ -0,0 +1,71 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.externalresource.transport.http;
+
+import org.gradle.api.artifacts.repositories.ArtifactRepository;
+import org.gradle.internal.Stoppable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the statistics of the HTTP repositories used by a build, and reports them when the build finishes. Statistics are kept for each repository
+ * instance, so that separate repositories that happen to have the same name are reported separately.
+ */
+public class HttpClientStatistics implements Stoppable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientStatistics.class);
+
+    private final SharedHttpConnectionPool connectionPool;
+    private final Map<ArtifactRepository, HttpRepositoryStatistics> repositories = new LinkedHashMap<ArtifactRepository, HttpRepositoryStatistics>();
+
+    public HttpClientStatistics(SharedHttpConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    public SharedHttpConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    public HttpRepositoryStatistics forRepository(ArtifactRepository repository) {
+        synchronized (repositories) {
+            HttpRepositoryStatistics statistics = repositories.get(repository);
+            if (statistics == null) {
+                statistics = new HttpRepositoryStatistics(repository.getName());
+                repositories.put(repository, statistics);
+            }
+            return statistics;
+        }
+    }
+
+    public List<HttpRepositoryStatistics> getRepositories() {
+        synchronized (repositories) {
+            return new ArrayList<HttpRepositoryStatistics>(repositories.values());
+        }
+    }
+
+    public void stop() {
+        for (HttpRepositoryStatistics statistics : getRepositories()) {
+            if (statistics.getRequests() > 0) {
+                LOGGER.info("HTTP statistics. {}", statistics);
+            }
+        }
+        connectionPool.closeIdleConnections();
+    }
+}
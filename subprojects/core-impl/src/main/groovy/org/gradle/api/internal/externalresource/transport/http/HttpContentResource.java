@@ -0,0 +1,78 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.externalresource.transport.http;
+
+import org.gradle.api.internal.externalresource.AbstractExternalResource;
+import org.gradle.api.internal.externalresource.metadata.ExternalResourceMetaData;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Date;
+
+/**
+ * A resource whose content has already been read into memory, either from an HTTP response or from the cache.
+ */
+class HttpContentResource extends AbstractExternalResource {
+    private final String source;
+    private final byte[] content;
+    private final String contentType;
+    private final ExternalResourceMetaData metaData;
+
+    HttpContentResource(String source, byte[] content, String contentType, ExternalResourceMetaData metaData) {
+        this.source = source;
+        this.content = content;
+        this.contentType = contentType;
+        this.metaData = metaData;
+    }
+
+    public String getName() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Http Content Resource: %s", source);
+    }
+
+    public ExternalResourceMetaData getMetaData() {
+        return metaData;
+    }
+
+    public long getLastModified() {
+        Date lastModified = metaData.getLastModified();
+        return lastModified == null ? 0 : lastModified.getTime();
+    }
+
+    public long getContentLength() {
+        return content.length;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public boolean exists() {
+        return true;
+    }
+
+    public boolean isLocal() {
+        return false;
+    }
+
+    public InputStream openStream() {
+        return new ByteArrayInputStream(content);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.externalresource.transport.http;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics about the HTTP requests made for a single repository. Safe to update from multiple threads.
+ */
+public class HttpRepositoryStatistics {
+    private final String repositoryName;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong totalLatencyMillis = new AtomicLong();
+    private final AtomicLong newConnections = new AtomicLong();
+    private final AtomicLong reusedConnections = new AtomicLong();
+
+    public HttpRepositoryStatistics(String repositoryName) {
+        this.repositoryName = repositoryName;
+    }
+
+    public String getRepositoryName() {
+        return repositoryName;
+    }
+
+    /**
+     * Records a request that received its response headers after the given time.
+     */
+    public void requestCompleted(long latencyMillis) {
+        requests.incrementAndGet();
+        totalLatencyMillis.addAndGet(latencyMillis);
+    }
+
+    public void bytesRead(long count) {
+        bytesRead.addAndGet(count);
+    }
+
+    public void connectionOpened() {
+        newConnections.incrementAndGet();
+    }
+
+    public void connectionReused() {
+        reusedConnections.incrementAndGet();
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    public long getAverageLatencyMillis() {
+        long count = requests.get();
+        return count == 0 ? 0 : totalLatencyMillis.get() / count;
+    }
+
+    public long getNewConnections() {
+        return newConnections.get();
+    }
+
+    public long getReusedConnections() {
+        return reusedConnections.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Repository '%s': requests: %s, bytes read: %s, average latency: %sms, new connections: %s, reused connections: %s",
+                repositoryName, getRequests(), getBytesRead(), getAverageLatencyMillis(), getNewConnections(), getReusedConnections());
+    }
+}
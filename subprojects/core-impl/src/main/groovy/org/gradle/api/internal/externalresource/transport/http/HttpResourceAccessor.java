@@ -26,6 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -40,12 +41,17 @@ public class HttpResourceAccessor implements ExternalResourceAccessor {
         this.http = http;
     }
 
-    public HttpResponseResource getResource(String location) throws IOException {
+    public HttpResponseResource getResource(final String location) throws IOException {
         abortOpenResources();
         LOGGER.debug("Constructing external resource: {}", location);
-        HttpResponse response = http.performGet(location);
+        final HttpResponse response = http.performGet(location);
         if (response != null) {
             HttpResponseResource resource = new HttpResponseResource("GET", location, response) {
+                @Override
+                public InputStream openStream() throws IOException {
+                    return ResumingHttpInputStream.wrap(http, location, response, super.openStream());
+                }
+
                 @Override
                 public void close() throws IOException {
                     super.close();
@@ -28,9 +28,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class HttpResourceLister implements ExternalResourceLister {
-    private HttpResourceAccessor accessor;
+    private RevalidatingHttpResourceAccessor accessor;
 
-    public HttpResourceLister(HttpResourceAccessor accessor) {
+    public HttpResourceLister(RevalidatingHttpResourceAccessor accessor) {
         this.accessor = accessor;
     }
 
@@ -41,7 +41,7 @@ public class HttpResourceLister implements ExternalResourceLister {
         } catch (URISyntaxException ex) {
             throw new ResourceException(String.format("Unable to create URI from string '%s' ", parent), ex);
         }
-        final HttpResponseResource resource = accessor.getResource(baseURI.toString());
+        final HttpContentResource resource = accessor.getResource(baseURI.toString());
         if (resource == null) {
             return null;
         }
@@ -15,10 +15,12 @@
  */
 package org.gradle.api.internal.externalresource.transport.http;
 
+import org.gradle.api.artifacts.repositories.ArtifactRepository;
 import org.gradle.api.artifacts.repositories.PasswordCredentials;
 import org.gradle.api.internal.artifacts.repositories.cachemanager.RepositoryArtifactCache;
 import org.gradle.api.internal.artifacts.repositories.resolver.ExternalResourceResolver;
 import org.gradle.api.internal.artifacts.repositories.transport.RepositoryTransport;
+import org.gradle.api.internal.externalresource.cached.ByUrlCachedResourceContentIndex;
 import org.gradle.api.internal.externalresource.cached.CachedExternalResourceIndex;
 import org.gradle.api.internal.externalresource.transfer.DefaultCacheAwareExternalResourceAccessor;
 import org.gradle.api.internal.externalresource.transfer.ProgressLoggingExternalResourceAccessor;
@@ -35,29 +37,33 @@ public class HttpTransport implements RepositoryTransport {
     private final RepositoryArtifactCache repositoryCacheManager;
     private final ExternalResourceRepository repository;
 
-    public HttpTransport(String name, PasswordCredentials credentials, RepositoryArtifactCache repositoryCacheManager,
+    public HttpTransport(ArtifactRepository repository, PasswordCredentials credentials, RepositoryArtifactCache repositoryCacheManager,
                          ProgressLoggerFactory progressLoggerFactory, TemporaryFileProvider temporaryFileProvider,
-                         CachedExternalResourceIndex<String> cachedExternalResourceIndex) {
-        this.name = name;
+                         CachedExternalResourceIndex<String> cachedExternalResourceIndex, ByUrlCachedResourceContentIndex cachedResourceContentIndex,
+                         HttpClientStatistics httpClientStatistics) {
+        this.name = repository.getName();
         this.repositoryCacheManager = repositoryCacheManager;
-        repository = createRepository(credentials, progressLoggerFactory, temporaryFileProvider, cachedExternalResourceIndex);
+        this.repository = createRepository(repository, credentials, progressLoggerFactory, temporaryFileProvider, cachedExternalResourceIndex, cachedResourceContentIndex, httpClientStatistics);
     }
 
     public ExternalResourceRepository getRepository() {
         return repository;
     }
 
-    private ExternalResourceRepository createRepository(PasswordCredentials credentials, ProgressLoggerFactory progressLoggerFactory,
-                                                        TemporaryFileProvider temporaryFileProvider, CachedExternalResourceIndex<String> cachedExternalResourceIndex) {
-        HttpClientHelper http = new HttpClientHelper(new DefaultHttpSettings(credentials));
+    private ExternalResourceRepository createRepository(ArtifactRepository artifactRepository, PasswordCredentials credentials, ProgressLoggerFactory progressLoggerFactory,
+                                                        TemporaryFileProvider temporaryFileProvider, CachedExternalResourceIndex<String> cachedExternalResourceIndex,
+                                                        ByUrlCachedResourceContentIndex cachedResourceContentIndex, HttpClientStatistics httpClientStatistics) {
+        HttpClientHelper http = new HttpClientHelper(new DefaultHttpSettings(credentials), httpClientStatistics.getConnectionPool(), httpClientStatistics.forRepository(artifactRepository));
         HttpResourceAccessor accessor = new HttpResourceAccessor(http);
+        RevalidatingHttpResourceAccessor revalidatingAccessor = new RevalidatingHttpResourceAccessor(http, accessor, cachedResourceContentIndex);
         HttpResourceUploader uploader = new HttpResourceUploader(http);
         ProgressLoggingExternalResourceAccessor loggingAccessor = new ProgressLoggingExternalResourceAccessor(accessor, progressLoggerFactory);
         return new DefaultExternalResourceRepository(
                 name,
                 accessor,
+                revalidatingAccessor,
                 new ProgressLoggingExternalResourceUploader(uploader, progressLoggerFactory),
-                new HttpResourceLister(accessor),
+                new HttpResourceLister(revalidatingAccessor),
                 temporaryFileProvider,
                 new DefaultCacheAwareExternalResourceAccessor(loggingAccessor, cachedExternalResourceIndex)
         );
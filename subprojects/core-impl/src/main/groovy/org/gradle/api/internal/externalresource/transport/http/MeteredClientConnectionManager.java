@@ -0,0 +1,78 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.externalresource.transport.http;
+
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A view of the shared connection pool for a single repository. Records whether each leased connection was reused or newly opened.
+ */
+class MeteredClientConnectionManager implements ClientConnectionManager {
+    private final ClientConnectionManager pool;
+    private final HttpRepositoryStatistics statistics;
+
+    MeteredClientConnectionManager(ClientConnectionManager pool, HttpRepositoryStatistics statistics) {
+        this.pool = pool;
+        this.statistics = statistics;
+    }
+
+    public SchemeRegistry getSchemeRegistry() {
+        return pool.getSchemeRegistry();
+    }
+
+    public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+        final ClientConnectionRequest request = pool.requestConnection(route, state);
+        return new ClientConnectionRequest() {
+            public ManagedClientConnection getConnection(long timeout, TimeUnit tunit) throws InterruptedException, ConnectionPoolTimeoutException {
+                ManagedClientConnection connection = request.getConnection(timeout, tunit);
+                // A connection that is already open has been used before and kept alive by the pool
+                if (connection.isOpen()) {
+                    statistics.connectionReused();
+                } else {
+                    statistics.connectionOpened();
+                }
+                return connection;
+            }
+
+            public void abortRequest() {
+                request.abortRequest();
+            }
+        };
+    }
+
+    public void releaseConnection(ManagedClientConnection conn, long validDuration, TimeUnit timeUnit) {
+        pool.releaseConnection(conn, validDuration, timeUnit);
+    }
+
+    public void closeIdleConnections(long idletime, TimeUnit tunit) {
+        pool.closeIdleConnections(idletime, tunit);
+    }
+
+    public void closeExpiredConnections() {
+        pool.closeExpiredConnections();
+    }
+
+    public void shutdown() {
+        // The pool is shared with other repositories, so leave it running
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.externalresource.transport.http;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The content of a successful GET response, which continues from where it stopped when the connection fails part way through.
+ *
+ * <p>The remaining content is requested using a range request, validated with the ETag or Last-Modified date of the original response, so
+ * that content which has changed on the server in the meantime is never appended. Resuming is only attempted when the server advertised support
+ * for byte ranges and the content was not transfer-encoded. Otherwise, or after several attempts, the original failure is rethrown.</p>
+ */
+class ResumingHttpInputStream extends InputStream {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResumingHttpInputStream.class);
+    static final int MAX_RESUME_ATTEMPTS = 3;
+
+    private final HttpClientHelper http;
+    private final String location;
+    private final String validator;
+    private final long contentLength;
+    private InputStream content;
+    private long position;
+    private int attempts;
+
+    private ResumingHttpInputStream(HttpClientHelper http, String location, String validator, long contentLength, InputStream content) {
+        this.http = http;
+        this.location = location;
+        this.validator = validator;
+        this.contentLength = contentLength;
+        this.content = content;
+    }
+
+    /**
+     * Wraps the content of the given response, if the download can be resumed. Returns the content unchanged otherwise.
+     */
+    public static InputStream wrap(HttpClientHelper http, String location, HttpResponse response, InputStream content) {
+        String validator = getValidator(response);
+        long contentLength = getContentLength(response);
+        Header acceptRanges = response.getFirstHeader(HttpHeaders.ACCEPT_RANGES);
+        if (validator == null || contentLength < 0 || acceptRanges == null || !"bytes".equalsIgnoreCase(acceptRanges.getValue())
+                || response.getFirstHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            return content;
+        }
+        return new ResumingHttpInputStream(http, location, validator, contentLength, content);
+    }
+
+    private static String getValidator(HttpResponse response) {
+        // A weak entity tag cannot be used to validate a range request
+        Header etag = response.getFirstHeader(HttpHeaders.ETAG);
+        if (etag != null && !etag.getValue().startsWith("W/")) {
+            return etag.getValue();
+        }
+        Header lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+        return lastModified == null ? null : lastModified.getValue();
+    }
+
+    private static long getContentLength(HttpResponse response) {
+        Header header = response.getFirstHeader(HttpHeaders.CONTENT_LENGTH);
+        if (header == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(header.getValue());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        while (true) {
+            try {
+                int result = content.read();
+                if (result >= 0) {
+                    position++;
+                }
+                return result;
+            } catch (IOException e) {
+                resume(e);
+            }
+        }
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        while (true) {
+            try {
+                int count = content.read(buffer, offset, length);
+                if (count > 0) {
+                    position += count;
+                }
+                return count;
+            } catch (IOException e) {
+                resume(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        content.close();
+    }
+
+    private void resume(IOException failure) throws IOException {
+        IOUtils.closeQuietly(content);
+        while (position < contentLength && attempts < MAX_RESUME_ATTEMPTS) {
+            attempts++;
+            LOGGER.info("Download of {} failed after {} of {} bytes, resuming. Failure: {}", new Object[]{location, position, contentLength, failure.getMessage()});
+            HttpGet request = new HttpGet(location);
+            request.addHeader(HttpHeaders.RANGE, String.format("bytes=%d-", position));
+            request.addHeader(HttpHeaders.IF_RANGE, validator);
+            HttpResponse response;
+            try {
+                response = http.performHttpRequest(request);
+            } catch (IOException e) {
+                LOGGER.debug("Could not resume download of {}.", location, e);
+                continue;
+            }
+            if (isContinuation(response)) {
+                content = response.getEntity().getContent();
+                return;
+            }
+            // The content has changed, or the server ignored the range. Either way, what has been read so far cannot be continued.
+            LOGGER.info("Could not resume download of {}. Received {} from server.", location, response.getStatusLine());
+            EntityUtils.consume(response.getEntity());
+            break;
+        }
+        throw failure;
+    }
+
+    private boolean isContinuation(HttpResponse response) {
+        if (response.getStatusLine().getStatusCode() != HttpStatus.SC_PARTIAL_CONTENT) {
+            return false;
+        }
+        Header contentRange = response.getFirstHeader(HttpHeaders.CONTENT_RANGE);
+        return contentRange != null && contentRange.getValue().startsWith(String.format("bytes %d-", position));
+    }
+}
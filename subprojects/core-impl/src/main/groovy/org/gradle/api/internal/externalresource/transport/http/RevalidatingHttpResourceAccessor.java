@@ -0,0 +1,109 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.externalresource.transport.http;
+
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.cookie.DateUtils;
+import org.apache.http.util.EntityUtils;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.api.internal.externalresource.cached.ByUrlCachedResourceContentIndex;
+import org.gradle.api.internal.externalresource.cached.CachedResourceContent;
+import org.gradle.api.internal.externalresource.metadata.ExternalResourceMetaData;
+import org.gradle.api.internal.externalresource.transfer.ExternalResourceAccessor;
+import org.gradle.util.hash.HashValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * Fetches small resources that are requested by every resolve whose cached entries have expired, such as {@code maven-metadata.xml} files and
+ * directory listings. The content is cached, and a later request for the same resource is sent as a conditional GET using the ETag and
+ * Last-Modified values of the cached copy, so that an unchanged resource costs a single request with an empty response.
+ */
+public class RevalidatingHttpResourceAccessor implements ExternalResourceAccessor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RevalidatingHttpResourceAccessor.class);
+
+    private final HttpClientHelper http;
+    private final HttpResourceAccessor delegate;
+    private final ByUrlCachedResourceContentIndex contentIndex;
+
+    public RevalidatingHttpResourceAccessor(HttpClientHelper http, HttpResourceAccessor delegate, ByUrlCachedResourceContentIndex contentIndex) {
+        this.http = http;
+        this.delegate = delegate;
+        this.contentIndex = contentIndex;
+    }
+
+    public HttpContentResource getResource(String location) throws IOException {
+        CachedResourceContent cached = contentIndex.lookup(location);
+        HttpGet request = new HttpGet(location);
+        if (cached != null) {
+            addValidators(request, cached.getExternalResourceMetaData());
+        }
+
+        HttpResponse response = http.performRequest(request);
+        try {
+            if (cached != null && response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+                LOGGER.info("Cached resource is up-to-date (etag: {}). [HTTP: {}]", cached.getExternalResourceMetaData().getEtag(), location);
+                return new HttpContentResource(location, cached.getContent(), cached.getContentType(), cached.getExternalResourceMetaData());
+            }
+            if (http.wasMissing(response)) {
+                LOGGER.info("Resource missing. [HTTP GET: {}]", location);
+                if (cached != null) {
+                    contentIndex.clear(location);
+                }
+                return null;
+            }
+            if (!http.wasSuccessful(response)) {
+                LOGGER.info("Failed to get resource: GET. [HTTP {}: {}]", response.getStatusLine(), location);
+                throw new UncheckedIOException(String.format("Could not GET '%s'. Received status code %s from server: %s",
+                        location, response.getStatusLine().getStatusCode(), response.getStatusLine().getReasonPhrase()));
+            }
+
+            HttpResponseResource resource = new HttpResponseResource("GET", location, response);
+            byte[] content = EntityUtils.toByteArray(response.getEntity());
+            ExternalResourceMetaData metaData = resource.getMetaData();
+            if (metaData.getEtag() != null || metaData.getLastModified() != null) {
+                contentIndex.store(location, content, resource.getContentType(), metaData);
+            } else if (cached != null) {
+                contentIndex.clear(location);
+            }
+            return new HttpContentResource(location, content, resource.getContentType(), metaData);
+        } finally {
+            EntityUtils.consume(response.getEntity());
+        }
+    }
+
+    private void addValidators(HttpGet request, ExternalResourceMetaData metaData) {
+        if (metaData.getEtag() != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, metaData.getEtag());
+        }
+        if (metaData.getLastModified() != null) {
+            request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, DateUtils.formatDate(metaData.getLastModified()));
+        }
+    }
+
+    public HashValue getResourceSha1(String location) {
+        return delegate.getResourceSha1(location);
+    }
+
+    public ExternalResourceMetaData getMetaData(String location) throws IOException {
+        return delegate.getMetaData(location);
+    }
+}
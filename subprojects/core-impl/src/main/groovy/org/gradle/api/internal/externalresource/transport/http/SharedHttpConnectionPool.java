@@ -0,0 +1,109 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.externalresource.transport.http;
+
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The pool of HTTP connections shared by all HTTP repositories in this process. Connections to the same host are reused across repositories and,
+ * when running in the daemon, across builds.
+ *
+ * <p>The connection limits can be changed using the {@value #MAX_CONNECTIONS_PROPERTY} and {@value #MAX_CONNECTIONS_PER_ROUTE_PROPERTY} system
+ * properties. When these are not set, the standard {@value #JDK_MAX_CONNECTIONS_PROPERTY} system property is used as the limit per route, with twice
+ * that as the total limit, as for the system default HTTP client.</p>
+ */
+public class SharedHttpConnectionPool {
+    public static final String MAX_CONNECTIONS_PROPERTY = "org.gradle.http.maxConnections";
+    public static final String MAX_CONNECTIONS_PER_ROUTE_PROPERTY = "org.gradle.http.maxConnectionsPerRoute";
+    public static final String JDK_MAX_CONNECTIONS_PROPERTY = "http.maxConnections";
+    static final int DEFAULT_MAX_CONNECTIONS = 20;
+    static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 5;
+    private static final long MAX_IDLE_SECONDS = 60;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedHttpConnectionPool.class);
+    private static SharedHttpConnectionPool instance;
+
+    private final PoolingClientConnectionManager connectionManager;
+
+    SharedHttpConnectionPool(int maxConnections, int maxConnectionsPerRoute) {
+        connectionManager = new PoolingClientConnectionManager(SchemeRegistryFactory.createSystemDefault());
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+    }
+
+    public static synchronized SharedHttpConnectionPool getInstance() {
+        if (instance == null) {
+            instance = create(System.getProperties());
+        }
+        return instance;
+    }
+
+    static SharedHttpConnectionPool create(Properties systemProperties) {
+        int jdkMaxConnections = intProperty(systemProperties, JDK_MAX_CONNECTIONS_PROPERTY, DEFAULT_MAX_CONNECTIONS_PER_ROUTE);
+        int maxConnectionsPerRoute = intProperty(systemProperties, MAX_CONNECTIONS_PER_ROUTE_PROPERTY, jdkMaxConnections);
+        int maxConnections = intProperty(systemProperties, MAX_CONNECTIONS_PROPERTY, Math.max(DEFAULT_MAX_CONNECTIONS, 2 * maxConnectionsPerRoute));
+        LOGGER.debug("Creating shared HTTP connection pool with {} connections, {} per route.", maxConnections, maxConnectionsPerRoute);
+        return new SharedHttpConnectionPool(maxConnections, maxConnectionsPerRoute);
+    }
+
+    private static int intProperty(Properties systemProperties, String name, int defaultValue) {
+        String value = systemProperties.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int result = Integer.parseInt(value.trim());
+            if (result > 0) {
+                return result;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through
+        }
+        LOGGER.warn("Ignoring invalid value '{}' for system property '{}'.", value, name);
+        return defaultValue;
+    }
+
+    public int getMaxConnections() {
+        return connectionManager.getMaxTotal();
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return connectionManager.getDefaultMaxPerRoute();
+    }
+
+    /**
+     * Creates a connection manager for a single repository, which leases its connections from this pool and records connection usage in the given
+     * statistics. Shutting down the returned manager does not affect this pool.
+     */
+    public ClientConnectionManager createConnectionManager(HttpRepositoryStatistics statistics) {
+        return new MeteredClientConnectionManager(connectionManager, statistics);
+    }
+
+    /**
+     * Closes connections that have expired or have not been used recently. Connections that are still fresh are kept for use by the next build.
+     */
+    public void closeIdleConnections() {
+        connectionManager.closeExpiredConnections();
+        connectionManager.closeIdleConnections(MAX_IDLE_SECONDS, TimeUnit.SECONDS);
+    }
+}
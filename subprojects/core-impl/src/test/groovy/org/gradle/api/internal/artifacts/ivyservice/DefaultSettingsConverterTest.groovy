@@ -52,22 +52,30 @@ class DefaultSettingsConverterTest extends Specification {
         assert settings.resolvers.size() == 1
     }
 
-    public void shouldReuseResolveSettings() {
+    public void createsNewResolveSettingsForEachResolve() {
+        def otherSettings = new IvySettings()
+        DependencyResolver otherResolver = Mock()
+
         given:
-        1 * ivySettingsFactory.create() >> ivySettings
         _ * defaultResolver.getName() >> 'default'
-        IvySettings settings = converter.convertForResolve(defaultResolver)
-        settings.addResolver(testResolver)
-        settings.addResolver(testResolver2)
+        _ * otherResolver.getName() >> 'other'
 
         when:
-        settings = converter.convertForResolve(defaultResolver)
+        IvySettings settings = converter.convertForResolve(defaultResolver)
+        IvySettings secondSettings = converter.convertForResolve(otherResolver)
 
         then:
-        assert settings.is(ivySettings)
+        2 * ivySettingsFactory.create() >>> [ivySettings, otherSettings]
 
-        assert settings.defaultResolver == defaultResolver
-        assert settings.resolvers.size() == 1
+        and:
+        settings.is(ivySettings)
+        settings.defaultResolver == defaultResolver
+        settings.resolvers as List == [defaultResolver]
+
+        and:
+        secondSettings.is(otherSettings)
+        secondSettings.defaultResolver == otherResolver
+        secondSettings.resolvers as List == [otherResolver]
     }
 
     public void testConvertForPublish() {
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve
+
+import org.apache.ivy.core.module.descriptor.Artifact
+import org.gradle.api.internal.artifacts.ivyservice.BuildableArtifactResolveResult
+import org.gradle.api.internal.artifacts.ivyservice.CacheLockingManager
+import spock.lang.Specification
+
+class CacheLockingLocalAwareModuleVersionRepositoryTest extends Specification {
+    final target = Mock(LocalAwareModuleVersionRepository)
+    final lockingManager = Mock(CacheLockingManager)
+    final dependency = Mock(DependencyMetaData)
+    final result = Mock(BuildableModuleVersionMetaDataResolveResult)
+    final repository = new CacheLockingLocalAwareModuleVersionRepository(target, lockingManager)
+
+    def "locates local dependency while holding a lock on the cache"() {
+        when:
+        repository.getLocalDependency(dependency, result)
+
+        then:
+        1 * lockingManager.useCache(_, !null) >> { it[1].run() }
+
+        then:
+        1 * target.getLocalDependency(dependency, result)
+    }
+
+    def "locates dependency while holding a lock on the cache"() {
+        when:
+        repository.getDependency(dependency, result)
+
+        then:
+        1 * lockingManager.useCache(_, !null) >> { it[1].run() }
+
+        then:
+        1 * target.getDependency(dependency, result)
+    }
+
+    def "resolves artifact while holding a lock on the cache"() {
+        def artifact = Mock(Artifact)
+        def artifactResult = Mock(BuildableArtifactResolveResult)
+        def moduleSource = Mock(ModuleSource)
+
+        when:
+        repository.resolve(artifact, artifactResult, moduleSource)
+
+        then:
+        1 * lockingManager.useCache(_, !null) >> { it[1].run() }
+
+        then:
+        1 * target.resolve(artifact, artifactResult, moduleSource)
+    }
+}
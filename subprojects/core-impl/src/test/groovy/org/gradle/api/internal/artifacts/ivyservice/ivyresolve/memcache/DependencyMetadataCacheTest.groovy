@@ -48,7 +48,7 @@ class DependencyMetadataCacheTest extends Specification {
         then:
         !local
         !differentSelector
-        stats.metadataServed == 0
+        stats.metadataServed.get() == 0
         0 * result._
 
         when:
@@ -56,7 +56,7 @@ class DependencyMetadataCacheTest extends Specification {
 
         then:
         match
-        stats.metadataServed == 1
+        stats.metadataServed.get() == 1
         1 * result.resolved(_, _, _, _)
     }
 
@@ -82,7 +82,7 @@ class DependencyMetadataCacheTest extends Specification {
         then:
         local
         remote
-        stats.metadataServed == 2
+        stats.metadataServed.get() == 2
         1 * result.resolved(_, _, _, _)
         1 * result.resolved(_, _, _, _)
     }
@@ -161,6 +161,157 @@ class GradlePomModuleDescriptorParserTest extends Specification {
         descriptor.dependencies.length == 0
     }
 
+    def "replaces property references and applies dependency management"() {
+        given:
+        pomFile << """<?xml version="1.0" encoding="UTF-8"?>
+<project xmlns="http://maven.apache.org/POM/4.0.0">
+    <modelVersion>4.0.0</modelVersion>
+    <groupId>group-one</groupId>
+    <artifactId>artifact-one</artifactId>
+    <version>version-one</version>
+    <properties>
+        <two.version>version-two</two.version>
+    </properties>
+
+    <dependencyManagement>
+        <dependencies>
+            <dependency>
+                <groupId>group-two</groupId>
+                <artifactId>artifact-two</artifactId>
+                <version>\${two.version}</version>
+                <scope>runtime</scope>
+                <exclusions>
+                    <exclusion>
+                        <groupId>group-three</groupId>
+                        <artifactId>artifact-three</artifactId>
+                    </exclusion>
+                </exclusions>
+            </dependency>
+        </dependencies>
+    </dependencyManagement>
+
+    <dependencies>
+        <dependency>
+            <groupId>\${project.groupId}</groupId>
+            <artifactId>artifact-two</artifactId>
+        </dependency>
+    </dependencies>
+</project>
+"""
+        and:
+        ivySettings.currentRevisionId >> moduleId('group-one', 'artifact-one', 'version-one')
+
+        when:
+        def descriptor = parsePom()
+
+        then:
+        descriptor.dependencies.length == 1
+        def dependency = descriptor.dependencies.first()
+        dependency.dependencyRevisionId == moduleId('group-one', 'artifact-two', 'version-two')
+        dependency.moduleConfigurations as List == ['runtime']
+    }
+
+    def "reads exclusions, licenses and html entities"() {
+        given:
+        pomFile << """
+<project>
+    <modelVersion>4.0.0</modelVersion>
+    <groupId>group-one</groupId>
+    <artifactId>artifact-one</artifactId>
+    <version>version-one</version>
+    <description>Copyright &copy; someone</description>
+    <licenses>
+        <license>
+            <name>Some License</name>
+            <url>http://license</url>
+        </license>
+        <license>
+            <url>http://other-license</url>
+        </license>
+    </licenses>
+
+    <dependencies>
+        <dependency>
+            <groupId>group-two</groupId>
+            <artifactId>artifact-two</artifactId>
+            <version>version-two</version>
+            <optional>true</optional>
+            <exclusions>
+                <exclusion>
+                    <groupId>group-three</groupId>
+                    <artifactId>artifact-three</artifactId>
+                </exclusion>
+            </exclusions>
+        </dependency>
+    </dependencies>
+</project>
+"""
+        and:
+        ivySettings.currentRevisionId >> moduleId('group-one', 'artifact-one', 'version-one')
+
+        when:
+        def descriptor = parsePom()
+
+        then:
+        descriptor.description == "Copyright \u00a9 someone"
+        descriptor.licenses*.name == ['Some License', 'Unknown License']
+        descriptor.licenses*.url == ['http://license', 'http://other-license']
+        def dependency = descriptor.dependencies.first()
+        dependency.moduleConfigurations as List == ['optional']
+        dependency.allExcludeRules*.id*.moduleId*.organisation == ['group-three']
+        dependency.allExcludeRules*.id*.moduleId*.name == ['artifact-three']
+    }
+
+    def "uses first occurrence of single valued elements"() {
+        given:
+        pomFile << """
+<project>
+    <modelVersion>4.0.0</modelVersion>
+    <groupId>group-one</groupId>
+    <groupId>ignored</groupId>
+    <artifactId>artifact-one</artifactId>
+    <version>version-one</version>
+
+    <dependencies>
+        <dependency>
+            <groupId>group-two</groupId>
+            <artifactId>artifact-two</artifactId>
+            <version>version-two</version>
+        </dependency>
+    </dependencies>
+    <dependencies>
+        <dependency>
+            <groupId>ignored</groupId>
+            <artifactId>ignored</artifactId>
+            <version>ignored</version>
+        </dependency>
+    </dependencies>
+</project>
+"""
+        and:
+        ivySettings.currentRevisionId >> moduleId('group-one', 'artifact-one', 'version-one')
+
+        when:
+        def descriptor = parsePom()
+
+        then:
+        descriptor.moduleRevisionId == moduleId('group-one', 'artifact-one', 'version-one')
+        descriptor.dependencies*.dependencyRevisionId == [moduleId('group-two', 'artifact-two', 'version-two')]
+    }
+
+    def "fails when root element is not project"() {
+        given:
+        pomFile << """
+<something-else/>
+"""
+
+        when:
+        parsePom()
+
+        then:
+        thrown(java.text.ParseException)
+    }
+
     private ModuleDescriptor parsePom() {
         parser.parseDescriptor(ivySettings, pomFile.toURI().toURL(), false)
     }
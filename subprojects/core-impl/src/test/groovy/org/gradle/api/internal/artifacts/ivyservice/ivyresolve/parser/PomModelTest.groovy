@@ -0,0 +1,109 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser
+
+import org.xml.sax.SAXException
+import spock.lang.Specification
+
+class PomModelTest extends Specification {
+    def "reads fields, properties and parent"() {
+        when:
+        def model = parse """<?xml version="1.0" encoding="UTF-8"?>
+<project xmlns="http://maven.apache.org/POM/4.0.0">
+    <parent>
+        <groupId>parent-group</groupId>
+        <artifactId>parent-artifact</artifactId>
+        <version>parent-version</version>
+    </parent>
+    <artifactId> artifact-one </artifactId>
+    <properties>
+        <some.prop>value</some.prop>
+        <empty.prop/>
+    </properties>
+</project>
+"""
+
+        then:
+        model.hasParent()
+        !model.hasRelocation()
+        model.getField("parent/groupId") == "parent-group"
+        model.getField("artifactId") == " artifact-one "
+        model.getField("groupId") == null
+        model.properties == ["some.prop": "value", "empty.prop": ""]
+    }
+
+    def "reads dependencies with exclusions"() {
+        when:
+        def model = parse """
+<project>
+    <dependencies>
+        <dependency>
+            <groupId>group-one</groupId>
+            <artifactId>artifact-one</artifactId>
+            <exclusions>
+                <exclusion>
+                    <groupId>group-two</groupId>
+                    <artifactId>artifact-two</artifactId>
+                </exclusion>
+            </exclusions>
+        </dependency>
+        <dependency>
+            <groupId>group-three</groupId>
+            <artifactId>artifact-three</artifactId>
+        </dependency>
+    </dependencies>
+    <dependencyManagement>
+        <dependencies>
+            <dependency>
+                <groupId>group-four</groupId>
+            </dependency>
+        </dependencies>
+    </dependencyManagement>
+</project>
+"""
+
+        then:
+        model.dependencies.size() == 2
+        model.dependencies[0].getField("artifactId") == "artifact-one"
+        model.dependencies[0].exclusions.collect { it as List } == [["group-two", "artifact-two"]]
+        model.dependencies[1].exclusions == null
+        model.dependencyManagement*.getField("groupId") == ["group-four"]
+    }
+
+    def "accepts byte order mark and maven entities"() {
+        given:
+        def bom = [0xef, 0xbb, 0xbf] as byte[]
+        def content = bom + "<project><name>a&nbsp;&copy; b</name></project>".getBytes("UTF-8")
+
+        when:
+        def model = PomModel.parse(content as byte[], "test.pom")
+
+        then:
+        model.getField("name") == "a\u00a0\u00a9 b"
+    }
+
+    def "fails when root element is not project"() {
+        when:
+        parse "<pom/>"
+
+        then:
+        thrown(SAXException)
+    }
+
+    private static PomModel parse(String text) {
+        PomModel.parse(text.getBytes("UTF-8"), "test.pom")
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.modulecache
+
+import org.apache.ivy.core.module.descriptor.*
+import org.apache.ivy.core.module.id.ArtifactId
+import org.apache.ivy.core.module.id.ModuleId
+import org.apache.ivy.core.module.id.ModuleRevisionId
+import org.apache.ivy.plugins.matcher.ExactPatternMatcher
+import org.apache.ivy.plugins.matcher.PatternMatcher
+import spock.lang.Specification
+
+class ModuleDescriptorSerializerTest extends Specification {
+    final ModuleDescriptorSerializer serializer = new ModuleDescriptorSerializer()
+
+    def "round trips module descriptor"() {
+        def md = new DefaultModuleDescriptor(ModuleRevisionId.newInstance("org.test", "projectA", "branch", "1.2", [buildNr: "815"]), "integration", new Date(1234000), false)
+        md.addExtraAttributeNamespace("m", "http://ant.apache.org/ivy/maven")
+        md.description = "some description"
+        md.homePage = "http://home"
+        md.addLicense(new License("Apache", "http://license"))
+        md.addExtraInfo("m:properties__some.prop", "value")
+        md.addConfiguration(new Configuration("compile", Configuration.Visibility.PUBLIC, "compile classpath", [] as String[], true, null))
+        md.addConfiguration(new Configuration("runtime", Configuration.Visibility.PRIVATE, null, ["compile"] as String[], false, "deprecated"))
+        def artifact = new MDArtifact(md, "projectA", "jar", "jar", null, ["m:classifier": "sources"])
+        artifact.addConfiguration("compile")
+        md.addArtifact("compile", artifact)
+
+        def dependency = new DefaultDependencyDescriptor(md, ModuleRevisionId.newInstance("org.test", "projectB", "1.0"), ModuleRevisionId.newInstance("org.test", "projectB", "1.+"), true, false, true)
+        dependency.addDependencyConfiguration("compile", "default")
+        dependency.addDependencyConfiguration("runtime", "runtime")
+        def dependencyArtifact = new DefaultDependencyArtifactDescriptor(dependency, "projectB", "jar", "jar", null, [:])
+        dependencyArtifact.addConfiguration("compile")
+        dependency.addDependencyArtifact("compile", dependencyArtifact)
+        def exclude = new DefaultExcludeRule(new ArtifactId(new ModuleId("org.excluded", "*"), "*", "*", "*"), ExactPatternMatcher.INSTANCE, null)
+        exclude.addConfiguration("runtime")
+        dependency.addExcludeRule("runtime", exclude)
+        md.addDependency(dependency)
+
+        when:
+        def result = roundTrip(md)
+
+        then:
+        result.moduleRevisionId == md.moduleRevisionId
+        result.moduleRevisionId.getExtraAttribute("buildNr") == "815"
+        result.resolvedModuleRevisionId.branch == "branch"
+        result.status == "integration"
+        result.resolvedPublicationDate == new Date(1234000)
+        result.extraAttributesNamespaces == md.extraAttributesNamespaces
+        result.description == "some description"
+        result.homePage == "http://home"
+        result.licenses*.name == ["Apache"]
+        result.extraInfo == md.extraInfo
+
+        result.configurationsNames as List == ["compile", "runtime"]
+        def runtime = result.getConfiguration("runtime")
+        runtime.visibility == Configuration.Visibility.PRIVATE
+        runtime.extends as List == ["compile"]
+        !runtime.transitive
+        runtime.deprecated == "deprecated"
+
+        result.allArtifacts.length == 1
+        result.getArtifacts("compile")[0].name == "projectA"
+        result.getArtifacts("compile")[0].getExtraAttribute("classifier") == "sources"
+
+        result.dependencies.length == 1
+        def resultDependency = result.dependencies[0]
+        resultDependency.dependencyRevisionId == dependency.dependencyRevisionId
+        resultDependency.dynamicConstraintDependencyRevisionId == dependency.dynamicConstraintDependencyRevisionId
+        resultDependency.force
+        !resultDependency.changing
+        resultDependency.transitive
+        resultDependency.getDependencyConfigurations("compile") as List == ["default"]
+        resultDependency.getDependencyConfigurations("runtime") as List == ["runtime"]
+        resultDependency.getDependencyArtifacts("compile")*.name == ["projectB"]
+        resultDependency.getExcludeRules("runtime")*.id*.moduleId*.organisation == ["org.excluded"]
+        resultDependency.getExcludeRules("runtime")[0].matcher == ExactPatternMatcher.INSTANCE
+    }
+
+    def "cannot serialize descriptor with custom pattern matcher"() {
+        def md = new DefaultModuleDescriptor(ModuleRevisionId.newInstance("org.test", "projectA", "1.2"), "integration", new Date())
+        PatternMatcher matcher = Mock()
+        _ * matcher.name >> "custom"
+        md.addExcludeRule(new DefaultExcludeRule(new ArtifactId(new ModuleId("org", "module"), "*", "*", "*"), matcher, null))
+
+        expect:
+        !serializer.canSerialize(md)
+    }
+
+    def "fails to read descriptor written in another format version"() {
+        def outstr = new ByteArrayOutputStream()
+        new DataOutputStream(outstr).writeInt(ModuleDescriptorSerializer.FORMAT_VERSION + 1)
+
+        when:
+        serializer.read(new ByteArrayInputStream(outstr.toByteArray()))
+
+        then:
+        thrown(IOException)
+    }
+
+    private ModuleDescriptor roundTrip(ModuleDescriptor md) {
+        assert serializer.canSerialize(md)
+        def outstr = new ByteArrayOutputStream()
+        serializer.write(outstr, md)
+        return serializer.read(new ByteArrayInputStream(outstr.toByteArray()))
+    }
+}
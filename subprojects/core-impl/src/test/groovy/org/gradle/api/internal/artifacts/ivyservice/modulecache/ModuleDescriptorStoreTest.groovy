@@ -39,10 +39,11 @@ class ModuleDescriptorStoreTest extends Specification {
     ModuleDescriptor moduleDescriptor = Mock()
     IvyModuleDescriptorWriter ivyModuleDescriptorWriter = Mock()
     IvyXmlModuleDescriptorParser ivyXmlModuleDescriptorParser = Mock()
+    ModuleDescriptorSerializer serializer = Mock()
     ModuleVersionIdentifier moduleVersionIdentifier = Mock()
 
     def setup() {
-        store = new ModuleDescriptorStore(pathKeyFileStore, ivyModuleDescriptorWriter, ivyXmlModuleDescriptorParser);
+        store = new ModuleDescriptorStore(pathKeyFileStore, ivyModuleDescriptorWriter, ivyXmlModuleDescriptorParser, serializer);
         _ * repository.getId() >> "repositoryId"
         _ * moduleVersionIdentifier.group >> "org.test"
         _ * moduleVersionIdentifier.name >> "testArtifact"
@@ -78,4 +79,74 @@ class ModuleDescriptorStoreTest extends Specification {
         };
         1 * ivyModuleDescriptorWriter.write(moduleDescriptor, descriptorFile)
     }
-}
\ No newline at end of file
+
+    def "putModuleDescriptor writes binary descriptor alongside ivy.xml"() {
+        setup:
+        _ * moduleRevisionId.organisation >> "org.test"
+        _ * moduleRevisionId.name >> "testArtifact"
+        _ * moduleRevisionId.revision >> "1.0"
+        File descriptorFile = temporaryFolder.createFile("ivy.xml")
+        File binaryFile = temporaryFolder.file("descriptor.bin")
+        _ * fileStoreEntry.file >> descriptorFile
+        serializer.canSerialize(moduleDescriptor) >> true
+
+        when:
+        store.putModuleDescriptor(repository, moduleDescriptor)
+
+        then:
+        1 * pathKeyFileStore.add("module-metadata/org.test/testArtifact/1.0/repositoryId/ivy.xml", _) >> fileStoreEntry
+        1 * pathKeyFileStore.add("module-metadata/org.test/testArtifact/1.0/repositoryId/descriptor.bin", _) >> { path, action ->
+            action.execute(binaryFile); null
+        }
+        1 * serializer.write(_ as DataOutput, moduleDescriptor)
+        binaryFile.file
+    }
+
+    def "getModuleDescriptor reads binary descriptor when it matches ivy.xml"() {
+        setup:
+        File descriptorFile = temporaryFolder.createFile("ivy.xml")
+        descriptorFile.text = "<ivy-module/>"
+        File binaryFile = temporaryFolder.file("descriptor.bin")
+        binaryFile.withDataOutputStream { out ->
+            out.writeLong(descriptorFile.length())
+            out.writeLong(descriptorFile.lastModified())
+        }
+        FileStoreEntry binaryEntry = Mock()
+        _ * fileStoreEntry.file >> descriptorFile
+        _ * binaryEntry.file >> binaryFile
+
+        when:
+        def result = store.getModuleDescriptor(repository, moduleVersionIdentifier)
+
+        then:
+        result == moduleDescriptor
+        1 * pathKeyFileStore.get("module-metadata/org.test/testArtifact/1.0/repositoryId/ivy.xml") >> fileStoreEntry
+        1 * pathKeyFileStore.get("module-metadata/org.test/testArtifact/1.0/repositoryId/descriptor.bin") >> binaryEntry
+        1 * serializer.read(_ as DataInput) >> moduleDescriptor
+        0 * ivyXmlModuleDescriptorParser._
+    }
+
+    def "getModuleDescriptor parses ivy.xml when binary descriptor is stale"() {
+        setup:
+        File descriptorFile = temporaryFolder.createFile("ivy.xml")
+        descriptorFile.text = "<ivy-module/>"
+        File binaryFile = temporaryFolder.file("descriptor.bin")
+        binaryFile.withDataOutputStream { out ->
+            out.writeLong(descriptorFile.length() + 1)
+            out.writeLong(descriptorFile.lastModified())
+        }
+        FileStoreEntry binaryEntry = Mock()
+        _ * fileStoreEntry.file >> descriptorFile
+        _ * binaryEntry.file >> binaryFile
+
+        when:
+        def result = store.getModuleDescriptor(repository, moduleVersionIdentifier)
+
+        then:
+        result == moduleDescriptor
+        1 * pathKeyFileStore.get("module-metadata/org.test/testArtifact/1.0/repositoryId/ivy.xml") >> fileStoreEntry
+        1 * pathKeyFileStore.get("module-metadata/org.test/testArtifact/1.0/repositoryId/descriptor.bin") >> binaryEntry
+        0 * serializer.read(_)
+        1 * ivyXmlModuleDescriptorParser.parseDescriptor(_, descriptorFile.toURI().toURL(), false) >> moduleDescriptor
+    }
+}
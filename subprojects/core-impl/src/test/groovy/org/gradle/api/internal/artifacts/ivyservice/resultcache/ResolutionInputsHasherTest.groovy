@@ -0,0 +1,126 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.artifacts.ivyservice.resultcache
+
+import org.gradle.api.Project
+import org.gradle.api.artifacts.*
+import org.gradle.api.internal.artifacts.configurations.ConfigurationInternal
+import org.gradle.api.internal.artifacts.configurations.ResolutionStrategyInternal
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.IvyAwareModuleVersionRepository
+import org.gradle.api.internal.artifacts.ivyservice.resolutionstrategy.LatestConflictResolution
+import org.gradle.api.internal.artifacts.repositories.ResolutionAwareRepository
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class ResolutionInputsHasherTest extends Specification {
+    final ResolutionInputsHasher hasher = new ResolutionInputsHasher("cache")
+    final ResolutionAwareRepository repository = Mock()
+    final IvyAwareModuleVersionRepository moduleVersionRepository = Mock()
+
+    def "creates the resolver for a repository once"() {
+        def configuration = configuration("root")
+
+        when:
+        def hash = hasher.hash(configuration, [repository])
+        def secondHash = hasher.hash(configuration, [repository])
+
+        then:
+        hash != null
+        hash == secondHash
+        1 * repository.createResolver() >> moduleVersionRepository
+        _ * moduleVersionRepository.id >> "repo"
+    }
+
+    def "does not hash configuration resolved from a local repository"() {
+        given:
+        repository.createResolver() >> moduleVersionRepository
+        moduleVersionRepository.local >> true
+
+        expect:
+        hasher.hash(configuration("root"), [repository]) == null
+    }
+
+    def "hash includes the path and target configuration of project dependencies"() {
+        def lib = configuration("lib", externalDependency("1.0"))
+        def otherLib = configuration("lib", externalDependency("2.0"))
+
+        expect:
+        def hash = hasher.hash(configuration("root", projectDependency(":lib", lib)), [])
+        hash != null
+        hash == hasher.hash(configuration("root", projectDependency(":lib", lib)), [])
+        hash != hasher.hash(configuration("root"), [])
+        hash != hasher.hash(configuration("root", projectDependency(":other", lib)), [])
+        hash != hasher.hash(configuration("root", projectDependency(":lib", otherLib)), [])
+    }
+
+    def "does not hash configuration when target configuration of project dependency cannot be cached"() {
+        def lib = configuration("lib", externalDependency("1.+"))
+
+        expect:
+        hasher.hash(configuration("root", projectDependency(":lib", lib)), []) == null
+    }
+
+    def "handles cycles between project dependencies"() {
+        def dependencies = []
+        def lib = configuration("lib", dependencies)
+        dependencies << projectDependency(":lib", lib)
+
+        expect:
+        hasher.hash(configuration("root", projectDependency(":lib", lib)), []) != null
+    }
+    @Unroll
+    def "version '#version' is static: #isStatic"() {
+        expect:
+        ResolutionInputsHasher.isStaticVersion(version) == isStatic
+
+        where:
+        version              | isStatic
+        "1.0"                | true
+        "1.0-rc-1"           | true
+        "1.0+"               | false
+        "+"                  | false
+        "[1.0,2.0)"          | false
+        "latest.integration" | false
+        "1.0-SNAPSHOT"       | false
+        null                 | false
+    }
+
+    private ConfigurationInternal configuration(String name, Dependency... dependencies) {
+        return configuration(name, dependencies as List)
+    }
+
+    private ConfigurationInternal configuration(String name, List<Dependency> dependencies) {
+        def module = [getGroup: { "org" }, getName: { name }, getVersion: { "1.0" }, getStatus: { "integration" }] as Module
+        def resolutionStrategy = [hasDependencyResolveRules: { false }, getConflictResolution: { new LatestConflictResolution() }, getForcedModules: { [] as Set }] as ResolutionStrategyInternal
+        def dependencySet = [iterator: { dependencies.iterator() }] as DependencySet
+        def artifactSet = [iterator: { [].iterator() }] as PublishArtifactSet
+        def configuration
+        configuration = [getName: { name }, getModule: { module }, isTransitive: { true }, getHierarchy: { [configuration] as Set }, getExcludeRules: { [] as Set },
+                getAllDependencies: { dependencySet }, getAllArtifacts: { artifactSet }, getResolutionStrategy: { resolutionStrategy }] as ConfigurationInternal
+        return configuration
+    }
+
+    private ExternalModuleDependency externalDependency(String version) {
+        return [getGroup: { "org" }, getName: { "lib" }, getVersion: { version }, isChanging: { false }, isForce: { false }, getConfiguration: { "default" },
+                isTransitive: { true }, getArtifacts: { [] as Set }, getExcludeRules: { [] as Set }] as ExternalModuleDependency
+    }
+
+    private ProjectDependency projectDependency(String path, Configuration target) {
+        def project = [getPath: { path }] as Project
+        return [getDependencyProject: { project }, getProjectConfiguration: { target }, getConfiguration: { "default" }, isTransitive: { true },
+                getArtifacts: { [] as Set }, getExcludeRules: { [] as Set }] as ProjectDependency
+    }
+}
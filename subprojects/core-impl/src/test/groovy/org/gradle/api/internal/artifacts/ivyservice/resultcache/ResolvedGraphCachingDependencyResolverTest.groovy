@@ -0,0 +1,284 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.artifacts.ivyservice.resultcache
+
+import org.apache.ivy.core.module.descriptor.DefaultArtifact
+import org.apache.ivy.core.module.id.ModuleRevisionId
+import org.gradle.api.artifacts.DependencySet
+import org.gradle.api.artifacts.ExternalModuleDependency
+import org.gradle.api.artifacts.Module
+import org.gradle.api.artifacts.result.ResolutionResult
+import org.gradle.api.internal.artifacts.ArtifactDependencyResolver
+import org.gradle.api.internal.artifacts.DefaultModuleVersionIdentifier
+import org.gradle.api.internal.artifacts.DefaultModuleVersionSelector
+import org.gradle.api.internal.artifacts.DefaultResolvedArtifact
+import org.gradle.api.internal.artifacts.DefaultResolvedDependency
+import org.gradle.api.internal.artifacts.ResolverResults
+import org.gradle.api.internal.artifacts.configurations.ConfigurationInternal
+import org.gradle.api.internal.artifacts.configurations.ResolutionStrategyInternal
+import org.gradle.api.internal.artifacts.configurations.dynamicversion.CachePolicy
+import org.gradle.api.internal.artifacts.ivyservice.CacheLockingManager
+import org.gradle.api.internal.artifacts.ivyservice.DefaultLenientConfiguration
+import org.gradle.api.internal.artifacts.ivyservice.DefaultResolvedConfiguration
+import org.gradle.api.internal.artifacts.repositories.ResolutionAwareRepository
+import org.gradle.api.internal.artifacts.result.DefaultResolutionResult
+import org.gradle.api.internal.artifacts.result.DefaultResolvedDependencyResult
+import org.gradle.api.internal.artifacts.result.DefaultResolvedModuleVersionResult
+import org.gradle.api.specs.Spec
+import org.gradle.internal.Factory
+import org.gradle.internal.TimeProvider
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.util.hash.HashValue
+import org.junit.Rule
+import spock.lang.Specification
+
+class ResolvedGraphCachingDependencyResolverTest extends Specification {
+    @Rule TestNameTestDirectoryProvider tmpDir
+    final ArtifactDependencyResolver target = Mock()
+    final ResolutionInputsHasher hasher = Mock()
+    final ResolvedGraphCache cache = Mock()
+    final CacheLockingManager lockingManager = Mock()
+    final ConfigurationInternal configuration = Mock()
+    final Module module = Mock()
+    final ResolutionStrategyInternal resolutionStrategy = Mock()
+    final CachePolicy cachePolicy = Mock()
+    final TimeProvider timeProvider = Mock()
+    final DependencySet dependencySet = Mock()
+    final ExternalModuleDependency dependency = Mock()
+    final List<ResolutionAwareRepository> repositories = [Mock(ResolutionAwareRepository)]
+    final HashValue key = HashValue.parse("1234")
+    final ResolvedGraphCachingDependencyResolver resolver = new ResolvedGraphCachingDependencyResolver(target, hasher, cache, lockingManager, timeProvider)
+
+    def setup() {
+        _ * configuration.allDependencies >> dependencySet
+        _ * dependencySet.iterator() >> { [dependency].iterator() }
+        _ * lockingManager.useCache(_, _) >> { it[1].create() }
+        _ * configuration.module >> module
+        _ * module.group >> "org"
+        _ * module.name >> "root"
+        _ * module.version >> "1.0"
+        _ * configuration.resolutionStrategy >> resolutionStrategy
+        _ * resolutionStrategy.cachePolicy >> cachePolicy
+        _ * timeProvider.currentTime >> 1000
+    }
+
+    def "delegates when configuration cannot be cached"() {
+        ResolverResults results = Mock()
+
+        when:
+        def result = resolver.resolve(configuration, repositories)
+
+        then:
+        result == results
+        1 * hasher.hash(configuration, repositories) >> null
+        1 * target.resolve(configuration, repositories) >> results
+        0 * cache._
+    }
+
+    def "resolves and records graph when not cached"() {
+        def results = resolvedResults(new File("file.jar"))
+        ResolvedGraph recorded = null
+
+        when:
+        def result = resolver.resolve(configuration, repositories)
+
+        then:
+        result == results
+        1 * hasher.hash(configuration, repositories) >> key
+        1 * cache.get(key) >> null
+        1 * target.resolve(configuration, repositories) >> results
+        1 * cache.put(key, _) >> { recorded = it[1] }
+
+        and:
+        recorded.nodes*.name == ["root", "lib"]
+        recorded.artifacts*.name == ["lib"]
+        recorded.edges.size() == 1
+        recorded.firstLevelDependencies == [0: 1]
+        recorded.timestamp == 1000
+    }
+
+    def "does not record graph when a module in the resolved graph was selected using a dynamic version"() {
+        when:
+        resolver.resolve(configuration, repositories)
+
+        then:
+        1 * hasher.hash(configuration, repositories) >> key
+        1 * cache.get(key) >> null
+        1 * target.resolve(configuration, repositories) >> resolvedResults(new File("file.jar"), "1.0", "1.+")
+        0 * cache.put(_, _)
+    }
+
+    def "does not record graph when the resolved graph contains a snapshot"() {
+        when:
+        resolver.resolve(configuration, repositories)
+
+        then:
+        1 * hasher.hash(configuration, repositories) >> key
+        1 * cache.get(key) >> null
+        1 * target.resolve(configuration, repositories) >> resolvedResults(new File("file.jar"), "1.0-SNAPSHOT", "1.0-SNAPSHOT")
+        0 * cache.put(_, _)
+    }
+
+    def "resolves and records graph again when cached graph is older than changing modules are cached for"() {
+        def graph = roundTrip(ResolvedGraph.copyOf(configuration, resolvedResults(new File("file.jar")).resolvedConfiguration.lenientConfiguration, 200))
+        def results = resolvedResults(new File("file.jar"))
+
+        when:
+        def result = resolver.resolve(configuration, repositories)
+
+        then:
+        result == results
+        1 * hasher.hash(configuration, repositories) >> key
+        1 * cache.get(key) >> graph
+        1 * cachePolicy.mustRefreshChangingModule({ it.name == "lib" }, _, 800) >> true
+        1 * target.resolve(configuration, repositories) >> results
+        1 * cache.put(key, { it.timestamp == 1000 })
+    }
+
+    def "does not record graph with unresolved dependencies"() {
+        ResolverResults results = Mock()
+        DefaultResolvedConfiguration resolvedConfiguration = Mock()
+
+        when:
+        resolver.resolve(configuration, repositories)
+
+        then:
+        1 * hasher.hash(configuration, repositories) >> key
+        1 * cache.get(key) >> null
+        1 * target.resolve(configuration, repositories) >> results
+        _ * results.resolvedConfiguration >> resolvedConfiguration
+        1 * resolvedConfiguration.hasError() >> true
+        0 * cache.put(_, _)
+    }
+
+    def "rebuilds graph from cache without resolving"() {
+        def file = tmpDir.createFile("lib.jar")
+        def graph = roundTrip(ResolvedGraph.copyOf(configuration, resolvedResults(file).resolvedConfiguration.lenientConfiguration, 1000))
+
+        when:
+        def result = resolver.resolve(configuration, repositories)
+        def lenientConfiguration = result.resolvedConfiguration.lenientConfiguration
+
+        then:
+        1 * hasher.hash(configuration, repositories) >> key
+        1 * cache.get(key) >> graph
+        0 * target._
+
+        and:
+        lenientConfiguration.firstLevelModuleDependencies*.name == ["org:lib:1.0"]
+        lenientConfiguration.getFirstLevelModuleDependencies({ it == dependency } as Spec)*.name == ["org:lib:1.0"]
+        def artifact = lenientConfiguration.resolvedArtifacts as List
+        artifact*.name == ["lib"]
+        artifact[0].classifier == "sources"
+        artifact[0].file == file
+    }
+
+    def "resolves in full when cached file is missing"() {
+        def file = tmpDir.createFile("lib.jar")
+        def graph = roundTrip(ResolvedGraph.copyOf(configuration, resolvedResults(tmpDir.file("missing.jar")).resolvedConfiguration.lenientConfiguration, 1000))
+
+        given:
+        hasher.hash(configuration, repositories) >> key
+        cache.get(key) >> graph
+
+        when:
+        def artifact = resolver.resolve(configuration, repositories).resolvedConfiguration.lenientConfiguration.resolvedArtifacts as List
+        def resolved = artifact[0].file
+
+        then:
+        resolved == file
+        1 * target.resolve(configuration, repositories) >> resolvedResults(file)
+        1 * cache.put(key, graph)
+        graph.artifacts[0].file == file
+    }
+
+    def "records the files of all missing artifacts in one update"() {
+        def file1 = tmpDir.createFile("lib.jar")
+        def file2 = tmpDir.createFile("other.jar")
+        def graph = roundTrip(ResolvedGraph.copyOf(configuration, resolvedResults(tmpDir.file("missing.jar"), tmpDir.file("missing-other.jar")).resolvedConfiguration.lenientConfiguration, 1000))
+
+        given:
+        hasher.hash(configuration, repositories) >> key
+        cache.get(key) >> graph
+
+        when:
+        def files = resolver.resolve(configuration, repositories).resolvedConfiguration.lenientConfiguration.resolvedArtifacts*.file
+
+        then:
+        files == [file1, file2]
+        1 * target.resolve(configuration, repositories) >> resolvedResults(file1, file2)
+        1 * cache.put(key, graph)
+        graph.artifacts*.file == [file1, file2]
+    }
+
+    def "resolves in full when resolution result is queried"() {
+        def graph = roundTrip(ResolvedGraph.copyOf(configuration, resolvedResults(null).resolvedConfiguration.lenientConfiguration, 1000))
+        ResolutionResult resolutionResult = Mock()
+
+        given:
+        hasher.hash(configuration, repositories) >> key
+        cache.get(key) >> graph
+
+        when:
+        def result = resolver.resolve(configuration, repositories).resolutionResult
+        result.allModuleVersions
+        result.allDependencies
+
+        then:
+        1 * target.resolve(configuration, repositories) >> new ResolverResults(Mock(DefaultResolvedConfiguration), resolutionResult)
+        1 * resolutionResult.allModuleVersions
+        1 * resolutionResult.allDependencies
+    }
+
+    def resolvedResults(File file, String version = "1.0", String requestedVersion = version) {
+        resolvedResults(file, null, version, requestedVersion)
+    }
+
+    def resolvedResults(File file, File otherFile, String version = "1.0", String requestedVersion = version) {
+        def root = new DefaultResolvedDependency(DefaultModuleVersionIdentifier.newId("org", "root", "1.0"), "compile")
+        def lib = new DefaultResolvedDependency(DefaultModuleVersionIdentifier.newId("org", "lib", version), "default")
+        def ivyArtifact = new DefaultArtifact(ModuleRevisionId.newInstance("org", "lib", version), null, "lib", "jar", "jar", ["m:classifier": "sources"])
+        def artifact = new DefaultResolvedArtifact(lib, ivyArtifact, { file } as Factory)
+        root.addChild(lib)
+        def artifacts = [artifact] as Set
+        if (file != null) {
+            artifact.file
+        }
+        if (otherFile != null) {
+            def otherIvyArtifact = new DefaultArtifact(ModuleRevisionId.newInstance("org", "lib", version), null, "other", "jar", "jar", [:])
+            def otherArtifact = new DefaultResolvedArtifact(lib, otherIvyArtifact, { otherFile } as Factory)
+            artifacts << otherArtifact
+            otherArtifact.file
+        }
+        lib.addParentSpecificArtifacts(root, artifacts)
+
+        def lenientConfiguration = new DefaultLenientConfiguration(configuration, root, lockingManager)
+        artifacts.each { lenientConfiguration.addArtifact(it) }
+        lenientConfiguration.addFirstLevelDependency(dependency, lib)
+
+        def rootResult = new DefaultResolvedModuleVersionResult(DefaultModuleVersionIdentifier.newId("org", "root", "1.0"))
+        def libResult = new DefaultResolvedModuleVersionResult(DefaultModuleVersionIdentifier.newId("org", "lib", version))
+        rootResult.addDependency(new DefaultResolvedDependencyResult(DefaultModuleVersionSelector.newSelector("org", "lib", requestedVersion), libResult, rootResult))
+        return new ResolverResults(new DefaultResolvedConfiguration(lenientConfiguration), new DefaultResolutionResult(rootResult))
+    }
+
+    def roundTrip(ResolvedGraph graph) {
+        def serializer = new ResolvedGraphSerializer()
+        def outputStream = new ByteArrayOutputStream()
+        serializer.write(new DataOutputStream(outputStream), graph)
+        return serializer.read(new DataInputStream(new ByteArrayInputStream(outputStream.toByteArray())))
+    }
+}
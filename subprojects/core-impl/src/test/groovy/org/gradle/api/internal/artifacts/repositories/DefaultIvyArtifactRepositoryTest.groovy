@@ -87,7 +87,7 @@ class DefaultIvyArtifactRepositoryTest extends Specification {
         given:
         fileResolver.resolveUri('http://host/') >> new URI('http://host/')
         fileResolver.resolveUri('http://other/') >> new URI('http://other/')
-        transportFactory.createHttpTransport('name', credentials) >> transport()
+        transportFactory.createHttpTransport(repository, credentials) >> transport()
 
         when:
         def resolver = repository.createRealResolver()
@@ -160,7 +160,7 @@ class DefaultIvyArtifactRepositoryTest extends Specification {
 
         given:
         fileResolver.resolveUri('http://host') >> new URI('http://host/')
-        transportFactory.createHttpTransport('name', credentials) >> transport()
+        transportFactory.createHttpTransport(repository, credentials) >> transport()
 
         when:
         def resolver = repository.createRealResolver()
@@ -182,7 +182,7 @@ class DefaultIvyArtifactRepositoryTest extends Specification {
 
         given:
         fileResolver.resolveUri('http://host') >> new URI('http://host/')
-        transportFactory.createHttpTransport('name', credentials) >> transport()
+        transportFactory.createHttpTransport(repository, credentials) >> transport()
 
         when:
         def resolver = repository.createRealResolver()
@@ -208,7 +208,7 @@ class DefaultIvyArtifactRepositoryTest extends Specification {
 
         given:
         fileResolver.resolveUri('http://host') >> new URI('http://host/')
-        transportFactory.createHttpTransport('name', credentials) >> transport()
+        transportFactory.createHttpTransport(repository, credentials) >> transport()
 
         when:
         def resolver = repository.createRealResolver()
@@ -235,7 +235,7 @@ class DefaultIvyArtifactRepositoryTest extends Specification {
 
         given:
         fileResolver.resolveUri('http://host') >> new URI('http://host/')
-        transportFactory.createHttpTransport('name', credentials) >> transport()
+        transportFactory.createHttpTransport(repository, credentials) >> transport()
 
         when:
         def resolver = repository.createRealResolver()
@@ -259,7 +259,7 @@ class DefaultIvyArtifactRepositoryTest extends Specification {
 
         given:
         fileResolver.resolveUri('http://host/') >> new URI('http://host/')
-        transportFactory.createHttpTransport('name', credentials) >> transport()
+        transportFactory.createHttpTransport(repository, credentials) >> transport()
 
         when:
         def resolver = repository.createRealResolver()
@@ -281,7 +281,7 @@ class DefaultIvyArtifactRepositoryTest extends Specification {
             artifact '[layoutPattern]'
         }
         repository.artifactPattern 'http://other/[additionalPattern]'
-        transportFactory.createHttpTransport('name', credentials) >> transport()
+        transportFactory.createHttpTransport(repository, credentials) >> transport()
 
         given:
         fileResolver.resolveUri('http://host') >> new URI('http://host')
@@ -297,7 +297,7 @@ class DefaultIvyArtifactRepositoryTest extends Specification {
 
     def "fails when no artifact patterns specified"() {
         given:
-        transportFactory.createHttpTransport('name', credentials) >> transport()
+        transportFactory.createHttpTransport(repository, credentials) >> transport()
 
         when:
         repository.createRealResolver()
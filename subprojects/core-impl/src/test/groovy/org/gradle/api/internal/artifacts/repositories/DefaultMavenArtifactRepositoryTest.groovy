@@ -62,7 +62,7 @@ class DefaultMavenArtifactRepositoryTest extends Specification {
         _ * resolver.resolveUri('repo-dir') >> uri
         _ * credentials.getUsername() >> 'username'
         _ * credentials.getPassword() >> 'password'
-        transportFactory.createHttpTransport('repo', credentials) >> transport()
+        transportFactory.createHttpTransport(repository, credentials) >> transport()
 
         and:
         repository.name = 'repo'
@@ -110,7 +110,7 @@ class DefaultMavenArtifactRepositoryTest extends Specification {
         _ * resolver.resolveUri('repo-dir') >> uri
         _ * resolver.resolveUri('repo1') >> uri1
         _ * resolver.resolveUri('repo2') >> uri2
-        transportFactory.createHttpTransport('repo', credentials) >> transport()
+        transportFactory.createHttpTransport(repository, credentials) >> transport()
 
         and:
         repository.name = 'repo'
@@ -23,16 +23,19 @@ import org.apache.ivy.plugins.repository.ResourceDownloader
 import org.apache.ivy.plugins.resolver.util.ResolvedResource
 import org.gradle.api.internal.artifacts.ivyservice.CacheLockingManager
 import org.gradle.api.internal.externalresource.cached.CachedExternalResourceIndex
+import org.gradle.api.internal.externalresource.ivy.ByChecksumCachedArtifactIndex
 import org.gradle.api.internal.file.TemporaryFileProvider
 import org.gradle.api.internal.filestore.FileStore
 import org.gradle.api.internal.filestore.FileStoreEntry
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.util.hash.HashValue
 import org.junit.Rule
 import spock.lang.Specification
 
 class DownloadingRepositoryCacheManagerTest extends Specification {
     FileStore<ArtifactRevisionId> fileStore = Mock()
     CachedExternalResourceIndex<String> artifactUrlCachedResolutionIndex = Mock()
+    ByChecksumCachedArtifactIndex artifactChecksumIndex = Mock()
     CacheLockingManager lockingManager = Mock()
     TemporaryFileProvider tmpFileProvider = Mock()
     ArtifactRevisionId artifactId = Mock()
@@ -41,7 +44,7 @@ class DownloadingRepositoryCacheManagerTest extends Specification {
     ResolvedResource artifactRef = Mock()
     Resource resource = Mock();
     FileStoreEntry fileStoreEntry = Mock()
-    DownloadingRepositoryCacheManager downloadingRepositoryCacheManager = new DownloadingRepositoryCacheManager("TestCacheManager", fileStore, artifactUrlCachedResolutionIndex, tmpFileProvider, lockingManager)
+    DownloadingRepositoryCacheManager downloadingRepositoryCacheManager = new DownloadingRepositoryCacheManager("TestCacheManager", fileStore, artifactUrlCachedResolutionIndex, artifactChecksumIndex, tmpFileProvider, lockingManager)
 
     @Rule TestNameTestDirectoryProvider temporaryFolder;
 
@@ -50,10 +53,12 @@ class DownloadingRepositoryCacheManagerTest extends Specification {
 
         def downloadFile = temporaryFolder.createFile("download")
         def storeFile = temporaryFolder.createFile("store")
+        def sha1 = HashValue.parse("1234")
 
         _ * artifact.id >> artifactId
         _ * artifactRef.resource >> resource
         _ * fileStoreEntry.file >> storeFile;
+        _ * fileStoreEntry.sha1 >> sha1
         _ * tmpFileProvider._ >> downloadFile
 
         when:
@@ -67,5 +72,6 @@ class DownloadingRepositoryCacheManagerTest extends Specification {
         1 * fileStore.move(artifactId, downloadFile) >> {key, action ->
             return fileStoreEntry
         }
+        1 * artifactChecksumIndex.store(sha1, storeFile)
     }
 }
@@ -47,7 +47,7 @@ class MavenVersionListerTest extends Specification {
         versionList.versionStrings == ['1.1', '1.2'] as Set
 
         and:
-        1 * repository.getResource(metaDataResource) >> resource
+        1 * repository.getRevalidatedResource(metaDataResource) >> resource
         1 * resource.openStream() >> new ByteArrayInputStream("""
 <metadata>
     <versioning>
@@ -75,7 +75,7 @@ class MavenVersionListerTest extends Specification {
         versionList.versionStrings == ['1.1', '1.2', '1.3'] as Set
 
         and:
-        1 * repository.getResource('prefix1/org/acme/testproject/maven-metadata.xml') >> resource1
+        1 * repository.getRevalidatedResource('prefix1/org/acme/testproject/maven-metadata.xml') >> resource1
         1 * resource1.openStream() >> new ByteArrayInputStream("""
 <metadata>
     <versioning>
@@ -85,7 +85,7 @@ class MavenVersionListerTest extends Specification {
         </versions>
     </versioning>
 </metadata>""".bytes)
-        1 * repository.getResource('prefix2/org/acme/testproject/maven-metadata.xml') >> resource2
+        1 * repository.getRevalidatedResource('prefix2/org/acme/testproject/maven-metadata.xml') >> resource2
         1 * resource2.openStream() >> new ByteArrayInputStream("""
 <metadata>
     <versioning>
@@ -109,7 +109,7 @@ class MavenVersionListerTest extends Specification {
         versionList.versionStrings == ['1.1', '1.2'] as Set
 
         and:
-        1 * repository.getResource(metaDataResource) >> resource
+        1 * repository.getRevalidatedResource(metaDataResource) >> resource
         1 * resource.openStream() >> new ByteArrayInputStream("""
 <metadata>
     <versioning>
@@ -132,7 +132,7 @@ class MavenVersionListerTest extends Specification {
         then:
         ResourceNotFoundException e = thrown()
         e.message == "Maven meta-data not available: $metaDataResource"
-        1 * repository.getResource(metaDataResource) >> null
+        1 * repository.getRevalidatedResource(metaDataResource) >> null
         0 * repository._
     }
 
@@ -148,7 +148,7 @@ class MavenVersionListerTest extends Specification {
         e.message == "Unable to load Maven meta-data from $metaDataResource."
         e.cause instanceof SAXParseException
         1 * resource.close()
-        1 * repository.getResource(metaDataResource) >> resource;
+        1 * repository.getRevalidatedResource(metaDataResource) >> resource;
         1 * resource.openStream() >> new ByteArrayInputStream("yo".bytes)
         0 * repository._
     }
@@ -164,7 +164,7 @@ class MavenVersionListerTest extends Specification {
         ResourceException e = thrown()
         e.message == "Unable to load Maven meta-data from $metaDataResource."
         e.cause == failure
-        1 * repository.getResource(metaDataResource) >> { throw failure }
+        1 * repository.getRevalidatedResource(metaDataResource) >> { throw failure }
         0 * repository._
     }
 
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.externalresource.cached
+
+import org.gradle.api.internal.externalresource.metadata.DefaultExternalResourceMetaData
+import org.gradle.util.hash.HashValue
+import spock.lang.Specification
+
+class CachedExternalResourceSerializerTest extends Specification {
+    def serializer = new CachedExternalResourceSerializer()
+
+    def "writes and reads missing entry"() {
+        when:
+        def result = roundTrip(new DefaultCachedExternalResource(123L))
+
+        then:
+        result.missing
+        result.cachedAt == 123L
+        result.cachedFile == null
+        result.externalResourceMetaData == null
+    }
+
+    def "writes and reads entry with meta-data"() {
+        def file = new File("some-file").absoluteFile
+        def sha1 = HashValue.parse("1234abcd")
+        def metaData = new DefaultExternalResourceMetaData("http://host/some-file", new Date(456L), 789L, "etag", sha1)
+
+        when:
+        def result = roundTrip(new DefaultCachedExternalResource(file, 123L, metaData))
+
+        then:
+        !result.missing
+        result.cachedAt == 123L
+        result.cachedFile == file
+        result.externalResourceMetaData.location == "http://host/some-file"
+        result.externalResourceMetaData.lastModified == new Date(456L)
+        result.externalResourceMetaData.contentLength == 789L
+        result.externalResourceMetaData.etag == "etag"
+        result.externalResourceMetaData.sha1 == sha1
+    }
+
+    def "writes and reads entry with partial meta-data"() {
+        def file = new File("some-file").absoluteFile
+        def metaData = new DefaultExternalResourceMetaData(null, null, -1, null, null)
+
+        when:
+        def result = roundTrip(new DefaultCachedExternalResource(file, 123L, metaData))
+
+        then:
+        result.cachedFile == file
+        result.externalResourceMetaData.location == null
+        result.externalResourceMetaData.lastModified == null
+        result.externalResourceMetaData.contentLength == -1
+        result.externalResourceMetaData.etag == null
+        result.externalResourceMetaData.sha1 == null
+    }
+
+    def "writes and reads entry without meta-data"() {
+        def file = new File("some-file").absoluteFile
+
+        when:
+        def result = roundTrip(new DefaultCachedExternalResource(file, 123L, null))
+
+        then:
+        result.cachedFile == file
+        result.externalResourceMetaData == null
+    }
+
+    def roundTrip(CachedExternalResource value) {
+        def bytes = new ByteArrayOutputStream()
+        serializer.write(bytes, value)
+        return serializer.read(new ByteArrayInputStream(bytes.toByteArray()))
+    }
+}
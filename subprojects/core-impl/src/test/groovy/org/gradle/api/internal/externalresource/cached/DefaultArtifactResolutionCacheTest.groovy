@@ -22,6 +22,7 @@ import org.gradle.api.internal.externalresource.metadata.DefaultExternalResource
 import org.gradle.cache.internal.CacheFactory
 import org.gradle.cache.internal.DefaultCacheRepository
 import org.gradle.internal.TimeProvider
+import org.gradle.messaging.serialize.StringSerializer
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.gradle.testfixtures.internal.InMemoryCacheFactory
 import org.junit.Rule
@@ -46,7 +47,7 @@ class DefaultArtifactResolutionCacheTest extends Specification {
     def setup() {
         cacheRepository = new DefaultCacheRepository(tmp.createDir('user-home'), tmp.createDir('project-cache'), CacheUsage.ON, cacheFactory)
         cacheLockingManager = new DefaultCacheLockingManager(cacheRepository)
-        index = new DefaultCachedExternalResourceIndex(tmp.createFile("index"), String, timeProvider, cacheLockingManager)
+        index = new DefaultCachedExternalResourceIndex(tmp.createFile("index"), new StringSerializer(), timeProvider, cacheLockingManager)
     }
 
     @Unroll "stores entry - lastModified = #lastModified, artifactUrl = #artifactUrl"() {
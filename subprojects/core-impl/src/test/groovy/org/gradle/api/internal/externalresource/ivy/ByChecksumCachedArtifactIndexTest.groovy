@@ -0,0 +1,87 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.externalresource.ivy
+
+import org.gradle.api.internal.artifacts.ivyservice.CacheLockingManager
+import org.gradle.cache.PersistentIndexedCache
+import org.gradle.internal.TimeProvider
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.util.hash.HashValue
+import org.junit.Rule
+import spock.lang.Specification
+
+class ByChecksumCachedArtifactIndexTest extends Specification {
+    @Rule TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+    final CacheLockingManager cacheLockingManager = Mock()
+    final TimeProvider timeProvider = Mock()
+    final PersistentIndexedCache<HashValue, ByChecksumCachedArtifactIndex.CachedContent> persistentCache = Mock()
+    final HashValue sha1 = HashValue.parse("abcd")
+    ByChecksumCachedArtifactIndex index
+
+    def setup() {
+        def cacheFile = tmpDir.file("cacheFile")
+        _ * cacheLockingManager.createCache(cacheFile, _, _) >> persistentCache
+        _ * cacheLockingManager.useCache(_, _) >> { String operation, action ->
+            action instanceof Runnable ? action.run() : action.create()
+        }
+        index = new ByChecksumCachedArtifactIndex(cacheFile, timeProvider, cacheLockingManager)
+    }
+
+    def "finds file with checksum"() {
+        def file = tmpDir.createFile("artifact.jar")
+
+        when:
+        def result = index.findFile(sha1)
+
+        then:
+        result == file
+        1 * persistentCache.get(sha1) >> new ByChecksumCachedArtifactIndex.CachedContent(file, 123)
+        0 * persistentCache.remove(_)
+    }
+
+    def "returns null when no file with checksum has been stored"() {
+        when:
+        def result = index.findFile(sha1)
+
+        then:
+        result == null
+        1 * persistentCache.get(sha1) >> null
+    }
+
+    def "removes entry whose file has been deleted from the file store"() {
+        def file = tmpDir.file("artifact.jar")
+
+        when:
+        def result = index.findFile(sha1)
+
+        then:
+        result == null
+        1 * persistentCache.get(sha1) >> new ByChecksumCachedArtifactIndex.CachedContent(file, 123)
+        1 * persistentCache.remove(sha1)
+    }
+
+    def "removes entry whose file has been replaced by a directory"() {
+        def file = tmpDir.createDir("artifact.jar")
+
+        when:
+        def result = index.findFile(sha1)
+
+        then:
+        result == null
+        1 * persistentCache.get(sha1) >> new ByChecksumCachedArtifactIndex.CachedContent(file, 123)
+        1 * persistentCache.remove(sha1)
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.externalresource.local
+
+import org.gradle.api.internal.externalresource.ivy.ByChecksumCachedArtifactIndex
+import org.gradle.api.internal.filestore.FileStoreEntry
+import org.gradle.api.internal.filestore.FileStoreSearcher
+import org.gradle.util.hash.HashValue
+import spock.lang.Specification
+
+class ChecksumIndexedFileStoreResourceFinderTest extends Specification {
+    final FileStoreSearcher<String> fileStore = Mock()
+    final ByChecksumCachedArtifactIndex checksumIndex = Mock()
+    final finder = new ChecksumIndexedFileStoreResourceFinder<String>(fileStore, checksumIndex)
+
+    def "does not search file store until necessary"() {
+        when:
+        def candidates = finder.findCandidates("key")
+        def isNone = candidates.isNone()
+
+        then:
+        !isNone
+        0 * fileStore._
+        0 * checksumIndex._
+    }
+
+    def "matches entries for criterion using checksum from file store"() {
+        def file = new File("b")
+        def entry1 = entry(new File("a"), "1234")
+        def entry2 = entry(file, "abcd")
+
+        when:
+        def candidates = finder.findCandidates("key")
+        def resource = candidates.findByHashValue(HashValue.parse("abcd"))
+
+        then:
+        !candidates.isNone()
+        resource.file == file
+        resource.sha1 == HashValue.parse("abcd")
+        1 * fileStore.search("key") >> ([entry1, entry2] as Set)
+        0 * checksumIndex._
+    }
+
+    def "uses checksum index when no entry for criterion matches"() {
+        def file = new File("other")
+        def entry = entry(new File("a"), "1234")
+
+        when:
+        def resource = finder.findCandidates("key").findByHashValue(HashValue.parse("abcd"))
+
+        then:
+        resource.file == file
+        1 * fileStore.search("key") >> ([entry] as Set)
+        1 * checksumIndex.findFile(HashValue.parse("abcd")) >> file
+    }
+
+    def "uses checksum index when there are no entries for criterion"() {
+        def file = new File("other")
+
+        when:
+        def candidates = finder.findCandidates("key")
+        def resource = candidates.findByHashValue(HashValue.parse("abcd"))
+
+        then:
+        !candidates.isNone()
+        resource.file == file
+        1 * fileStore.search("key") >> ([] as Set)
+        1 * checksumIndex.findFile(HashValue.parse("abcd")) >> file
+    }
+
+    def "returns null when no content with checksum is stored"() {
+        when:
+        def resource = finder.findCandidates("key").findByHashValue(HashValue.parse("abcd"))
+
+        then:
+        resource == null
+        1 * fileStore.search("key") >> ([] as Set)
+        1 * checksumIndex.findFile(HashValue.parse("abcd")) >> null
+    }
+
+    def entry(File file, String sha1) {
+        FileStoreEntry entry = Mock()
+        _ * entry.file >> file
+        _ * entry.sha1 >> HashValue.parse(sha1)
+        return entry
+    }
+}
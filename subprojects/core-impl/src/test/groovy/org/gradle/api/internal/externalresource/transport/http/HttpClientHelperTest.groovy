@@ -27,7 +27,7 @@ class HttpClientHelperTest extends Specification {
     @Rule SetSystemProperties sysProp = new SetSystemProperties()
 
     def "throws HttpRequestException if an IO error occurs during a request"() {
-        def client = new HttpClientHelper(httpSettings) {
+        def client = new HttpClientHelper(httpSettings, SharedHttpConnectionPool.instance, new HttpRepositoryStatistics("repo")) {
             @Override
             protected HttpResponse executeGetOrHead(HttpRequestBase method) {
                 throw new IOException("ouch")
@@ -47,7 +47,7 @@ class HttpClientHelperTest extends Specification {
         System.setProperty("http.keepAlive", "false")
 
         when:
-        new HttpClientHelper(httpSettings)
+        new HttpClientHelper(httpSettings, SharedHttpConnectionPool.instance, new HttpRepositoryStatistics("repo"))
 
         then:
         System.getProperty("http.keepAlive", "true")
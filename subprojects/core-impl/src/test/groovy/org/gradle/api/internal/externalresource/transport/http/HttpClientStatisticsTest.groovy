@@ -0,0 +1,74 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.externalresource.transport.http
+
+import org.gradle.api.artifacts.repositories.ArtifactRepository
+import spock.lang.Specification
+
+class HttpClientStatisticsTest extends Specification {
+    final pool = Mock(SharedHttpConnectionPool)
+    final statistics = new HttpClientStatistics(pool)
+
+    def "keeps statistics for each repository"() {
+        def repository = Mock(ArtifactRepository)
+        def other = Mock(ArtifactRepository)
+        def sameName = Mock(ArtifactRepository)
+
+        given:
+        repository.name >> "repo"
+        other.name >> "other"
+        sameName.name >> "repo"
+
+        when:
+        def repo1 = statistics.forRepository(repository)
+        def repo2 = statistics.forRepository(other)
+        def repo3 = statistics.forRepository(repository)
+        def repo4 = statistics.forRepository(sameName)
+
+        then:
+        repo1.is(repo3)
+        !repo1.is(repo2)
+        !repo1.is(repo4)
+        repo1.repositoryName == "repo"
+        repo4.repositoryName == "repo"
+        statistics.repositories == [repo1, repo2, repo4]
+    }
+
+    def "calculates average latency"() {
+        def repo = statistics.forRepository(Mock(ArtifactRepository))
+
+        expect:
+        repo.averageLatencyMillis == 0
+
+        when:
+        repo.requestCompleted(10)
+        repo.requestCompleted(30)
+        repo.bytesRead(100)
+
+        then:
+        repo.requests == 2
+        repo.averageLatencyMillis == 20
+        repo.bytesRead == 100
+    }
+
+    def "closes idle connections when build finishes"() {
+        when:
+        statistics.stop()
+
+        then:
+        1 * pool.closeIdleConnections()
+    }
+}
@@ -20,8 +20,8 @@ import spock.lang.Specification
 
 class HttpResourceListerTest extends Specification {
 
-    HttpResourceAccessor accessorMock = Mock()
-    HttpResponseResource externalResource = Mock()
+    RevalidatingHttpResourceAccessor accessorMock = Mock()
+    HttpContentResource externalResource = Mock()
     HttpResourceLister lister = new HttpResourceLister(accessorMock)
 
     def "consumeExternalResource closes resource after reading into stream"() {
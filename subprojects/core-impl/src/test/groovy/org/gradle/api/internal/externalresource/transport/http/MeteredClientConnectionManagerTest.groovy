@@ -0,0 +1,68 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.externalresource.transport.http
+
+import org.apache.http.conn.ClientConnectionManager
+import org.apache.http.conn.ClientConnectionRequest
+import org.apache.http.conn.ManagedClientConnection
+import org.apache.http.conn.routing.HttpRoute
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class MeteredClientConnectionManagerTest extends Specification {
+    final pool = Mock(ClientConnectionManager)
+    final statistics = new HttpRepositoryStatistics("repo")
+    final manager = new MeteredClientConnectionManager(pool, statistics)
+    final route = Stub(HttpRoute)
+
+    def "records new and reused connections"() {
+        def poolRequest = Stub(ClientConnectionRequest)
+        def newConnection = Stub(ManagedClientConnection) { isOpen() >> false }
+        def openConnection = Stub(ManagedClientConnection) { isOpen() >> true }
+
+        given:
+        pool.requestConnection(route, null) >> poolRequest
+        poolRequest.getConnection(_, _) >>> [newConnection, openConnection, openConnection]
+
+        when:
+        def request = manager.requestConnection(route, null)
+        def connections = (1..3).collect { request.getConnection(0, TimeUnit.SECONDS) }
+
+        then:
+        connections == [newConnection, openConnection, openConnection]
+        statistics.newConnections == 1
+        statistics.reusedConnections == 2
+    }
+
+    def "releases connections to the pool"() {
+        def connection = Stub(ManagedClientConnection)
+
+        when:
+        manager.releaseConnection(connection, 10, TimeUnit.SECONDS)
+
+        then:
+        1 * pool.releaseConnection(connection, 10, TimeUnit.SECONDS)
+    }
+
+    def "does not shut down the shared pool"() {
+        when:
+        manager.shutdown()
+
+        then:
+        0 * pool._
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.externalresource.transport.http
+
+import org.apache.http.HttpResponse
+import org.apache.http.HttpVersion
+import org.apache.http.client.methods.HttpGet
+import org.apache.http.entity.StringEntity
+import org.apache.http.message.BasicHttpResponse
+import spock.lang.Specification
+
+class ResumingHttpInputStreamTest extends Specification {
+    final http = Mock(HttpClientHelper)
+    final location = "http://repo/group/module/module-1.0.jar"
+
+    def "does not wrap content when server does not support ranges"() {
+        def content = new ByteArrayInputStream("content".bytes)
+
+        expect:
+        ResumingHttpInputStream.wrap(http, location, response(200, ["ETag": "abc", "Content-Length": "7"]), content).is(content)
+        ResumingHttpInputStream.wrap(http, location, response(200, ["Accept-Ranges": "bytes", "Content-Length": "7"]), content).is(content)
+        ResumingHttpInputStream.wrap(http, location, response(200, ["Accept-Ranges": "bytes", "ETag": "W/\"abc\"", "Content-Length": "7"]), content).is(content)
+        ResumingHttpInputStream.wrap(http, location, response(200, ["Accept-Ranges": "bytes", "ETag": "abc"]), content).is(content)
+    }
+
+    def "resumes download from where the connection failed"() {
+        HttpGet request = null
+        def stream = ResumingHttpInputStream.wrap(http, location, resumableResponse(), failingStream("0123"))
+
+        when:
+        def text = stream.text
+
+        then:
+        text == "0123456789"
+        1 * http.performHttpRequest(_) >> { HttpGet get -> request = get; response(206, ["Content-Range": "bytes 4-9/10"], "456789") }
+
+        and:
+        request.getFirstHeader("Range").value == "bytes=4-"
+        request.getFirstHeader("If-Range").value == "abc"
+    }
+
+    def "rethrows failure when content has changed on server"() {
+        def stream = ResumingHttpInputStream.wrap(http, location, resumableResponse(), failingStream("0123"))
+
+        when:
+        stream.text
+
+        then:
+        IOException e = thrown()
+        e.message == "broken"
+        1 * http.performHttpRequest(_) >> response(200, [:], "changed content")
+    }
+
+    def "gives up after several attempts"() {
+        def stream = ResumingHttpInputStream.wrap(http, location, resumableResponse(), failingStream("0123"))
+
+        when:
+        stream.text
+
+        then:
+        IOException e = thrown()
+        e.message == "broken"
+        ResumingHttpInputStream.MAX_RESUME_ATTEMPTS * http.performHttpRequest(_) >> { throw new IOException("still broken") }
+    }
+
+    def resumableResponse() {
+        return response(200, ["Accept-Ranges": "bytes", "ETag": "abc", "Content-Length": "10"])
+    }
+
+    def failingStream(String content) {
+        def bytes = new ByteArrayInputStream(content.bytes)
+        return new InputStream() {
+            int read() {
+                int result = bytes.read()
+                if (result < 0) {
+                    throw new IOException("broken")
+                }
+                return result
+            }
+        }
+    }
+
+    HttpResponse response(int statusCode, Map<String, String> headers, String content = null) {
+        def response = new BasicHttpResponse(HttpVersion.HTTP_1_1, statusCode, "OK")
+        headers.each { key, value -> response.addHeader(key, value) }
+        if (content != null) {
+            response.entity = new StringEntity(content)
+        }
+        return response
+    }
+}
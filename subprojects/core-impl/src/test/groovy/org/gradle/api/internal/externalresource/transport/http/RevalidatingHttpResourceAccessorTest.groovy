@@ -0,0 +1,141 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.externalresource.transport.http
+
+import org.apache.http.HttpResponse
+import org.apache.http.HttpVersion
+import org.apache.http.client.methods.HttpGet
+import org.apache.http.entity.StringEntity
+import org.apache.http.message.BasicHttpResponse
+import org.gradle.api.UncheckedIOException
+import org.gradle.api.internal.externalresource.cached.ByUrlCachedResourceContentIndex
+import org.gradle.api.internal.externalresource.cached.CachedResourceContent
+import org.gradle.api.internal.externalresource.metadata.DefaultExternalResourceMetaData
+import spock.lang.Specification
+
+class RevalidatingHttpResourceAccessorTest extends Specification {
+    final http = Mock(HttpClientHelper)
+    final index = Mock(ByUrlCachedResourceContentIndex)
+    final accessor = new RevalidatingHttpResourceAccessor(http, Mock(HttpResourceAccessor), index)
+    final location = "http://repo/group/module/maven-metadata.xml"
+
+    def setup() {
+        http.wasMissing(_) >> { HttpResponse response -> response.statusLine.statusCode == 404 }
+        http.wasSuccessful(_) >> { HttpResponse response -> response.statusLine.statusCode in 200..299 }
+    }
+
+    def "fetches and caches resource with validators"() {
+        HttpGet request = null
+
+        when:
+        def resource = accessor.getResource(location)
+
+        then:
+        1 * index.lookup(location) >> null
+        1 * http.performRequest(_) >> { HttpGet get -> request = get; response(200, "content", ["ETag": "abc"]) }
+        1 * index.store(location, "content".bytes, "text/xml", { it.etag == "abc" })
+
+        and:
+        !request.containsHeader("If-None-Match")
+        resource.openStream().text == "content"
+        resource.contentType == "text/xml"
+    }
+
+    def "does not cache resource without validators"() {
+        when:
+        def resource = accessor.getResource(location)
+
+        then:
+        1 * index.lookup(location) >> null
+        1 * http.performRequest(_) >> response(200, "content", [:])
+        0 * index.store(_, _, _, _)
+
+        and:
+        resource.openStream().text == "content"
+    }
+
+    def "uses cached content when server reports resource is not modified"() {
+        def cached = new CachedResourceContent("cached".bytes, "text/xml", new DefaultExternalResourceMetaData(location, new Date(1000), 6, "abc", null), 100)
+        HttpGet request = null
+
+        when:
+        def resource = accessor.getResource(location)
+
+        then:
+        1 * index.lookup(location) >> cached
+        1 * http.performRequest(_) >> { HttpGet get -> request = get; response(304, null, [:]) }
+        0 * index.store(_, _, _, _)
+
+        and:
+        request.getFirstHeader("If-None-Match").value == "abc"
+        request.containsHeader("If-Modified-Since")
+        resource.openStream().text == "cached"
+        resource.metaData.etag == "abc"
+    }
+
+    def "replaces cached content when resource has changed"() {
+        def cached = new CachedResourceContent("cached".bytes, "text/xml", new DefaultExternalResourceMetaData(location, null, 6, "abc", null), 100)
+
+        when:
+        def resource = accessor.getResource(location)
+
+        then:
+        1 * index.lookup(location) >> cached
+        1 * http.performRequest(_) >> response(200, "changed", ["ETag": "def"])
+        1 * index.store(location, "changed".bytes, "text/xml", { it.etag == "def" })
+
+        and:
+        resource.openStream().text == "changed"
+    }
+
+    def "returns null and discards cached content when resource is missing"() {
+        def cached = new CachedResourceContent("cached".bytes, "text/xml", new DefaultExternalResourceMetaData(location, null, 6, "abc", null), 100)
+
+        when:
+        def resource = accessor.getResource(location)
+
+        then:
+        1 * index.lookup(location) >> cached
+        1 * http.performRequest(_) >> response(404, null, [:])
+        1 * index.clear(location)
+
+        and:
+        resource == null
+    }
+
+    def "fails when server returns an error"() {
+        given:
+        index.lookup(location) >> null
+        http.performRequest(_) >> response(500, null, [:])
+
+        when:
+        accessor.getResource(location)
+
+        then:
+        UncheckedIOException e = thrown()
+        e.message.startsWith("Could not GET '$location'. Received status code 500")
+    }
+
+    private static HttpResponse response(int statusCode, String content, Map<String, String> headers) {
+        def response = new BasicHttpResponse(HttpVersion.HTTP_1_1, statusCode, "reason")
+        headers.each { name, value -> response.addHeader(name, value) }
+        if (content != null) {
+            response.addHeader("Content-Type", "text/xml")
+            response.entity = new StringEntity(content)
+        }
+        return response
+    }
+}
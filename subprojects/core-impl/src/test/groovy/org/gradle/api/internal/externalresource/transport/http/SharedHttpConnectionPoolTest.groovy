@@ -0,0 +1,63 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.externalresource.transport.http
+package org.gradle.api.internal.externalresource.transport.http
+
+import spock.lang.Specification
+
+class SharedHttpConnectionPoolTest extends Specification {
+    def "uses default limits when no system properties are set"() {
+        when:
+        def pool = SharedHttpConnectionPool.create(properties([:]))
+
+        then:
+        pool.maxConnections == 20
+        pool.maxConnectionsPerRoute == 5
+    }
+
+    def "uses http.maxConnections as the limit per route"() {
+        when:
+        def pool = SharedHttpConnectionPool.create(properties(["http.maxConnections": "15"]))
+
+        then:
+        pool.maxConnections == 30
+        pool.maxConnectionsPerRoute == 15
+    }
+
+    def "Gradle specific system properties override http.maxConnections"() {
+        when:
+        def pool = SharedHttpConnectionPool.create(properties(["http.maxConnections": "15", "org.gradle.http.maxConnections": "8", "org.gradle.http.maxConnectionsPerRoute": "2"]))
+
+        then:
+        pool.maxConnections == 8
+        pool.maxConnectionsPerRoute == 2
+    }
+
+    def "ignores invalid values"() {
+        when:
+        def pool = SharedHttpConnectionPool.create(properties(["http.maxConnections": "lots", "org.gradle.http.maxConnections": "-1"]))
+
+        then:
+        pool.maxConnections == 20
+        pool.maxConnectionsPerRoute == 5
+    }
+
+    private static Properties properties(Map<String, String> values) {
+        def properties = new Properties()
+        properties.putAll(values)
+        return properties
+    }
+}
@@ -76,6 +76,8 @@ public class StartParameter extends LoggingConfiguration implements Serializable
     private boolean recompileScripts;
     private int parallelThreadCount;
     private boolean configureOnDemand;
+    private boolean parallelConfiguration;
+    private boolean reuseBuildSrc;
 
     /**
      * Sets the project's cache location. Set to null to use the default location.
@@ -154,6 +156,8 @@ public class StartParameter extends LoggingConfiguration implements Serializable
         p.refreshDependencies = refreshDependencies;
         p.parallelThreadCount = parallelThreadCount;
         p.configureOnDemand = configureOnDemand;
+        p.parallelConfiguration = parallelConfiguration;
+        p.reuseBuildSrc = reuseBuildSrc;
 
         return p;
     }
@@ -661,6 +665,8 @@ public class StartParameter extends LoggingConfiguration implements Serializable
                 + ", refreshDependencies=" + refreshDependencies
                 + ", parallelThreadCount=" + parallelThreadCount
                 + ", configureOnDemand=" + configureOnDemand
+                + ", parallelConfiguration=" + parallelConfiguration
+                + ", reuseBuildSrc=" + reuseBuildSrc
                 + '}';
     }
 
@@ -675,4 +681,42 @@ public class StartParameter extends LoggingConfiguration implements Serializable
     public void setConfigureOnDemand(boolean configureOnDemand) {
         this.configureOnDemand = configureOnDemand;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns true if projects should be configured in parallel. The number of threads to use is determined by {@link #getParallelThreadCount()},
+     * or by the number of available processors when parallel execution has not been requested.
+     */
+    @Incubating
+    public boolean isParallelConfiguration() {
+        return parallelConfiguration;
+    }
+
+    /**
+     * Specifies whether projects should be configured in parallel.
+     *
+     * @see #isParallelConfiguration()
+     */
+    @Incubating
+    public void setParallelConfiguration(boolean parallelConfiguration) {
+        this.parallelConfiguration = parallelConfiguration;
+    }
+
+    /**
+     * Returns true if the classpath built from buildSrc may be reused by later builds in the same process, as long as none of the inputs of the
+     * buildSrc build have changed. The classpath is never reused when buildSrc has dynamic or changing dependencies.
+     */
+    @Incubating
+    public boolean isReuseBuildSrc() {
+        return reuseBuildSrc;
+    }
+
+    /**
+     * Specifies whether the classpath built from buildSrc may be reused by later builds in the same process.
+     *
+     * @see #isReuseBuildSrc()
+     */
+    @Incubating
+    public void setReuseBuildSrc(boolean reuseBuildSrc) {
+        this.reuseBuildSrc = reuseBuildSrc;
+    }
+}
@@ -41,6 +41,14 @@ public abstract class AbstractClassGenerator implements ClassGenerator {
     }
 
     public <T> Class<? extends T> generate(Class<T> type) {
+        // The cache is shared by all builds in this process, and the projects of a build may be configured in parallel. Holding the lock while
+        // generating also prevents the same class from being generated and loaded twice.
+        synchronized (GENERATED_CLASSES) {
+            return generateUnderLock(type);
+        }
+    }
+
+    private <T> Class<? extends T> generateUnderLock(Class<T> type) {
         Map<Class<?>, Class<?>> cache = GENERATED_CLASSES.get(getClass());
         if (cache == null) {
             // WeakHashMap won't work here. It keeps a strong reference to the mapping value, which is the generated class in this case
@@ -66,149 +74,160 @@ public abstract class AbstractClassGenerator implements ClassGenerator {
         Class<? extends T> subclass;
         try {
             ClassBuilder<T> builder = start(type);
+            subclass = builder.loadCachedClass();
+            if (subclass == null) {
+                subclass = generateClass(type, builder);
+            }
+        } catch (Throwable e) {
+            throw new GradleException(String.format("Could not generate a proxy class for class %s.", type.getName()), e);
+        }
 
-            boolean isConventionAware = type.getAnnotation(NoConventionMapping.class) == null;
+        cache.put(type, subclass);
+        cache.put(subclass, subclass);
+        return subclass;
+    }
 
-            builder.startClass(isConventionAware);
+    private <T> Class<? extends T> generateClass(Class<T> type, ClassBuilder<T> builder) throws Exception {
+        boolean isConventionAware = type.getAnnotation(NoConventionMapping.class) == null;
 
-            if (!DynamicObjectAware.class.isAssignableFrom(type)) {
-                if (ExtensionAware.class.isAssignableFrom(type)) {
-                    throw new UnsupportedOperationException("A type that implements ExtensionAware must currently also implement DynamicObjectAware.");
-                }
-                builder.mixInDynamicAware();
-            }
-            if (!GroovyObject.class.isAssignableFrom(type)) {
-                builder.mixInGroovyObject();
-            }
-            builder.addDynamicMethods();
-            if (isConventionAware && !IConventionAware.class.isAssignableFrom(type)) {
-                builder.mixInConventionAware();
-            }
+        builder.startClass(isConventionAware);
 
-            Class noMappingClass = Object.class;
-            for (Class<?> c = type; c != null && noMappingClass == Object.class; c = c.getSuperclass()) {
-                if (c.getAnnotation(NoConventionMapping.class) != null) {
-                    noMappingClass = c;
-                }
+        if (!DynamicObjectAware.class.isAssignableFrom(type)) {
+            if (ExtensionAware.class.isAssignableFrom(type)) {
+                throw new UnsupportedOperationException("A type that implements ExtensionAware must currently also implement DynamicObjectAware.");
             }
+            builder.mixInDynamicAware();
+        }
+        if (!GroovyObject.class.isAssignableFrom(type)) {
+            builder.mixInGroovyObject();
+        }
+        builder.addDynamicMethods();
+        if (isConventionAware && !IConventionAware.class.isAssignableFrom(type)) {
+            builder.mixInConventionAware();
+        }
 
-            Collection<String> skipProperties = Arrays.asList("metaClass", "conventionMapping", "convention", "asDynamicObject", "extensions");
+        Class noMappingClass = Object.class;
+        for (Class<?> c = type; c != null && noMappingClass == Object.class; c = c.getSuperclass()) {
+            if (c.getAnnotation(NoConventionMapping.class) != null) {
+                noMappingClass = c;
+            }
+        }
 
-            Set<MetaBeanProperty> settableProperties = new HashSet<MetaBeanProperty>();
-            Set<MetaBeanProperty> conventionProperties = new HashSet<MetaBeanProperty>();
+        Collection<String> skipProperties = Arrays.asList("metaClass", "conventionMapping", "convention", "asDynamicObject", "extensions");
 
-            MetaClass metaClass = GroovySystem.getMetaClassRegistry().getMetaClass(type);
-            for (MetaProperty property : metaClass.getProperties()) {
-                if (skipProperties.contains(property.getName())) {
-                    continue;
-                }
-                if (property instanceof MetaBeanProperty) {
-                    MetaBeanProperty metaBeanProperty = (MetaBeanProperty) property;
+        Set<MetaBeanProperty> settableProperties = new HashSet<MetaBeanProperty>();
+        Set<MetaBeanProperty> conventionProperties = new HashSet<MetaBeanProperty>();
 
-                    boolean needsConventionMapping = true;
-                    MetaMethod getter = metaBeanProperty.getGetter();
-                    if (getter == null) {
+        MetaClass metaClass = GroovySystem.getMetaClassRegistry().getMetaClass(type);
+        for (MetaProperty property : metaClass.getProperties()) {
+            if (skipProperties.contains(property.getName())) {
+                continue;
+            }
+            if (property instanceof MetaBeanProperty) {
+                MetaBeanProperty metaBeanProperty = (MetaBeanProperty) property;
+
+                boolean needsConventionMapping = true;
+                MetaMethod getter = metaBeanProperty.getGetter();
+                if (getter == null) {
+                    needsConventionMapping = false;
+                } else {
+                    if (Modifier.isFinal(getter.getModifiers()) || Modifier.isPrivate(getter.getModifiers())) {
                         needsConventionMapping = false;
                     } else {
-                        if (Modifier.isFinal(getter.getModifiers()) || Modifier.isPrivate(getter.getModifiers())) {
+                        Class declaringClass = getter.getDeclaringClass().getTheClass();
+                        if (declaringClass.isAssignableFrom(noMappingClass)) {
                             needsConventionMapping = false;
-                        } else {
-                            Class declaringClass = getter.getDeclaringClass().getTheClass();
-                            if (declaringClass.isAssignableFrom(noMappingClass)) {
-                                needsConventionMapping = false;
-                            }
                         }
                     }
-
-                    if (needsConventionMapping) {
-                        conventionProperties.add(metaBeanProperty);
-                        builder.addGetter(metaBeanProperty);
-                    }
-
-                    MetaMethod setter = metaBeanProperty.getSetter();
-                    if (setter == null || Modifier.isPrivate(setter.getModifiers())) {
-                        continue;
-                    }
-
-                    if (needsConventionMapping && !Modifier.isFinal(setter.getModifiers())) {
-                        builder.addSetter(metaBeanProperty);
-                    }
-
-                    if (Iterable.class.isAssignableFrom(property.getType())) {
-                        continue;
-                    }
-
-                    settableProperties.add(metaBeanProperty);
                 }
-            }
 
-            Multimap<String, MetaMethod> methods = HashMultimap.create();
-            Set<MetaMethod> actionMethods = new HashSet<MetaMethod>();
+                if (needsConventionMapping) {
+                    conventionProperties.add(metaBeanProperty);
+                    builder.addGetter(metaBeanProperty);
+                }
 
-            for (MetaMethod method : metaClass.getMethods()) {
-                if (method.isPrivate()) {
+                MetaMethod setter = metaBeanProperty.getSetter();
+                if (setter == null || Modifier.isPrivate(setter.getModifiers())) {
                     continue;
                 }
-                CachedClass[] parameterTypes = method.getParameterTypes();
-                if (parameterTypes.length == 0) {
-                    continue;
+
+                if (needsConventionMapping && !Modifier.isFinal(setter.getModifiers())) {
+                    builder.addSetter(metaBeanProperty);
                 }
-                methods.put(method.getName(), method);
 
-                CachedClass lastParameter = parameterTypes[parameterTypes.length - 1];
-                if (lastParameter.getTheClass().equals(Action.class)) {
-                    actionMethods.add(method);
+                if (Iterable.class.isAssignableFrom(property.getType())) {
+                    continue;
                 }
+
+                settableProperties.add(metaBeanProperty);
             }
+        }
 
-            for (MetaMethod method : actionMethods) {
-                boolean hasClosure = false;
-                Class[] actionMethodParameterTypes = method.getNativeParameterTypes();
-                int numParams = actionMethodParameterTypes.length;
-                Class[] closureMethodParameterTypes = new Class[actionMethodParameterTypes.length];
-                System.arraycopy(actionMethodParameterTypes, 0, closureMethodParameterTypes, 0, actionMethodParameterTypes.length);
-                closureMethodParameterTypes[numParams - 1] = Closure.class;
-                for (MetaMethod otherMethod : methods.get(method.getName())) {
-                    if (Arrays.equals(otherMethod.getNativeParameterTypes(), closureMethodParameterTypes)) {
-                        hasClosure = true;
-                        break;
-                    }
-                }
-                if (!hasClosure) {
-                    builder.addActionMethod(method);
-                }
+        Multimap<String, MetaMethod> methods = HashMultimap.create();
+        Set<MetaMethod> actionMethods = new HashSet<MetaMethod>();
+
+        for (MetaMethod method : metaClass.getMethods()) {
+            if (method.isPrivate()) {
+                continue;
+            }
+            CachedClass[] parameterTypes = method.getParameterTypes();
+            if (parameterTypes.length == 0) {
+                continue;
             }
+            methods.put(method.getName(), method);
 
-            for (MetaBeanProperty property : settableProperties) {
-                Collection<MetaMethod> methodsForProperty = methods.get(property.getName());
-                if (methodsForProperty.isEmpty()) {
-                    builder.addSetMethod(property);
-                } else if (conventionProperties.contains(property)) {
-                    for (MetaMethod method : methodsForProperty) {
-                        builder.overrideSetMethod(property, method);
-                    }
+            CachedClass lastParameter = parameterTypes[parameterTypes.length - 1];
+            if (lastParameter.getTheClass().equals(Action.class)) {
+                actionMethods.add(method);
+            }
+        }
+
+        for (MetaMethod method : actionMethods) {
+            boolean hasClosure = false;
+            Class[] actionMethodParameterTypes = method.getNativeParameterTypes();
+            int numParams = actionMethodParameterTypes.length;
+            Class[] closureMethodParameterTypes = new Class[actionMethodParameterTypes.length];
+            System.arraycopy(actionMethodParameterTypes, 0, closureMethodParameterTypes, 0, actionMethodParameterTypes.length);
+            closureMethodParameterTypes[numParams - 1] = Closure.class;
+            for (MetaMethod otherMethod : methods.get(method.getName())) {
+                if (Arrays.equals(otherMethod.getNativeParameterTypes(), closureMethodParameterTypes)) {
+                    hasClosure = true;
+                    break;
                 }
             }
+            if (!hasClosure) {
+                builder.addActionMethod(method);
+            }
+        }
 
-            for (Constructor<?> constructor : type.getConstructors()) {
-                if (Modifier.isPublic(constructor.getModifiers())) {
-                    builder.addConstructor(constructor);
+        for (MetaBeanProperty property : settableProperties) {
+            Collection<MetaMethod> methodsForProperty = methods.get(property.getName());
+            if (methodsForProperty.isEmpty()) {
+                builder.addSetMethod(property);
+            } else if (conventionProperties.contains(property)) {
+                for (MetaMethod method : methodsForProperty) {
+                    builder.overrideSetMethod(property, method);
                 }
             }
+        }
 
-            subclass = builder.generate();
-        } catch (Throwable e) {
-            throw new GradleException(String.format("Could not generate a proxy class for class %s.", type.getName()), e);
+        for (Constructor<?> constructor : type.getConstructors()) {
+            if (Modifier.isPublic(constructor.getModifiers())) {
+                builder.addConstructor(constructor);
+            }
         }
 
-        cache.put(type, subclass);
-        cache.put(subclass, subclass);
-        return subclass;
+        return builder.generate();
     }
 
     protected abstract <T> ClassBuilder<T> start(Class<T> type);
 
     protected interface ClassBuilder<T> {
+        /**
+         * Returns the class previously generated for the type, or null if the class needs to be generated.
+         */
+        Class<? extends T> loadCachedClass();
+
         void startClass(boolean isConventionAware);
 
         void addConstructor(Constructor<?> constructor) throws Exception;
@@ -35,15 +35,35 @@ import java.util.List;
 
 public class AsmBackedClassGenerator extends AbstractClassGenerator {
     private static final JavaMethod<ClassLoader, Class> DEFINE_CLASS_METHOD = JavaMethod.create(ClassLoader.class, Class.class, "defineClass", String.class, byte[].class, Integer.TYPE, Integer.TYPE);
+    // Shared by all generators, so that it lives as long as the daemon does
+    private static final GeneratedClassCache SHARED_BYTECODE_CACHE = new GeneratedClassCache(5000);
+
+    private final GeneratedClassCache bytecodeCache;
+
+    public AsmBackedClassGenerator() {
+        this(SHARED_BYTECODE_CACHE);
+    }
+
+    public AsmBackedClassGenerator(GeneratedClassCache bytecodeCache) {
+        this.bytecodeCache = bytecodeCache;
+    }
 
     @Override
     protected <T> ClassBuilder<T> start(Class<T> type) {
-        return new ClassBuilderImpl<T>(type);
+        return new ClassBuilderImpl<T>(type, bytecodeCache, getClass().getName());
+    }
+
+    private static <T> Class<? extends T> defineClass(Class<T> type, byte[] bytecode) {
+        String typeName = type.getName() + "_Decorated";
+        Class<?> generatedClass = DEFINE_CLASS_METHOD.invoke(type.getClassLoader(), typeName, bytecode, 0, bytecode.length);
+        return generatedClass.asSubclass(type);
     }
 
     private static class ClassBuilderImpl<T> implements ClassBuilder<T> {
         private final ClassWriter visitor;
         private final Class<T> type;
+        private final GeneratedClassCache bytecodeCache;
+        private final String cacheKey;
         private final String typeName;
         private final Type generatedType;
         private final Type superclassType;
@@ -59,8 +79,10 @@ public class AsmBackedClassGenerator extends AbstractClassGenerator {
         private final Type groovyObjectType = Type.getType(GroovyObject.class);
         private final Type conventionType = Type.getType(Convention.class);
 
-        private ClassBuilderImpl(Class<T> type) {
+        private ClassBuilderImpl(Class<T> type, GeneratedClassCache bytecodeCache, String generatorName) {
             this.type = type;
+            this.bytecodeCache = bytecodeCache;
+            this.cacheKey = bytecodeCache.keyFor(type, generatorName);
 
             visitor = new ClassWriter(ClassWriter.COMPUTE_MAXS);
             typeName = type.getName() + "_Decorated";
@@ -68,6 +90,17 @@ public class AsmBackedClassGenerator extends AbstractClassGenerator {
             superclassType = Type.getType(type);
         }
 
+        public Class<? extends T> loadCachedClass() {
+            if (cacheKey == null) {
+                return null;
+            }
+            byte[] bytecode = bytecodeCache.get(cacheKey);
+            if (bytecode == null) {
+                return null;
+            }
+            return defineClass(type, bytecode);
+        }
+
         public void startClass(boolean isConventionAware) {
             List<String> interfaceTypes = new ArrayList<String>();
             if (isConventionAware) {
@@ -816,7 +849,10 @@ public class AsmBackedClassGenerator extends AbstractClassGenerator {
             visitor.visitEnd();
 
             byte[] bytecode = visitor.toByteArray();
-            return DEFINE_CLASS_METHOD.invoke(type.getClassLoader(), typeName, bytecode, 0, bytecode.length);
+            if (cacheKey != null) {
+                bytecodeCache.put(cacheKey, bytecode);
+            }
+            return defineClass(type, bytecode);
         }
     }
 
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal;
+
+import org.apache.commons.io.IOUtils;
+import org.gradle.internal.UncheckedException;
+import org.gradle.util.hash.HashValue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Method;
+import java.security.MessageDigest;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caches the bytecode of generated classes, keyed by a hash of the bytecode of the source class and its supertypes, along with the types of their
+ * properties.
+ *
+ * <p>Build script classes are loaded by a new ClassLoader for each build, so the same source class is seen as a different {@link Class} by each
+ * build. As the generated bytecode depends on the bytecode of the source class hierarchy, it can be reused to define the generated class in the
+ * new ClassLoader without generating it again. The generated bytecode also depends on whether each property type is {@link Iterable}, which is not visible
+ * in the bytecode of the source class, so this is included in the key.</p>
+ */
+public class GeneratedClassCache {
+    private final int maxEntries;
+    private final Map<String, byte[]> entries;
+    private int hits;
+    private int misses;
+
+    public GeneratedClassCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > GeneratedClassCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Calculates the cache key for the given source class.
+     *
+     * @return The key, or null when the bytecode of the class or one of its supertypes is not available, in which case the generated class cannot be cached.
+     */
+    public String keyFor(Class<?> type, String generatorName) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA1");
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+        update(digest, generatorName);
+        Set<Class<?>> visited = new HashSet<Class<?>>();
+        if (!hashHierarchy(type, digest, visited)) {
+            return null;
+        }
+        return new HashValue(digest.digest()).asHexString();
+    }
+
+    private boolean hashHierarchy(Class<?> type, MessageDigest digest, Set<Class<?>> visited) {
+        if (type == null || type == Object.class || !visited.add(type)) {
+            return true;
+        }
+        byte[] bytecode = readBytecode(type);
+        if (bytecode == null) {
+            return false;
+        }
+        update(digest, type.getName());
+        digest.update(bytecode);
+        for (Method method : type.getDeclaredMethods()) {
+            hashPropertyType(method.getReturnType(), digest);
+            for (Class<?> parameterType : method.getParameterTypes()) {
+                hashPropertyType(parameterType, digest);
+            }
+        }
+        if (!hashHierarchy(type.getSuperclass(), digest, visited)) {
+            return false;
+        }
+        for (Class<?> interfaceType : type.getInterfaces()) {
+            if (!hashHierarchy(interfaceType, digest, visited)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void hashPropertyType(Class<?> type, MessageDigest digest) {
+        update(digest, type.getName());
+        digest.update(Iterable.class.isAssignableFrom(type) ? (byte) 1 : (byte) 0);
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        try {
+            digest.update(value.getBytes("UTF-8"));
+        } catch (UnsupportedEncodingException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private byte[] readBytecode(Class<?> type) {
+        ClassLoader classLoader = type.getClassLoader();
+        if (classLoader == null) {
+            classLoader = ClassLoader.getSystemClassLoader();
+        }
+        InputStream inputStream = classLoader.getResourceAsStream(type.getName().replace('.', '/') + ".class");
+        if (inputStream == null) {
+            return null;
+        }
+        try {
+            return IOUtils.toByteArray(inputStream);
+        } catch (IOException e) {
+            return null;
+        } finally {
+            IOUtils.closeQuietly(inputStream);
+        }
+    }
+
+    /**
+     * Returns the bytecode of the generated class with the given key, or null when not cached.
+     */
+    public synchronized byte[] get(String key) {
+        byte[] bytecode = entries.get(key);
+        if (bytecode == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return bytecode;
+    }
+
+    public synchronized void put(String key, byte[] bytecode) {
+        entries.put(key, bytecode);
+    }
+
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    public synchronized int getMisses() {
+        return misses;
+    }
+}
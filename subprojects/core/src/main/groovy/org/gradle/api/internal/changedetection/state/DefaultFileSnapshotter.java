@@ -18,6 +18,7 @@ package org.gradle.api.internal.changedetection.state;
 
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.internal.file.collections.SimpleFileCollection;
+import org.gradle.profile.TraceRecorder;
 import org.gradle.util.ChangeListener;
 import org.gradle.util.NoOpChangeListener;
 
@@ -28,10 +29,12 @@ import java.util.*;
 public class DefaultFileSnapshotter implements FileSnapshotter {
     private final Hasher hasher;
     private TaskArtifactStateCacheAccess cacheAccess;
+    private final TraceRecorder traceRecorder;
 
-    public DefaultFileSnapshotter(Hasher hasher, TaskArtifactStateCacheAccess cacheAccess) {
+    public DefaultFileSnapshotter(Hasher hasher, TaskArtifactStateCacheAccess cacheAccess, TraceRecorder traceRecorder) {
         this.hasher = hasher;
         this.cacheAccess = cacheAccess;
+        this.traceRecorder = traceRecorder;
     }
 
     public FileCollectionSnapshot emptySnapshot() {
@@ -39,6 +42,15 @@ public class DefaultFileSnapshotter implements FileSnapshotter {
     }
 
     public FileCollectionSnapshot snapshot(FileCollection sourceFiles) {
+        traceRecorder.start(TraceRecorder.SNAPSHOT, "Create file snapshot");
+        try {
+            return doSnapshot(sourceFiles);
+        } finally {
+            traceRecorder.finish(TraceRecorder.SNAPSHOT, "Create file snapshot");
+        }
+    }
+
+    private FileCollectionSnapshot doSnapshot(FileCollection sourceFiles) {
         final Map<String, FileSnapshot> snapshots = new HashMap<String, FileSnapshot>();
         final Set<File> theFiles = sourceFiles.getAsFileTree().getFiles();
         cacheAccess.useCache("Create file snapshot", new Runnable() {
@@ -19,8 +19,10 @@ import org.gradle.api.Action;
 import org.gradle.api.Transformer;
 import org.gradle.api.internal.file.TemporaryFileProvider;
 import org.gradle.util.hash.HashUtil;
+import org.gradle.util.hash.HashValue;
 
 import java.io.File;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 public class GroupedAndNamedUniqueFileStore<K> implements FileStore<K>, FileStoreSearcher<K> {
@@ -39,15 +41,35 @@ public class GroupedAndNamedUniqueFileStore<K> implements FileStore<K>, FileStor
     }
 
     public FileStoreEntry move(K key, File source) {
-        return delegate.move(toPath(key, getChecksum(source)), source);
+        HashValue checksum = getChecksum(source);
+        return new ChecksummedEntry(delegate.move(toPath(key, checksum.asHexString()), source).getFile(), checksum);
     }
 
     public FileStoreEntry copy(K key, File source) {
-        return delegate.copy(toPath(key, getChecksum(source)), source);
+        HashValue checksum = getChecksum(source);
+        return new ChecksummedEntry(delegate.copy(toPath(key, checksum.asHexString()), source).getFile(), checksum);
     }
 
+    /**
+     * Returns the entries for the given key. The checksum of each entry is taken from its path, so is available without reading the file.
+     */
     public Set<? extends FileStoreEntry> search(K key) {
-        return delegate.search(toPath(key, "*"));
+        Set<? extends FileStoreEntry> entries = delegate.search(toPath(key, "*"));
+        Set<FileStoreEntry> result = new LinkedHashSet<FileStoreEntry>(entries.size());
+        for (FileStoreEntry entry : entries) {
+            result.add(withChecksumFromPath(entry));
+        }
+        return result;
+    }
+
+    private FileStoreEntry withChecksumFromPath(FileStoreEntry entry) {
+        File file = entry.getFile();
+        try {
+            return new ChecksummedEntry(file, new HashValue(file.getParentFile().getName()));
+        } catch (NumberFormatException e) {
+            // Not in a checksum directory, so the checksum has to be calculated from the content
+            return entry;
+        }
     }
 
     protected String toPath(K key, String checksumPart) {
@@ -57,8 +79,8 @@ public class GroupedAndNamedUniqueFileStore<K> implements FileStore<K>, FileStor
         return String.format("%s/%s/%s", group, checksumPart, name);
     }
 
-    private String getChecksum(File contentFile) {
-        return HashUtil.createHash(contentFile, "SHA1").asHexString();
+    private HashValue getChecksum(File contentFile) {
+        return HashUtil.createHash(contentFile, "SHA1");
     }
 
     public File getTempFile() {
@@ -74,7 +96,43 @@ public class GroupedAndNamedUniqueFileStore<K> implements FileStore<K>, FileStor
         //and reexecuting the action isn't acceptable
         final File tempFile = getTempFile();
         addAction.execute(tempFile);
-        final String groupedAndNamedKey = toPath(key, getChecksum(tempFile));
-        return delegate.move(groupedAndNamedKey, tempFile);
+        HashValue checksum = getChecksum(tempFile);
+        final String groupedAndNamedKey = toPath(key, checksum.asHexString());
+        return new ChecksummedEntry(delegate.move(groupedAndNamedKey, tempFile).getFile(), checksum);
+    }
+
+    private static class ChecksummedEntry implements FileStoreEntry {
+        private final File file;
+        private final HashValue sha1;
+
+        private ChecksummedEntry(File file, HashValue sha1) {
+            this.file = file;
+            this.sha1 = sha1;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public HashValue getSha1() {
+            return sha1;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj == null || obj.getClass() != getClass()) {
+                return false;
+            }
+            ChecksummedEntry other = (ChecksummedEntry) obj;
+            return file.equals(other.file);
+        }
+
+        @Override
+        public int hashCode() {
+            return file.hashCode();
+        }
     }
 }
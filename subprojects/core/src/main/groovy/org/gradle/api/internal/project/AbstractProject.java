@@ -46,6 +46,7 @@ import org.gradle.api.plugins.PluginContainer;
 import org.gradle.api.resources.ResourceHandler;
 import org.gradle.api.tasks.Directory;
 import org.gradle.api.tasks.WorkResult;
+import org.gradle.configuration.CrossProjectConfigurationReporter;
 import org.gradle.configuration.ProjectEvaluator;
 import org.gradle.configuration.ScriptPlugin;
 import org.gradle.configuration.ScriptPluginFactory;
@@ -83,6 +84,8 @@ public abstract class AbstractProject extends AbstractPluginAware implements Pro
 
     private ProjectEvaluator projectEvaluator;
 
+    private CrossProjectConfigurationReporter crossProjectConfigurationReporter;
+
     private ScriptSource buildScriptSource;
 
     private final File projectDir;
@@ -182,6 +185,7 @@ public abstract class AbstractProject extends AbstractPluginAware implements Pro
         fileOperations = services.get(FileOperations.class);
         processOperations = services.get(ProcessOperations.class);
         projectEvaluator = services.get(ProjectEvaluator.class);
+        crossProjectConfigurationReporter = services.get(CrossProjectConfigurationReporter.class);
         repositoryHandler = services.get(RepositoryHandler.class);
         configurationContainer = services.get(ConfigurationContainerInternal.class);
         pluginContainer = services.get(PluginContainer.class);
@@ -284,6 +288,7 @@ public abstract class AbstractProject extends AbstractPluginAware implements Pro
     }
 
     public void setDescription(String description) {
+        beforeConfiguring(this);
         this.description = description;
     }
 
@@ -297,6 +302,7 @@ public abstract class AbstractProject extends AbstractPluginAware implements Pro
     }
 
     public void setGroup(Object group) {
+        beforeConfiguring(this);
         this.group = group;
     }
 
@@ -305,6 +311,7 @@ public abstract class AbstractProject extends AbstractPluginAware implements Pro
     }
 
     public void setVersion(Object version) {
+        beforeConfiguring(this);
         this.version = version;
     }
 
@@ -313,6 +320,7 @@ public abstract class AbstractProject extends AbstractPluginAware implements Pro
     }
 
     public void setStatus(Object status) {
+        beforeConfiguring(this);
         this.status = status;
     }
 
@@ -325,6 +333,7 @@ public abstract class AbstractProject extends AbstractPluginAware implements Pro
     }
 
     public void setDefaultTasks(List<String> defaultTasks) {
+        beforeConfiguring(this);
         this.defaultTasks = defaultTasks;
     }
 
@@ -438,6 +447,7 @@ public abstract class AbstractProject extends AbstractPluginAware implements Pro
 
     public <T> Iterable<T> configure(Iterable<T> objects, Action<? super T> configureAction) {
         for (T object : objects) {
+            beforeConfiguring(object);
             configureAction.execute(object);
         }
         return objects;
@@ -476,6 +486,7 @@ public abstract class AbstractProject extends AbstractPluginAware implements Pro
     }
 
     public void defaultTasks(String... defaultTasks) {
+        beforeConfiguring(this);
         if (defaultTasks == null) {
             throw new InvalidUserDataException("Default tasks must not be null!");
         }
@@ -523,6 +534,7 @@ public abstract class AbstractProject extends AbstractPluginAware implements Pro
     }
 
     public void setBuildDir(Object path) {
+        beforeConfiguring(this);
         buildDir = path;
     }
 
@@ -562,7 +574,7 @@ public abstract class AbstractProject extends AbstractPluginAware implements Pro
     }
 
     private Project evaluationDependsOn(DefaultProject projectToEvaluate) {
-        if (projectToEvaluate.getState().getExecuting()) {
+        if (projectToEvaluate.getState().isExecutingInCurrentThread()) {
             throw new CircularReferenceException(String.format("Circular referencing during evaluation for %s.",
                     projectToEvaluate));
         }
@@ -758,18 +770,22 @@ public abstract class AbstractProject extends AbstractPluginAware implements Pro
     }
 
     public void beforeEvaluate(Action<? super Project> action) {
+        beforeConfiguring(this);
         evaluationListener.add("beforeEvaluate", action);
     }
 
     public void afterEvaluate(Action<? super Project> action) {
+        beforeConfiguring(this);
         evaluationListener.add("afterEvaluate", action);
     }
 
     public void beforeEvaluate(Closure closure) {
+        beforeConfiguring(this);
         evaluationListener.add(new ClosureBackedMethodInvocationDispatch("beforeEvaluate", closure));
     }
 
     public void afterEvaluate(Closure closure) {
+        beforeConfiguring(this);
         evaluationListener.add(new ClosureBackedMethodInvocationDispatch("afterEvaluate", closure));
     }
 
@@ -794,6 +810,7 @@ public abstract class AbstractProject extends AbstractPluginAware implements Pro
     }
 
     public void setProperty(String name, Object value) {
+        beforeConfiguring(this);
         extensibleDynamicObject.setProperty(name, value);
     }
 
@@ -846,13 +863,38 @@ public abstract class AbstractProject extends AbstractPluginAware implements Pro
     }
 
     public Project project(String path, Closure configureClosure) {
-        return ConfigureUtil.configure(configureClosure, project(path));
+        Project project = project(path);
+        beforeConfiguring(project);
+        return ConfigureUtil.configure(configureClosure, project);
     }
 
     public Object configure(Object object, Closure configureClosure) {
+        beforeConfiguring(object);
         return ConfigureUtil.configure(configureClosure, object);
     }
 
+    @Override
+    public void apply(Closure closure) {
+        beforeConfiguring(this);
+        super.apply(closure);
+    }
+
+    @Override
+    public void apply(Map<String, ?> options) {
+        beforeConfiguring(this);
+        super.apply(options);
+    }
+
+    /**
+     * Reports when the project being evaluated by the calling thread configures some other project, either through one of the {@code configure()}
+     * methods or by changing the state of the other project directly.
+     */
+    private void beforeConfiguring(Object object) {
+        if (crossProjectConfigurationReporter != null && object instanceof ProjectInternal) {
+            crossProjectConfigurationReporter.beforeConfiguring((ProjectInternal) object);
+        }
+    }
+
     public Iterable<?> configure(Iterable<?> objects, Closure configureClosure) {
         for (Object object : objects) {
             configure(object, configureClosure);
@@ -861,18 +903,22 @@ public abstract class AbstractProject extends AbstractPluginAware implements Pro
     }
 
     public void configurations(Closure configureClosure) {
+        beforeConfiguring(this);
         ((Configurable<?>) getConfigurations()).configure(configureClosure);
     }
 
     public void repositories(Closure configureClosure) {
+        beforeConfiguring(this);
         ConfigureUtil.configure(configureClosure, getRepositories());
     }
 
     public void dependencies(Closure configureClosure) {
+        beforeConfiguring(this);
         ConfigureUtil.configure(configureClosure, getDependencies());
     }
 
     public void artifacts(Closure configureClosure) {
+        beforeConfiguring(this);
         ConfigureUtil.configure(configureClosure, getArtifacts());
     }
 
@@ -881,14 +927,17 @@ public abstract class AbstractProject extends AbstractPluginAware implements Pro
     }
 
     public Task task(String task) {
+        beforeConfiguring(this);
         return taskContainer.create(task);
     }
 
     public Task task(Object task) {
+        beforeConfiguring(this);
         return taskContainer.create(task.toString());
     }
 
     public Task task(String task, Closure configureClosure) {
+        beforeConfiguring(this);
         return taskContainer.create(task).configure(configureClosure);
     }
 
@@ -897,6 +946,7 @@ public abstract class AbstractProject extends AbstractPluginAware implements Pro
     }
 
     public Task task(Map options, String task) {
+        beforeConfiguring(this);
         return taskContainer.create(addMaps(options, singletonMap(Task.TASK_NAME, task)));
     }
 
@@ -905,6 +955,7 @@ public abstract class AbstractProject extends AbstractPluginAware implements Pro
     }
 
     public Task task(Map options, String task, Closure configureClosure) {
+        beforeConfiguring(this);
         return taskContainer.create(addMaps(options, singletonMap(Task.TASK_NAME, task))).configure(configureClosure);
     }
 
@@ -28,6 +28,7 @@ import org.gradle.cli.CommandLineConverter;
 import org.gradle.initialization.ClassLoaderRegistry;
 import org.gradle.initialization.DefaultClassLoaderRegistry;
 import org.gradle.initialization.DefaultCommandLineConverter;
+import org.gradle.initialization.buildsrc.BuildSrcClasspathCache;
 import org.gradle.internal.Factory;
 import org.gradle.internal.nativeplatform.ProcessEnvironment;
 import org.gradle.internal.nativeplatform.services.NativeServices;
@@ -40,6 +41,7 @@ import org.gradle.listener.ListenerManager;
 import org.gradle.logging.LoggingServiceRegistry;
 import org.gradle.messaging.remote.MessagingServer;
 import org.gradle.messaging.remote.internal.MessagingServices;
+import org.gradle.profile.TraceRecorder;
 import org.gradle.util.ClassLoaderFactory;
 import org.gradle.util.DefaultClassLoaderFactory;
 
@@ -77,7 +79,7 @@ public class GlobalServicesRegistry extends DefaultServiceRegistry {
     }
 
     protected Factory<CacheFactory> createCacheFactory() {
-        return new DefaultCacheFactory(get(FileLockManager.class));
+        return new DefaultCacheFactory(get(FileLockManager.class), get(TraceRecorder.class));
     }
 
     protected ClassLoaderRegistry createClassLoaderRegistry() {
@@ -108,6 +110,14 @@ public class GlobalServicesRegistry extends DefaultServiceRegistry {
         return new ClassGeneratorBackedInstantiator(get(ClassGenerator.class), new DirectInstantiator());
     }
 
+    protected TraceRecorder createTraceRecorder() {
+        return new TraceRecorder();
+    }
+
+    protected BuildSrcClasspathCache createBuildSrcClasspathCache() {
+        return new BuildSrcClasspathCache();
+    }
+
     protected FileLockManager createFileLockManager() {
         return new DefaultFileLockManager(new DefaultProcessMetaDataProvider(get(ProcessEnvironment.class)), new DefaultFileLockListener());
     }
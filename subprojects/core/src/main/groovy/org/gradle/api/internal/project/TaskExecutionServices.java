@@ -32,6 +32,7 @@ import org.gradle.internal.reflect.Instantiator;
 import org.gradle.internal.service.DefaultServiceRegistry;
 import org.gradle.internal.service.ServiceRegistry;
 import org.gradle.listener.ListenerManager;
+import org.gradle.profile.TraceRecorder;
 
 public class TaskExecutionServices extends DefaultServiceRegistry {
     private final Gradle gradle;
@@ -66,7 +67,7 @@ public class TaskExecutionServices extends DefaultServiceRegistry {
         FileSnapshotter fileSnapshotter = new DefaultFileSnapshotter(
                 new CachingHasher(
                         new DefaultHasher(),
-                        cacheAccess), cacheAccess);
+                        cacheAccess), cacheAccess, get(TraceRecorder.class));
 
         FileSnapshotter outputFilesSnapshotter = new OutputFilesSnapshotter(fileSnapshotter, new RandomLongIdGenerator(), cacheAccess);
 
@@ -69,6 +69,7 @@ import org.gradle.process.internal.WorkerProcessBuilder;
 import org.gradle.process.internal.child.WorkerProcessClassPathProvider;
 import org.gradle.profile.ProfileEventAdapter;
 import org.gradle.profile.ProfileListener;
+import org.gradle.profile.TraceRecorder;
 import org.gradle.util.ClassLoaderFactory;
 
 /**
@@ -144,7 +145,11 @@ public class TopLevelBuildServiceRegistry extends DefaultServiceRegistry impleme
                 new BuildScriptProcessor(get(ScriptPluginFactory.class)),
                 new ResolveDeferredConfigurableAction()
         );
-        return new LifecycleProjectEvaluator(withActionsEvaluator);
+        return new LifecycleProjectEvaluator(withActionsEvaluator, get(CrossProjectConfigurationReporter.class));
+    }
+
+    protected CrossProjectConfigurationReporter createCrossProjectConfigurationReporter() {
+        return new CrossProjectConfigurationReporter(startParameter.isParallelConfiguration());
     }
 
     protected ITaskFactory createITaskFactory() {
@@ -224,11 +229,11 @@ public class TopLevelBuildServiceRegistry extends DefaultServiceRegistry impleme
     protected Factory<WorkerProcessBuilder> createWorkerProcessFactory() {
         ClassPathRegistry classPathRegistry = get(ClassPathRegistry.class);
         return new DefaultWorkerProcessFactory(startParameter.getLogLevel(), get(MessagingServer.class), classPathRegistry,
-                new IdentityFileResolver(), new LongIdGenerator());
+                new IdentityFileResolver(), new LongIdGenerator(), get(TraceRecorder.class));
     }
 
     protected BuildConfigurer createBuildConfigurer() {
-        return new DefaultBuildConfigurer();
+        return new DefaultBuildConfigurer(get(ExecutorFactory.class));
     }
 
     protected ProjectAccessListener createProjectAccessListener() {
@@ -236,7 +241,7 @@ public class TopLevelBuildServiceRegistry extends DefaultServiceRegistry impleme
     }
 
     protected ProfileEventAdapter createProfileEventAdapter() {
-        return new ProfileEventAdapter(get(BuildRequestMetaData.class), get(TimeProvider.class), get(ListenerManager.class).getBroadcaster(ProfileListener.class));
+        return new ProfileEventAdapter(get(BuildRequestMetaData.class), get(TimeProvider.class), get(ListenerManager.class).getBroadcaster(ProfileListener.class), get(TraceRecorder.class));
     }
 
     protected PluginRegistry createPluginRegistry() {
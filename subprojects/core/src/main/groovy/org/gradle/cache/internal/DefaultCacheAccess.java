@@ -26,6 +26,7 @@ import org.gradle.internal.Factory;
 import org.gradle.internal.UncheckedException;
 import org.gradle.messaging.serialize.DefaultSerializer;
 import org.gradle.messaging.serialize.Serializer;
+import org.gradle.profile.TraceRecorder;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -47,6 +48,7 @@ public class DefaultCacheAccess implements CacheAccess {
     private final String cacheDiplayName;
     private final File lockFile;
     private final FileLockManager lockManager;
+    private final TraceRecorder traceRecorder;
     private final FileAccess fileAccess = new UnitOfWorkFileAccess();
     private final Set<MultiProcessSafePersistentIndexedCache<?, ?>> caches = new HashSet<MultiProcessSafePersistentIndexedCache<?, ?>>();
     private final Lock lock = new ReentrantLock();
@@ -64,10 +66,11 @@ public class DefaultCacheAccess implements CacheAccess {
     };
     private int cacheClosedCount;
 
-    public DefaultCacheAccess(String cacheDisplayName, File lockFile, FileLockManager lockManager) {
+    public DefaultCacheAccess(String cacheDisplayName, File lockFile, FileLockManager lockManager, TraceRecorder traceRecorder) {
         this.cacheDiplayName = cacheDisplayName;
         this.lockFile = lockFile;
         this.lockManager = lockManager;
+        this.traceRecorder = traceRecorder;
     }
 
     /**
@@ -154,17 +157,31 @@ public class DefaultCacheAccess implements CacheAccess {
     private void takeOwnership(String operationDisplayName) {
         lock.lock();
         try {
-            while (owner != null && owner != Thread.currentThread()) {
+            if (owner != null && owner != Thread.currentThread()) {
+                awaitOwnerRelease(true);
+            }
+            owner = Thread.currentThread();
+            operationStack.get().pushCacheAction(operationDisplayName);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until no other thread owns the cache. Should be called while holding the lock.
+     */
+    private void awaitOwnerRelease(boolean allowCurrentThread) {
+        traceRecorder.start(TraceRecorder.CACHE_LOCK, cacheDiplayName);
+        try {
+            while (owner != null && !(allowCurrentThread && owner == Thread.currentThread())) {
                 try {
                     condition.await();
                 } catch (InterruptedException e) {
                     throw UncheckedException.throwAsUncheckedException(e);
                 }
             }
-            owner = Thread.currentThread();
-            operationStack.get().pushCacheAction(operationDisplayName);
         } finally {
-            lock.unlock();
+            traceRecorder.finish(TraceRecorder.CACHE_LOCK, cacheDiplayName);
         }
     }
 
@@ -233,12 +250,8 @@ public class DefaultCacheAccess implements CacheAccess {
     private void restoreOwner(String description) {
         lock.lock();
         try {
-            while (owner != null) {
-                try {
-                    condition.await();
-                } catch (InterruptedException e) {
-                    throw UncheckedException.throwAsUncheckedException(e);
-                }
+            if (owner != null) {
+                awaitOwnerRelease(false);
             }
             owner = Thread.currentThread();
             operationStack.get().popLongRunningOperation(description);
@@ -22,6 +22,7 @@ import org.gradle.cache.*;
 import org.gradle.cache.internal.btree.BTreePersistentIndexedCache;
 import org.gradle.messaging.serialize.DefaultSerializer;
 import org.gradle.messaging.serialize.Serializer;
+import org.gradle.profile.TraceRecorder;
 import org.gradle.util.GFileUtils;
 
 import java.io.File;
@@ -32,9 +33,11 @@ import static org.gradle.cache.internal.FileLockManager.LockMode;
 public class DefaultCacheFactory implements Factory<CacheFactory> {
     private final Map<File, DirCacheReference> dirCaches = new HashMap<File, DirCacheReference>();
     private final FileLockManager lockManager;
+    private final TraceRecorder traceRecorder;
 
-    public DefaultCacheFactory(FileLockManager fileLockManager) {
+    public DefaultCacheFactory(FileLockManager fileLockManager, TraceRecorder traceRecorder) {
         this.lockManager = fileLockManager;
+        this.traceRecorder = traceRecorder;
     }
 
     public CacheFactory create() {
@@ -62,13 +65,13 @@ public class DefaultCacheFactory implements Factory<CacheFactory> {
             if (dirCacheReference == null) {
                 if (lockMode.equals(LockMode.None)) {
                     // Create nested cache with LockMode#Exclusive (tb discussed) that is opened and closed on Demand in the DelegateOnDemandPersistentDirectoryCache.
-                    DefaultPersistentDirectoryCache nestedCache = new DefaultPersistentDirectoryCache(canonicalDir, displayName, usage, validator, properties, LockMode.Exclusive, action, lockManager);
+                    DefaultPersistentDirectoryCache nestedCache = new DefaultPersistentDirectoryCache(canonicalDir, displayName, usage, validator, properties, LockMode.Exclusive, action, lockManager, traceRecorder);
                     DelegateOnDemandPersistentDirectoryCache onDemandDache = new DelegateOnDemandPersistentDirectoryCache(nestedCache);
                     onDemandDache.open();
                     dirCacheReference = new DirCacheReference(onDemandDache, properties, lockMode);
                     dirCaches.put(canonicalDir, dirCacheReference);
                 } else {
-                    ReferencablePersistentCache cache = new DefaultPersistentDirectoryCache(canonicalDir, displayName, usage, validator, properties, lockMode, action, lockManager);
+                    ReferencablePersistentCache cache = new DefaultPersistentDirectoryCache(canonicalDir, displayName, usage, validator, properties, lockMode, action, lockManager, traceRecorder);
                     cache.open();
                     dirCacheReference = new DirCacheReference(cache, properties, lockMode);
                     dirCaches.put(canonicalDir, dirCacheReference);
@@ -98,7 +101,7 @@ public class DefaultCacheFactory implements Factory<CacheFactory> {
             File canonicalDir = GFileUtils.canonicalise(storeDir);
             DirCacheReference dirCacheReference = dirCaches.get(canonicalDir);
             if (dirCacheReference == null) {
-                ReferencablePersistentCache cache = new DefaultPersistentDirectoryStore(canonicalDir, displayName, lockMode, lockManager);
+                ReferencablePersistentCache cache = new DefaultPersistentDirectoryStore(canonicalDir, displayName, lockMode, lockManager, traceRecorder);
                 cache.open();
                 dirCacheReference = new DirCacheReference(cache, Collections.<String, Object>emptyMap(), lockMode);
                 dirCaches.put(canonicalDir, dirCacheReference);
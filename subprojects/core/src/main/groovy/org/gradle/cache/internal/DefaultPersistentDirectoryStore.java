@@ -19,6 +19,7 @@ import org.gradle.api.Action;
 import org.gradle.cache.*;
 import org.gradle.internal.Factory;
 import org.gradle.messaging.serialize.Serializer;
+import org.gradle.profile.TraceRecorder;
 import org.gradle.util.GFileUtils;
 
 import java.io.File;
@@ -28,14 +29,16 @@ public class DefaultPersistentDirectoryStore implements ReferencablePersistentCa
     private final File dir;
     private final FileLockManager.LockMode lockMode;
     private final FileLockManager lockManager;
+    private final TraceRecorder traceRecorder;
     private final String displayName;
     private DefaultCacheAccess cacheAccess;
 
-    public DefaultPersistentDirectoryStore(File dir, String displayName, FileLockManager.LockMode lockMode, FileLockManager fileLockManager) {
+    public DefaultPersistentDirectoryStore(File dir, String displayName, FileLockManager.LockMode lockMode, FileLockManager fileLockManager, TraceRecorder traceRecorder) {
         this.dir = dir;
         this.lockMode = lockMode;
         this.lockManager = fileLockManager;
         this.displayName = displayName != null ? String.format("%s (%s)", displayName, dir) : String.format("cache directory %s (%s)", dir.getName(), dir);
+        this.traceRecorder = traceRecorder;
     }
 
     public DefaultPersistentDirectoryStore open() {
@@ -59,7 +62,7 @@ public class DefaultPersistentDirectoryStore implements ReferencablePersistentCa
     }
 
     private DefaultCacheAccess createCacheAccess() {
-        return new DefaultCacheAccess(displayName, getLockTarget(), lockManager);
+        return new DefaultCacheAccess(displayName, getLockTarget(), lockManager, traceRecorder);
     }
 
     protected void withExclusiveLock(Action<FileLock> action) {
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.configuration;
+
+import org.gradle.api.Project;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps track of the project being evaluated by each thread, and reports when the evaluation of one project configures some other project.
+ *
+ * <p>When projects are configured in parallel, a project may safely configure itself and its descendants, as the descendants are not evaluated until
+ * the project has been evaluated. Configuring any other project may race with that project's own evaluation, so such access is reported.</p>
+ */
+public class CrossProjectConfigurationReporter {
+    private static final Logger LOGGER = Logging.getLogger(CrossProjectConfigurationReporter.class);
+
+    private final boolean parallelConfiguration;
+    private final ThreadLocal<ProjectInternal> currentProject = new ThreadLocal<ProjectInternal>();
+    private final Set<String> violations = new LinkedHashSet<String>();
+
+    public CrossProjectConfigurationReporter(boolean parallelConfiguration) {
+        this.parallelConfiguration = parallelConfiguration;
+    }
+
+    /**
+     * Marks the given project as being evaluated by the calling thread.
+     *
+     * @return The project that was previously being evaluated by the calling thread, if any. Should be passed to {@link #evaluationFinished(ProjectInternal)}.
+     */
+    public ProjectInternal evaluationStarted(ProjectInternal project) {
+        ProjectInternal previous = currentProject.get();
+        currentProject.set(project);
+        return previous;
+    }
+
+    public void evaluationFinished(ProjectInternal previous) {
+        if (previous == null) {
+            currentProject.remove();
+        } else {
+            currentProject.set(previous);
+        }
+    }
+
+    /**
+     * Called before the calling thread configures the given project.
+     */
+    public void beforeConfiguring(ProjectInternal target) {
+        if (!parallelConfiguration) {
+            return;
+        }
+        ProjectInternal source = currentProject.get();
+        if (source == null || isSelfOrDescendant(target, source)) {
+            return;
+        }
+        String violation = String.format("%s configures %s", source, target);
+        synchronized (violations) {
+            if (!violations.add(violation)) {
+                return;
+            }
+        }
+        LOGGER.warn("{}. Configuring a project which is not a descendant of the project being evaluated is not safe when projects are configured in parallel.", violation);
+    }
+
+    /**
+     * Returns the cross-project configuration that has been detected so far.
+     */
+    public List<String> getViolations() {
+        synchronized (violations) {
+            return new ArrayList<String>(violations);
+        }
+    }
+
+    private static boolean isSelfOrDescendant(Project target, Project ancestor) {
+        for (Project project = target; project != null; project = project.getParent()) {
+            if (project == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
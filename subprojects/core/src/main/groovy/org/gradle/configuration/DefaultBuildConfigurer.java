@@ -15,21 +15,38 @@
  */
 package org.gradle.configuration;
 
+import org.gradle.StartParameter;
 import org.gradle.api.Project;
 import org.gradle.api.internal.GradleInternal;
 import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.util.SingleMessageLogger;
 
 public class DefaultBuildConfigurer implements BuildConfigurer {
+    private final ExecutorFactory executorFactory;
+
+    public DefaultBuildConfigurer(ExecutorFactory executorFactory) {
+        this.executorFactory = executorFactory;
+    }
+
     public void configure(GradleInternal gradle) {
         gradle.addProjectEvaluationListener(new ProjectDependencies2TaskResolver());
-        if (gradle.getStartParameter().isConfigureOnDemand()) {
+        StartParameter startParameter = gradle.getStartParameter();
+        if (startParameter.isConfigureOnDemand()) {
             SingleMessageLogger.informAboutIncubating("Configuration on demand");
             gradle.getRootProject().evaluate();
+        } else if (startParameter.isParallelConfiguration()) {
+            SingleMessageLogger.informAboutIncubating("Parallel project configuration");
+            new ParallelProjectConfigurer(executorFactory, numberOfWorkers(startParameter)).configure(gradle.getRootProject());
         } else {
             for (Project project : gradle.getRootProject().getAllprojects()) {
                 ((ProjectInternal) project).evaluate();
             }
         }
     }
-}
\ No newline at end of file
+
+    private int numberOfWorkers(StartParameter startParameter) {
+        int threads = startParameter.getParallelThreadCount();
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -15,33 +15,53 @@
  */
 package org.gradle.configuration;
 
+import org.gradle.api.CircularReferenceException;
 import org.gradle.api.ProjectConfigurationException;
 import org.gradle.api.ProjectEvaluationListener;
 import org.gradle.api.internal.project.ProjectInternal;
 import org.gradle.api.internal.project.ProjectStateInternal;
+import org.gradle.internal.UncheckedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
- * Manages lifecycle concerns while delegating actual evaluation to another evaluator
- * 
+ * Manages lifecycle concerns while delegating actual evaluation to another evaluator.
+ *
+ * <p>Projects may be evaluated by multiple threads at the same time. A thread which needs a project that is being evaluated by another thread
+ * blocks until that evaluation, including the {@code afterEvaluate} notifications, has completed.</p>
+ *
  * @see org.gradle.api.internal.project.TopLevelBuildServiceRegistry#createProjectEvaluator()
  */
 public class LifecycleProjectEvaluator implements ProjectEvaluator {
     private static final Logger LOGGER = LoggerFactory.getLogger(LifecycleProjectEvaluator.class);
 
     private final ProjectEvaluator delegate;
+    private final CrossProjectConfigurationReporter crossProjectConfigurationReporter;
+    private final Object lock = new Object();
+    // All guarded by lock
+    private final Map<ProjectStateInternal, Thread> evaluatingThreads = new HashMap<ProjectStateInternal, Thread>();
+    private final Map<Thread, ProjectStateInternal> waitingThreads = new HashMap<Thread, ProjectStateInternal>();
 
-    public LifecycleProjectEvaluator(ProjectEvaluator delegate) {
+    public LifecycleProjectEvaluator(ProjectEvaluator delegate, CrossProjectConfigurationReporter crossProjectConfigurationReporter) {
         this.delegate = delegate;
+        this.crossProjectConfigurationReporter = crossProjectConfigurationReporter;
     }
 
     public void evaluate(ProjectInternal project, ProjectStateInternal state) {
-        //TODO this is one of the places to look into thread safety when we implement parallel configuration
-        if (state.getExecuted() || state.getExecuting()) {
+        if (!startEvaluation(project, state)) {
             return;
         }
+        try {
+            doEvaluate(project, state);
+        } finally {
+            finishEvaluation(state);
+        }
+    }
 
+    private void doEvaluate(ProjectInternal project, ProjectStateInternal state) {
         ProjectEvaluationListener listener = project.getProjectEvaluationBroadcaster();
         try {
             listener.beforeEvaluate(project);
@@ -51,17 +71,76 @@ public class LifecycleProjectEvaluator implements ProjectEvaluator {
         }
 
         state.setExecuting(true);
+        ProjectInternal previous = crossProjectConfigurationReporter.evaluationStarted(project);
         try {
             delegate.evaluate(project, state);
         } catch (Exception e) {
             addConfigurationFailure(project, state, e);
         } finally {
+            crossProjectConfigurationReporter.evaluationFinished(previous);
             state.setExecuting(false);
             state.executed();
             notifyAfterEvaluate(listener, project, state);
         }
     }
 
+    /**
+     * Claims the given project for evaluation by the calling thread, waiting for any other thread which is currently evaluating the project.
+     *
+     * @return true if the calling thread should evaluate the project, false if the project has been or is being evaluated by the calling thread.
+     */
+    private boolean startEvaluation(ProjectInternal project, ProjectStateInternal state) {
+        Thread currentThread = Thread.currentThread();
+        synchronized (lock) {
+            while (true) {
+                Thread evaluatingThread = evaluatingThreads.get(state);
+                if (evaluatingThread == null) {
+                    if (state.getExecuted() || state.getExecuting()) {
+                        return false;
+                    }
+                    evaluatingThreads.put(state, currentThread);
+                    return true;
+                }
+                if (evaluatingThread == currentThread) {
+                    return false;
+                }
+                if (isWaitingFor(evaluatingThread, currentThread)) {
+                    throw new CircularReferenceException(String.format("Circular referencing during evaluation for %s.", project));
+                }
+                waitingThreads.put(currentThread, state);
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    throw UncheckedException.throwAsUncheckedException(e);
+                } finally {
+                    waitingThreads.remove(currentThread);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns true if the given thread is, directly or indirectly, waiting for a project being evaluated by the target thread.
+     */
+    private boolean isWaitingFor(Thread thread, Thread target) {
+        Thread current = thread;
+        while (current != null) {
+            if (current == target) {
+                return true;
+            }
+            ProjectStateInternal awaited = waitingThreads.get(current);
+            current = awaited == null ? null : evaluatingThreads.get(awaited);
+        }
+        return false;
+    }
+
+    private void finishEvaluation(ProjectStateInternal state) {
+        synchronized (lock) {
+            evaluatingThreads.remove(state);
+            lock.notifyAll();
+        }
+    }
+
     private void notifyAfterEvaluate(ProjectEvaluationListener listener, ProjectInternal project, ProjectStateInternal state) {
         try {
             listener.afterEvaluate(project, state);
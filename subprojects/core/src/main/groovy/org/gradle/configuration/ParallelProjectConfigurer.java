@@ -0,0 +1,147 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.configuration;
+
+import org.gradle.api.Project;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.StoppableExecutor;
+
+import java.util.LinkedList;
+
+/**
+ * Evaluates the projects of a build using a pool of worker threads. A project is evaluated only once its parent has been evaluated. Dependencies
+ * declared using {@code evaluationDependsOn()} are honoured by {@link LifecycleProjectEvaluator}, which blocks a worker until the project it
+ * depends on has been evaluated by some other worker.
+ */
+class ParallelProjectConfigurer {
+    private static final Logger LOGGER = Logging.getLogger(ParallelProjectConfigurer.class);
+
+    private final ExecutorFactory executorFactory;
+    private final int maxWorkers;
+    private final Object lock = new Object();
+    // All guarded by lock
+    private final LinkedList<ProjectInternal> queue = new LinkedList<ProjectInternal>();
+    private int pending;
+    private Throwable failure;
+
+    ParallelProjectConfigurer(ExecutorFactory executorFactory, int maxWorkers) {
+        if (maxWorkers < 1) {
+            throw new IllegalArgumentException("Not a valid number of configuration workers: " + maxWorkers);
+        }
+        this.executorFactory = executorFactory;
+        this.maxWorkers = maxWorkers;
+    }
+
+    public void configure(ProjectInternal rootProject) {
+        rootProject.evaluate();
+        int workers = Math.min(maxWorkers, rootProject.getAllprojects().size() - 1);
+        if (workers < 1) {
+            return;
+        }
+
+        LOGGER.info("Using {} parallel configuration worker threads", workers);
+        synchronized (lock) {
+            enqueueChildren(rootProject);
+        }
+
+        StoppableExecutor executor = executorFactory.create("Project configuration");
+        try {
+            for (int i = 0; i < workers; i++) {
+                executor.execute(new ConfigurationWorker());
+            }
+            awaitCompletion();
+        } finally {
+            executor.stop();
+        }
+    }
+
+    private void awaitCompletion() {
+        synchronized (lock) {
+            while (pending > 0 && failure == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    throw UncheckedException.throwAsUncheckedException(e);
+                }
+            }
+            queue.clear();
+            lock.notifyAll();
+            if (failure != null) {
+                throw UncheckedException.throwAsUncheckedException(failure);
+            }
+        }
+    }
+
+    private void enqueueChildren(ProjectInternal project) {
+        for (Project child : project.getChildProjects().values()) {
+            queue.add((ProjectInternal) child);
+            pending++;
+        }
+        lock.notifyAll();
+    }
+
+    private ProjectInternal takeNext() {
+        synchronized (lock) {
+            while (queue.isEmpty() && pending > 0 && failure == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    throw UncheckedException.throwAsUncheckedException(e);
+                }
+            }
+            if (queue.isEmpty() || failure != null) {
+                return null;
+            }
+            return queue.removeFirst();
+        }
+    }
+
+    private void evaluated(ProjectInternal project, Throwable projectFailure) {
+        synchronized (lock) {
+            pending--;
+            if (projectFailure != null) {
+                if (failure == null) {
+                    failure = projectFailure;
+                }
+            } else if (failure == null) {
+                enqueueChildren(project);
+            }
+            lock.notifyAll();
+        }
+    }
+
+    private class ConfigurationWorker implements Runnable {
+        public void run() {
+            while (true) {
+                ProjectInternal project = takeNext();
+                if (project == null) {
+                    return;
+                }
+                Throwable projectFailure = null;
+                try {
+                    project.evaluate();
+                } catch (Throwable t) {
+                    projectFailure = t;
+                }
+                evaluated(project, projectFailure);
+            }
+        }
+    }
+}
@@ -29,7 +29,8 @@ public class CachingScriptClassCompiler implements ScriptClassCompiler {
         this.scriptClassCompiler = scriptClassCompiler;
     }
 
-    public <T extends Script> Class<? extends T> compile(ScriptSource source, ClassLoader classLoader, Transformer transformer, Class<T> scriptBaseClass) {
+    // Synchronized because the projects of a build may be configured in parallel. Also prevents the same script from being compiled concurrently.
+    public synchronized <T extends Script> Class<? extends T> compile(ScriptSource source, ClassLoader classLoader, Transformer transformer, Class<T> scriptBaseClass) {
         List<Object> key = Arrays.asList(source.getClassName(), classLoader, transformer.getId(), scriptBaseClass.getName());
         Class<?> c = cachedClasses.get(key);
         if (c == null) {
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.initialization;
+
+/**
+ * Knows whether the current process is a Gradle daemon process, which runs many builds during its lifetime.
+ */
+public class DaemonProcess {
+    private static volatile boolean daemon;
+
+    private DaemonProcess() {
+    }
+
+    /**
+     * Marks the current process as a Gradle daemon process. Called once, when the daemon starts.
+     */
+    public static void markAsDaemon() {
+        daemon = true;
+    }
+
+    public static boolean isDaemon() {
+        return daemon;
+    }
+}
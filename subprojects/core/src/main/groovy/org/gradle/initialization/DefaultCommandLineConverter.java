@@ -55,6 +55,8 @@ public class DefaultCommandLineConverter extends AbstractCommandLineConverter<St
     private static final String PARALLEL_THREADS = "parallel-threads";
 
     private static final String CONFIGURE_ON_DEMAND = "configure-on-demand";
+    private static final String PARALLEL_CONFIGURATION = "parallel-configuration";
+    private static final String REUSE_BUILD_SRC = "reuse-build-src";
 
     private final CommandLineConverter<LoggingConfiguration> loggingConfigurationCommandLineConverter = new LoggingCommandLineConverter();
     private final SystemPropertiesCommandLineConverter systemPropertiesCommandLineConverter = new SystemPropertiesCommandLineConverter();
@@ -88,6 +90,8 @@ public class DefaultCommandLineConverter extends AbstractCommandLineConverter<St
         parser.option(PARALLEL).hasDescription("Build projects in parallel. Gradle will attempt to determine the optimal number of executor threads to use.").incubating();
         parser.option(PARALLEL_THREADS).hasArgument().hasDescription("Build projects in parallel, using the specified number of executor threads.").incubating();
         parser.option(CONFIGURE_ON_DEMAND).hasDescription("Only relevant projects are configured in this build run. This means faster build for large multi-project builds.").incubating();
+        parser.option(PARALLEL_CONFIGURATION).hasDescription("Configure projects in parallel. Projects are configured after their parent project.").incubating();
+        parser.option(REUSE_BUILD_SRC).hasDescription("Reuse buildSrc from the previous build in the same daemon when none of its inputs have changed.").incubating();
     }
 
     @Override
@@ -201,6 +205,14 @@ public class DefaultCommandLineConverter extends AbstractCommandLineConverter<St
             startParameter.setConfigureOnDemand(true);
         }
 
+        if (options.hasOption(PARALLEL_CONFIGURATION)) {
+            startParameter.setParallelConfiguration(true);
+        }
+
+        if (options.hasOption(REUSE_BUILD_SRC)) {
+            startParameter.setReuseBuildSrc(true);
+        }
+
         return startParameter;
     }
 
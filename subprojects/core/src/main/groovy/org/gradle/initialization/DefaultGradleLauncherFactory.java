@@ -28,6 +28,7 @@ import org.gradle.cli.CommandLineConverter;
 import org.gradle.configuration.BuildConfigurer;
 import org.gradle.execution.BuildExecuter;
 import org.gradle.initialization.buildsrc.BuildSourceBuilder;
+import org.gradle.initialization.buildsrc.BuildSrcClasspathCache;
 import org.gradle.initialization.layout.BuildLayoutFactory;
 import org.gradle.internal.reflect.Instantiator;
 import org.gradle.internal.service.ServiceRegistry;
@@ -38,6 +39,7 @@ import org.gradle.logging.ProgressLoggerFactory;
 import org.gradle.logging.StyledTextOutputFactory;
 import org.gradle.profile.ProfileEventAdapter;
 import org.gradle.profile.ReportGeneratingProfileListener;
+import org.gradle.profile.TraceRecorder;
 
 import java.util.Arrays;
 
@@ -121,7 +123,7 @@ public class DefaultGradleLauncherFactory implements GradleLauncherFactory {
 
         listenerManager.addListener(serviceRegistry.get(ProfileEventAdapter.class));
         if (startParameter.isProfile()) {
-            listenerManager.addListener(new ReportGeneratingProfileListener());
+            listenerManager.addListener(new ReportGeneratingProfileListener(serviceRegistry.get(TraceRecorder.class)));
         }
 
         GradleInternal gradle = serviceRegistry.get(Instantiator.class).newInstance(DefaultGradle.class, tracker.getCurrentBuild(), startParameter, serviceRegistry);
@@ -135,7 +137,8 @@ public class DefaultGradleLauncherFactory implements GradleLauncherFactory {
                         new BuildSourceBuilder(
                                 this,
                                 serviceRegistry.get(ClassLoaderRegistry.class),
-                                serviceRegistry.get(CacheRepository.class))),
+                                serviceRegistry.get(CacheRepository.class),
+                                sharedServices.get(BuildSrcClasspathCache.class))),
                 serviceRegistry.get(BuildLoader.class),
                 serviceRegistry.get(BuildConfigurer.class),
                 gradle.getBuildListenerBroadcaster(),
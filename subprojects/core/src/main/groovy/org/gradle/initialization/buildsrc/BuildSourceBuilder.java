@@ -40,11 +40,13 @@ public class BuildSourceBuilder {
     private final GradleLauncherFactory gradleLauncherFactory;
     private final ClassLoaderRegistry classLoaderRegistry;
     private final CacheRepository cacheRepository;
+    private final BuildSrcClasspathCache classpathCache;
 
-    public BuildSourceBuilder(GradleLauncherFactory gradleLauncherFactory, ClassLoaderRegistry classLoaderRegistry, CacheRepository cacheRepository) {
+    public BuildSourceBuilder(GradleLauncherFactory gradleLauncherFactory, ClassLoaderRegistry classLoaderRegistry, CacheRepository cacheRepository, BuildSrcClasspathCache classpathCache) {
         this.gradleLauncherFactory = gradleLauncherFactory;
         this.classLoaderRegistry = classLoaderRegistry;
         this.cacheRepository = cacheRepository;
+        this.classpathCache = classpathCache;
     }
 
     public ClassLoader buildAndCreateClassLoader(StartParameter startParameter) {
@@ -60,6 +62,16 @@ public class BuildSourceBuilder {
             LOGGER.debug("Gradle source dir does not exist. We leave.");
             return new DefaultClassPath();
         }
+
+        BuildSrcClasspathCache.Inputs inputs = null;
+        if (canReuse(startParameter)) {
+            inputs = classpathCache.snapshot(startParameter);
+            ClassPath classpath = classpathCache.get(inputs);
+            if (classpath != null) {
+                return classpath;
+            }
+        }
+
         LOGGER.info("================================================" + " Start building buildSrc");
 
         // If we were not the most recent version of Gradle to build the buildSrc dir, then do a clean build
@@ -67,7 +79,25 @@ public class BuildSourceBuilder {
         final PersistentCache buildSrcCache = createCache(startParameter);
 
         GradleLauncher gradleLauncher = buildGradleLauncher(startParameter);
-        return buildSrcCache.useCache("rebuild buildSrc", new BuildSrcUpdateFactory(buildSrcCache, gradleLauncher, new BuildSrcBuildListenerFactory()));
+        BuildSrcUpdateFactory updateFactory = createUpdateFactory(buildSrcCache, gradleLauncher);
+        ClassPath classpath = buildSrcCache.useCache("rebuild buildSrc", updateFactory);
+        if (inputs != null) {
+            // Dynamic and changing dependencies may resolve differently next time, so buildSrc needs to be built again
+            if (updateFactory.hasStaticDependencies()) {
+                classpathCache.put(inputs, classpath);
+            } else {
+                LOGGER.info("buildSrc has dynamic or changing dependencies. Its classpath will not be reused.");
+            }
+        }
+        return classpath;
+    }
+
+    private boolean canReuse(StartParameter startParameter) {
+        // The options that force work to be redone must also force buildSrc to be built
+        return startParameter.isReuseBuildSrc()
+                && !startParameter.isRerunTasks()
+                && !startParameter.isRecompileScripts()
+                && !startParameter.isRefreshDependencies();
     }
 
     PersistentCache createCache(StartParameter startParameter) {
@@ -79,6 +109,10 @@ public class BuildSourceBuilder {
                     open();
     }
 
+    BuildSrcUpdateFactory createUpdateFactory(PersistentCache buildSrcCache, GradleLauncher gradleLauncher) {
+        return new BuildSrcUpdateFactory(buildSrcCache, gradleLauncher, new BuildSrcBuildListenerFactory());
+    }
+
     private GradleLauncher buildGradleLauncher(StartParameter startParameter) {
         final StartParameter startParameterArg = startParameter.newInstance();
         startParameterArg.setProjectProperties(startParameter.getProjectProperties());
@@ -17,6 +17,12 @@
 package org.gradle.initialization.buildsrc;
 
 import org.gradle.BuildAdapter;
+import org.gradle.BuildResult;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.ExternalModuleDependency;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedModuleVersionResult;
 import org.gradle.api.internal.GradleInternal;
 import org.gradle.api.internal.plugins.EmbeddableJavaProject;
 import org.gradle.api.invocation.Gradle;
@@ -37,6 +43,7 @@ public class BuildSrcBuildListenerFactory {
 
     public static class Listener extends BuildAdapter implements ModelConfigurationListener {
         private Set<File> classpath;
+        private boolean staticDependencies;
         private final boolean rebuild;
 
         public Listener(boolean rebuild) {
@@ -52,10 +59,69 @@ public class BuildSrcBuildListenerFactory {
             return classpath;
         }
 
+        /**
+         * Returns true when every dependency resolved by the build was resolved to a static version that is not changing, so that resolving it
+         * again would give the same result.
+         */
+        public boolean hasStaticDependencies() {
+            return staticDependencies;
+        }
+
+        @Override
+        public void buildFinished(BuildResult result) {
+            if (result.getFailure() == null) {
+                staticDependencies = hasStaticDependencies(result.getGradle().getRootProject().getAllprojects());
+            }
+        }
+
         public void onConfigure(GradleInternal gradle) {
             EmbeddableJavaProject projectInfo = gradle.getRootProject().getConvention().getPlugin(EmbeddableJavaProject.class);
             gradle.getStartParameter().setTaskNames(rebuild ? projectInfo.getRebuildTasks() : projectInfo.getBuildTasks());
             classpath = projectInfo.getRuntimeClasspath().getFiles();
         }
+
+        private static boolean hasStaticDependencies(Set<Project> projects) {
+            for (Project project : projects) {
+                if (!hasStaticDependencies(project.getBuildscript().getConfigurations()) || !hasStaticDependencies(project.getConfigurations())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean hasStaticDependencies(Iterable<Configuration> configurations) {
+            for (Configuration configuration : configurations) {
+                if (configuration.getState() == Configuration.State.UNRESOLVED) {
+                    continue;
+                }
+                if (configuration.getState() != Configuration.State.RESOLVED) {
+                    return false;
+                }
+                for (ExternalModuleDependency dependency : configuration.getAllDependencies().withType(ExternalModuleDependency.class)) {
+                    if (dependency.isChanging()) {
+                        return false;
+                    }
+                }
+                for (DependencyResult dependency : configuration.getIncoming().getResolutionResult().getAllDependencies()) {
+                    if (isDynamic(dependency.getRequested().getVersion())) {
+                        return false;
+                    }
+                }
+                for (ResolvedModuleVersionResult module : configuration.getIncoming().getResolutionResult().getAllModuleVersions()) {
+                    if (module.getId().getVersion().endsWith("SNAPSHOT")) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private static boolean isDynamic(String version) {
+            if (version == null || version.length() == 0) {
+                return false;
+            }
+            return version.endsWith("+") || version.startsWith("latest.") || "[]()".indexOf(version.charAt(0)) >= 0
+                    || "[]()".indexOf(version.charAt(version.length() - 1)) >= 0;
+        }
     }
 }
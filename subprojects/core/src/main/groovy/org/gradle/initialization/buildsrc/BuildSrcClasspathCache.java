@@ -0,0 +1,207 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.initialization.buildsrc;
+
+import org.gradle.StartParameter;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.internal.classpath.ClassPath;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * Remembers the classpath built from each buildSrc directory, along with a snapshot of the inputs of the buildSrc build. The cache lives for as
+ * long as the process, which is usually a daemon, so that a build whose buildSrc is unchanged since the previous build can skip the nested buildSrc
+ * build altogether.
+ *
+ * <p>The inputs are the files under the buildSrc directory, except for its build and .gradle directories, the gradle.properties and init scripts in
+ * the Gradle user home directory, the init scripts in the Gradle distribution and those specified for the build, the parameters that are passed on
+ * to the buildSrc build, and the environment variables and system properties of the process. The classpath itself is also checked, in case it has
+ * been deleted or rebuilt by something else.</p>
+ *
+ * <p>Dependencies are not inputs that can be snapshotted, so the classpath should only be put in the cache when buildSrc resolved its dependencies
+ * to static versions, none of which is changing.</p>
+ */
+public class BuildSrcClasspathCache {
+    private static final Logger LOGGER = Logging.getLogger(BuildSrcClasspathCache.class);
+    private static final Set<String> IGNORED_DIRS = new HashSet<String>(Arrays.asList("build", ".gradle"));
+
+    private final Map<File, Entry> entries = new HashMap<File, Entry>();
+
+    /**
+     * Takes a snapshot of the inputs of the buildSrc build described by the given parameters. Should be called before buildSrc is built, so
+     * that changes made while it is being built are picked up by the next build.
+     */
+    public Inputs snapshot(StartParameter startParameter) {
+        File buildSrcDir = startParameter.getCurrentDir();
+        Map<String, String> files = new TreeMap<String, String>();
+        for (File child : listFiles(buildSrcDir)) {
+            if (!IGNORED_DIRS.contains(child.getName())) {
+                addFiles(child, files);
+            }
+        }
+        File gradleUserHomeDir = startParameter.getGradleUserHomeDir();
+        addFiles(new File(gradleUserHomeDir, "gradle.properties"), files);
+        addFiles(new File(gradleUserHomeDir, "init.gradle"), files);
+        addFiles(new File(gradleUserHomeDir, "init.d"), files);
+        if (startParameter.getGradleHomeDir() != null) {
+            addFiles(new File(startParameter.getGradleHomeDir(), "init.d"), files);
+        }
+        for (File initScript : startParameter.getInitScripts()) {
+            addFiles(initScript, files);
+        }
+
+        String parameters = "gradleUserHomeDir=" + gradleUserHomeDir
+                + ", gradleHomeDir=" + startParameter.getGradleHomeDir()
+                + ", offline=" + startParameter.isOffline()
+                + ", cacheUsage=" + startParameter.getCacheUsage()
+                + ", projectProperties=" + new TreeMap<String, String>(startParameter.getProjectProperties())
+                + ", systemProperties=" + new TreeMap<String, String>(startParameter.getSystemPropertiesArgs());
+        Map<String, String> systemProperties = new TreeMap<String, String>();
+        Properties properties = (Properties) System.getProperties().clone();
+        for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+            systemProperties.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+        }
+        return new Inputs(buildSrcDir, parameters, files, new TreeMap<String, String>(System.getenv()), systemProperties);
+    }
+
+    /**
+     * Returns the classpath built by a previous build with the same inputs, or null when buildSrc needs to be built.
+     */
+    public synchronized ClassPath get(Inputs inputs) {
+        Entry entry = entries.get(inputs.buildSrcDir);
+        if (entry == null) {
+            LOGGER.info("buildSrc has not been built by this process yet.");
+            return null;
+        }
+        String reason = inputs.describeChangesSince(entry.inputs);
+        if (reason == null) {
+            reason = entry.describeClasspathChanges();
+        }
+        if (reason != null) {
+            entries.remove(inputs.buildSrcDir);
+            LOGGER.lifecycle("Cannot reuse buildSrc from the previous build, as {}.", reason);
+            return null;
+        }
+        LOGGER.info("buildSrc is unchanged since the previous build. Reusing its classpath {}.", entry.classpath);
+        return entry.classpath;
+    }
+
+    public synchronized void put(Inputs inputs, ClassPath classpath) {
+        Map<String, String> classpathState = new TreeMap<String, String>();
+        for (File file : classpath.getAsFiles()) {
+            classpathState.put(file.getAbsolutePath(), state(file));
+        }
+        entries.put(inputs.buildSrcDir, new Entry(inputs, classpath, classpathState));
+    }
+
+    private static void addFiles(File file, Map<String, String> files) {
+        if (file.isDirectory()) {
+            for (File child : listFiles(file)) {
+                addFiles(child, files);
+            }
+        } else {
+            files.put(file.getAbsolutePath(), state(file));
+        }
+    }
+
+    private static List<File> listFiles(File dir) {
+        File[] files = dir.listFiles();
+        return files == null ? Collections.<File>emptyList() : Arrays.asList(files);
+    }
+
+    private static String state(File file) {
+        if (file.isDirectory()) {
+            return "directory";
+        }
+        if (!file.exists()) {
+            return "missing";
+        }
+        return file.length() + ":" + file.lastModified();
+    }
+
+    private static String describeChange(Map<String, String> previous, Map<String, String> current, String description) {
+        for (Map.Entry<String, String> entry : current.entrySet()) {
+            String previousState = previous.get(entry.getKey());
+            if (previousState == null) {
+                return String.format("%s %s has been added", description, entry.getKey());
+            }
+            if (!previousState.equals(entry.getValue())) {
+                return String.format("%s %s has changed", description, entry.getKey());
+            }
+        }
+        for (String path : previous.keySet()) {
+            if (!current.containsKey(path)) {
+                return String.format("%s %s has been removed", description, path);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A snapshot of the inputs of a buildSrc build.
+     */
+    public static class Inputs {
+        private final File buildSrcDir;
+        private final String parameters;
+        private final Map<String, String> files;
+        private final Map<String, String> environment;
+        private final Map<String, String> systemProperties;
+
+        Inputs(File buildSrcDir, String parameters, Map<String, String> files, Map<String, String> environment, Map<String, String> systemProperties) {
+            this.buildSrcDir = buildSrcDir;
+            this.parameters = parameters;
+            this.files = files;
+            this.environment = environment;
+            this.systemProperties = systemProperties;
+        }
+
+        String describeChangesSince(Inputs previous) {
+            if (!parameters.equals(previous.parameters)) {
+                return String.format("the build parameters have changed from {%s} to {%s}", previous.parameters, parameters);
+            }
+            String reason = describeChange(previous.environment, environment, "environment variable");
+            if (reason == null) {
+                reason = describeChange(previous.systemProperties, systemProperties, "system property");
+            }
+            if (reason == null) {
+                reason = describeChange(previous.files, files, "input file");
+            }
+            return reason;
+        }
+    }
+
+    private static class Entry {
+        private final Inputs inputs;
+        private final ClassPath classpath;
+        private final Map<String, String> classpathState;
+
+        private Entry(Inputs inputs, ClassPath classpath, Map<String, String> classpathState) {
+            this.inputs = inputs;
+            this.classpath = classpath;
+            this.classpathState = classpathState;
+        }
+
+        String describeClasspathChanges() {
+            Map<String, String> current = new TreeMap<String, String>();
+            for (String path : classpathState.keySet()) {
+                current.put(path, state(new File(path)));
+            }
+            return describeChange(classpathState, current, "classpath entry");
+        }
+    }
+}
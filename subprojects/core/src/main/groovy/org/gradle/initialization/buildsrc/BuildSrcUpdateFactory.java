@@ -32,6 +32,7 @@ public class BuildSrcUpdateFactory implements Factory<DefaultClassPath> {
     private final PersistentCache cache;
     private final GradleLauncher gradleLauncher;
     private BuildSrcBuildListenerFactory listenerFactory;
+    private boolean staticDependencies;
     private static final Logger LOGGER = Logging.getLogger(BuildSrcUpdateFactory.class);
 
     public BuildSrcUpdateFactory(PersistentCache cache, GradleLauncher gradleLauncher, BuildSrcBuildListenerFactory listenerFactory) {
@@ -49,6 +50,7 @@ public class BuildSrcUpdateFactory implements Factory<DefaultClassPath> {
         gradleLauncher.run().rethrowFailure();
 
         Collection<File> classpath = listener.getRuntimeClasspath();
+        staticDependencies = listener.hasStaticDependencies();
         LOGGER.debug("Gradle source classpath is: {}", classpath);
         LOGGER.info("================================================" + " Finished building buildSrc");
         try {
@@ -58,4 +60,11 @@ public class BuildSrcUpdateFactory implements Factory<DefaultClassPath> {
         }
         return new DefaultClassPath(classpath);
     }
+
+    /**
+     * Returns true when the build run by {@link #create()} resolved all of its dependencies to static versions, none of which is changing.
+     */
+    public boolean hasStaticDependencies() {
+        return staticDependencies;
+    }
 }
@@ -24,14 +24,19 @@ import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
-public class BroadcastDispatch<T> implements Dispatch<MethodInvocation> {
+public class BroadcastDispatch<T> implements EmptiableDispatch {
     private static final Logger LOGGER = LoggerFactory.getLogger(BroadcastDispatch.class);
     private final Class<T> type;
     private final Map<Object, Dispatch<MethodInvocation>> handlers
             = new LinkedHashMap<Object, Dispatch<MethodInvocation>>();
+    // A copy of the handlers, replaced whenever a handler is added or removed, so that dispatch does not need to copy the handlers
+    private volatile List<Dispatch<MethodInvocation>> dispatchers = Collections.emptyList();
+    private ListenerInvoker invoker;
 
     public BroadcastDispatch(Class<T> type) {
         this.type = type;
@@ -43,15 +48,37 @@ public class BroadcastDispatch<T> implements Dispatch<MethodInvocation> {
 
     public void add(Dispatch<MethodInvocation> dispatch) {
         handlers.put(dispatch, dispatch);
+        handlersChanged();
     }
 
     public void add(T listener) {
-        handlers.put(listener, new ReflectionDispatch(listener));
+        if (invoker == null) {
+            invoker = ListenerInvoker.forType(type);
+        }
+        handlers.put(listener, new ListenerDispatch(listener, invoker));
+        handlersChanged();
     }
 
     public void add(String methodName, Action<?> action) {
         assertIsMethod(methodName);
         handlers.put(action, new ActionInvocationHandler(methodName, action));
+        handlersChanged();
+    }
+
+    private void handlersChanged() {
+        dispatchers = new ArrayList<Dispatch<MethodInvocation>>(handlers.values());
+    }
+
+    /**
+     * Returns true if there are no handlers to dispatch to, in which case dispatching an event does nothing.
+     */
+    public boolean isEmpty() {
+        for (Dispatch<MethodInvocation> dispatcher : dispatchers) {
+            if (!(dispatcher instanceof EmptiableDispatch) || !((EmptiableDispatch) dispatcher).isEmpty()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private void assertIsMethod(String methodName) {
@@ -65,7 +92,9 @@ public class BroadcastDispatch<T> implements Dispatch<MethodInvocation> {
     }
 
     public void remove(Object listener) {
-        handlers.remove(listener);
+        if (handlers.remove(listener) != null) {
+            handlersChanged();
+        }
     }
 
     private String getErrorMessage() {
@@ -74,9 +103,13 @@ public class BroadcastDispatch<T> implements Dispatch<MethodInvocation> {
     }
 
     public void dispatch(MethodInvocation invocation) {
+        List<Dispatch<MethodInvocation>> dispatchers = this.dispatchers;
+        if (dispatchers.isEmpty()) {
+            return;
+        }
         try {
             ExceptionTrackingFailureHandler tracker = new ExceptionTrackingFailureHandler(LOGGER);
-            for (Dispatch<MethodInvocation> handler : new ArrayList<Dispatch<MethodInvocation>>(handlers.values())) {
+            for (Dispatch<MethodInvocation> handler : dispatchers) {
                 try {
                     handler.dispatch(invocation);
                 } catch (UncheckedException e) {
@@ -91,6 +124,20 @@ public class BroadcastDispatch<T> implements Dispatch<MethodInvocation> {
         }
     }
 
+    private static class ListenerDispatch implements Dispatch<MethodInvocation> {
+        private final Object listener;
+        private final ListenerInvoker invoker;
+
+        public ListenerDispatch(Object listener, ListenerInvoker invoker) {
+            this.listener = listener;
+            this.invoker = invoker;
+        }
+
+        public void dispatch(MethodInvocation message) {
+            invoker.invoke(listener, message);
+        }
+    }
+
     private class ActionInvocationHandler implements Dispatch<MethodInvocation> {
         private final String methodName;
         private final Action action;
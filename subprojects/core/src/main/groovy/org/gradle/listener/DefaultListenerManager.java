@@ -18,6 +18,7 @@ package org.gradle.listener;
 
 import groovy.lang.Closure;
 import org.gradle.messaging.dispatch.Dispatch;
+import org.gradle.messaging.dispatch.EmptiableDispatch;
 import org.gradle.messaging.dispatch.MethodInvocation;
 import org.gradle.messaging.dispatch.ReflectionDispatch;
 
@@ -160,7 +161,7 @@ public class DefaultListenerManager implements ListenerManager {
         }
     }
 
-    private static class LoggerDispatch implements Dispatch<MethodInvocation> {
+    private static class LoggerDispatch implements EmptiableDispatch {
         private final Class<?> type;
         private Dispatch<MethodInvocation> dispatch;
 
@@ -175,6 +176,10 @@ public class DefaultListenerManager implements ListenerManager {
             }
         }
 
+        public boolean isEmpty() {
+            return dispatch == null || (dispatch instanceof LoggerDispatch && ((LoggerDispatch) dispatch).isEmpty());
+        }
+
         public void maybeSetLogger(Object logger) {
             if (type.isInstance(logger)) {
                 dispatch = new ReflectionDispatch(logger);
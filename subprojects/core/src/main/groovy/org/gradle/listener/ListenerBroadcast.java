@@ -28,6 +28,9 @@ import org.gradle.messaging.dispatch.ProxyDispatchAdapter;
  * <p>Ordering is maintained for events, so that events are delivered to listeners in the order they are generated.
  * Events are delivered to listeners in the order that listeners are added to this broadcaster.</p>
  *
+ * <p>Events are delivered to listeners using a generated invoker, rather than reflection, where possible. When there are no listeners, calls
+ * to the broadcaster return immediately.</p>
+ *
  * @param <T> The listener type.
  */
 public class ListenerBroadcast<T> implements Dispatch<MethodInvocation> {
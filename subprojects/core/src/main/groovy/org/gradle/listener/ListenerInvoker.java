@@ -0,0 +1,107 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.listener;
+
+import org.apache.commons.collections.map.AbstractReferenceMap;
+import org.apache.commons.collections.map.ReferenceMap;
+import org.gradle.internal.UncheckedException;
+import org.gradle.messaging.dispatch.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Invokes the methods of a listener interface on listener objects. Uses a generated class to call the listener directly where possible, and
+ * falls back to reflection otherwise.
+ */
+public class ListenerInvoker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ListenerInvoker.class);
+    // Use weak references for both key and value, as the generated invoker strongly references the listener type
+    private static final Map<Class<?>, ListenerInvoker> INVOKERS = new ReferenceMap(AbstractReferenceMap.WEAK, AbstractReferenceMap.WEAK);
+
+    private final Map<Method, Integer> methodIndexes;
+    private final GeneratedListenerInvoker generatedInvoker;
+
+    private ListenerInvoker(Map<Method, Integer> methodIndexes, GeneratedListenerInvoker generatedInvoker) {
+        this.methodIndexes = methodIndexes;
+        this.generatedInvoker = generatedInvoker;
+    }
+
+    /**
+     * Returns the invoker for the given listener type. Invokers are cached, so that classes are generated only once for each type.
+     */
+    public static ListenerInvoker forType(Class<?> type) {
+        synchronized (INVOKERS) {
+            ListenerInvoker invoker = INVOKERS.get(type);
+            if (invoker == null) {
+                invoker = create(type);
+                INVOKERS.put(type, invoker);
+            }
+            return invoker;
+        }
+    }
+
+    private static ListenerInvoker create(Class<?> type) {
+        List<Method> methods = Arrays.asList(type.getMethods());
+        Map<Method, Integer> methodIndexes = new HashMap<Method, Integer>();
+        for (int i = 0; i < methods.size(); i++) {
+            methodIndexes.put(methods.get(i), i);
+        }
+        GeneratedListenerInvoker generatedInvoker = null;
+        ListenerInvokerGenerator generator = new ListenerInvokerGenerator();
+        if (type.isInterface() && generator.canGenerate(type, methods)) {
+            try {
+                generatedInvoker = generator.generate(type, methods);
+            } catch (Throwable t) {
+                LOGGER.debug(String.format("Could not generate listener invoker for %s. Using reflection instead.", type), t);
+            }
+        }
+        return new ListenerInvoker(methodIndexes, generatedInvoker);
+    }
+
+    /**
+     * Returns true if this invoker calls listeners directly, without reflection.
+     */
+    public boolean isGenerated() {
+        return generatedInvoker != null;
+    }
+
+    /**
+     * Invokes the given method on the given listener. Failures thrown by the listener are rethrown as unchecked exceptions.
+     */
+    public void invoke(Object listener, MethodInvocation invocation) {
+        try {
+            Integer methodIndex = generatedInvoker == null ? null : methodIndexes.get(invocation.getMethod());
+            if (methodIndex != null) {
+                generatedInvoker.invoke(listener, methodIndex, invocation.getArguments());
+            } else {
+                Method method = invocation.getMethod();
+                method.setAccessible(true);
+                method.invoke(listener, invocation.getArguments());
+            }
+        } catch (InvocationTargetException e) {
+            throw UncheckedException.throwAsUncheckedException(e.getCause());
+        } catch (Throwable throwable) {
+            throw UncheckedException.throwAsUncheckedException(throwable);
+        }
+    }
+}
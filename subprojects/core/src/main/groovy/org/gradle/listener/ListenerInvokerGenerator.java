@@ -0,0 +1,188 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.listener;
+
+import org.gradle.util.JavaMethod;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates a {@link GeneratedListenerInvoker} for a listener interface. The generated class uses a switch over the method index to call the
+ * listener method directly, unboxing the arguments as required.
+ */
+class ListenerInvokerGenerator {
+    private static final JavaMethod<ClassLoader, Class> DEFINE_CLASS_METHOD = JavaMethod.create(ClassLoader.class, Class.class, "defineClass", String.class, byte[].class, Integer.TYPE, Integer.TYPE);
+    private static final Map<Class<?>, Class<?>> BOXED_TYPES = new HashMap<Class<?>, Class<?>>();
+
+    static {
+        BOXED_TYPES.put(Boolean.TYPE, Boolean.class);
+        BOXED_TYPES.put(Character.TYPE, Character.class);
+        BOXED_TYPES.put(Byte.TYPE, Byte.class);
+        BOXED_TYPES.put(Short.TYPE, Short.class);
+        BOXED_TYPES.put(Integer.TYPE, Integer.class);
+        BOXED_TYPES.put(Long.TYPE, Long.class);
+        BOXED_TYPES.put(Float.TYPE, Float.class);
+        BOXED_TYPES.put(Double.TYPE, Double.class);
+    }
+
+    /**
+     * Returns true if a class that is defined in the ClassLoader and package of the given type can call all of the given methods.
+     */
+    boolean canGenerate(Class<?> type, List<Method> methods) {
+        ClassLoader classLoader = type.getClassLoader();
+        if (classLoader == null || !isAccessible(type, type)) {
+            return false;
+        }
+        try {
+            if (classLoader.loadClass(GeneratedListenerInvoker.class.getName()) != GeneratedListenerInvoker.class) {
+                return false;
+            }
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+        for (Method method : methods) {
+            for (Class<?> parameterType : method.getParameterTypes()) {
+                if (!isAccessible(parameterType, type)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isAccessible(Class<?> candidate, Class<?> from) {
+        Class<?> type = candidate;
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive() || Modifier.isPublic(type.getModifiers())) {
+            return true;
+        }
+        return type.getClassLoader() == from.getClassLoader() && packageOf(type).equals(packageOf(from));
+    }
+
+    private String packageOf(Class<?> type) {
+        String name = type.getName();
+        int index = name.lastIndexOf('.');
+        return index < 0 ? "" : name.substring(0, index);
+    }
+
+    GeneratedListenerInvoker generate(Class<?> type, List<Method> methods) throws Exception {
+        String className = type.getName() + "_ListenerInvoker";
+        ClassLoader classLoader = type.getClassLoader();
+        Class<?> generatedClass;
+        try {
+            // May have been generated previously and then discarded from the cache
+            generatedClass = classLoader.loadClass(className);
+        } catch (ClassNotFoundException e) {
+            byte[] bytecode = generateBytecode(className, type, methods);
+            generatedClass = DEFINE_CLASS_METHOD.invoke(classLoader, className, bytecode, 0, bytecode.length);
+        }
+        return generatedClass.asSubclass(GeneratedListenerInvoker.class).newInstance();
+    }
+
+    private byte[] generateBytecode(String className, Class<?> type, List<Method> methods) {
+        String generatedTypeName = className.replace('.', '/');
+        String superclassName = Type.getInternalName(GeneratedListenerInvoker.class);
+        String listenerTypeName = Type.getInternalName(type);
+
+        ClassWriter visitor = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        visitor.visit(Opcodes.V1_5, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC, generatedTypeName, null, superclassName, null);
+
+        MethodVisitor constructor = visitor.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, superclassName, "<init>", "()V");
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        String invokeDescriptor = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Object.class), Type.INT_TYPE, Type.getType(Object[].class));
+        MethodVisitor invoke = visitor.visitMethod(Opcodes.ACC_PUBLIC, "invoke", invokeDescriptor, null, new String[]{Type.getInternalName(Throwable.class)});
+        invoke.visitCode();
+
+        Label unknownMethod = new Label();
+        if (!methods.isEmpty()) {
+            Label[] cases = new Label[methods.size()];
+            for (int i = 0; i < cases.length; i++) {
+                cases[i] = new Label();
+            }
+            // load the method index
+            invoke.visitVarInsn(Opcodes.ILOAD, 2);
+            invoke.visitTableSwitchInsn(0, cases.length - 1, unknownMethod, cases);
+
+            for (int i = 0; i < cases.length; i++) {
+                Method method = methods.get(i);
+                invoke.visitLabel(cases[i]);
+
+                // ((T) listener).method((P0) args[0], ...)
+                invoke.visitVarInsn(Opcodes.ALOAD, 1);
+                invoke.visitTypeInsn(Opcodes.CHECKCAST, listenerTypeName);
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                for (int j = 0; j < parameterTypes.length; j++) {
+                    invoke.visitVarInsn(Opcodes.ALOAD, 3);
+                    invoke.visitLdcInsn(j);
+                    invoke.visitInsn(Opcodes.AALOAD);
+                    unbox(invoke, parameterTypes[j]);
+                }
+                invoke.visitMethodInsn(Opcodes.INVOKEINTERFACE, listenerTypeName, method.getName(), Type.getMethodDescriptor(method));
+
+                // discard the return value, if any
+                Class<?> returnType = method.getReturnType();
+                if (returnType == Long.TYPE || returnType == Double.TYPE) {
+                    invoke.visitInsn(Opcodes.POP2);
+                } else if (returnType != Void.TYPE) {
+                    invoke.visitInsn(Opcodes.POP);
+                }
+                invoke.visitInsn(Opcodes.RETURN);
+            }
+        }
+
+        // throw new IllegalArgumentException("Unknown listener method.")
+        invoke.visitLabel(unknownMethod);
+        String exceptionTypeName = Type.getInternalName(IllegalArgumentException.class);
+        invoke.visitTypeInsn(Opcodes.NEW, exceptionTypeName);
+        invoke.visitInsn(Opcodes.DUP);
+        invoke.visitLdcInsn("Unknown listener method.");
+        invoke.visitMethodInsn(Opcodes.INVOKESPECIAL, exceptionTypeName, "<init>", Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(String.class)));
+        invoke.visitInsn(Opcodes.ATHROW);
+        invoke.visitMaxs(0, 0);
+        invoke.visitEnd();
+
+        visitor.visitEnd();
+        return visitor.toByteArray();
+    }
+
+    private void unbox(MethodVisitor visitor, Class<?> parameterType) {
+        if (!parameterType.isPrimitive()) {
+            visitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getType(parameterType).getInternalName());
+            return;
+        }
+        Class<?> boxedType = BOXED_TYPES.get(parameterType);
+        String boxedTypeName = Type.getInternalName(boxedType);
+        visitor.visitTypeInsn(Opcodes.CHECKCAST, boxedTypeName);
+        visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, boxedTypeName, parameterType.getName() + "Value", Type.getMethodDescriptor(Type.getType(parameterType)));
+    }
+}
@@ -37,6 +37,11 @@ import org.gradle.logging.internal.logback.LogbackLoggingConfigurer;
  * </ol>
  */
 public abstract class LoggingServiceRegistry extends DefaultServiceRegistry {
+    /**
+     * When set to true, command-line output is rendered asynchronously. See {@link OutputEventRenderer#enableAsynchronousRendering()}.
+     */
+    public static final String ASYNC_RENDERING_PROPERTY = "org.gradle.logging.async";
+
     private TextStreamOutputEventListener stdoutListener;
 
     /**
@@ -149,6 +154,9 @@ public abstract class LoggingServiceRegistry extends DefaultServiceRegistry {
     private static class CommandLineLogging extends ChildProcessLogging {
         protected OutputEventRenderer createOutputEventRenderer() {
             OutputEventRenderer renderer = new OutputEventRenderer(new ConsoleConfigureAction());
+            if (Boolean.getBoolean(ASYNC_RENDERING_PROPERTY)) {
+                renderer.enableAsynchronousRendering();
+            }
             renderer.addStandardOutputAndError();
             return renderer;
         }
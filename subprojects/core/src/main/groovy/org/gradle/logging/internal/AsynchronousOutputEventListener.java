@@ -0,0 +1,280 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.logging.internal;
+
+import net.jcip.annotations.ThreadSafe;
+import org.gradle.internal.Stoppable;
+import org.gradle.internal.UncheckedException;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An {@link OutputEventListener} which queues events and delivers them to a delegate listener from a single rendering thread.
+ *
+ * <p>Producers append events to a bounded, non-blocking queue and return immediately. The rendering thread takes events from the queue in
+ * batches, and once a batch has been delivered, flushes the registered {@link Flushable}s, so that the console is written to once per batch
+ * rather than once per event. When the queue is full, status updates are discarded and other producers wait until the rendering thread has
+ * made some space.</p>
+ *
+ * <p>Once stopped, or once the delegate has failed, events are delivered synchronously by the producers, so that any failure is reported to the
+ * producer, as it would be without this listener.</p>
+ */
+@ThreadSafe
+public class AsynchronousOutputEventListener implements OutputEventListener, Stoppable {
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final OutputEventListener delegate;
+    private final int capacity;
+    private final Queue<OutputEvent> queue = new ConcurrentLinkedQueue<OutputEvent>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger maxQueued = new AtomicInteger();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final List<Flushable> flushables = new CopyOnWriteArrayList<Flushable>();
+    private final Object spaceLock = new Object();
+    private final Object deliveryLock = new Object();
+    private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    private final Thread renderThread;
+    private volatile boolean stopped;
+
+    public AsynchronousOutputEventListener(OutputEventListener delegate, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Not a valid output event queue capacity: " + capacity);
+        }
+        this.delegate = delegate;
+        this.capacity = capacity;
+        renderThread = new Thread(new Renderer(), "Output renderer");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    /**
+     * Adds a {@link Flushable} to be flushed each time a batch of events has been delivered.
+     */
+    public void flushAfterEachBatch(Flushable flushable) {
+        flushables.add(flushable);
+    }
+
+    public void onOutput(OutputEvent event) {
+        if (Thread.currentThread() == renderThread) {
+            // Deliver directly, to avoid deadlocking when the delegate generates output of its own
+            delegate.onOutput(event);
+            return;
+        }
+        if (stopped) {
+            deliverSynchronously(event);
+            return;
+        }
+        while (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            if (event instanceof ProgressEvent) {
+                // Only a status update, which will be replaced by a later update anyway
+                discarded.incrementAndGet();
+                return;
+            }
+            awaitSpace();
+            if (stopped) {
+                deliverSynchronously(event);
+                return;
+            }
+        }
+        recordQueueDepth();
+        queue.add(event);
+        if (stopped) {
+            // Stopped while the event was being queued, so the rendering thread may already have finished
+            drainQueue();
+        } else {
+            LockSupport.unpark(renderThread);
+        }
+    }
+
+    private void deliverSynchronously(OutputEvent event) {
+        drainQueue();
+        delegate.onOutput(event);
+        rethrowFailure();
+    }
+
+    private void rethrowFailure() {
+        Throwable renderFailure = failure.getAndSet(null);
+        if (renderFailure != null) {
+            throw UncheckedException.throwAsUncheckedException(renderFailure);
+        }
+    }
+
+    /**
+     * Delivers the events left in the queue from the calling thread, once the rendering thread has stopped taking events from the queue.
+     */
+    private void drainQueue() {
+        synchronized (deliveryLock) {
+            OutputEvent event;
+            while ((event = queue.poll()) != null) {
+                queued.decrementAndGet();
+                delegate.onOutput(event);
+            }
+        }
+    }
+
+    private void recordQueueDepth() {
+        int depth = queued.get();
+        int max = maxQueued.get();
+        while (depth > max && !maxQueued.compareAndSet(max, depth)) {
+            max = maxQueued.get();
+        }
+    }
+
+    private void awaitSpace() {
+        LockSupport.unpark(renderThread);
+        synchronized (spaceLock) {
+            while (queued.get() >= capacity && !stopped) {
+                try {
+                    spaceLock.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Blocks until all events queued so far have been delivered and flushed.
+     */
+    public void flush() {
+        while (queued.get() > 0 && renderThread.isAlive()) {
+            LockSupport.unpark(renderThread);
+            synchronized (spaceLock) {
+                if (queued.get() > 0) {
+                    try {
+                        spaceLock.wait(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+        if (stopped) {
+            drainQueue();
+        }
+    }
+
+    /**
+     * Delivers all queued events and stops the rendering thread. Events received after this method has been called are delivered synchronously.
+     */
+    public void stop() {
+        flush();
+        stopped = true;
+        LockSupport.unpark(renderThread);
+        try {
+            renderThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainQueue();
+        rethrowFailure();
+    }
+
+    /**
+     * Returns true if the calling thread is the rendering thread, delivering a batch of events which will be flushed once the batch is complete.
+     */
+    public boolean isRenderingBatch() {
+        return !stopped && Thread.currentThread() == renderThread;
+    }
+
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueued.get();
+    }
+
+    public long getDiscardedEvents() {
+        return discarded.get();
+    }
+
+    public long getBatches() {
+        return batches.get();
+    }
+
+    private class Renderer implements Runnable {
+        public void run() {
+            while (failure.get() == null) {
+                int delivered = deliverBatch();
+                if (delivered > 0) {
+                    batchComplete(delivered);
+                } else if (stopped) {
+                    // Check again, for events queued by producers which had not yet seen that the listener was stopped
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                } else {
+                    LockSupport.parkNanos(IDLE_WAIT_NANOS);
+                }
+            }
+        }
+
+        private int deliverBatch() {
+            int count = 0;
+            synchronized (deliveryLock) {
+                while (count < MAX_BATCH_SIZE) {
+                    OutputEvent event = queue.poll();
+                    if (event == null) {
+                        break;
+                    }
+                    count++;
+                    try {
+                        delegate.onOutput(event);
+                    } catch (Throwable t) {
+                        // Stop rendering asynchronously. The producers deliver the remaining events themselves and report the failure
+                        failure.set(t);
+                        stopped = true;
+                        break;
+                    }
+                }
+            }
+            return count;
+        }
+
+        private void batchComplete(int delivered) {
+            batches.incrementAndGet();
+            for (Flushable flushable : flushables) {
+                try {
+                    flushable.flush();
+                } catch (IOException e) {
+                    // Ignore
+                } catch (RuntimeException e) {
+                    // Ignore
+                }
+            }
+            queued.addAndGet(-delivered);
+            synchronized (spaceLock) {
+                spaceLock.notifyAll();
+            }
+        }
+    }
+}
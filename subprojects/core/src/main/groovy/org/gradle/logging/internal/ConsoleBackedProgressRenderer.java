@@ -19,17 +19,31 @@ import org.gradle.util.GUtil;
 
 import java.util.LinkedList;
 
+/**
+ * Shows the status of the operations in progress in the status bar of the console.
+ *
+ * <p>Status updates within an operation are rate limited, so that an operation which reports its progress very frequently does not spend its time
+ * redrawing the console. An update which arrives too soon after the previous one is held back, and an {@link UpdateNowEvent} is scheduled for when
+ * the interval has elapsed, so that the status bar does not stay stale when no further events arrive. Starting or completing an operation always
+ * updates the status bar.</p>
+ */
 public class ConsoleBackedProgressRenderer implements OutputEventListener {
+    static final long MIN_STATUS_UPDATE_INTERVAL_MILLIS = 100;
+
     private final OutputEventListener listener;
     private final Console console;
     private final LinkedList<Operation> operations = new LinkedList<Operation>();
     private final StatusBarFormatter statusBarFormatter;
+    private final UpdateNowScheduler updateNowScheduler;
     private Label statusBar;
+    private long lastStatusUpdate = Long.MIN_VALUE;
+    private boolean updatePending;
 
-    public ConsoleBackedProgressRenderer(OutputEventListener listener, Console console, StatusBarFormatter statusBarFormatter) {
+    public ConsoleBackedProgressRenderer(OutputEventListener listener, Console console, StatusBarFormatter statusBarFormatter, UpdateNowScheduler updateNowScheduler) {
         this.listener = listener;
         this.console = console;
         this.statusBarFormatter = statusBarFormatter;
+        this.updateNowScheduler = updateNowScheduler;
     }
 
     public void onOutput(OutputEvent event) {
@@ -43,16 +57,38 @@ public class ConsoleBackedProgressRenderer implements OutputEventListener {
         } else if (event instanceof ProgressEvent) {
             ProgressEvent progressEvent = (ProgressEvent) event;
             operations.getLast().status = progressEvent.getStatus();
-            updateText();
+            maybeUpdateText(progressEvent.getTimestamp());
+        } else if (event instanceof UpdateNowEvent) {
+            if (updatePending) {
+                updateText();
+                lastStatusUpdate = ((UpdateNowEvent) event).getTimestamp();
+            }
+            return;
+        } else if (updatePending && event instanceof CategorisedOutputEvent) {
+            maybeUpdateText(((CategorisedOutputEvent) event).getTimestamp());
         }
         listener.onOutput(event);
     }
 
+    private void maybeUpdateText(long timestamp) {
+        if (lastStatusUpdate != Long.MIN_VALUE && timestamp - lastStatusUpdate < MIN_STATUS_UPDATE_INTERVAL_MILLIS) {
+            if (!updatePending) {
+                updatePending = true;
+                updateNowScheduler.scheduleUpdateNow(lastStatusUpdate + MIN_STATUS_UPDATE_INTERVAL_MILLIS - timestamp);
+            }
+            return;
+        }
+        updateText();
+        lastStatusUpdate = timestamp;
+    }
+
     private void updateText() {
         if (statusBar == null) {
             statusBar = console.getStatusBar();
         }
         statusBar.setText(statusBarFormatter.format(operations));
+        lastStatusUpdate = Long.MIN_VALUE;
+        updatePending = false;
     }
 
     static class Operation {
@@ -22,6 +22,8 @@ import org.gradle.internal.nativeplatform.console.ConsoleMetaData;
 import org.gradle.internal.nativeplatform.console.ConsoleDetector;
 import org.gradle.internal.nativeplatform.services.NativeServices;
 
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
 
 public class ConsoleConfigureAction implements Action<OutputEventRenderer> {
@@ -36,14 +38,23 @@ public class ConsoleConfigureAction implements Action<OutputEventRenderer> {
         boolean stdOutIsTerminal = consoleMetaData.isStdOut();
         boolean stdErrIsTerminal = consoleMetaData.isStdErr();
         if (stdOutIsTerminal) {
-            PrintStream outStr = new PrintStream(org.fusesource.jansi.AnsiConsole.wrapOutputStream(renderer.getOriginalStdOut()));
-            Console console = new AnsiConsole(outStr, outStr, renderer.getColourMap());
+            PrintStream outStr = consoleStream(renderer, renderer.getOriginalStdOut());
+            Console console = new AnsiConsole(outStr, renderer.consoleFlushable(outStr), renderer.getColourMap());
             renderer.addConsole(console, true, stdErrIsTerminal, consoleMetaData);
         } else if (stdErrIsTerminal) {
             // Only stderr is connected to a terminal
-            PrintStream errStr = new PrintStream(org.fusesource.jansi.AnsiConsole.wrapOutputStream(renderer.getOriginalStdErr()));
-            Console console = new AnsiConsole(errStr, errStr, renderer.getColourMap());
+            PrintStream errStr = consoleStream(renderer, renderer.getOriginalStdErr());
+            Console console = new AnsiConsole(errStr, renderer.consoleFlushable(errStr), renderer.getColourMap());
             renderer.addConsole(console, false, true, consoleMetaData);
         }
     }
+
+    private PrintStream consoleStream(OutputEventRenderer renderer, OutputStream original) {
+        OutputStream stream = org.fusesource.jansi.AnsiConsole.wrapOutputStream(original);
+        if (renderer.isAsynchronousRendering()) {
+            // Flushed at the end of each batch of events
+            stream = new BufferedOutputStream(stream, 8192);
+        }
+        return new PrintStream(stream);
+    }
 }
@@ -22,7 +22,11 @@ import org.gradle.api.logging.StandardOutputListener;
 import org.gradle.internal.nativeplatform.console.ConsoleMetaData;
 import org.gradle.listener.ListenerBroadcast;
 
+import java.io.Flushable;
+import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Timer;
+import java.util.TimerTask;
 
 /**
  * A {@link org.gradle.logging.internal.OutputEventListener} implementation which renders output events to various
@@ -31,16 +35,19 @@ import java.io.OutputStream;
 @ThreadSafe
 public class OutputEventRenderer implements OutputEventListener, LoggingConfigurer, LoggingOutputInternal {
     private final ListenerBroadcast<OutputEventListener> formatters = new ListenerBroadcast<OutputEventListener>(OutputEventListener.class);
+    private final ListenerBroadcast<OutputEventListener> consoles = new ListenerBroadcast<OutputEventListener>(OutputEventListener.class);
     private final ListenerBroadcast<StandardOutputListener> stdoutListeners = new ListenerBroadcast<StandardOutputListener>(StandardOutputListener.class);
     private final ListenerBroadcast<StandardOutputListener> stderrListeners = new ListenerBroadcast<StandardOutputListener>(StandardOutputListener.class);
     private final Object lock = new Object();
     private final DefaultColorMap colourMap = new DefaultColorMap();
-    private LogLevel logLevel = LogLevel.LIFECYCLE;
+    private volatile LogLevel logLevel = LogLevel.LIFECYCLE;
     private final Action<? super OutputEventRenderer> consoleConfigureAction;
     private OutputStream originalStdOut;
     private OutputStream originalStdErr;
     private StreamBackedStandardOutputListener stdOutListener;
     private StreamBackedStandardOutputListener stdErrListener;
+    private volatile AsynchronousOutputEventListener asyncRenderer;
+    private Timer updateNowTimer;
 
     public OutputEventRenderer(Action<? super OutputEventRenderer> consoleConfigureAction) {
         OutputEventListener stdOutChain = onNonError(new ProgressLogEventGenerator(new StyledTextOutputBackedRenderer(new StreamingStyledTextOutput(stdoutListeners.getSource())), false));
@@ -69,6 +76,65 @@ public class OutputEventRenderer implements OutputEventListener, LoggingConfigur
         }
     }
 
+    /**
+     * Renders output events from a separate thread, so that the thread generating an event does not wait for it to be written to the console.
+     * Events are rendered in batches and the console is flushed at the end of each batch.
+     */
+    public void enableAsynchronousRendering() {
+        synchronized (lock) {
+            if (asyncRenderer != null) {
+                return;
+            }
+            final AsynchronousOutputEventListener renderer = new AsynchronousOutputEventListener(new OutputEventListener() {
+                public void onOutput(OutputEvent event) {
+                    synchronized (lock) {
+                        render(event);
+                    }
+                }
+            }, 10000);
+            Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+                public void run() {
+                    renderer.stop();
+                }
+            }, "Output renderer shutdown"));
+            asyncRenderer = renderer;
+        }
+    }
+
+    public boolean isAsynchronousRendering() {
+        return asyncRenderer != null;
+    }
+
+    /**
+     * Returns a {@link Flushable} to use for the given console stream. When rendering asynchronously, the stream is flushed once for each batch of
+     * events rather than for each event. Events which are rendered synchronously, such as log level changes and events generated after the
+     * rendering thread has stopped, still flush the stream straight away.
+     */
+    public Flushable consoleFlushable(final Flushable stream) {
+        final AsynchronousOutputEventListener renderer = asyncRenderer;
+        if (renderer == null) {
+            return stream;
+        }
+        renderer.flushAfterEachBatch(stream);
+        return new Flushable() {
+            public void flush() throws IOException {
+                if (!renderer.isRenderingBatch()) {
+                    stream.flush();
+                }
+            }
+        };
+    }
+
+    /**
+     * Blocks until all output events generated so far have been rendered.
+     */
+    public void flush() {
+        AsynchronousOutputEventListener renderer = asyncRenderer;
+        if (renderer != null) {
+            renderer.flush();
+        }
+    }
+
     public void addStandardOutputAndError() {
         synchronized (lock) {
             originalStdOut = System.out;
@@ -93,8 +159,14 @@ public class OutputEventRenderer implements OutputEventListener, LoggingConfigur
                 new ProgressLogEventGenerator(
                         new StyledTextOutputBackedRenderer(console.getMainArea()), true),
                 console,
-                new DefaultStatusBarFormatter(consoleMetaData));
+                new DefaultStatusBarFormatter(consoleMetaData),
+                new UpdateNowScheduler() {
+                    public void scheduleUpdateNow(long delayMillis) {
+                        OutputEventRenderer.this.scheduleUpdateNow(delayMillis);
+                    }
+                });
         synchronized (lock) {
+            consoles.add(consoleChain);
             if (stdout && stderr) {
                 formatters.add(consoleChain);
                 stdoutListeners.remove(this.stdOutListener);
@@ -111,6 +183,21 @@ public class OutputEventRenderer implements OutputEventListener, LoggingConfigur
         return this;
     }
 
+    private void scheduleUpdateNow(long delayMillis) {
+        synchronized (lock) {
+            if (updateNowTimer == null) {
+                updateNowTimer = new Timer("Status bar update", true);
+            }
+            // Delivered like any other event, so that the update is rendered by the rendering thread when rendering asynchronously
+            updateNowTimer.schedule(new TimerTask() {
+                @Override
+                public void run() {
+                    onOutput(new UpdateNowEvent(System.currentTimeMillis()));
+                }
+            }, Math.max(delayMillis, 0));
+        }
+    }
+
     private OutputEventListener onError(final OutputEventListener listener) {
         return new OutputEventListener() {
             public void onOutput(OutputEvent event) {
@@ -160,6 +247,18 @@ public class OutputEventRenderer implements OutputEventListener, LoggingConfigur
     }
 
     public void onOutput(OutputEvent event) {
+        if (event.getLogLevel() != null && event.getLogLevel().compareTo(logLevel) < 0) {
+            return;
+        }
+        AsynchronousOutputEventListener renderer = asyncRenderer;
+        if (renderer != null && !(event instanceof LogLevelChangeEvent)) {
+            renderer.onOutput(event);
+            return;
+        }
+        if (renderer != null) {
+            // Render the events logged at the old level before switching
+            renderer.flush();
+        }
         synchronized (lock) {
             if (event.getLogLevel() != null && event.getLogLevel().compareTo(logLevel) < 0) {
                 return;
@@ -172,6 +271,15 @@ public class OutputEventRenderer implements OutputEventListener, LoggingConfigur
                 }
                 this.logLevel = newLogLevel;
             }
+            render(event);
+        }
+    }
+
+    private void render(OutputEvent event) {
+        if (event instanceof UpdateNowEvent) {
+            // Only of interest to the consoles, and not worth forwarding to the other listeners
+            consoles.getSource().onOutput(event);
+        } else {
             formatters.getSource().onOutput(event);
         }
     }
@@ -23,6 +23,7 @@ import org.gradle.internal.UncheckedException;
 import org.gradle.messaging.remote.ConnectionAcceptor;
 import org.gradle.messaging.remote.ObjectConnection;
 import org.gradle.process.ExecResult;
+import org.gradle.profile.TraceRecorder;
 
 import java.util.Date;
 import java.util.concurrent.TimeUnit;
@@ -40,9 +41,11 @@ public class DefaultWorkerProcess implements WorkerProcess {
     private boolean running;
     private Throwable processFailure;
     private final long connectTimeout;
+    private final TraceRecorder traceRecorder;
 
-    public DefaultWorkerProcess(int connectTimeoutValue, TimeUnit connectTimeoutUnits) {
+    public DefaultWorkerProcess(int connectTimeoutValue, TimeUnit connectTimeoutUnits, TraceRecorder traceRecorder) {
         connectTimeout = connectTimeoutUnits.toMillis(connectTimeoutValue);
+        this.traceRecorder = traceRecorder;
     }
 
     public void setExecHandle(ExecHandle execHandle) {
@@ -110,11 +113,14 @@ public class DefaultWorkerProcess implements WorkerProcess {
     }
 
     public void start() {
+        traceRecorder.start(TraceRecorder.WORKER, "Start worker process");
         try {
             doStart();
         } catch (Throwable t) {
             cleanup();
             throw UncheckedException.throwAsUncheckedException(t);
+        } finally {
+            traceRecorder.finish(TraceRecorder.WORKER, "Start worker process");
         }
     }
 
@@ -151,11 +157,22 @@ public class DefaultWorkerProcess implements WorkerProcess {
         }
     }
 
+    public boolean isRunning() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
     public ExecResult waitForStop() {
+        traceRecorder.start(TraceRecorder.WORKER, "Wait for worker process");
         try {
             return execHandle.waitForFinish().assertNormalExitValue();
         } finally {
             cleanup();
+            traceRecorder.finish(TraceRecorder.WORKER, "Wait for worker process");
         }
     }
 
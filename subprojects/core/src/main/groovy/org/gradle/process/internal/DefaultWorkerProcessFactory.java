@@ -24,6 +24,7 @@ import org.gradle.internal.Factory;
 import org.gradle.internal.id.IdGenerator;
 import org.gradle.messaging.remote.*;
 import org.gradle.process.internal.child.ApplicationClassesInIsolatedClassLoaderWorkerFactory;
+import org.gradle.profile.TraceRecorder;
 import org.gradle.process.internal.child.ApplicationClassesInSystemClassLoaderWorkerFactory;
 import org.gradle.process.internal.child.EncodedStream;
 import org.gradle.process.internal.child.WorkerFactory;
@@ -46,15 +47,17 @@ public class DefaultWorkerProcessFactory implements Factory<WorkerProcessBuilder
     private final ClassPathRegistry classPathRegistry;
     private final FileResolver resolver;
     private final IdGenerator<?> idGenerator;
+    private final TraceRecorder traceRecorder;
 
     public DefaultWorkerProcessFactory(LogLevel workerLogLevel, MessagingServer server,
                                        ClassPathRegistry classPathRegistry, FileResolver resolver,
-                                       IdGenerator<?> idGenerator) {
+                                       IdGenerator<?> idGenerator, TraceRecorder traceRecorder) {
         this.workerLogLevel = workerLogLevel;
         this.server = server;
         this.classPathRegistry = classPathRegistry;
         this.resolver = resolver;
         this.idGenerator = idGenerator;
+        this.traceRecorder = traceRecorder;
     }
 
     public WorkerProcessBuilder create() {
@@ -73,7 +76,7 @@ public class DefaultWorkerProcessFactory implements Factory<WorkerProcessBuilder
                 throw new IllegalStateException("No worker action specified for this worker process.");
             }
 
-            final DefaultWorkerProcess workerProcess = new DefaultWorkerProcess(120, TimeUnit.SECONDS);
+            final DefaultWorkerProcess workerProcess = new DefaultWorkerProcess(120, TimeUnit.SECONDS, traceRecorder);
             ConnectionAcceptor acceptor = server.accept(new Action<ConnectEvent<ObjectConnection>>() {
                 public void execute(ConnectEvent<ObjectConnection> event) {
                     workerProcess.onConnect(event.getConnection());
@@ -28,5 +28,10 @@ public interface WorkerProcess {
 
     void start();
 
+    /**
+     * Returns true when this worker process has been started and has not yet stopped.
+     */
+    boolean isRunning();
+
     ExecResult waitForStop();
 }
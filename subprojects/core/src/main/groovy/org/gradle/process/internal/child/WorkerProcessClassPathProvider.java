@@ -18,6 +18,7 @@ package org.gradle.process.internal.child;
 
 import com.tonicsystems.jarjar.JarJarTask;
 import com.tonicsystems.jarjar.Rule;
+import org.apache.commons.io.IOUtils;
 import org.apache.tools.ant.types.Resource;
 import org.apache.tools.ant.types.ResourceCollection;
 import org.apache.tools.ant.types.resources.URLResource;
@@ -32,13 +33,16 @@ import org.gradle.internal.classpath.DefaultClassPath;
 import org.gradle.process.internal.launcher.BootstrapClassLoaderWorker;
 import org.gradle.process.internal.launcher.GradleWorkerMain;
 import org.gradle.util.AntUtil;
+import org.gradle.util.hash.HashUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
-import java.io.IOException;
+import java.io.*;
 import java.net.URL;
 import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 public class WorkerProcessClassPathProvider implements ClassPathProvider {
     private static final Logger LOGGER = LoggerFactory.getLogger(WorkerProcessClassPathProvider.class);
@@ -46,6 +50,7 @@ public class WorkerProcessClassPathProvider implements ClassPathProvider {
     private final ModuleRegistry moduleRegistry;
     private final Object lock = new Object();
     private ClassPath workerClassPath;
+    private ClassPath workerProcessClassPath;
 
     public WorkerProcessClassPathProvider(CacheRepository cacheRepository, ModuleRegistry moduleRegistry) {
         this.cacheRepository = cacheRepository;
@@ -54,19 +59,13 @@ public class WorkerProcessClassPathProvider implements ClassPathProvider {
 
     public ClassPath findClassPath(String name) {
         if (name.equals("WORKER_PROCESS")) {
-            // TODO - split out a logging project and use its classpath, instead of hardcoding logging dependencies here
-            ClassPath classpath = new DefaultClassPath();
-            classpath = classpath.plus(moduleRegistry.getModule("gradle-base-services").getImplementationClasspath());
-            classpath = classpath.plus(moduleRegistry.getModule("gradle-core").getImplementationClasspath());
-            classpath = classpath.plus(moduleRegistry.getModule("gradle-cli").getImplementationClasspath());
-            classpath = classpath.plus(moduleRegistry.getModule("gradle-native").getImplementationClasspath());
-            classpath = classpath.plus(moduleRegistry.getModule("gradle-messaging").getImplementationClasspath());
-            classpath = classpath.plus(moduleRegistry.getExternalModule("slf4j-api").getClasspath());
-            classpath = classpath.plus(moduleRegistry.getExternalModule("logback-classic").getClasspath());
-            classpath = classpath.plus(moduleRegistry.getExternalModule("logback-core").getClasspath());
-            classpath = classpath.plus(moduleRegistry.getExternalModule("jul-to-slf4j").getClasspath());
-            classpath = classpath.plus(moduleRegistry.getExternalModule("guava").getClasspath());
-            return classpath;
+            synchronized (lock) {
+                if (workerProcessClassPath == null) {
+                    workerProcessClassPath = mergeIntoSingleJar(getWorkerProcessClassPath());
+                }
+                LOGGER.debug("Using worker process bootstrap classpath: {}", workerProcessClassPath);
+                return workerProcessClassPath;
+            }
         }
         if (name.equals("WORKER_MAIN")) {
             synchronized (lock) {
@@ -82,10 +81,113 @@ public class WorkerProcessClassPathProvider implements ClassPathProvider {
         return null;
     }
 
+    private ClassPath getWorkerProcessClassPath() {
+        // TODO - split out a logging project and use its classpath, instead of hardcoding logging dependencies here
+        ClassPath classpath = new DefaultClassPath();
+        classpath = classpath.plus(moduleRegistry.getModule("gradle-base-services").getImplementationClasspath());
+        classpath = classpath.plus(moduleRegistry.getModule("gradle-core").getImplementationClasspath());
+        classpath = classpath.plus(moduleRegistry.getModule("gradle-cli").getImplementationClasspath());
+        classpath = classpath.plus(moduleRegistry.getModule("gradle-native").getImplementationClasspath());
+        classpath = classpath.plus(moduleRegistry.getModule("gradle-messaging").getImplementationClasspath());
+        classpath = classpath.plus(moduleRegistry.getExternalModule("slf4j-api").getClasspath());
+        classpath = classpath.plus(moduleRegistry.getExternalModule("logback-classic").getClasspath());
+        classpath = classpath.plus(moduleRegistry.getExternalModule("logback-core").getClasspath());
+        classpath = classpath.plus(moduleRegistry.getExternalModule("jul-to-slf4j").getClasspath());
+        classpath = classpath.plus(moduleRegistry.getExternalModule("guava").getClasspath());
+        return classpath;
+    }
+
+    /**
+     * Merges the given jars into a single jar in the cache, which is rebuilt when any of the jars change. A worker process loads a class from a
+     * single jar with a single lookup in its index, rather than searching each jar in turn, and opens one jar instead of one per module. Returns the
+     * given classpath unchanged when it contains anything other than jars, such as the class directories used when running from an IDE.
+     */
+    private ClassPath mergeIntoSingleJar(ClassPath classpath) {
+        StringBuilder key = new StringBuilder();
+        for (File file : classpath.getAsFiles()) {
+            if (!file.isFile()) {
+                return classpath;
+            }
+            key.append(file.getAbsolutePath()).append(':').append(file.length()).append(':').append(file.lastModified()).append('\n');
+        }
+        PersistentCache cache = cacheRepository.cache("workerProcess")
+                .withProperties(Collections.singletonMap("classpath", HashUtil.createCompactMD5(key.toString())))
+                .withInitializer(new MergedJarInitializer(classpath.getAsFiles()))
+                .open();
+        return new DefaultClassPath(mergedJarFile(cache));
+    }
+
     private static File jarFile(PersistentCache cache) {
         return new File(cache.getBaseDir(), "gradle-worker.jar");
     }
 
+    private static File mergedJarFile(PersistentCache cache) {
+        return new File(cache.getBaseDir(), "gradle-worker-process.jar");
+    }
+
+    /**
+     * Copies the entries of each jar into the merged jar. When several jars contain the same entry, the first one wins, as it would when the jars are
+     * searched in order. Service provider configuration files are concatenated instead, and manifests and signatures are discarded.
+     */
+    private static class MergedJarInitializer implements Action<PersistentCache> {
+        private final Collection<File> jars;
+
+        public MergedJarInitializer(Collection<File> jars) {
+            this.jars = jars;
+        }
+
+        public void execute(PersistentCache cache) {
+            File jarFile = mergedJarFile(cache);
+            LOGGER.debug("Merging worker process classpath {} into {}.", jars, jarFile);
+
+            Set<String> seen = new HashSet<String>();
+            Map<String, ByteArrayOutputStream> services = new TreeMap<String, ByteArrayOutputStream>();
+            try {
+                ZipOutputStream outputStream = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(jarFile)));
+                try {
+                    for (File jar : jars) {
+                        ZipInputStream inputStream = new ZipInputStream(new BufferedInputStream(new FileInputStream(jar)));
+                        try {
+                            for (ZipEntry entry = inputStream.getNextEntry(); entry != null; entry = inputStream.getNextEntry()) {
+                                String name = entry.getName();
+                                if (name.startsWith("META-INF/services/") && !entry.isDirectory()) {
+                                    ByteArrayOutputStream content = services.get(name);
+                                    if (content == null) {
+                                        content = new ByteArrayOutputStream();
+                                        services.put(name, content);
+                                    }
+                                    IOUtils.copy(inputStream, content);
+                                    content.write('\n');
+                                } else if (!isDiscarded(name) && seen.add(name)) {
+                                    outputStream.putNextEntry(new ZipEntry(name));
+                                    IOUtils.copy(inputStream, outputStream);
+                                    outputStream.closeEntry();
+                                }
+                            }
+                        } finally {
+                            inputStream.close();
+                        }
+                    }
+                    for (Map.Entry<String, ByteArrayOutputStream> entry : services.entrySet()) {
+                        outputStream.putNextEntry(new ZipEntry(entry.getKey()));
+                        entry.getValue().writeTo(outputStream);
+                        outputStream.closeEntry();
+                    }
+                } finally {
+                    outputStream.close();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static boolean isDiscarded(String name) {
+            String upperCaseName = name.toUpperCase();
+            return upperCaseName.equals("META-INF/MANIFEST.MF") || upperCaseName.equals("META-INF/INDEX.LIST")
+                    || (upperCaseName.startsWith("META-INF/") && (upperCaseName.endsWith(".SF") || upperCaseName.endsWith(".DSA") || upperCaseName.endsWith(".RSA")));
+        }
+    }
+
     private static class CacheInitializer implements Action<PersistentCache> {
         public void execute(PersistentCache cache) {
             File jarFile = jarFile(cache);
@@ -135,6 +135,10 @@ public class BuildProfile {
         return new CompositeOperation<ContinuousOperation>(profiles);
     }
 
+    public long getProfilingStarted() {
+        return profilingStarted;
+    }
+
     /**
      * Should be set with a time as soon as possible after startup.
      * @param profilingStarted
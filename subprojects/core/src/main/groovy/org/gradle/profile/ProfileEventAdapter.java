@@ -37,12 +37,14 @@ public class ProfileEventAdapter implements BuildListener, ProjectEvaluationList
     private final BuildRequestMetaData buildMetaData;
     private final TimeProvider timeProvider;
     private final ProfileListener listener;
+    private final TraceRecorder traceRecorder;
     private BuildProfile buildProfile;
 
-    public ProfileEventAdapter(BuildRequestMetaData buildMetaData, TimeProvider timeProvider, ProfileListener listener) {
+    public ProfileEventAdapter(BuildRequestMetaData buildMetaData, TimeProvider timeProvider, ProfileListener listener, TraceRecorder traceRecorder) {
         this.buildMetaData = buildMetaData;
         this.timeProvider = timeProvider;
         this.listener = listener;
+        this.traceRecorder = traceRecorder;
     }
 
     // BuildListener
@@ -76,6 +78,7 @@ public class ProfileEventAdapter implements BuildListener, ProjectEvaluationList
     // ProjectEvaluationListener
     public void beforeEvaluate(Project project) {
         long now = timeProvider.getCurrentTime();
+        traceRecorder.start(TraceRecorder.CONFIGURATION, project.getPath());
         buildProfile.getProjectProfile(project.getPath()).getConfigurationOperation().setStart(now);
     }
 
@@ -83,6 +86,7 @@ public class ProfileEventAdapter implements BuildListener, ProjectEvaluationList
         long now = timeProvider.getCurrentTime();
         ProjectProfile projectProfile = buildProfile.getProjectProfile(project.getPath());
         projectProfile.getConfigurationOperation().setFinish(now);
+        traceRecorder.finish(TraceRecorder.CONFIGURATION, project.getPath());
     }
 
     // TaskExecutionListener
@@ -91,6 +95,7 @@ public class ProfileEventAdapter implements BuildListener, ProjectEvaluationList
         Project project = task.getProject();
         ProjectProfile projectProfile = buildProfile.getProjectProfile(project.getPath());
         projectProfile.getTaskProfile(task.getPath()).setStart(now);
+        traceRecorder.start(TraceRecorder.TASK, task.getPath());
     }
 
     public void afterExecute(Task task, TaskState state) {
@@ -100,17 +105,20 @@ public class ProfileEventAdapter implements BuildListener, ProjectEvaluationList
         TaskExecution taskExecution = projectProfile.getTaskProfile(task.getPath());
         taskExecution.setFinish(now);
         taskExecution.completed(state);
+        traceRecorder.finish(TraceRecorder.TASK, task.getPath());
     }
 
     // DependencyResolutionListener
     public void beforeResolve(ResolvableDependencies dependencies) {
         long now = timeProvider.getCurrentTime();
         buildProfile.getDependencySetProfile(dependencies.getPath()).setStart(now);
+        traceRecorder.start(TraceRecorder.RESOLUTION, dependencies.getPath());
     }
 
     public void afterResolve(ResolvableDependencies dependencies) {
         long now = timeProvider.getCurrentTime();
         buildProfile.getDependencySetProfile(dependencies.getPath()).setFinish(now);
+        traceRecorder.finish(TraceRecorder.RESOLUTION, dependencies.getPath());
     }
 }
 
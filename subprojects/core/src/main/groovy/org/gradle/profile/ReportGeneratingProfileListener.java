@@ -16,16 +16,24 @@
 package org.gradle.profile;
 
 import org.gradle.BuildAdapter;
+import org.gradle.api.Action;
+import org.gradle.api.internal.IoActions;
 import org.gradle.api.invocation.Gradle;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
 public class ReportGeneratingProfileListener extends BuildAdapter implements ProfileListener {
     private static final SimpleDateFormat FILE_DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd-HH-mm-ss");
+    private final TraceRecorder traceRecorder;
     private File buildDir;
 
+    public ReportGeneratingProfileListener(TraceRecorder traceRecorder) {
+        this.traceRecorder = traceRecorder;
+    }
+
     @Override
     public void projectsEvaluated(Gradle gradle) {
         buildDir = gradle.getRootProject().getBuildDir();
@@ -35,6 +43,16 @@ public class ReportGeneratingProfileListener extends BuildAdapter implements Pro
         ProfileReportRenderer renderer = new ProfileReportRenderer();
         File file = new File(buildDir, "reports/profile/profile-" + FILE_DATE_FORMAT.format(new Date(buildProfile.getBuildStarted())) + ".html");
         renderer.writeTo(buildProfile, file);
+        File traceFile = new File(buildDir, "reports/profile/trace-" + FILE_DATE_FORMAT.format(new Date(buildProfile.getBuildStarted())) + ".json");
+        writeTrace(buildProfile.getProfilingStarted(), traceFile);
+    }
+
+    private void writeTrace(final long since, File file) {
+        IoActions.writeTextFile(file, new Action<BufferedWriter>() {
+            public void execute(BufferedWriter writer) {
+                traceRecorder.writeTo(since, writer);
+            }
+        });
     }
 }
 
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.profile;
+
+import net.jcip.annotations.ThreadSafe;
+import org.gradle.api.UncheckedIOException;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records the start and end of nested build operations into a fixed size ring buffer, so that the most recent activity of each thread can be
+ * written out in Chrome's trace event format and inspected with {@code chrome://tracing}.
+ *
+ * <p>Recording is intended to be always on. All storage is allocated up front and recording an event does not allocate or take a lock, so the cost
+ * is a few array writes. When the buffer is full, the oldest events are overwritten.</p>
+ *
+ * <p>Calls to {@link #start(String, String)} and {@link #finish(String, String)} must be made in pairs by the same thread, usually in a try/finally
+ * block.</p>
+ */
+@ThreadSafe
+public class TraceRecorder {
+    public static final String CONFIGURATION = "configuration";
+    public static final String RESOLUTION = "resolution";
+    public static final String SNAPSHOT = "snapshot";
+    public static final String CACHE_LOCK = "cache-lock";
+    public static final String TASK = "task";
+    public static final String WORKER = "worker";
+
+    private static final int DEFAULT_CAPACITY = 1 << 16;
+    private static final byte START = 'B';
+    private static final byte FINISH = 'E';
+
+    private final int capacity;
+    private final AtomicLong nextSequence = new AtomicLong();
+    // The sequence number of the event in each slot, written after the other values. -1 while a slot is being written
+    private final AtomicLongArray sequences;
+    private final long[] timestamps;
+    private final long[] threadIds;
+    private final byte[] phases;
+    private final String[] categories;
+    private final String[] names;
+    private final long baseMillis;
+    private final long baseNanos;
+
+    /**
+     * Creates a recorder with the capacity given by the {@code org.gradle.trace.capacity} system property, or a default capacity.
+     */
+    public TraceRecorder() {
+        this(Integer.getInteger("org.gradle.trace.capacity", DEFAULT_CAPACITY));
+    }
+
+    public TraceRecorder(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Not a valid trace buffer capacity: " + capacity);
+        }
+        this.capacity = capacity;
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, -1);
+        }
+        timestamps = new long[capacity];
+        threadIds = new long[capacity];
+        phases = new byte[capacity];
+        categories = new String[capacity];
+        names = new String[capacity];
+        baseMillis = System.currentTimeMillis();
+        baseNanos = System.nanoTime();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of events recorded so far, including those which have since been overwritten.
+     */
+    public long getRecordedEvents() {
+        return nextSequence.get();
+    }
+
+    public void start(String category, String name) {
+        record(START, category, name);
+    }
+
+    public void finish(String category, String name) {
+        record(FINISH, category, name);
+    }
+
+    private void record(byte phase, String category, String name) {
+        long sequence = nextSequence.getAndIncrement();
+        int slot = (int) (sequence % capacity);
+        sequences.set(slot, -1);
+        timestamps[slot] = System.nanoTime();
+        threadIds[slot] = Thread.currentThread().getId();
+        phases[slot] = phase;
+        categories[slot] = category;
+        names[slot] = name;
+        sequences.set(slot, sequence);
+    }
+
+    /**
+     * Writes the events recorded since the given time, in the Chrome trace event format.
+     *
+     * @param sinceMillis Only events recorded at or after this time (in milliseconds since the epoch) are written.
+     */
+    public void writeTo(long sinceMillis, Writer writer) {
+        long sinceNanos = baseNanos + (sinceMillis - baseMillis) * 1000000L;
+        long end = nextSequence.get();
+        long start = Math.max(0, end - capacity);
+        try {
+            writer.write("{\"traceEvents\":[");
+            boolean first = true;
+            for (long sequence = start; sequence < end; sequence++) {
+                int slot = (int) (sequence % capacity);
+                if (sequences.get(slot) != sequence) {
+                    continue;
+                }
+                long timestamp = timestamps[slot];
+                long threadId = threadIds[slot];
+                byte phase = phases[slot];
+                String category = categories[slot];
+                String name = names[slot];
+                if (sequences.get(slot) != sequence) {
+                    // Overwritten while reading
+                    continue;
+                }
+                if (timestamp < sinceNanos) {
+                    continue;
+                }
+                if (!first) {
+                    writer.write(",");
+                }
+                first = false;
+                writer.write("\n{\"name\":");
+                writeString(name, writer);
+                writer.write(",\"cat\":");
+                writeString(category, writer);
+                writer.write(",\"ph\":\"");
+                writer.write((char) phase);
+                writer.write("\",\"pid\":1,\"tid\":");
+                writer.write(String.valueOf(threadId));
+                writer.write(",\"ts\":");
+                writer.write(String.valueOf((baseMillis * 1000L) + (timestamp - baseNanos) / 1000L));
+                writer.write("}");
+            }
+            writer.write("\n]}\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(String value, Writer writer) throws IOException {
+        writer.write('"');
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                char ch = value.charAt(i);
+                if (ch == '"' || ch == '\\') {
+                    writer.write('\\');
+                    writer.write(ch);
+                } else if (ch < 0x20) {
+                    writer.write(String.format("\\u%04x", (int) ch));
+                } else {
+                    writer.write(ch);
+                }
+            }
+        }
+        writer.write('"');
+    }
+}
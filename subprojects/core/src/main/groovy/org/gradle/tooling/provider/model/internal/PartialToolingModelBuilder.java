@@ -0,0 +1,31 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.tooling.provider.model.internal;
+
+import org.gradle.api.Project;
+import org.gradle.api.specs.Spec;
+import org.gradle.tooling.provider.model.ToolingModelBuilder;
+
+/**
+ * A {@link ToolingModelBuilder} that can build a model containing the details of only some of the projects of the build.
+ */
+public interface PartialToolingModelBuilder extends ToolingModelBuilder {
+    /**
+     * Builds the model. The model contains the complete project hierarchy, but the details that are expensive to calculate, such as dependencies
+     * and tasks, are included only for those projects that satisfy the given spec.
+     */
+    Object buildAll(String modelName, Project project, Spec<? super Project> projectSpec);
+}
@@ -52,6 +52,8 @@ class StartParameterTest extends Specification {
         parameter.refreshDependencies = true
         parameter.recompileScripts = true
         parameter.configureOnDemand = true
+        parameter.parallelConfiguration = true
+        parameter.reuseBuildSrc = true
 
         when:
         def newInstance = parameter.newInstance()
@@ -247,6 +249,8 @@ class StartParameterTest extends Specification {
         parameter.logLevel = LogLevel.DEBUG
         parameter.colorOutput = false
         parameter.configureOnDemand = true
+        parameter.parallelConfiguration = true
+        parameter.reuseBuildSrc = true
 
         // Non-copied
         parameter.currentDir = new File("other")
@@ -269,6 +273,8 @@ class StartParameterTest extends Specification {
         newParameter != parameter
 
         newParameter.configureOnDemand == parameter.configureOnDemand
+        newParameter.parallelConfiguration == parameter.parallelConfiguration
+        newParameter.reuseBuildSrc == parameter.reuseBuildSrc
         newParameter.gradleUserHomeDir == parameter.gradleUserHomeDir
         newParameter.cacheUsage == parameter.cacheUsage
         newParameter.logLevel == parameter.logLevel
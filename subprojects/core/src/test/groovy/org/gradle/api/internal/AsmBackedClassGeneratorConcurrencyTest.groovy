@@ -0,0 +1,77 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal
+
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+class AsmBackedClassGeneratorConcurrencyTest extends ConcurrentSpec {
+    final ClassGenerator generator = new AsmBackedClassGenerator()
+
+    def "generates a class only once when several threads request it concurrently"() {
+        def results = new CopyOnWriteArrayList<Class<?>>()
+
+        when:
+        async {
+            10.times {
+                start {
+                    results << generator.generate(ConcurrentlyGeneratedBean)
+                }
+            }
+        }
+
+        then:
+        results.size() == 10
+        results.every { it.is(results[0]) }
+        results[0] != ConcurrentlyGeneratedBean
+        ConcurrentlyGeneratedBean.isAssignableFrom(results[0])
+    }
+
+    def "generates different classes concurrently"() {
+        def results = new CopyOnWriteArrayList<Class<?>>()
+
+        when:
+        async {
+            [OtherBean1, OtherBean2, OtherBean3].each { type ->
+                start {
+                    results << generator.generate(type)
+                    results << generator.generate(type)
+                }
+            }
+        }
+
+        then:
+        results.size() == 6
+        new HashSet(results).size() == 3
+    }
+
+    public static class ConcurrentlyGeneratedBean {
+        String prop
+    }
+
+    public static class OtherBean1 {
+        String prop
+    }
+
+    public static class OtherBean2 {
+        String prop
+    }
+
+    public static class OtherBean3 {
+        String prop
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal
+
+import spock.lang.Specification
+
+import java.lang.reflect.Proxy
+
+class GeneratedClassCacheTest extends Specification {
+    final cache = new GeneratedClassCache(2)
+
+    def "key is calculated from the bytecode of the class hierarchy and the generator"() {
+        expect:
+        def key = cache.keyFor(SubBean, "generator")
+        key != null
+        key == cache.keyFor(SubBean, "generator")
+        key != cache.keyFor(SubBean, "other")
+        key != cache.keyFor(SuperBean, "generator")
+    }
+
+    def "cannot calculate key for class without bytecode"() {
+        def proxyClass = Proxy.getProxyClass(getClass().classLoader, Runnable)
+
+        expect:
+        cache.keyFor(proxyClass, "generator") == null
+    }
+
+    def "caches bytecode and tracks hits and misses"() {
+        def bytecode = [1, 2, 3] as byte[]
+
+        when:
+        cache.put("key", bytecode)
+
+        then:
+        cache.get("key") == bytecode
+        cache.get("unknown") == null
+        cache.hits == 1
+        cache.misses == 1
+    }
+
+    def "discards least recently used entries"() {
+        when:
+        cache.put("a", [1] as byte[])
+        cache.put("b", [2] as byte[])
+        cache.get("a")
+        cache.put("c", [3] as byte[])
+
+        then:
+        cache.get("a") != null
+        cache.get("b") == null
+        cache.get("c") != null
+    }
+
+    def "generator stores generated bytecode in the cache"() {
+        def bytecodeCache = new GeneratedClassCache(10)
+        def generator = new AsmBackedClassGenerator(bytecodeCache)
+
+        when:
+        generator.generate(CachedBean)
+
+        then:
+        bytecodeCache.get(bytecodeCache.keyFor(CachedBean, AsmBackedClassGenerator.name)) != null
+    }
+
+    def "generator calculates the key once when the class is not cached"() {
+        def keys = 0
+        def bytecodeCache = new GeneratedClassCache(10) {
+            @Override
+            String keyFor(Class<?> type, String generatorName) {
+                keys++
+                return super.keyFor(type, generatorName)
+            }
+        }
+        def generator = new AsmBackedClassGenerator(bytecodeCache)
+
+        when:
+        generator.generate(OtherCachedBean)
+
+        then:
+        keys == 1
+        bytecodeCache.misses == 1
+    }
+
+    static class SuperBean {
+        String prop
+    }
+
+    static class SubBean extends SuperBean {
+        String other
+    }
+
+    static class CachedBean {
+        String prop
+    }
+
+    static class OtherCachedBean {
+        String prop
+    }
+}
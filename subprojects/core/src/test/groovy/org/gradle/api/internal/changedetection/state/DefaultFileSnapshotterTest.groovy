@@ -17,6 +17,7 @@ package org.gradle.api.internal.changedetection.state
 
 import org.gradle.api.file.FileCollection
 import org.gradle.api.file.FileTree
+import org.gradle.profile.TraceRecorder
 import org.gradle.test.fixtures.file.TestFile
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.gradle.util.ChangeListener
@@ -26,7 +27,7 @@ import spock.lang.Specification
 public class DefaultFileSnapshotterTest extends Specification {
     def hasher = new DefaultHasher()
     def cacheAccess = Stub(TaskArtifactStateCacheAccess)
-    def snapshotter = new DefaultFileSnapshotter(hasher, cacheAccess)
+    def snapshotter = new DefaultFileSnapshotter(hasher, cacheAccess, new TraceRecorder(10))
 
     def listener = Mock(ChangeListener)
     @Rule
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.filestore
+
+import org.gradle.api.Transformer
+import org.gradle.api.internal.file.TemporaryFileProvider
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.util.hash.HashUtil
+import org.gradle.util.hash.HashValue
+import org.junit.Rule
+import spock.lang.Specification
+
+class GroupedAndNamedUniqueFileStoreTest extends Specification {
+    @Rule TestNameTestDirectoryProvider temporaryFolder = new TestNameTestDirectoryProvider()
+    final TemporaryFileProvider temporaryFileProvider = Mock()
+    final Transformer<String, String> grouper = { "group" } as Transformer
+    final Transformer<String, String> namer = { it } as Transformer
+    GroupedAndNamedUniqueFileStore<String> fileStore
+
+    def setup() {
+        fileStore = new GroupedAndNamedUniqueFileStore<String>(new UniquePathKeyFileStore(temporaryFolder.createDir("fsbase")), temporaryFileProvider, grouper, namer)
+    }
+
+    def "stores file in directory named for its checksum"() {
+        def source = temporaryFolder.createFile("source") << "content"
+        def sha1 = HashUtil.sha1(source)
+
+        when:
+        def entry = fileStore.move("name", source)
+
+        then:
+        entry.file == temporaryFolder.file("fsbase/group/${sha1.asHexString()}/name")
+        entry.file.text == "content"
+        entry.sha1 == sha1
+    }
+
+    def "search uses checksum from path of each entry"() {
+        def content = temporaryFolder.createFile("source") << "content"
+        def sha1 = HashUtil.sha1(content)
+        fileStore.copy("name", content)
+
+        // Content that does not match its checksum directory shows that the checksum is not calculated from the file
+        def other = temporaryFolder.createFile("fsbase/group/1234/name") << "other"
+
+        when:
+        def entries = fileStore.search("name")
+
+        then:
+        entries*.file as Set == [temporaryFolder.file("fsbase/group/${sha1.asHexString()}/name"), other] as Set
+        entries*.sha1 as Set == [sha1, new HashValue("1234")] as Set
+    }
+}
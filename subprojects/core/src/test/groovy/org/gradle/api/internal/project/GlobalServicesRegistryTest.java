@@ -29,6 +29,7 @@ import org.gradle.initialization.ClassLoaderRegistry;
 import org.gradle.cli.CommandLineConverter;
 import org.gradle.initialization.DefaultClassLoaderRegistry;
 import org.gradle.initialization.DefaultCommandLineConverter;
+import org.gradle.initialization.buildsrc.BuildSrcClasspathCache;
 import org.gradle.internal.nativeplatform.*;
 import org.gradle.internal.nativeplatform.filesystem.FileSystem;
 import org.gradle.listener.DefaultListenerManager;
@@ -38,6 +39,7 @@ import org.gradle.logging.ProgressLoggerFactory;
 import org.gradle.logging.internal.DefaultLoggingManagerFactory;
 import org.gradle.logging.internal.DefaultProgressLoggerFactory;
 import org.gradle.messaging.remote.MessagingServer;
+import org.gradle.profile.TraceRecorder;
 import org.gradle.util.ClassLoaderFactory;
 import org.gradle.util.DefaultClassLoaderFactory;
 import org.junit.Test;
@@ -139,4 +141,14 @@ public class GlobalServicesRegistryTest {
     public void providesADocumentationRegistry() throws Exception {
         assertThat(registry.get(DocumentationRegistry.class), instanceOf(DocumentationRegistry.class));
     }
+
+    @Test
+    public void providesATraceRecorder() throws Exception {
+        assertThat(registry.get(TraceRecorder.class), instanceOf(TraceRecorder.class));
+    }
+
+    @Test
+    public void providesABuildSrcClasspathCache() throws Exception {
+        assertThat(registry.get(BuildSrcClasspathCache.class), instanceOf(BuildSrcClasspathCache.class));
+    }
 }
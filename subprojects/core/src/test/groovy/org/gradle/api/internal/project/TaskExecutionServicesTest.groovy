@@ -25,6 +25,7 @@ import org.gradle.cache.PersistentCache
 import org.gradle.internal.reflect.Instantiator
 import org.gradle.internal.service.ServiceRegistry
 import org.gradle.listener.ListenerManager
+import org.gradle.profile.TraceRecorder
 import spock.lang.Specification
 
 class TaskExecutionServicesTest extends Specification {
@@ -44,6 +45,7 @@ class TaskExecutionServicesTest extends Specification {
         _ * parent.get(StartParameter) >> startParameter
         _ * parent.get(CacheRepository) >> cacheRepository
         _ * parent.get(Instantiator) >> instantiator
+        _ * parent.get(TraceRecorder) >> new TraceRecorder(10)
         _ * cacheRepository.cache(!null) >> cacheBuilder
         _ * cacheBuilder.forObject(gradle) >> cacheBuilder
         _ * cacheBuilder.withDisplayName(!null) >> cacheBuilder
@@ -45,6 +45,7 @@ import org.gradle.messaging.remote.MessagingServer
 import org.gradle.process.internal.DefaultWorkerProcessFactory
 import org.gradle.process.internal.WorkerProcessBuilder
 import org.gradle.profile.ProfileEventAdapter
+import org.gradle.profile.TraceRecorder
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.gradle.util.ClassLoaderFactory
 import org.gradle.util.MultiParentClassLoader
@@ -173,6 +174,7 @@ public class TopLevelBuildServiceRegistryTest extends Specification {
     def providesAWorkerProcessFactory() {
         setup:
         expectParentServiceLocated(MessagingServer)
+        expectParentServiceLocated(TraceRecorder)
         allowGetCoreImplClassLoader()
 
         expect:
@@ -227,6 +229,7 @@ public class TopLevelBuildServiceRegistryTest extends Specification {
     def providesAProfileEventAdapter() {
         setup:
         expectParentServiceLocated(BuildRequestMetaData)
+        expectParentServiceLocated(TraceRecorder)
         expectListenerManagerCreated()
 
         expect:
@@ -19,6 +19,7 @@ import org.gradle.api.Action
 import org.gradle.cache.internal.btree.BTreePersistentIndexedCache
 import org.gradle.internal.Factory
 import org.gradle.messaging.serialize.Serializer
+import org.gradle.profile.TraceRecorder
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.junit.Rule
 import spock.lang.Ignore
@@ -34,7 +35,7 @@ class DefaultCacheAccessTest extends Specification {
     final File targetFile = tmpDir.file('cache.bin')
     final FileLock lock = Mock()
     final BTreePersistentIndexedCache<String, Integer> backingCache = Mock()
-    final DefaultCacheAccess access = new DefaultCacheAccess("<display-name>", lockFile, lockManager) {
+    final DefaultCacheAccess access = new DefaultCacheAccess("<display-name>", lockFile, lockManager, new TraceRecorder(10)) {
         @Override
         def <K, V> BTreePersistentIndexedCache<K, V> doCreateCache(File cacheFile, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
             return backingCache
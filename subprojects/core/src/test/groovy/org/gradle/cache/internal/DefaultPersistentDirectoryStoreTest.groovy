@@ -15,6 +15,7 @@
  */
 package org.gradle.cache.internal
 
+import org.gradle.profile.TraceRecorder
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.junit.Rule
 import spock.lang.Specification
@@ -29,7 +30,7 @@ class DefaultPersistentDirectoryStoreTest extends Specification {
     final FileLock lock = Mock()
     final cacheDir = tmpDir.file("dir")
     final cacheFile = cacheDir.file("some-content.bin")
-    final store = new DefaultPersistentDirectoryStore(cacheDir, "<display>", None, lockManager)
+    final store = new DefaultPersistentDirectoryStore(cacheDir, "<display>", None, lockManager, new TraceRecorder(10))
 
     def "has useful toString() implementation"() {
         expect:
@@ -59,7 +60,7 @@ class DefaultPersistentDirectoryStoreTest extends Specification {
     }
 
     def "open locks cache directory with requested mode"() {
-        final store = new DefaultPersistentDirectoryStore(cacheDir, "<display>", Shared, lockManager)
+        final store = new DefaultPersistentDirectoryStore(cacheDir, "<display>", Shared, lockManager, new TraceRecorder(10))
 
         when:
         store.open()
@@ -76,7 +77,7 @@ class DefaultPersistentDirectoryStoreTest extends Specification {
     }
 
     def "open does not lock cache directory when None mode requested"() {
-        final store = new DefaultPersistentDirectoryStore(cacheDir, "<display>", None, lockManager)
+        final store = new DefaultPersistentDirectoryStore(cacheDir, "<display>", None, lockManager, new TraceRecorder(10))
 
         when:
         store.open()
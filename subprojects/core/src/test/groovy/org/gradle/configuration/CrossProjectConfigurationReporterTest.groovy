@@ -0,0 +1,91 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.configuration
+
+import org.gradle.api.internal.project.ProjectInternal
+import spock.lang.Specification
+
+class CrossProjectConfigurationReporterTest extends Specification {
+    ProjectInternal root
+    ProjectInternal child
+    ProjectInternal grandChild
+    ProjectInternal sibling
+
+    def setup() {
+        root = project("root", null)
+        child = project("child", root)
+        grandChild = project("grandChild", child)
+        sibling = project("sibling", root)
+    }
+
+    def "does not report configuration of the evaluated project or its descendants"() {
+        def reporter = new CrossProjectConfigurationReporter(true)
+
+        when:
+        def previous = reporter.evaluationStarted(child)
+        reporter.beforeConfiguring(child)
+        reporter.beforeConfiguring(grandChild)
+        reporter.evaluationFinished(previous)
+
+        then:
+        reporter.violations.empty
+    }
+
+    def "reports configuration of other projects once"() {
+        def reporter = new CrossProjectConfigurationReporter(true)
+
+        when:
+        reporter.evaluationStarted(child)
+        reporter.beforeConfiguring(sibling)
+        reporter.beforeConfiguring(sibling)
+        reporter.beforeConfiguring(root)
+
+        then:
+        reporter.violations == ["child configures sibling", "child configures root"]
+    }
+
+    def "restores the previously evaluated project when nested evaluation finishes"() {
+        def reporter = new CrossProjectConfigurationReporter(true)
+
+        when:
+        reporter.evaluationStarted(root)
+        def previous = reporter.evaluationStarted(sibling)
+        reporter.evaluationFinished(previous)
+        reporter.beforeConfiguring(child)
+
+        then:
+        previous == root
+        reporter.violations.empty
+    }
+
+    def "does not report anything when configuring projects sequentially"() {
+        def reporter = new CrossProjectConfigurationReporter(false)
+
+        when:
+        reporter.evaluationStarted(child)
+        reporter.beforeConfiguring(sibling)
+
+        then:
+        reporter.violations.empty
+    }
+
+    private ProjectInternal project(String name, ProjectInternal parent) {
+        def project = Mock(ProjectInternal)
+        _ * project.parent >> parent
+        _ * project.toString() >> name
+        return project
+    }
+}
@@ -18,13 +18,15 @@ package org.gradle.configuration
 import org.gradle.StartParameter
 import org.gradle.api.internal.GradleInternal
 import org.gradle.api.internal.project.ProjectInternal
+import org.gradle.internal.concurrent.ExecutorFactory
 import spock.lang.Specification
 
 class DefaultBuildConfigurerTest extends Specification {
     private startParameter = Mock(StartParameter)
     private gradle = Mock(GradleInternal)
     private rootProject = Mock(ProjectInternal)
-    private configurer = new DefaultBuildConfigurer()
+    private executorFactory = Mock(ExecutorFactory)
+    private configurer = new DefaultBuildConfigurer(executorFactory)
 
     def setup() {
         gradle.startParameter >> startParameter
@@ -16,18 +16,20 @@
 
 package org.gradle.configuration
 
+import org.gradle.api.CircularReferenceException
 import org.gradle.api.ProjectConfigurationException
 import org.gradle.api.ProjectEvaluationListener
 import org.gradle.api.internal.project.ProjectInternal
 import org.gradle.api.internal.project.ProjectStateInternal
-import spock.lang.Specification
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
 
-public class LifecycleProjectEvaluatorTest extends Specification {
+public class LifecycleProjectEvaluatorTest extends ConcurrentSpec {
     private project = Mock(ProjectInternal)
     private listener = Mock(ProjectEvaluationListener)
     private delegate = Mock(ProjectEvaluator)
     private state = Mock(ProjectStateInternal)
-    private evaluator = new LifecycleProjectEvaluator(delegate)
+    private reporter = Mock(CrossProjectConfigurationReporter)
+    private evaluator = new LifecycleProjectEvaluator(delegate, reporter)
 
     void setup() {
         project.getProjectEvaluationBroadcaster() >> listener
@@ -149,4 +151,71 @@ public class LifecycleProjectEvaluatorTest extends Specification {
         1 * state.hasFailure() >> true
         0 * state.executed(_)
     }
+
+    void "thread waits for a project that is being evaluated by another thread"() {
+        def state = new ProjectStateInternal()
+        def evaluations = 0
+        def evaluator = new LifecycleProjectEvaluator({ ProjectInternal p, ProjectStateInternal s ->
+            evaluations++
+            instant.evaluating
+            thread.block()
+            instant.evaluated
+        } as ProjectEvaluator, reporter)
+
+        when:
+        async {
+            start {
+                evaluator.evaluate(project, state)
+            }
+            start {
+                thread.blockUntil.evaluating
+                evaluator.evaluate(project, state)
+                instant.waited
+            }
+        }
+
+        then:
+        instant.waited > instant.evaluated
+        evaluations == 1
+        state.executed
+        !state.hasFailure()
+    }
+
+    void "fails instead of deadlocking when threads wait for each other's projects"() {
+        def project2 = Mock(ProjectInternal)
+        project2.getProjectEvaluationBroadcaster() >> listener
+        project2.toString() >> "project2"
+        def state1 = new ProjectStateInternal()
+        def state2 = new ProjectStateInternal()
+        LifecycleProjectEvaluator evaluator
+        evaluator = new LifecycleProjectEvaluator({ ProjectInternal p, ProjectStateInternal s ->
+            if (p.is(project)) {
+                instant.project1Started
+                thread.blockUntil.project2Started
+                evaluator.evaluate(project2, state2)
+            } else {
+                instant.project2Started
+                thread.blockUntil.project1Started
+                evaluator.evaluate(project, state1)
+            }
+        } as ProjectEvaluator, reporter)
+
+        when:
+        async {
+            start {
+                evaluator.evaluate(project, state1)
+            }
+            start {
+                evaluator.evaluate(project2, state2)
+            }
+        }
+
+        then:
+        state1.executed
+        state2.executed
+        def failures = [state1, state2].findAll { it.hasFailure() }*.failure
+        failures.size() == 1
+        failures[0] instanceof ProjectConfigurationException
+        failures[0].cause instanceof CircularReferenceException
+    }
 }
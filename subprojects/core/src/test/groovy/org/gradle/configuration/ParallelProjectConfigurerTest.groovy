@@ -0,0 +1,105 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.configuration
+
+import org.gradle.api.internal.project.ProjectInternal
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+class ParallelProjectConfigurerTest extends ConcurrentSpec {
+    final evaluated = new CopyOnWriteArrayList<ProjectInternal>()
+
+    def "evaluates root project and then all other projects after their parents"() {
+        def configurer = new ParallelProjectConfigurer(executorFactory, 3)
+        def root = project("root")
+        def a = project("a", root)
+        def b = project("b", root)
+        def a1 = project("a1", a)
+        def a2 = project("a2", a)
+        def b1 = project("b1", b)
+
+        when:
+        configurer.configure(root)
+
+        then:
+        evaluated.size() == 6
+        evaluated.first() == root
+        evaluated.indexOf(a) < evaluated.indexOf(a1)
+        evaluated.indexOf(a) < evaluated.indexOf(a2)
+        evaluated.indexOf(b) < evaluated.indexOf(b1)
+    }
+
+    def "does not use workers when build has a single project"() {
+        def configurer = new ParallelProjectConfigurer(executorFactory, 3)
+        def root = project("root")
+
+        when:
+        configurer.configure(root)
+
+        then:
+        evaluated == [root]
+    }
+
+    def "rethrows failure and does not evaluate children of failed project"() {
+        def configurer = new ParallelProjectConfigurer(executorFactory, 2)
+        def failure = new RuntimeException("broken")
+        def root = project("root")
+        def a = project("a", root, failure)
+        def a1 = project("a1", a)
+
+        when:
+        configurer.configure(root)
+
+        then:
+        RuntimeException e = thrown()
+        e == failure
+        !evaluated.contains(a1)
+    }
+
+    def "cannot create configurer with no workers"() {
+        when:
+        new ParallelProjectConfigurer(executorFactory, 0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    private ProjectInternal project(String name, ProjectInternal parent = null, RuntimeException failure = null) {
+        def project = Mock(ProjectInternal)
+        def children = [:]
+        _ * project.toString() >> name
+        _ * project.childProjects >> children
+        _ * project.evaluate() >> {
+            evaluated << project
+            if (failure != null) {
+                throw failure
+            }
+            project
+        }
+        if (parent != null) {
+            parent.childProjects.put(name, project)
+        }
+        _ * project.allprojects >> { allProjects(project) }
+        return project
+    }
+
+    private Set<ProjectInternal> allProjects(ProjectInternal project) {
+        def result = [project] as Set
+        project.childProjects.values().each { result.addAll(allProjects(it)) }
+        return result
+    }
+}
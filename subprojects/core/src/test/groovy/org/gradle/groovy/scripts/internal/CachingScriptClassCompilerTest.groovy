@@ -15,13 +15,16 @@
  */
 package org.gradle.groovy.scripts.internal
 
-import spock.lang.Specification
 import org.gradle.groovy.scripts.ScriptSource
 import org.gradle.groovy.scripts.Transformer
 import org.gradle.groovy.scripts.Script
 import org.gradle.groovy.scripts.TestScript
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
 
-class CachingScriptClassCompilerTest extends Specification {
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicInteger
+
+class CachingScriptClassCompilerTest extends ConcurrentSpec {
     private final ScriptClassCompiler target = Mock()
     private final CachingScriptClassCompiler compiler = new CachingScriptClassCompiler(target)
 
@@ -103,6 +106,35 @@ class CachingScriptClassCompilerTest extends Specification {
         1 * target.compile(script2, parentClassLoader, transformer, TestScript.class) >> TestScript.class
     }
 
+    def "compiles a script only once when several threads request it concurrently"() {
+        ScriptSource script = scriptSource()
+        ClassLoader parentClassLoader = Mock()
+        Transformer transformer = transformer()
+        def compileCount = new AtomicInteger()
+        def cachingCompiler = new CachingScriptClassCompiler({ ScriptSource source, ClassLoader classLoader, Transformer t, Class baseClass ->
+            instant.compileStarted
+            thread.block()
+            compileCount.incrementAndGet()
+            return Script.class
+        } as ScriptClassCompiler)
+        def results = new CopyOnWriteArrayList()
+
+        when:
+        async {
+            start {
+                results << cachingCompiler.compile(script, parentClassLoader, transformer, Script.class)
+            }
+            start {
+                thread.blockUntil.compileStarted
+                results << cachingCompiler.compile(script, parentClassLoader, transformer, Script.class)
+            }
+        }
+
+        then:
+        compileCount.get() == 1
+        results == [Script.class, Script.class]
+    }
+
     def scriptSource(String className = 'script') {
         ScriptSource script = Mock()
         _ * script.className >> className
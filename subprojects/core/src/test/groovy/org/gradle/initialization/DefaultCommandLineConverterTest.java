@@ -72,6 +72,8 @@ public class DefaultCommandLineConverterTest {
     private boolean expectedRecompileScripts;
     private int expectedParallelExecutorCount;
     private boolean expectedConfigureOnDemand;
+    private boolean expectedParallelConfiguration;
+    private boolean expectedReuseBuildSrc;
 
     @Test
     public void withoutAnyOptions() {
@@ -112,6 +114,8 @@ public class DefaultCommandLineConverterTest {
         assertEquals(expectedProjectCacheDir, startParameter.getProjectCacheDir());
         assertEquals(expectedParallelExecutorCount, startParameter.getParallelThreadCount());
         assertEquals(expectedConfigureOnDemand, startParameter.isConfigureOnDemand());
+        assertEquals(expectedParallelConfiguration, startParameter.isParallelConfiguration());
+        assertEquals(expectedReuseBuildSrc, startParameter.isReuseBuildSrc());
     }
 
     @Test
@@ -413,4 +417,16 @@ public class DefaultCommandLineConverterTest {
         expectedConfigureOnDemand = true;
         checkConversion("--configure-on-demand");
     }
+
+    @Test
+    public void withParallelConfiguration() {
+        expectedParallelConfiguration = true;
+        checkConversion("--parallel-configuration");
+    }
+
+    @Test
+    public void withReuseBuildSrc() {
+        expectedReuseBuildSrc = true;
+        checkConversion("--reuse-build-src");
+    }
 }
@@ -35,7 +35,8 @@ class BuildSourceBuilderTest extends Specification {
     GradleLauncherFactory launcherFactory = Mock()
     ClassLoaderRegistry loaderRegistry = Mock()
     CacheRepository cacheRepository = Mock()
-    BuildSourceBuilder buildSourceBuilder = Spy(BuildSourceBuilder, constructorArgs: [launcherFactory, loaderRegistry,  cacheRepository])
+    BuildSrcClasspathCache classpathCache = Mock()
+    BuildSourceBuilder buildSourceBuilder = Spy(BuildSourceBuilder, constructorArgs: [launcherFactory, loaderRegistry,  cacheRepository, classpathCache])
 
     StartParameter parameter = new StartParameter()
 
@@ -58,4 +59,82 @@ class BuildSourceBuilderTest extends Specification {
         then:
         buildSourceBuilder.createBuildSourceClasspath(parameter) == classpath
     }
+
+    void "reuses classpath from a previous build when requested and buildSrc is unchanged"() {
+        def inputs = new BuildSrcClasspathCache.Inputs(tmpDir.testDirectory, "", [:], [:], [:])
+        def classpath = Mock(ClassPath)
+        parameter.setCurrentDir(tmpDir.createDir("someDir"))
+        parameter.reuseBuildSrc = true
+
+        when:
+        def result = buildSourceBuilder.createBuildSourceClasspath(parameter)
+
+        then:
+        result == classpath
+        1 * classpathCache.snapshot(parameter) >> inputs
+        1 * classpathCache.get(inputs) >> classpath
+        0 * buildSourceBuilder.createCache(_)
+        0 * classpathCache._
+    }
+
+    void "builds buildSrc and remembers its classpath when it cannot be reused"() {
+        def inputs = new BuildSrcClasspathCache.Inputs(tmpDir.testDirectory, "", [:], [:], [:])
+        def cache = Mock(PersistentCache)
+        def updateFactory = Mock(BuildSrcUpdateFactory)
+        def classpath = Mock(ClassPath)
+        parameter.setCurrentDir(tmpDir.createDir("someDir"))
+        parameter.reuseBuildSrc = true
+
+        when:
+        def result = buildSourceBuilder.createBuildSourceClasspath(parameter)
+
+        then:
+        result == classpath
+        1 * classpathCache.snapshot(parameter) >> inputs
+        1 * classpathCache.get(inputs) >> null
+        1 * buildSourceBuilder.createCache(parameter) >> cache
+        1 * buildSourceBuilder.createUpdateFactory(cache, _) >> updateFactory
+        1 * cache.useCache(_ as String, updateFactory) >> classpath
+        1 * updateFactory.hasStaticDependencies() >> true
+        1 * classpathCache.put(inputs, classpath)
+    }
+
+    void "does not remember classpath when buildSrc has dynamic or changing dependencies"() {
+        def inputs = new BuildSrcClasspathCache.Inputs(tmpDir.testDirectory, "", [:], [:], [:])
+        def cache = Mock(PersistentCache)
+        def updateFactory = Mock(BuildSrcUpdateFactory)
+        def classpath = Mock(ClassPath)
+        parameter.setCurrentDir(tmpDir.createDir("someDir"))
+        parameter.reuseBuildSrc = true
+
+        when:
+        def result = buildSourceBuilder.createBuildSourceClasspath(parameter)
+
+        then:
+        result == classpath
+        1 * classpathCache.snapshot(parameter) >> inputs
+        1 * classpathCache.get(inputs) >> null
+        1 * buildSourceBuilder.createCache(parameter) >> cache
+        1 * buildSourceBuilder.createUpdateFactory(cache, _) >> updateFactory
+        1 * cache.useCache(_ as String, updateFactory) >> classpath
+        1 * updateFactory.hasStaticDependencies() >> false
+        0 * classpathCache.put(_, _)
+    }
+
+    void "does not reuse classpath when tasks are to be rerun"() {
+        def cache = Mock(PersistentCache)
+        def classpath = Mock(ClassPath)
+        parameter.setCurrentDir(tmpDir.createDir("someDir"))
+        parameter.reuseBuildSrc = true
+        parameter.rerunTasks = true
+
+        when:
+        def result = buildSourceBuilder.createBuildSourceClasspath(parameter)
+
+        then:
+        result == classpath
+        1 * buildSourceBuilder.createCache(parameter) >> cache
+        1 * cache.useCache(_ as String, _ as BuildSrcUpdateFactory) >> classpath
+        0 * classpathCache._
+    }
 }
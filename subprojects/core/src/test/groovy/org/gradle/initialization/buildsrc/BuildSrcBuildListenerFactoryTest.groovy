@@ -16,6 +16,15 @@
 
 package org.gradle.initialization.buildsrc
 
+import org.gradle.BuildResult
+import org.gradle.api.DomainObjectSet
+import org.gradle.api.Project
+import org.gradle.api.artifacts.*
+import org.gradle.api.artifacts.result.DependencyResult
+import org.gradle.api.artifacts.result.ResolutionResult
+import org.gradle.api.artifacts.result.ResolvedModuleVersionResult
+import org.gradle.api.initialization.dsl.ScriptHandler
+import org.gradle.api.invocation.Gradle
 import spock.lang.Specification
 import org.gradle.api.internal.GradleInternal
 import org.gradle.api.internal.project.ProjectInternal
@@ -59,4 +68,67 @@ class BuildSrcBuildListenerFactoryTest extends Specification {
         then:
         1 * startParameter.setTaskNames(['barBuild'])
     }
+
+    def "has static dependencies when all dependencies resolve to static versions"() {
+        def listener = new BuildSrcBuildListenerFactory().create(false)
+
+        when:
+        listener.buildFinished(new BuildResult(gradleWith(requested: ["1.0", "2.1"], selected: ["1.0", "2.1"]), null))
+
+        then:
+        listener.hasStaticDependencies()
+    }
+
+    def "does not have static dependencies when a dependency is dynamic, changing or a snapshot"() {
+        def listener = new BuildSrcBuildListenerFactory().create(false)
+
+        when:
+        listener.buildFinished(new BuildResult(gradleWith(args), null))
+
+        then:
+        !listener.hasStaticDependencies()
+
+        where:
+        args << [
+                [requested: ["1.+"], selected: ["1.2"]],
+                [requested: ["latest.release"], selected: ["1.2"]],
+                [requested: ["[1.0,2.0)"], selected: ["1.2"]],
+                [requested: ["1.0-SNAPSHOT"], selected: ["1.0-SNAPSHOT"]],
+                [requested: ["1.0"], selected: ["1.0"], changing: true]
+        ]
+    }
+
+    def "does not have static dependencies when the build failed"() {
+        def listener = new BuildSrcBuildListenerFactory().create(false)
+
+        when:
+        listener.buildFinished(new BuildResult(gradleWith(requested: ["1.0"], selected: ["1.0"]), new RuntimeException()))
+
+        then:
+        !listener.hasStaticDependencies()
+    }
+
+    private Gradle gradleWith(Map args) {
+        def dependency = [isChanging: { args.changing ?: false }] as ExternalModuleDependency
+        def dependencyResults = args.requested.collect { version ->
+            [getRequested: { [getVersion: { version }] as ModuleVersionSelector }] as DependencyResult
+        } as Set
+        def moduleResults = args.selected.collect { version ->
+            [getId: { [getVersion: { version }] as ModuleVersionIdentifier }] as ResolvedModuleVersionResult
+        } as Set
+        def resolutionResult = [getAllDependencies: { dependencyResults }, getAllModuleVersions: { moduleResults }] as ResolutionResult
+        def configuration = [
+                getState: { Configuration.State.RESOLVED },
+                getAllDependencies: { [withType: { Class type -> [iterator: { [dependency].iterator() }] as DomainObjectSet }] as DependencySet },
+                getIncoming: { [getResolutionResult: { resolutionResult }] as ResolvableDependencies }
+        ] as Configuration
+        def configurations = [iterator: { [configuration].iterator() }] as ConfigurationContainer
+        def buildscriptConfigurations = [iterator: { [].iterator() }] as ConfigurationContainer
+        def project = [
+                getConfigurations: { configurations },
+                getBuildscript: { [getConfigurations: { buildscriptConfigurations }] as ScriptHandler }
+        ] as Project
+        def rootProject = [getAllprojects: { [project] as Set }] as Project
+        return [getRootProject: { rootProject }] as Gradle
+    }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.initialization.buildsrc
+
+import org.gradle.StartParameter
+import org.gradle.internal.classpath.DefaultClassPath
+import org.gradle.test.fixtures.file.TestFile
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.util.SetSystemProperties
+import org.junit.Rule
+import spock.lang.Specification
+
+class BuildSrcClasspathCacheTest extends Specification {
+    @Rule TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+    @Rule SetSystemProperties systemProperties = new SetSystemProperties()
+
+    final cache = new BuildSrcClasspathCache()
+    final StartParameter parameter = new StartParameter()
+    TestFile buildSrcDir
+    TestFile sourceFile
+    TestFile jar
+    DefaultClassPath classpath
+
+    def setup() {
+        buildSrcDir = tmpDir.createDir("buildSrc")
+        sourceFile = buildSrcDir.createFile("src/main/groovy/Thing.groovy")
+        sourceFile.text = "class Thing {}"
+        jar = buildSrcDir.createFile("build/libs/buildSrc.jar")
+        jar.text = "jar"
+        classpath = new DefaultClassPath(jar)
+        parameter.currentDir = buildSrcDir
+        parameter.gradleUserHomeDir = tmpDir.createDir("user-home")
+    }
+
+    def "has no classpath for buildSrc that has not been built"() {
+        expect:
+        cache.get(cache.snapshot(parameter)) == null
+    }
+
+    def "reuses classpath when nothing has changed"() {
+        when:
+        cache.put(cache.snapshot(parameter), classpath)
+
+        then:
+        cache.get(cache.snapshot(parameter)) == classpath
+    }
+
+    def "ignores changes to the buildSrc build directory"() {
+        given:
+        cache.put(cache.snapshot(parameter), classpath)
+
+        when:
+        buildSrcDir.createFile("build/tmp/other.txt").text = "ignored"
+        buildSrcDir.createFile(".gradle/other.bin").text = "ignored"
+
+        then:
+        cache.get(cache.snapshot(parameter)) == classpath
+    }
+
+    def "does not reuse classpath when a source file changes"() {
+        given:
+        cache.put(cache.snapshot(parameter), classpath)
+
+        when:
+        sourceFile.text = "class Thing { String name }"
+
+        then:
+        cache.get(cache.snapshot(parameter)) == null
+    }
+
+    def "does not reuse classpath when a source file is added or removed"() {
+        given:
+        cache.put(cache.snapshot(parameter), classpath)
+
+        when:
+        buildSrcDir.createFile("src/main/groovy/Other.groovy").text = "class Other {}"
+
+        then:
+        cache.get(cache.snapshot(parameter)) == null
+
+        when:
+        cache.put(cache.snapshot(parameter), classpath)
+        sourceFile.delete()
+
+        then:
+        cache.get(cache.snapshot(parameter)) == null
+    }
+
+    def "does not reuse classpath when the user home gradle.properties changes"() {
+        given:
+        cache.put(cache.snapshot(parameter), classpath)
+
+        when:
+        parameter.gradleUserHomeDir.file("gradle.properties").text = "prop=value"
+
+        then:
+        cache.get(cache.snapshot(parameter)) == null
+    }
+
+    def "does not reuse classpath when the build parameters change"() {
+        given:
+        cache.put(cache.snapshot(parameter), classpath)
+
+        when:
+        parameter.offline = true
+
+        then:
+        cache.get(cache.snapshot(parameter)) == null
+    }
+
+    def "does not reuse classpath when an init script in the distribution changes"() {
+        given:
+        parameter.gradleHomeDir = tmpDir.createDir("gradle-home")
+        cache.put(cache.snapshot(parameter), classpath)
+
+        when:
+        parameter.gradleHomeDir.file("init.d/init.gradle").text = "println 'init'"
+
+        then:
+        cache.get(cache.snapshot(parameter)) == null
+    }
+
+    def "does not reuse classpath when a system property changes"() {
+        given:
+        System.setProperty("buildsrc.test.property", "value")
+        cache.put(cache.snapshot(parameter), classpath)
+
+        when:
+        System.setProperty("buildsrc.test.property", "changed")
+
+        then:
+        cache.get(cache.snapshot(parameter)) == null
+    }
+
+    def "does not reuse classpath when the classpath has been removed"() {
+        given:
+        cache.put(cache.snapshot(parameter), classpath)
+
+        when:
+        jar.delete()
+
+        then:
+        cache.get(cache.snapshot(parameter)) == null
+    }
+}
@@ -67,4 +67,19 @@ class BuildSrcUpdateFactoryTest extends Specification {
         then:
         1 * listenerFactory.create(true) >> listener
     }
+
+    def "records whether the build resolved static dependencies only"() {
+        cache.getBaseDir() >> temp.testDirectory
+        listener.hasStaticDependencies() >> staticDependencies
+
+        when:
+        factory.create()
+
+        then:
+        1 * listenerFactory.create(_) >> listener
+        factory.hasStaticDependencies() == staticDependencies
+
+        where:
+        staticDependencies << [true, false]
+    }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.listener
+
+import org.gradle.internal.UncheckedException
+import org.gradle.messaging.dispatch.MethodInvocation
+import spock.lang.Specification
+
+class ListenerInvokerTest extends Specification {
+    def "generates invoker for public listener interface"() {
+        expect:
+        ListenerInvoker.forType(TestListener).generated
+        ListenerInvoker.forType(TestListener).is(ListenerInvoker.forType(TestListener))
+    }
+
+    def "uses reflection for listener interface which cannot be seen by generated class"() {
+        expect:
+        !ListenerInvoker.forType(Runnable).generated
+    }
+
+    def "invokes listener methods with reference and primitive parameters"() {
+        def listener = Mock(TestListener)
+        def invoker = ListenerInvoker.forType(TestListener)
+
+        when:
+        invoker.invoke(listener, invocation("event1", String, "param"))
+        invoker.invoke(listener, invocation("event2", [Integer.TYPE, Long.TYPE, Boolean.TYPE] as Class[], 12, 14L, true))
+        invoker.invoke(listener, invocation("event3"))
+
+        then:
+        1 * listener.event1("param")
+        1 * listener.event2(12, 14L, true)
+        1 * listener.event3() >> 12L
+        0 * listener._
+    }
+
+    def "invokes methods inherited from super interface"() {
+        def listener = Mock(TestListener)
+        def invoker = ListenerInvoker.forType(TestListener)
+
+        when:
+        invoker.invoke(listener, new MethodInvocation(SuperListener.getMethod("inherited", String), ["param"] as Object[]))
+
+        then:
+        1 * listener.inherited("param")
+    }
+
+    def "uses reflection for methods from other types"() {
+        def listener = new TestListenerImpl()
+        def invoker = ListenerInvoker.forType(TestListener)
+
+        when:
+        invoker.invoke(listener, new MethodInvocation(TestListenerImpl.getMethod("other"), null))
+
+        then:
+        listener.otherCalled
+    }
+
+    def "rethrows unchecked failure thrown by listener"() {
+        def failure = new RuntimeException()
+        def listener = Mock(TestListener)
+        def invoker = ListenerInvoker.forType(TestListener)
+
+        given:
+        listener.event1("param") >> { throw failure }
+
+        when:
+        invoker.invoke(listener, invocation("event1", String, "param"))
+
+        then:
+        RuntimeException e = thrown()
+        e.is(failure)
+    }
+
+    def "wraps checked failure thrown by listener"() {
+        def failure = new IOException()
+        def listener = new TestListenerImpl(failure: failure)
+        def invoker = ListenerInvoker.forType(TestListener)
+
+        when:
+        invoker.invoke(listener, invocation("event1", String, "param"))
+
+        then:
+        UncheckedException e = thrown()
+        e.cause.is(failure)
+    }
+
+    private static MethodInvocation invocation(String name, Class type, Object... args) {
+        return invocation(name, [type] as Class[], args)
+    }
+
+    private static MethodInvocation invocation(String name, Class[] types, Object... args) {
+        return new MethodInvocation(TestListener.getMethod(name, types), args)
+    }
+
+    private static MethodInvocation invocation(String name) {
+        return new MethodInvocation(TestListener.getMethod(name), null)
+    }
+
+    interface SuperListener {
+        void inherited(String value)
+    }
+
+    interface TestListener extends SuperListener {
+        void event1(String value) throws IOException
+
+        void event2(int value, long other, boolean flag)
+
+        long event3()
+    }
+
+    static class TestListenerImpl implements TestListener {
+        Exception failure
+        boolean otherCalled
+
+        void event1(String value) {
+            throw failure
+        }
+
+        void event2(int value, long other, boolean flag) {
+        }
+
+        long event3() {
+            return 0
+        }
+
+        void inherited(String value) {
+        }
+
+        void other() {
+            otherCalled = true
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.logging.internal
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class AsynchronousOutputEventListenerTest extends OutputSpecification {
+    final List<OutputEvent> received = new CopyOnWriteArrayList<OutputEvent>()
+    final OutputEventListener target = { received << it } as OutputEventListener
+    AsynchronousOutputEventListener listener
+
+    def cleanup() {
+        listener?.stop()
+    }
+
+    def "delivers events in order"() {
+        given:
+        listener = new AsynchronousOutputEventListener(target, 100)
+        def events = (1..500).collect { event("message $it") }
+
+        when:
+        events.each { listener.onOutput(it) }
+        listener.flush()
+
+        then:
+        received == events
+        listener.queueDepth == 0
+    }
+
+    def "flushes after each batch"() {
+        given:
+        listener = new AsynchronousOutputEventListener(target, 100)
+        def flushes = 0
+        listener.flushAfterEachBatch({ flushes++ } as Flushable)
+
+        when:
+        listener.onOutput(event("message"))
+        listener.flush()
+
+        then:
+        received.size() == 1
+        flushes == listener.batches
+        flushes >= 1
+    }
+
+    def "discards status updates when queue is full"() {
+        given:
+        def blocked = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        listener = new AsynchronousOutputEventListener({ event ->
+            blocked.countDown()
+            release.await(10, TimeUnit.SECONDS)
+            received << event
+        } as OutputEventListener, 3)
+
+        when:
+        listener.onOutput(event("first"))
+        blocked.await(10, TimeUnit.SECONDS)
+        listener.onOutput(event("second"))
+        listener.onOutput(event("third"))
+        listener.onOutput(progress("status"))
+        release.countDown()
+        listener.flush()
+
+        then:
+        received*.message == ["first", "second", "third"]
+        listener.discardedEvents == 1
+    }
+
+    def "delivers events synchronously once stopped"() {
+        given:
+        listener = new AsynchronousOutputEventListener(target, 100)
+        def first = event("first")
+        def second = event("second")
+
+        when:
+        listener.onOutput(first)
+        listener.stop()
+        listener.onOutput(second)
+
+        then:
+        received == [first, second]
+    }
+
+    def "falls back to synchronous delivery and reports the failure when the delegate fails"() {
+        given:
+        def failure = new RuntimeException("broken")
+        listener = new AsynchronousOutputEventListener({ event ->
+            if (event.message == "broken") {
+                throw failure
+            }
+            received << event
+        } as OutputEventListener, 100)
+
+        when:
+        listener.onOutput(event("broken"))
+        listener.flush()
+        listener.onOutput(event("after"))
+
+        then:
+        RuntimeException e = thrown()
+        e == failure
+        received*.message == ["after"]
+
+        when:
+        listener.onOutput(event("later"))
+
+        then:
+        received*.message == ["after", "later"]
+    }
+
+    def "only the rendering thread renders in batches"() {
+        given:
+        def renderingBatch = []
+        listener = new AsynchronousOutputEventListener({ event -> renderingBatch << listener.renderingBatch } as OutputEventListener, 100)
+
+        when:
+        listener.onOutput(event("queued"))
+        listener.flush()
+        def callerRenderingBatch = listener.renderingBatch
+        listener.stop()
+        listener.onOutput(event("synchronous"))
+
+        then:
+        renderingBatch == [true, false]
+        !callerRenderingBatch
+    }
+}
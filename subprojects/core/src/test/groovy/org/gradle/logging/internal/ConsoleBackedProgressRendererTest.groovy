@@ -22,7 +22,8 @@ class ConsoleBackedProgressRendererTest extends OutputSpecification {
     private final Console console = Mock()
     private final Label statusBar = Mock()
     private final StatusBarFormatter statusBarFormatter = new DefaultStatusBarFormatter(Mock(ConsoleMetaData))
-    private final ConsoleBackedProgressRenderer renderer = new ConsoleBackedProgressRenderer(listener, console, statusBarFormatter)
+    private final UpdateNowScheduler updateNowScheduler = Mock()
+    private final ConsoleBackedProgressRenderer renderer = new ConsoleBackedProgressRenderer(listener, console, statusBarFormatter, updateNowScheduler)
 
     def setup() {
         (0..1) * console.getStatusBar() >> statusBar
@@ -193,7 +194,7 @@ class ConsoleBackedProgressRendererTest extends OutputSpecification {
         0 * statusBar._
 
         when:
-        renderer.onOutput(progress(''))
+        renderer.onOutput(new ProgressEvent(tenAm + 100, 'category', ''))
 
         then:
         1 * statusBar.setText('> short')
@@ -206,4 +207,84 @@ class ConsoleBackedProgressRendererTest extends OutputSpecification {
         1 * statusBar.setText('')
         0 * statusBar._
     }
+
+    def rateLimitsStatusUpdatesWithinAnOperation() {
+        when:
+        renderer.onOutput(start(status: 'status'))
+        renderer.onOutput(new ProgressEvent(tenAm, 'category', 'progress1'))
+
+        then:
+        1 * statusBar.setText('> status')
+        1 * statusBar.setText('> progress1')
+        0 * statusBar._
+
+        when:
+        renderer.onOutput(new ProgressEvent(tenAm + 10, 'category', 'progress2'))
+        renderer.onOutput(new ProgressEvent(tenAm + 50, 'category', 'progress3'))
+        renderer.onOutput(event(tenAm + 99, 'message'))
+
+        then:
+        1 * updateNowScheduler.scheduleUpdateNow(90)
+        0 * statusBar._
+
+        when:
+        renderer.onOutput(event(tenAm + 100, 'message'))
+
+        then:
+        1 * statusBar.setText('> progress3')
+        0 * statusBar._
+
+        when:
+        renderer.onOutput(event(tenAm + 300, 'message'))
+
+        then:
+        0 * statusBar._
+    }
+
+    def showsHeldBackStatusUpdateWhenScheduledUpdateIsDue() {
+        when:
+        renderer.onOutput(start(status: 'status'))
+        renderer.onOutput(new ProgressEvent(tenAm, 'category', 'progress1'))
+        renderer.onOutput(new ProgressEvent(tenAm + 30, 'category', 'progress2'))
+
+        then:
+        1 * statusBar.setText('> status')
+        1 * statusBar.setText('> progress1')
+        1 * updateNowScheduler.scheduleUpdateNow(70)
+        0 * statusBar._
+
+        when:
+        renderer.onOutput(new UpdateNowEvent(tenAm + 100))
+
+        then:
+        1 * statusBar.setText('> progress2')
+        0 * statusBar._
+        0 * listener._
+
+        when:
+        renderer.onOutput(new UpdateNowEvent(tenAm + 200))
+
+        then:
+        0 * statusBar._
+        0 * listener._
+        0 * updateNowScheduler._
+    }
+
+    def startingOrCompletingAnOperationIsNotRateLimited() {
+        when:
+        renderer.onOutput(start(status: 'status'))
+        renderer.onOutput(new ProgressEvent(tenAm, 'category', 'progress1'))
+        renderer.onOutput(new ProgressEvent(tenAm + 10, 'category', 'progress2'))
+        renderer.onOutput(start(status: 'status2'))
+        renderer.onOutput(new ProgressEvent(tenAm + 20, 'category', 'progress3'))
+        renderer.onOutput(complete('complete'))
+
+        then:
+        1 * statusBar.setText('> status')
+        1 * statusBar.setText('> progress1')
+        1 * statusBar.setText('> progress2 > status2')
+        1 * statusBar.setText('> progress2 > progress3')
+        1 * statusBar.setText('> progress2')
+        0 * statusBar._
+    }
 }
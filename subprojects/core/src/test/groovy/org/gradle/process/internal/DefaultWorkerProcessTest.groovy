@@ -21,6 +21,7 @@ package org.gradle.process.internal
 import org.gradle.messaging.remote.ConnectionAcceptor
 import org.gradle.messaging.remote.ObjectConnection
 import org.gradle.process.ExecResult
+import org.gradle.profile.TraceRecorder
 import org.gradle.util.JUnit4GroovyMockery
 import org.gradle.util.MultithreadedTestCase
 import org.jmock.Mockery
@@ -39,7 +40,7 @@ class DefaultWorkerProcessTest extends MultithreadedTestCase {
     private final Mockery context = new JUnit4GroovyMockery()
     private final ExecHandle execHandle = context.mock(ExecHandle.class)
     private final ObjectConnection connection = context.mock(ObjectConnection.class)
-    private final DefaultWorkerProcess workerProcess = new DefaultWorkerProcess(1, TimeUnit.SECONDS)
+    private final DefaultWorkerProcess workerProcess = new DefaultWorkerProcess(1, TimeUnit.SECONDS, new TraceRecorder(10))
 
     @Test
     public void startsChildProcessAndBlocksUntilConnectionEstablished() {
@@ -59,9 +60,13 @@ class DefaultWorkerProcessTest extends MultithreadedTestCase {
             one(acceptor).requestStop()
         }
 
+        assertThat(workerProcess.running, equalTo(false))
+
         expectBlocks {
             workerProcess.start()
         }
+
+        assertThat(workerProcess.running, equalTo(true))
     }
 
     @Test
@@ -118,6 +123,8 @@ class DefaultWorkerProcessTest extends MultithreadedTestCase {
                 assertThat(e.message, equalTo("Never received a connection from $execHandle." as String))
             }
         }
+
+        assertThat(workerProcess.running, equalTo(false))
     }
 
     @Test
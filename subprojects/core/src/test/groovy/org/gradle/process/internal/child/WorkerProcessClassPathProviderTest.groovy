@@ -16,14 +16,18 @@
 
 package org.gradle.process.internal.child
 
+import org.gradle.api.internal.classpath.Module
 import org.gradle.api.internal.classpath.ModuleRegistry
 import org.gradle.cache.CacheRepository
 import org.gradle.cache.DirectoryCacheBuilder
 import org.gradle.cache.PersistentCache
+import org.gradle.internal.classpath.DefaultClassPath
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.junit.Rule
 import spock.lang.Specification
 
+import java.util.zip.ZipFile
+
 class WorkerProcessClassPathProviderTest extends Specification {
     @Rule final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
     final CacheRepository cacheRepository = Mock()
@@ -72,4 +76,70 @@ class WorkerProcessClassPathProviderTest extends Specification {
         0 * cache._
         classpath.asFiles == [jarFile]
     }
+
+    def mergesTheWorkerProcessClasspathIntoASingleJar() {
+        def jar1 = jar("jar1", ["org/a/A.class": "a", "org/shared/S.class": "first", "META-INF/services/service": "a1", "META-INF/MANIFEST.MF": "manifest"])
+        def jar2 = jar("jar2", ["org/b/B.class": "b", "org/shared/S.class": "second", "META-INF/services/service": "b1"])
+        def cacheDir = tmpDir.createDir('cache')
+        def jarFile = cacheDir.file('gradle-worker-process.jar')
+        DirectoryCacheBuilder cacheBuilder = Mock()
+        PersistentCache cache = Mock()
+        def initializer = null
+
+        given:
+        def files = ["gradle-core": jar1, "guava": jar2]
+        moduleRegistry.getModule(_) >> { String name -> module(files[name]) }
+        moduleRegistry.getExternalModule(_) >> { String name -> module(files[name]) }
+
+        when:
+        def classpath = provider.findClassPath('WORKER_PROCESS')
+
+        then:
+        1 * cacheRepository.cache('workerProcess') >> cacheBuilder
+        1 * cacheBuilder.withProperties({ it.classpath != null }) >> cacheBuilder
+        1 * cacheBuilder.withInitializer(!null) >> { args -> initializer = args[0]; return cacheBuilder }
+        1 * cacheBuilder.open() >> { initializer.execute(cache); return cache }
+        _ * cache.getBaseDir() >> cacheDir
+        classpath.asFiles == [jarFile]
+
+        and:
+        def zip = new ZipFile(jarFile)
+        try {
+            assert zip.entries().findAll { !it.directory }.collect { it.name } as Set == ["org/a/A.class", "org/shared/S.class", "org/b/B.class", "META-INF/services/service"] as Set
+            assert zip.getInputStream(zip.getEntry("org/shared/S.class")).text == "first"
+            assert zip.getInputStream(zip.getEntry("META-INF/services/service")).text.readLines() == ["a1", "b1"]
+        } finally {
+            zip.close()
+        }
+    }
+
+    def usesTheWorkerProcessClasspathUnchangedWhenItContainsDirectories() {
+        def jar1 = jar("jar1", ["org/a/A.class": "a"])
+        def classesDir = tmpDir.createDir("classes")
+
+        given:
+        def files = ["gradle-core": jar1, "guava": classesDir]
+        moduleRegistry.getModule(_) >> { String name -> module(files[name]) }
+        moduleRegistry.getExternalModule(_) >> { String name -> module(files[name]) }
+
+        when:
+        def classpath = provider.findClassPath('WORKER_PROCESS')
+
+        then:
+        0 * cacheRepository._
+        classpath.asFiles == [jar1, classesDir]
+    }
+
+    private def jar(String name, Map<String, String> entries) {
+        def contentDir = tmpDir.createDir("${name}-content")
+        entries.each { path, content -> contentDir.file(path).text = content }
+        def jarFile = tmpDir.file("${name}.jar")
+        contentDir.zipTo(jarFile)
+        return jarFile
+    }
+
+    private Module module(File file) {
+        def classpath = file == null ? new DefaultClassPath() : new DefaultClassPath(file)
+        return [getImplementationClasspath: { classpath }, getClasspath: { classpath }] as Module
+    }
 }
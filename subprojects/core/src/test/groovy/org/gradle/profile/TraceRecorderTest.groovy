@@ -0,0 +1,85 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.profile
+
+import spock.lang.Specification
+
+class TraceRecorderTest extends Specification {
+
+    def "writes recorded events in trace event format"() {
+        def recorder = new TraceRecorder(10)
+
+        when:
+        recorder.start(TraceRecorder.TASK, ":compileJava")
+        recorder.finish(TraceRecorder.TASK, ":compileJava")
+        def trace = write(recorder)
+
+        then:
+        trace.startsWith('{"traceEvents":[')
+        trace.contains('"name":":compileJava","cat":"task","ph":"B","pid":1,"tid":' + Thread.currentThread().id)
+        trace.contains('"name":":compileJava","cat":"task","ph":"E"')
+        trace.trim().endsWith(']}')
+    }
+
+    def "overwrites oldest events when buffer is full"() {
+        def recorder = new TraceRecorder(3)
+
+        when:
+        (1..5).each { recorder.start("test", "op$it") }
+        def trace = write(recorder)
+
+        then:
+        recorder.recordedEvents == 5
+        !trace.contains('"op1"')
+        !trace.contains('"op2"')
+        trace.contains('"op3"')
+        trace.contains('"op5"')
+    }
+
+    def "escapes names"() {
+        def recorder = new TraceRecorder(3)
+
+        when:
+        recorder.start("test", 'some "quoted" \\ name\n')
+
+        then:
+        write(recorder).contains('"some \\"quoted\\" \\\\ name\\u000a"')
+    }
+
+    def "writes only events recorded since the given time"() {
+        def recorder = new TraceRecorder(10)
+
+        when:
+        recorder.start("test", "before")
+        Thread.sleep(20)
+        def since = System.currentTimeMillis()
+        Thread.sleep(20)
+        recorder.start("test", "after")
+        def writer = new StringWriter()
+        recorder.writeTo(since, writer)
+
+        then:
+        !writer.toString().contains('"before"')
+        writer.toString().contains('"after"')
+    }
+
+    private static String write(TraceRecorder recorder) {
+        def writer = new StringWriter()
+        recorder.writeTo(0, writer)
+        return writer.toString()
+    }
+}
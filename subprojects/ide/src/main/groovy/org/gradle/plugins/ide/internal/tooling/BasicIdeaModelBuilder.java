@@ -17,20 +17,26 @@
 package org.gradle.plugins.ide.internal.tooling;
 
 import org.gradle.api.Project;
+import org.gradle.api.specs.Spec;
+import org.gradle.api.specs.Specs;
 import org.gradle.tooling.internal.idea.DefaultIdeaProject;
-import org.gradle.tooling.provider.model.ToolingModelBuilder;
+import org.gradle.tooling.provider.model.internal.PartialToolingModelBuilder;
 
 /**
  * @author Szczepan Faber, created at: 7/23/11
  */
-public class BasicIdeaModelBuilder implements ToolingModelBuilder {
+public class BasicIdeaModelBuilder implements PartialToolingModelBuilder {
     public boolean canBuild(String modelName) {
         return modelName.equals("org.gradle.tooling.model.idea.BasicIdeaProject");
     }
 
     public DefaultIdeaProject buildAll(String modelName, Project project) {
+        return buildAll(modelName, project, Specs.satisfyAll());
+    }
+
+    public DefaultIdeaProject buildAll(String modelName, Project project, Spec<? super Project> projectSpec) {
         return new IdeaModelBuilder()
                 .setOfflineDependencyResolution(true)
-                .buildAll(modelName, project);
+                .buildAll(modelName, project, projectSpec);
     }
 }
@@ -19,6 +19,8 @@ package org.gradle.plugins.ide.internal.tooling;
 import org.apache.commons.lang.StringUtils;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
+import org.gradle.api.specs.Spec;
+import org.gradle.api.specs.Specs;
 import org.gradle.plugins.ide.eclipse.EclipsePlugin;
 import org.gradle.plugins.ide.eclipse.model.*;
 import org.gradle.tooling.internal.eclipse.*;
@@ -27,7 +29,7 @@ import org.gradle.tooling.internal.protocol.ExternalDependencyVersion1;
 import org.gradle.tooling.internal.protocol.eclipse.EclipseProjectDependencyVersion2;
 import org.gradle.tooling.internal.protocol.eclipse.EclipseSourceDirectoryVersion1;
 import org.gradle.tooling.internal.protocol.eclipse.EclipseTaskVersion1;
-import org.gradle.tooling.provider.model.ToolingModelBuilder;
+import org.gradle.tooling.provider.model.internal.PartialToolingModelBuilder;
 import org.gradle.util.GUtil;
 
 import java.io.File;
@@ -36,7 +38,7 @@ import java.util.*;
 /**
 * @author Adam Murdoch, Szczepan Faber, @date: 17.03.11
 */
-public class EclipseModelBuilder implements ToolingModelBuilder {
+public class EclipseModelBuilder implements PartialToolingModelBuilder {
     private boolean projectDependenciesOnly;
     private DefaultEclipseProject result;
     private final Map<String, DefaultEclipseProject> projectMapping = new HashMap<String, DefaultEclipseProject>();
@@ -44,6 +46,7 @@ public class EclipseModelBuilder implements ToolingModelBuilder {
     private GradleProjectBuilder gradleProjectBuilder = new GradleProjectBuilder();
     private DefaultGradleProject rootGradleProject;
     private Project currentProject;
+    private Spec<? super Project> projectSpec;
 
     public boolean canBuild(String modelName) {
         return modelName.equals("org.gradle.tooling.model.eclipse.EclipseProject")
@@ -51,12 +54,17 @@ public class EclipseModelBuilder implements ToolingModelBuilder {
     }
 
     public DefaultEclipseProject buildAll(String modelName, Project project) {
+        return buildAll(modelName, project, Specs.satisfyAll());
+    }
+
+    public DefaultEclipseProject buildAll(String modelName, Project project, Spec<? super Project> projectSpec) {
+        this.projectSpec = projectSpec;
         boolean includeTasks = modelName.equals("org.gradle.tooling.model.eclipse.EclipseProject");
         tasksFactory = new TasksFactory(includeTasks);
         projectDependenciesOnly = modelName.equals("org.gradle.tooling.model.eclipse.HierarchicalEclipseProject");
         currentProject = project;
         Project root = project.getRootProject();
-        rootGradleProject = gradleProjectBuilder.buildAll(project);
+        rootGradleProject = gradleProjectBuilder.buildAll(project, projectSpec);
         tasksFactory.collectTasks(root);
         applyEclipsePlugin(root);
         buildHierarchy(root);
@@ -80,6 +88,15 @@ public class EclipseModelBuilder implements ToolingModelBuilder {
     }
 
     private void populate(Project project) {
+        if (projectSpec.isSatisfiedBy(project)) {
+            populateDetails(project);
+        }
+        for (Project childProject : project.getChildProjects().values()) {
+            populate(childProject);
+        }
+    }
+
+    private void populateDetails(Project project) {
         EclipseModel eclipseModel = project.getPlugins().getPlugin(EclipsePlugin.class).getModel();
         EclipseClasspath classpath = eclipseModel.getClasspath();
 
@@ -125,10 +142,6 @@ public class EclipseModelBuilder implements ToolingModelBuilder {
             tasks.add(new DefaultEclipseTask(eclipseProject, t.getPath(), t.getName(), t.getDescription()));
         }
         eclipseProject.setTasks(tasks);
-
-        for (Project childProject : project.getChildProjects().values()) {
-            populate(childProject);
-        }
     }
 
     private DefaultEclipseProject buildHierarchy(Project project) {
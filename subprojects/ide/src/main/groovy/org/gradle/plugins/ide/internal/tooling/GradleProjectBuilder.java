@@ -18,13 +18,16 @@ package org.gradle.plugins.ide.internal.tooling;
 
 import org.gradle.api.Project;
 import org.gradle.api.Task;
+import org.gradle.api.specs.Spec;
+import org.gradle.api.specs.Specs;
 import org.gradle.api.tasks.TaskContainer;
 import org.gradle.tooling.internal.gradle.DefaultGradleProject;
 import org.gradle.tooling.internal.gradle.DefaultGradleTask;
 import org.gradle.tooling.model.GradleTask;
-import org.gradle.tooling.provider.model.ToolingModelBuilder;
+import org.gradle.tooling.provider.model.internal.PartialToolingModelBuilder;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -33,23 +36,34 @@ import java.util.List;
  *
  * @author Szczepan Faber, created at: 7/27/11
  */
-public class GradleProjectBuilder implements ToolingModelBuilder {
+public class GradleProjectBuilder implements PartialToolingModelBuilder {
     public boolean canBuild(String modelName) {
         return modelName.equals("org.gradle.tooling.model.GradleProject");
     }
 
     public Object buildAll(String modelName, Project project) {
-        return buildHierarchy(project.getRootProject());
+        return buildAll(project);
+    }
+
+    public Object buildAll(String modelName, Project project, Spec<? super Project> projectSpec) {
+        return buildAll(project, projectSpec);
     }
 
     public DefaultGradleProject buildAll(Project project) {
-        return buildHierarchy(project.getRootProject());
+        return buildAll(project, Specs.satisfyAll());
     }
 
-    private DefaultGradleProject buildHierarchy(Project project) {
+    /**
+     * Builds the hierarchy containing all projects, including the tasks only of those projects that satisfy the given spec.
+     */
+    public DefaultGradleProject buildAll(Project project, Spec<? super Project> projectSpec) {
+        return buildHierarchy(project.getRootProject(), projectSpec);
+    }
+
+    private DefaultGradleProject buildHierarchy(Project project, Spec<? super Project> projectSpec) {
         List<DefaultGradleProject> children = new ArrayList<DefaultGradleProject>();
         for (Project child : project.getChildProjects().values()) {
-            children.add(buildHierarchy(child));
+            children.add(buildHierarchy(child, projectSpec));
         }
 
         DefaultGradleProject gradleProject = new DefaultGradleProject()
@@ -58,7 +72,11 @@ public class GradleProjectBuilder implements ToolingModelBuilder {
                 .setDescription(project.getDescription())
                 .setChildren(children);
 
-        gradleProject.setTasks(tasks(gradleProject, project.getTasks()));
+        if (projectSpec.isSatisfiedBy(project)) {
+            gradleProject.setTasks(tasks(gradleProject, project.getTasks()));
+        } else {
+            gradleProject.setTasks(Collections.<GradleTask>emptyList());
+        }
 
         for (DefaultGradleProject child : children) {
             child.setParent(gradleProject);
@@ -17,6 +17,8 @@
 package org.gradle.plugins.ide.internal.tooling;
 
 import org.gradle.api.Project;
+import org.gradle.api.specs.Spec;
+import org.gradle.api.specs.Specs;
 import org.gradle.plugins.ide.idea.IdeaPlugin;
 import org.gradle.plugins.ide.idea.model.*;
 import org.gradle.tooling.internal.gradle.DefaultGradleModuleVersion;
@@ -24,7 +26,7 @@ import org.gradle.tooling.internal.idea.*;
 import org.gradle.tooling.model.GradleProject;
 import org.gradle.tooling.model.idea.IdeaDependency;
 import org.gradle.tooling.model.idea.IdeaSourceDirectory;
-import org.gradle.tooling.provider.model.ToolingModelBuilder;
+import org.gradle.tooling.provider.model.internal.PartialToolingModelBuilder;
 
 import java.io.File;
 import java.util.*;
@@ -32,7 +34,7 @@ import java.util.*;
 /**
  * @author Szczepan Faber, created at: 7/23/11
  */
-public class IdeaModelBuilder implements ToolingModelBuilder {
+public class IdeaModelBuilder implements PartialToolingModelBuilder {
     private final GradleProjectBuilder gradleProjectBuilder = new GradleProjectBuilder();
     private boolean offlineDependencyResolution;
 
@@ -41,10 +43,14 @@ public class IdeaModelBuilder implements ToolingModelBuilder {
     }
 
     public DefaultIdeaProject buildAll(String modelName, Project project) {
+        return buildAll(modelName, project, Specs.satisfyAll());
+    }
+
+    public DefaultIdeaProject buildAll(String modelName, Project project, Spec<? super Project> projectSpec) {
         Project root = project.getRootProject();
         applyIdeaPlugin(root);
-        GradleProject rootGradleProject = gradleProjectBuilder.buildAll(project);
-        return build(root, rootGradleProject);
+        GradleProject rootGradleProject = gradleProjectBuilder.buildAll(project, projectSpec);
+        return build(root, rootGradleProject, projectSpec);
     }
 
     private void applyIdeaPlugin(Project root) {
@@ -55,7 +61,7 @@ public class IdeaModelBuilder implements ToolingModelBuilder {
         root.getPlugins().getPlugin(IdeaPlugin.class).makeSureModuleNamesAreUnique();
     }
 
-    private DefaultIdeaProject build(Project project, GradleProject rootGradleProject) {
+    private DefaultIdeaProject build(Project project, GradleProject rootGradleProject, Spec<? super Project> projectSpec) {
         IdeaModel ideaModel = project.getPlugins().getPlugin(IdeaPlugin.class).getModel();
         IdeaProject projectModel = ideaModel.getProject();
 
@@ -69,7 +75,9 @@ public class IdeaModelBuilder implements ToolingModelBuilder {
             appendModule(modules, module, out, rootGradleProject);
         }
         for (IdeaModule module : projectModel.getModules()) {
-            buildDependencies(modules, module);
+            if (projectSpec.isSatisfiedBy(module.getProject())) {
+                buildDependencies(modules, module);
+            }
         }
         out.setChildren(new LinkedList<DefaultIdeaModule>(modules.values()));
 
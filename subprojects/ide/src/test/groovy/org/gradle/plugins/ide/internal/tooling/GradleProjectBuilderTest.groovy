@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.plugins.ide.internal.tooling
+
+import org.gradle.api.Project
+import org.gradle.api.specs.Spec
+import org.gradle.util.HelperUtil
+import spock.lang.Specification
+
+class GradleProjectBuilderTest extends Specification {
+    final root = HelperUtil.createRootProject()
+    final child1 = HelperUtil.createChildProject(root, "child1")
+    final child2 = HelperUtil.createChildProject(root, "child2")
+    final builder = new GradleProjectBuilder()
+
+    def setup() {
+        root.tasks.add("rootTask")
+        child1.tasks.add("child1Task")
+        child2.tasks.add("child2Task")
+    }
+
+    def "builds hierarchy containing tasks of all projects"() {
+        when:
+        def model = builder.buildAll(child1)
+
+        then:
+        model.path == ":"
+        model.tasks*.path == [":rootTask"]
+        model.children*.path == [":child1", ":child2"]
+        model.findByPath(":child1").tasks*.path == [":child1:child1Task"]
+        model.findByPath(":child2").tasks*.path == [":child2:child2Task"]
+    }
+
+    def "builds complete hierarchy containing tasks of selected projects only"() {
+        def spec = { Project p -> p.path == ":child2" } as Spec
+
+        when:
+        def model = builder.buildAll("org.gradle.tooling.model.GradleProject", child1, spec)
+
+        then:
+        model.path == ":"
+        model.tasks.empty
+        model.children*.path == [":child1", ":child2"]
+        model.findByPath(":child1").tasks.empty
+        model.findByPath(":child2").tasks*.path == [":child2:child2Task"]
+    }
+}
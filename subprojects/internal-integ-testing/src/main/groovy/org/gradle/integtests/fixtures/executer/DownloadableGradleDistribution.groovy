@@ -22,6 +22,7 @@ import org.gradle.cache.PersistentCache
 import org.gradle.cache.internal.*
 import org.gradle.cache.internal.locklistener.NoOpFileLockListener
 import org.gradle.internal.nativeplatform.services.NativeServices
+import org.gradle.profile.TraceRecorder
 import org.gradle.test.fixtures.file.TestFile
 import org.gradle.util.GradleVersion
 
@@ -35,7 +36,7 @@ abstract class DownloadableGradleDistribution extends DefaultGradleDistribution
                         new DefaultProcessMetaDataProvider(
                                 NativeServices.getInstance().get(org.gradle.internal.nativeplatform.ProcessEnvironment)),
                         20 * 60 * 1000 // allow up to 20 minutes to download a distribution
-                , new NoOpFileLockListener()    )).create()
+                , new NoOpFileLockListener()    ), new TraceRecorder(10)).create()
     }
 
     protected TestFile versionDir
@@ -339,6 +339,57 @@ class HttpServer extends ExternalResource {
         });
     }
 
+    /**
+     * Allows one GET request for the given URL. Advertises support for byte ranges, then drops the connection after sending the given number of bytes of the file.
+     */
+    void expectGetInterrupted(String path, File srcFile, int bytesSent) {
+        expect(path, false, ['GET'], new Action() {
+            String getDisplayName() {
+                return "return the first $bytesSent bytes of $srcFile.name then drop the connection"
+            }
+
+            void handle(HttpServletRequest request, HttpServletResponse response) {
+                def content = srcFile.bytes
+                response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes")
+                response.setHeader(HttpHeaders.ETAG, rangeEtag(content))
+                response.setContentLength(content.length)
+                response.outputStream.write(content, 0, bytesSent)
+                response.outputStream.flush()
+                HttpConnection.currentConnection.endPoint.close()
+            }
+        })
+    }
+
+    /**
+     * Allows one GET request for the given URL, which must request the remainder of the file from some offset using a range validated by
+     * the ETag sent by {@link #expectGetInterrupted}.
+     */
+    void expectGetRange(String path, File srcFile) {
+        expect(path, false, ['GET'], new Action() {
+            String getDisplayName() {
+                return "return the requested range of $srcFile.name"
+            }
+
+            void handle(HttpServletRequest request, HttpServletResponse response) {
+                def content = srcFile.bytes
+                def range = request.getHeader(HttpHeaders.RANGE)
+                def matcher = range =~ /bytes=(\d+)-/
+                assert matcher.matches(): "Unexpected range header: $range"
+                assert request.getHeader(HttpHeaders.IF_RANGE) == rangeEtag(content)
+                int start = matcher[0][1] as int
+                response.status = 206
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes $start-${content.length - 1}/$content.length")
+                response.setHeader(HttpHeaders.ETAG, rangeEtag(content))
+                response.setContentLength(content.length - start)
+                response.outputStream.write(content, start, content.length - start)
+            }
+        })
+    }
+
+    private static String rangeEtag(byte[] content) {
+        return "\"${HashUtil.sha1(content).asHexString()}\""
+    }
+
     /**
      * Allow one GET request for the given URL, responding with a redirect.
      */
@@ -167,6 +167,9 @@ class BuildActionsFactory implements CommandLineAction {
         }
         //end of workaround.
 
+        // A single use daemon cannot be reused, so there's no point keeping standby daemons for it
+        daemonParameters.setStandbyDaemons(0);
+
         // Create a client that will not match any existing daemons, so it will always startup a new one
         DaemonClientServices clientServices = new SingleUseDaemonClientServices(loggingServices, daemonParameters, System.in);
         DaemonClient client = clientServices.get(DaemonClient.class);
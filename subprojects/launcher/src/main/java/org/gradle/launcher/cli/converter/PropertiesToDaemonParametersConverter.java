@@ -65,6 +65,20 @@ public class PropertiesToDaemonParametersConverter {
             target.setBaseDir(new File(prop));
         }
 
+        prop = properties.get(STANDBY_DAEMONS_PROPERTY);
+        if (prop != null) {
+            int standbyDaemons;
+            try {
+                standbyDaemons = Integer.parseInt(prop);
+            } catch (NumberFormatException e) {
+                throw new GradleException(String.format("Unable to parse %s property. The value should be an int but is: %s", STANDBY_DAEMONS_PROPERTY, prop));
+            }
+            if (standbyDaemons < 0) {
+                throw new GradleException(String.format("Unable to parse %s property. The value should not be negative but is: %s", STANDBY_DAEMONS_PROPERTY, prop));
+            }
+            target.setStandbyDaemons(standbyDaemons);
+        }
+
         target.setEnabled(isTrue(properties.get(DAEMON_ENABLED_PROPERTY)));
         target.setDebug(isTrue(properties.get(DEBUG_MODE_PROPERTY)));
     }
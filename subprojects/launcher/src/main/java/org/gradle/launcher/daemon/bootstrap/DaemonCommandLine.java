@@ -0,0 +1,87 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.launcher.daemon.bootstrap;
+
+import org.gradle.api.internal.classpath.DefaultModuleRegistry;
+import org.gradle.util.CollectionUtils;
+import org.gradle.util.GradleVersion;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds the command line that starts a daemon process, in the form expected by {@link DaemonMain}.
+ */
+public class DaemonCommandLine {
+    private final String javaExecutable;
+    private final List<String> daemonOpts;
+    private final File daemonBaseDir;
+    private final int idleTimeout;
+    private final File gradleUserHomeDir;
+    private final int standbyDaemons;
+
+    public DaemonCommandLine(String javaExecutable, List<String> daemonOpts, File daemonBaseDir, int idleTimeout, File gradleUserHomeDir, int standbyDaemons) {
+        this.javaExecutable = javaExecutable;
+        this.daemonOpts = daemonOpts;
+        this.daemonBaseDir = daemonBaseDir;
+        this.idleTimeout = idleTimeout;
+        this.gradleUserHomeDir = gradleUserHomeDir;
+        this.standbyDaemons = standbyDaemons;
+    }
+
+    /**
+     * Returns the command line for a daemon with the given uid.
+     *
+     * @param standby Whether the daemon is started ahead of demand, rather than for a client that is waiting to connect to it.
+     */
+    public List<String> create(String uid, boolean standby) {
+        DefaultModuleRegistry registry = new DefaultModuleRegistry();
+        Set<File> bootstrapClasspath = new LinkedHashSet<File>();
+        bootstrapClasspath.addAll(registry.getModule("gradle-launcher").getImplementationClasspath().getAsFiles());
+        if (registry.getGradleHome() == null) {
+            // Running from the classpath - chuck in everything we can find
+            bootstrapClasspath.addAll(registry.getFullClasspath());
+        }
+        if (bootstrapClasspath.isEmpty()) {
+            throw new IllegalStateException("Unable to construct a bootstrap classpath when starting the daemon");
+        }
+
+        List<String> daemonArgs = new ArrayList<String>();
+        daemonArgs.add(javaExecutable);
+        daemonArgs.addAll(daemonOpts);
+        //Useful for debugging purposes - simply uncomment and connect to debug
+//        daemonArgs.add("-Xdebug");
+//        daemonArgs.add("-Xrunjdwp:transport=dt_socket,server=y,suspend=y,address=5006");
+        daemonArgs.add("-cp");
+        daemonArgs.add(CollectionUtils.join(File.pathSeparator, bootstrapClasspath));
+        daemonArgs.add(GradleDaemon.class.getName());
+        daemonArgs.add(GradleVersion.current().getVersion());
+        daemonArgs.add(daemonBaseDir.getAbsolutePath());
+        daemonArgs.add(String.valueOf(idleTimeout));
+        daemonArgs.add(uid);
+        daemonArgs.add(gradleUserHomeDir.getAbsolutePath());
+        daemonArgs.add(String.valueOf(standbyDaemons));
+        daemonArgs.add(String.valueOf(standby));
+
+        //all remaining arguments are daemon startup jvm opts.
+        //we need to pass them as *program* arguments to avoid problems with getInputArguments().
+        daemonArgs.addAll(daemonOpts);
+        return daemonArgs;
+    }
+}
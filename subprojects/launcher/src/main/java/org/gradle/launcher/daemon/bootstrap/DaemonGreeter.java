@@ -20,6 +20,7 @@ import org.gradle.api.GradleException;
 import org.gradle.api.internal.DocumentationRegistry;
 import org.gradle.launcher.daemon.diagnostics.DaemonDiagnostics;
 import org.gradle.launcher.daemon.logging.DaemonMessages;
+import org.gradle.launcher.daemon.registry.DaemonInfo;
 import org.gradle.process.ExecResult;
 
 /**
@@ -36,10 +37,22 @@ public class DaemonGreeter {
         if (!new DaemonStartupCommunication().containsGreeting(output)) {
             throw new GradleException(prepareMessage(output, result));
         }
+        return new DaemonStartupCommunication().readDiagnostics(greetingLine(output));
+    }
+
+    /**
+     * Reads the address the daemon announced in its greeting. Should only be called once {@link #parseDaemonOutput(String, ExecResult)} has validated the output.
+     *
+     * @return the daemon info, or null when the daemon did not announce its address.
+     */
+    public DaemonInfo parseDaemonInfo(String output) {
+        return new DaemonStartupCommunication().readDaemonInfo(greetingLine(output));
+    }
+
+    private String greetingLine(String output) {
         String[] lines = output.split("\n");
         //TODO SF don't assume it is the last line
-        String lastLine = lines[lines.length-1];
-        return new DaemonStartupCommunication().readDiagnostics(lastLine);
+        return lines[lines.length-1];
     }
 
     private String prepareMessage(String output, ExecResult result) {
@@ -19,23 +19,34 @@ import com.google.common.io.Files;
 import org.gradle.api.logging.LogLevel;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
+import org.gradle.initialization.DaemonProcess;
 import org.gradle.launcher.bootstrap.EntryPoint;
 import org.gradle.launcher.bootstrap.ExecutionListener;
 import org.gradle.launcher.daemon.configuration.DaemonServerConfiguration;
 import org.gradle.launcher.daemon.configuration.DefaultDaemonServerConfiguration;
 import org.gradle.launcher.daemon.context.DaemonContext;
+import org.gradle.launcher.daemon.diagnostics.DaemonDiagnostics;
 import org.gradle.launcher.daemon.logging.DaemonMessages;
+import org.gradle.launcher.daemon.registry.DaemonDir;
+import org.gradle.launcher.daemon.registry.DaemonRegistry;
 import org.gradle.launcher.daemon.server.Daemon;
 import org.gradle.launcher.daemon.server.DaemonServices;
+import org.gradle.launcher.daemon.server.DaemonWarmUp;
+import org.gradle.launcher.daemon.server.StandbyDaemonStarter;
 import org.gradle.logging.LoggingManagerInternal;
 import org.gradle.logging.LoggingServiceRegistry;
+import org.gradle.messaging.remote.Address;
+import org.gradle.util.Clock;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -55,8 +66,8 @@ public class DaemonMain extends EntryPoint {
 
     public static void main(String[] args) {
         //The first argument is not really used but it is very useful in diagnosing, i.e. running 'jps -m'
-        if (args.length < 4) {
-            invalidArgs("Following arguments are required: <gradle-version> <daemon-dir> <timeout-millis> <daemonUid> <optional startup jvm opts>");
+        if (args.length < 7) {
+            invalidArgs("Following arguments are required: <gradle-version> <daemon-dir> <timeout-millis> <daemonUid> <gradle-user-home> <standby-daemons> <standby> <optional startup jvm opts>");
         }
         File daemonBaseDir = new File(args[1]);
 
@@ -68,15 +79,24 @@ public class DaemonMain extends EntryPoint {
         }
 
         String daemonUid = args[3];
+        File gradleUserHomeDir = new File(args[4]);
+
+        int standbyDaemons = 0;
+        try {
+            standbyDaemons = Integer.parseInt(args[5]);
+        } catch (NumberFormatException e) {
+            invalidArgs("Sixth argument must be a whole number (i.e. number of standby daemons)");
+        }
+        boolean standby = Boolean.valueOf(args[6]);
 
         List<String> startupOpts = new LinkedList<String>();
-        for (int i = 4; i < args.length; i++) {
+        for (int i = 7; i < args.length; i++) {
             startupOpts.add(args[i]);
         }
         LOGGER.debug("Assuming the daemon was started with following jvm opts: {}", startupOpts);
 
         DaemonServerConfiguration parameters = new DefaultDaemonServerConfiguration(
-                daemonUid, daemonBaseDir, idleTimeoutMs, startupOpts);
+                daemonUid, daemonBaseDir, idleTimeoutMs, startupOpts, gradleUserHomeDir, standbyDaemons, standby);
         DaemonMain daemonMain = new DaemonMain(parameters);
 
         daemonMain.run();
@@ -93,6 +113,13 @@ public class DaemonMain extends EntryPoint {
     }
 
     protected void doAction(ExecutionListener listener) {
+        Map<String, Long> startupPhases = new LinkedHashMap<String, Long>();
+        Clock clock = new Clock(ManagementFactory.getRuntimeMXBean().getStartTime());
+        startupPhases.put("jvm startup", clock.getTimeInMs());
+        clock.reset();
+
+        DaemonProcess.markAsDaemon();
+
         LoggingServiceRegistry loggingRegistry = LoggingServiceRegistry.newProcessLogging();
         LoggingManagerInternal loggingManager = loggingRegistry.newInstance(LoggingManagerInternal.class);
         DaemonServices daemonServices = new DaemonServices(configuration, loggingRegistry, loggingManager);
@@ -107,13 +134,22 @@ public class DaemonMain extends EntryPoint {
             }
         });
 
+        daemonServices.add(StandbyDaemonStarter.class, new DefaultStandbyDaemonStarter(configuration, daemonServices.get(DaemonDir.class)));
+
+        startupPhases.put("daemon services", clock.getTimeInMs());
+        clock.reset();
+
         Daemon daemon = startDaemon(daemonServices);
+        startupPhases.put("daemon server start", clock.getTimeInMs());
 
         Long pid = daemonContext.getPid();
         LOGGER.lifecycle(DaemonMessages.PROCESS_STARTED + ((pid == null)? "":" Pid: " + pid + "."));
-        daemonStarted(pid, daemonLog);
+        daemonStarted(new DaemonDiagnostics(daemonLog, pid, startupPhases), daemon.getAddress(), daemonContext);
 
         try {
+            if (configuration.isStandby()) {
+                warmUp(daemonServices, daemon);
+            }
             daemon.requestStopOnIdleTimeout(configuration.getIdleTimeout(), TimeUnit.MILLISECONDS);
             LOGGER.info("Daemon hit idle timeout (" + configuration.getIdleTimeout() + "ms), stopping...");
         } finally {
@@ -121,9 +157,10 @@ public class DaemonMain extends EntryPoint {
         }
     }
 
-    protected void daemonStarted(Long pid, File daemonLog) {
+    protected void daemonStarted(DaemonDiagnostics diagnostics, Address address, DaemonContext daemonContext) {
+        LOGGER.debug("Daemon startup phases: {}", diagnostics.describeStartupPhases());
         //directly printing to the stream to avoid log level filtering.
-        new DaemonStartupCommunication().printDaemonStarted(originalOut, pid, daemonLog);
+        new DaemonStartupCommunication().printDaemonStarted(originalOut, diagnostics, address, daemonContext);
         try {
             originalOut.close();
             originalErr.close();
@@ -136,6 +173,15 @@ public class DaemonMain extends EntryPoint {
         }
     }
 
+    /**
+     * A standby daemon starts in the busy state, like any other daemon, but nobody is waiting to use it. Warm it up before advertising it as idle.
+     */
+    private void warmUp(DaemonServices daemonServices, Daemon daemon) {
+        daemonServices.get(DaemonWarmUp.class).run();
+        LOGGER.info("Advertising the standby daemon as idle.");
+        daemonServices.get(DaemonRegistry.class).markIdle(daemon.getAddress());
+    }
+
     protected void initialiseLogging(LoggingManagerInternal loggingManager, File daemonLog) {
         //create log file
         PrintStream result;
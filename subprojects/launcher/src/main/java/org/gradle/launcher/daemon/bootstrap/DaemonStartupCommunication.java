@@ -18,11 +18,16 @@ package org.gradle.launcher.daemon.bootstrap;
 
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
+import org.gradle.internal.io.ClassLoaderObjectInputStream;
+import org.gradle.launcher.daemon.context.DaemonContext;
 import org.gradle.launcher.daemon.diagnostics.DaemonDiagnostics;
 import org.gradle.launcher.daemon.logging.DaemonMessages;
+import org.gradle.launcher.daemon.registry.DaemonInfo;
+import org.gradle.messaging.remote.Address;
 
-import java.io.File;
-import java.io.PrintStream;
+import java.io.*;
+import java.util.Collections;
+import java.util.Map;
 
 /**
  * by Szczepan Faber, created at: 4/10/12
@@ -32,8 +37,12 @@ public class DaemonStartupCommunication {
     private static final String DELIM = ";:"; //this very simple delim should be safe for any kind of path.
     private static final Logger LOGGER = Logging.getLogger(DaemonStartupCommunication.class);
 
-    public void printDaemonStarted(PrintStream target, Long pid, File daemonLog) {
-        target.println(daemonStartedMessage(pid, daemonLog));
+    /**
+     * Prints the daemon greeting. Besides the diagnostics, the greeting carries the address the daemon is listening on, so that the client that
+     * started the daemon can connect to it straight away rather than waiting for the daemon to show up in the registry.
+     */
+    public void printDaemonStarted(PrintStream target, DaemonDiagnostics diagnostics, Address address, DaemonContext context) {
+        target.println(daemonStartedMessage(diagnostics, address, context));
         //ibm vm 1.6 + windows XP gotchas:
         //we need to print something else to the stream after we print the daemon greeting.
         //without it, the parent hangs without receiving the message above (flushing does not help).
@@ -41,8 +50,8 @@ public class DaemonStartupCommunication {
         //btw. the ibm vm+winXP also has some issues detecting closed streams by the child but we handle this problem differently.
     }
 
-    String daemonStartedMessage(Long pid, File daemonLog) {
-        return daemonGreeting() + DELIM + pid + DELIM + daemonLog;
+    String daemonStartedMessage(DaemonDiagnostics diagnostics, Address address, DaemonContext context) {
+        return daemonGreeting() + DELIM + diagnostics.getPid() + DELIM + diagnostics.getDaemonLog() + DELIM + encode(address, context, diagnostics.getStartupPhases());
     }
 
     public DaemonDiagnostics readDiagnostics(String message) {
@@ -51,7 +60,24 @@ public class DaemonStartupCommunication {
         String pidString = split[1];
         Long pid = pidString.equals("null")? null : Long.valueOf(pidString);
         File daemonLog = new File(split[2]);
-        return new DaemonDiagnostics(daemonLog, pid);
+        Object[] payload = decode(split);
+        if (payload == null) {
+            return new DaemonDiagnostics(daemonLog, pid);
+        }
+        return new DaemonDiagnostics(daemonLog, pid, (Map<String, Long>) payload[2]);
+    }
+
+    /**
+     * Reads the address and context announced by the daemon.
+     *
+     * @return the daemon info, or null when the greeting does not contain the address of the daemon.
+     */
+    public DaemonInfo readDaemonInfo(String message) {
+        Object[] payload = decode(message.split(DELIM));
+        if (payload == null) {
+            return null;
+        }
+        return new DaemonInfo((Address) payload[0], (DaemonContext) payload[1], null, false);
     }
 
     public boolean containsGreeting(String message) {
@@ -64,4 +90,46 @@ public class DaemonStartupCommunication {
     private static String daemonGreeting() {
         return DaemonMessages.ABOUT_TO_CLOSE_STREAMS;
     }
+
+    private static String encode(Address address, DaemonContext context, Map<String, Long> startupPhases) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            ObjectOutputStream objectStream = new ObjectOutputStream(bytes);
+            objectStream.writeObject(address);
+            objectStream.writeObject(context);
+            objectStream.writeObject(startupPhases);
+            objectStream.close();
+        } catch (IOException e) {
+            LOGGER.debug("Unable to encode the daemon address into the greeting.", e);
+            return "";
+        }
+        StringBuilder hex = new StringBuilder(bytes.size() * 2);
+        for (byte b : bytes.toByteArray()) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16));
+            hex.append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    private Object[] decode(String[] split) {
+        // Greetings from older daemons, or daemons that failed to encode their address, have no payload
+        if (split.length < 4 || split[3].trim().length() == 0) {
+            return null;
+        }
+        String hex = split[3].trim();
+        byte[] bytes = new byte[hex.length() / 2];
+        try {
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+            }
+            ObjectInputStream objectStream = new ClassLoaderObjectInputStream(new ByteArrayInputStream(bytes), getClass().getClassLoader());
+            Object address = objectStream.readObject();
+            Object context = objectStream.readObject();
+            Map<String, Long> startupPhases = (Map<String, Long>) objectStream.readObject();
+            return new Object[] {address, context, startupPhases == null ? Collections.<String, Long>emptyMap() : startupPhases};
+        } catch (Exception e) {
+            LOGGER.debug("Unable to decode the daemon address from the greeting.", e);
+            return null;
+        }
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.launcher.daemon.bootstrap;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.internal.jvm.Jvm;
+import org.gradle.launcher.daemon.DaemonExecHandleBuilder;
+import org.gradle.launcher.daemon.configuration.DaemonServerConfiguration;
+import org.gradle.launcher.daemon.registry.DaemonDir;
+import org.gradle.launcher.daemon.server.StandbyDaemonStarter;
+import org.gradle.process.ExecResult;
+import org.gradle.process.internal.ExecHandle;
+import org.gradle.util.Clock;
+import org.gradle.util.GFileUtils;
+
+import java.io.File;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts standby daemons from a daemon process. A standby daemon uses the same JVM and startup options as this daemon, so that it is compatible
+ * with the same clients, and warms up using the Gradle user home of the client that started this daemon.
+ */
+public class DefaultStandbyDaemonStarter implements StandbyDaemonStarter {
+    private static final Logger LOGGER = Logging.getLogger(DefaultStandbyDaemonStarter.class);
+
+    private final DaemonServerConfiguration configuration;
+    private final DaemonDir daemonDir;
+
+    public DefaultStandbyDaemonStarter(DaemonServerConfiguration configuration, DaemonDir daemonDir) {
+        this.configuration = configuration;
+        this.daemonDir = daemonDir;
+    }
+
+    public void startStandbyDaemon() {
+        DaemonCommandLine commandLine = new DaemonCommandLine(Jvm.current().getJavaExecutable().getAbsolutePath(), configuration.getJvmOptions(),
+                configuration.getBaseDir(), configuration.getIdleTimeout(), configuration.getGradleUserHomeDir(), configuration.getStandbyDaemons());
+        List<String> args = commandLine.create(UUID.randomUUID().toString(), true);
+        File workingDir = daemonDir.getVersionedDir();
+
+        LOGGER.info("Starting standby daemon process: workingDir = {}, daemonArgs: {}", workingDir, args);
+        Clock clock = new Clock();
+        GFileUtils.mkdirs(workingDir);
+        DaemonOutputConsumer outputConsumer = new DaemonOutputConsumer();
+        ExecHandle handle = new DaemonExecHandleBuilder().build(args, workingDir, outputConsumer);
+        handle.start();
+        ExecResult result = handle.waitForFinish();
+        String output = outputConsumer.getProcessOutput();
+        if (result.getExitValue() != 0 || !new DaemonStartupCommunication().containsGreeting(output)) {
+            throw new GradleException(String.format("Could not start standby daemon. Process output:%n%s", output));
+        }
+        LOGGER.info("Standby daemon process detached after {}.", clock.getTime());
+    }
+}
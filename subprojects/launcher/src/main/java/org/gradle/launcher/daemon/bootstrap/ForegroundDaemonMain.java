@@ -16,10 +16,13 @@
 package org.gradle.launcher.daemon.bootstrap;
 
 import org.gradle.launcher.daemon.configuration.DaemonServerConfiguration;
+import org.gradle.launcher.daemon.context.DaemonContext;
+import org.gradle.launcher.daemon.diagnostics.DaemonDiagnostics;
 import org.gradle.launcher.daemon.registry.DaemonRegistry;
 import org.gradle.launcher.daemon.server.Daemon;
 import org.gradle.launcher.daemon.server.DaemonServices;
 import org.gradle.logging.LoggingManagerInternal;
+import org.gradle.messaging.remote.Address;
 
 import java.io.File;
 
@@ -36,7 +39,7 @@ public class ForegroundDaemonMain extends DaemonMain {
     }
 
     @Override
-    protected void daemonStarted(Long pid, File daemonLog) {
+    protected void daemonStarted(DaemonDiagnostics diagnostics, Address address, DaemonContext daemonContext) {
         //don't do anything
     }
 
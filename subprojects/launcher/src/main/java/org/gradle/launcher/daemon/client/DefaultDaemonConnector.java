@@ -21,6 +21,7 @@ import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.internal.UncheckedException;
 import org.gradle.launcher.daemon.context.DaemonContext;
+import org.gradle.launcher.daemon.diagnostics.DaemonDiagnostics;
 import org.gradle.launcher.daemon.diagnostics.DaemonStartupInfo;
 import org.gradle.launcher.daemon.logging.DaemonMessages;
 import org.gradle.launcher.daemon.registry.DaemonInfo;
@@ -28,6 +29,7 @@ import org.gradle.launcher.daemon.registry.DaemonRegistry;
 import org.gradle.messaging.remote.internal.ConnectException;
 import org.gradle.messaging.remote.internal.Connection;
 import org.gradle.messaging.remote.internal.OutgoingConnector;
+import org.gradle.util.Clock;
 
 import java.util.List;
 
@@ -95,6 +97,10 @@ public class DefaultDaemonConnector implements DaemonConnector {
         LOGGER.info("Starting Gradle daemon");
         final DaemonStartupInfo startupInfo = daemonStarter.startDaemon();
         LOGGER.debug("Started Gradle Daemon: {}", startupInfo);
+        if (startupInfo.getDaemon() != null) {
+            // The daemon told us where it is listening, so there's no need to wait for it to show up in the registry
+            return connectToStartedDaemon(startupInfo, constraint);
+        }
         long expiry = System.currentTimeMillis() + connectTimeout;
         do {
             DaemonClientConnection daemonConnection = connectToDaemonWithId(startupInfo, constraint);
@@ -111,25 +117,39 @@ public class DefaultDaemonConnector implements DaemonConnector {
         throw new GradleException("Timeout waiting to connect to Gradle daemon.\n" + startupInfo.describe());
     }
 
+    private DaemonClientConnection connectToStartedDaemon(DaemonStartupInfo startupInfo, ExplainingSpec<DaemonContext> constraint) {
+        Clock clock = new Clock();
+        DaemonClientConnection connection = connectToNewDaemon(startupInfo.getDaemon(), startupInfo, constraint);
+        DaemonDiagnostics diagnostics = startupInfo.getDiagnostics();
+        if (diagnostics != null) {
+            LOGGER.info("Connected to the new Gradle daemon. Startup phases: {}", diagnostics.withStartupPhase("connect", clock.getTimeInMs()).describeStartupPhases());
+        }
+        return connection;
+    }
+
     private DaemonClientConnection connectToDaemonWithId(DaemonStartupInfo startupInfo, ExplainingSpec<DaemonContext> constraint) throws ConnectException {
         // Look for 'our' daemon among the busy daemons - a daemon will start in busy state so that nobody else will grab it.
         for (DaemonInfo daemonInfo : daemonRegistry.getBusy()) {
             if (daemonInfo.getContext().getUid().equals(startupInfo.getUid())) {
-                try {
-                    if (!constraint.isSatisfiedBy(daemonInfo.getContext())) {
-                        throw new GradleException("The newly created daemon process has a different context than expected."
-                                + "\nIt won't be possible to reconnect to this daemon. Context mismatch: "
-                                + "\n" + constraint.whyUnsatisfied(daemonInfo.getContext()));
-                    }
-                    return connectToDaemon(daemonInfo);
-                } catch (ConnectException e) {
-                    throw new GradleException("The forked daemon process died before we could connect.\n" + startupInfo.describe(), e);
-                }
+                return connectToNewDaemon(daemonInfo, startupInfo, constraint);
             }
         }
         return null;
     }
 
+    private DaemonClientConnection connectToNewDaemon(DaemonInfo daemonInfo, DaemonStartupInfo startupInfo, ExplainingSpec<DaemonContext> constraint) {
+        try {
+            if (!constraint.isSatisfiedBy(daemonInfo.getContext())) {
+                throw new GradleException("The newly created daemon process has a different context than expected."
+                        + "\nIt won't be possible to reconnect to this daemon. Context mismatch: "
+                        + "\n" + constraint.whyUnsatisfied(daemonInfo.getContext()));
+            }
+            return connectToDaemon(daemonInfo);
+        } catch (ConnectException e) {
+            throw new GradleException("The forked daemon process died before we could connect.\n" + startupInfo.describe(), e);
+        }
+    }
+
     private DaemonClientConnection connectToDaemon(final DaemonInfo daemonInfo) throws ConnectException {
         Runnable onFailure = new Runnable() {
             public void run() {
@@ -16,13 +16,12 @@
 package org.gradle.launcher.daemon.client;
 
 import org.gradle.api.GradleException;
-import org.gradle.api.internal.classpath.DefaultModuleRegistry;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.launcher.daemon.DaemonExecHandleBuilder;
+import org.gradle.launcher.daemon.bootstrap.DaemonCommandLine;
 import org.gradle.launcher.daemon.bootstrap.DaemonGreeter;
 import org.gradle.launcher.daemon.bootstrap.DaemonOutputConsumer;
-import org.gradle.launcher.daemon.bootstrap.GradleDaemon;
 import org.gradle.launcher.daemon.configuration.DaemonParameters;
 import org.gradle.launcher.daemon.diagnostics.DaemonDiagnostics;
 import org.gradle.launcher.daemon.diagnostics.DaemonStartupInfo;
@@ -30,15 +29,10 @@ import org.gradle.launcher.daemon.registry.DaemonDir;
 import org.gradle.process.ExecResult;
 import org.gradle.process.internal.ExecHandle;
 import org.gradle.util.Clock;
-import org.gradle.util.CollectionUtils;
 import org.gradle.util.GFileUtils;
-import org.gradle.util.GradleVersion;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Set;
 
 public class DefaultDaemonStarter implements DaemonStarter {
 
@@ -55,44 +49,14 @@ public class DefaultDaemonStarter implements DaemonStarter {
     }
 
     public DaemonStartupInfo startDaemon() {
-        DefaultModuleRegistry registry = new DefaultModuleRegistry();
-        Set<File> bootstrapClasspath = new LinkedHashSet<File>();
-        bootstrapClasspath.addAll(registry.getModule("gradle-launcher").getImplementationClasspath().getAsFiles());
-        if (registry.getGradleHome() == null) {
-            // Running from the classpath - chuck in everything we can find
-            bootstrapClasspath.addAll(registry.getFullClasspath());
-        }
-        if (bootstrapClasspath.isEmpty()) {
-            throw new IllegalStateException("Unable to construct a bootstrap classpath when starting the daemon");
-        }
-
-        List<String> daemonArgs = new ArrayList<String>();
-        daemonArgs.add(daemonParameters.getEffectiveJavaExecutable());
-
         List<String> daemonOpts = daemonParameters.getEffectiveJvmArgs();
         LOGGER.debug("Using daemon opts: {}", daemonOpts);
-        daemonArgs.addAll(daemonOpts);
-        //Useful for debugging purposes - simply uncomment and connect to debug
-//        daemonArgs.add("-Xdebug");
-//        daemonArgs.add("-Xrunjdwp:transport=dt_socket,server=y,suspend=y,address=5006");
-        daemonArgs.add("-cp");
-        daemonArgs.add(CollectionUtils.join(File.pathSeparator, bootstrapClasspath));
-        daemonArgs.add(GradleDaemon.class.getName());
-        daemonArgs.add(GradleVersion.current().getVersion());
-        daemonArgs.add(daemonDir.getBaseDir().getAbsolutePath());
-        daemonArgs.add(String.valueOf(daemonParameters.getIdleTimeout()));
-        daemonArgs.add(daemonParameters.getUid());
-
-        //all remaining arguments are daemon startup jvm opts.
-        //we need to pass them as *program* arguments to avoid problems with getInputArguments().
-        daemonArgs.addAll(daemonOpts);
-
-        DaemonDiagnostics diagnostics = startProcess(daemonArgs, daemonDir.getVersionedDir());
-
-        return new DaemonStartupInfo(daemonParameters.getUid(), diagnostics);
+        DaemonCommandLine commandLine = new DaemonCommandLine(daemonParameters.getEffectiveJavaExecutable(), daemonOpts, daemonDir.getBaseDir(),
+                daemonParameters.getIdleTimeout(), daemonParameters.getGradleUserHomeDir(), daemonParameters.getStandbyDaemons());
+        return startProcess(commandLine.create(daemonParameters.getUid(), false), daemonDir.getVersionedDir());
     }
 
-    private DaemonDiagnostics startProcess(final List<String> args, final File workingDir) {
+    private DaemonStartupInfo startProcess(final List<String> args, final File workingDir) {
         LOGGER.info("Starting daemon process: workingDir = {}, daemonArgs: {}", workingDir, args);
         Clock clock = new Clock();
         try {
@@ -106,7 +70,9 @@ public class DefaultDaemonStarter implements DaemonStarter {
             ExecResult result = handle.waitForFinish();
             LOGGER.debug("Gradle daemon process is now detached.");
 
-            return daemonGreeter.parseDaemonOutput(outputConsumer.getProcessOutput(), result);
+            String output = outputConsumer.getProcessOutput();
+            DaemonDiagnostics diagnostics = daemonGreeter.parseDaemonOutput(output, result).withStartupPhase("daemon process launch", clock.getTimeInMs());
+            return new DaemonStartupInfo(daemonParameters.getUid(), diagnostics, daemonGreeter.parseDaemonInfo(output));
         } catch (GradleException e) {
             throw e;
         } catch (Exception e) {
@@ -34,16 +34,19 @@ public class DaemonParameters {
     private final String uid;
 
     private File baseDir = new File(StartParameter.DEFAULT_GRADLE_USER_HOME, "daemon");
+    private final File gradleUserHomeDir;
     private int idleTimeout = DEFAULT_IDLE_TIMEOUT;
     private final JvmOptions jvmOptions = new JvmOptions(new IdentityFileResolver());
     private boolean usingDefaultJvmArgs = true;
     private boolean enabled;
+    private int standbyDaemons;
     private File javaHome;
 
     public DaemonParameters(BuildLayoutParameters layout) {
         this.uid = UUID.randomUUID().toString();
         jvmOptions.setAllJvmArgs(getDefaultJvmArgs());
-        baseDir = new File(layout.getGradleUserHomeDir(), "daemon");
+        gradleUserHomeDir = layout.getGradleUserHomeDir();
+        baseDir = new File(gradleUserHomeDir, "daemon");
     }
 
     List<String> getDefaultJvmArgs() {
@@ -59,10 +62,26 @@ public class DaemonParameters {
         return this;
     }
 
+    /**
+     * Returns the number of idle daemons that should be kept started and warmed up ahead of demand. Defaults to 0, which disables the standby daemons.
+     */
+    public int getStandbyDaemons() {
+        return standbyDaemons;
+    }
+
+    public DaemonParameters setStandbyDaemons(int standbyDaemons) {
+        this.standbyDaemons = standbyDaemons;
+        return this;
+    }
+
     public String getUid() {
         return uid;
     }
 
+    public File getGradleUserHomeDir() {
+        return gradleUserHomeDir;
+    }
+
     public File getBaseDir() {
         return baseDir;
     }
@@ -31,4 +31,19 @@ public interface DaemonServerConfiguration {
     String getUid();
 
     List<String> getJvmOptions();
+
+    /**
+     * The Gradle user home directory of the client that started the daemon, or null if not known.
+     */
+    File getGradleUserHomeDir();
+
+    /**
+     * The number of idle daemons compatible with this daemon that should be kept started and warmed up ahead of demand.
+     */
+    int getStandbyDaemons();
+
+    /**
+     * Whether the daemon was started ahead of demand, rather than by a client that is waiting to connect to it.
+     */
+    boolean isStandby();
 }
@@ -28,12 +28,22 @@ public class DefaultDaemonServerConfiguration implements DaemonServerConfigurati
     private final File daemonBaseDir;
     private final int idleTimeoutMs;
     private final List<String> jvmOptions;
+    private final File gradleUserHomeDir;
+    private final int standbyDaemons;
+    private final boolean standby;
 
     public DefaultDaemonServerConfiguration(String daemonUid, File daemonBaseDir, int idleTimeoutMs, List<String> jvmOptions) {
+        this(daemonUid, daemonBaseDir, idleTimeoutMs, jvmOptions, null, 0, false);
+    }
+
+    public DefaultDaemonServerConfiguration(String daemonUid, File daemonBaseDir, int idleTimeoutMs, List<String> jvmOptions, File gradleUserHomeDir, int standbyDaemons, boolean standby) {
         this.daemonUid = daemonUid;
         this.daemonBaseDir = daemonBaseDir;
         this.idleTimeoutMs = idleTimeoutMs;
         this.jvmOptions = jvmOptions;
+        this.gradleUserHomeDir = gradleUserHomeDir;
+        this.standbyDaemons = standbyDaemons;
+        this.standby = standby;
     }
 
     public File getBaseDir() {
@@ -51,4 +61,16 @@ public class DefaultDaemonServerConfiguration implements DaemonServerConfigurati
     public List<String> getJvmOptions() {
         return jvmOptions;
     }
-}
\ No newline at end of file
+
+    public File getGradleUserHomeDir() {
+        return gradleUserHomeDir;
+    }
+
+    public int getStandbyDaemons() {
+        return standbyDaemons;
+    }
+
+    public boolean isStandby() {
+        return standby;
+    }
+}
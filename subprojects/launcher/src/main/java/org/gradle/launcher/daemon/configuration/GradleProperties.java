@@ -30,12 +30,13 @@ public class GradleProperties {
     public static final String JVM_ARGS_PROPERTY = "org.gradle.jvmargs";
     public static final String JAVA_HOME_PROPERTY = "org.gradle.java.home";
     public static final String DAEMON_ENABLED_PROPERTY = "org.gradle.daemon";
+    public static final String STANDBY_DAEMONS_PROPERTY = "org.gradle.daemon.standby";
     public static final String DEBUG_MODE_PROPERTY = "org.gradle.debug";
     public static final String CONFIGURE_ON_DEMAND_PROPERTY = "org.gradle.configureondemand";
     public static final String PARALLEL_PROPERTY = "org.gradle.parallel";
 
     public static final Set<String> ALL = newHashSet(IDLE_TIMEOUT_PROPERTY, BASE_DIR_PROPERTY, JVM_ARGS_PROPERTY,
-            JAVA_HOME_PROPERTY, DAEMON_ENABLED_PROPERTY, DEBUG_MODE_PROPERTY, CONFIGURE_ON_DEMAND_PROPERTY, PARALLEL_PROPERTY);
+            JAVA_HOME_PROPERTY, DAEMON_ENABLED_PROPERTY, STANDBY_DAEMONS_PROPERTY, DEBUG_MODE_PROPERTY, CONFIGURE_ON_DEMAND_PROPERTY, PARALLEL_PROPERTY);
 
     public static boolean isTrue(Object propertyValue) {
         return propertyValue != null && propertyValue.toString().equalsIgnoreCase("true");
@@ -20,6 +20,9 @@ import org.gradle.util.GFileUtils;
 
 import java.io.File;
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Contains some daemon diagnostics information useful for the client.
@@ -30,11 +33,17 @@ public class DaemonDiagnostics implements Serializable {
 
     private final Long pid;
     private final File daemonLog;
+    private final Map<String, Long> startupPhases;
     private final static int TAIL_SIZE = 20;
 
     public DaemonDiagnostics(File daemonLog, Long pid) {
+        this(daemonLog, pid, Collections.<String, Long>emptyMap());
+    }
+
+    public DaemonDiagnostics(File daemonLog, Long pid, Map<String, Long> startupPhases) {
         this.daemonLog = daemonLog;
         this.pid = pid;
+        this.startupPhases = new LinkedHashMap<String, Long>(startupPhases);
     }
 
     /**
@@ -48,6 +57,33 @@ public class DaemonDiagnostics implements Serializable {
         return daemonLog;
     }
 
+    /**
+     * @return the time in milliseconds taken by each phase of the daemon startup, in the order the phases happened. Empty when the daemon was not started by this client.
+     */
+    public Map<String, Long> getStartupPhases() {
+        return Collections.unmodifiableMap(startupPhases);
+    }
+
+    /**
+     * Returns a copy of these diagnostics with the given startup phase appended.
+     */
+    public DaemonDiagnostics withStartupPhase(String phase, long timeInMs) {
+        Map<String, Long> phases = new LinkedHashMap<String, Long>(startupPhases);
+        phases.put(phase, timeInMs);
+        return new DaemonDiagnostics(daemonLog, pid, phases);
+    }
+
+    public String describeStartupPhases() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, Long> entry : startupPhases.entrySet()) {
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            builder.append(entry.getKey()).append(": ").append(entry.getValue()).append("ms");
+        }
+        return builder.toString();
+    }
+
     @Override
     public String toString() {
         return "{"
@@ -74,6 +110,7 @@ public class DaemonDiagnostics implements Serializable {
     public String describe() {
         return "Daemon pid: " + pid + "\n"
              + "  log file: " + daemonLog + "\n"
+             + (startupPhases.isEmpty() ? "" : "  startup phases: " + describeStartupPhases() + "\n")
              + tailDaemonLog();
     }
 }
@@ -16,6 +16,8 @@
 
 package org.gradle.launcher.daemon.diagnostics;
 
+import org.gradle.launcher.daemon.registry.DaemonInfo;
+
 /**
  * by Szczepan Faber, created at 4/6/12
  */
@@ -23,10 +25,16 @@ public class DaemonStartupInfo {
 
     private String uid;
     private DaemonDiagnostics diagnostics;
+    private DaemonInfo daemon;
 
     public DaemonStartupInfo(String uid, DaemonDiagnostics diagnostics) {
+        this(uid, diagnostics, null);
+    }
+
+    public DaemonStartupInfo(String uid, DaemonDiagnostics diagnostics, DaemonInfo daemon) {
         this.uid = uid;
         this.diagnostics = diagnostics;
+        this.daemon = daemon;
     }
 
     public String getUid() {
@@ -40,11 +48,19 @@ public class DaemonStartupInfo {
         return diagnostics;
     }
 
+    /**
+     * @return the address and context the daemon announced when it started. Can be null, this means the daemon has to be looked up in the registry.
+     */
+    public DaemonInfo getDaemon() {
+        return daemon;
+    }
+
     @Override
     public String toString() {
         return "{"
                 + "uid='" + uid + '\''
                 + ", diagnostics=" + diagnostics
+                + ", daemon=" + daemon
                 + '}';
     }
 
@@ -46,6 +46,7 @@ public class Daemon implements Stoppable {
     private final DaemonContext daemonContext;
     private final DaemonCommandExecuter commandExecuter;
     private final ExecutorFactory executorFactory;
+    private final StandbyDaemonPool standbyDaemonPool;
     private final String password;
 
     private DaemonStateCoordinator stateCoordinator;
@@ -63,12 +64,23 @@ public class Daemon implements Stoppable {
      * @param daemonRegistry The registry that this daemon should advertise itself in
      */
     public Daemon(DaemonServerConnector connector, DaemonRegistry daemonRegistry, DaemonContext daemonContext, String password, DaemonCommandExecuter commandExecuter, ExecutorFactory executorFactory) {
+        this(connector, daemonRegistry, daemonContext, password, commandExecuter, executorFactory, null);
+    }
+
+    /**
+     * Creates a new daemon instance, which replenishes the given pool of standby daemons whenever it starts running a command.
+     *
+     * @param standbyDaemonPool The pool to replenish. Can be null, in which case no standby daemons are started.
+     */
+    public Daemon(DaemonServerConnector connector, DaemonRegistry daemonRegistry, DaemonContext daemonContext, String password, DaemonCommandExecuter commandExecuter, ExecutorFactory executorFactory,
+                  StandbyDaemonPool standbyDaemonPool) {
         this.connector = connector;
         this.daemonRegistry = daemonRegistry;
         this.daemonContext = daemonContext;
         this.password = password;
         this.commandExecuter = commandExecuter;
         this.executorFactory = executorFactory;
+        this.standbyDaemonPool = standbyDaemonPool;
     }
 
     public String getUid() {
@@ -107,6 +119,10 @@ public class Daemon implements Stoppable {
             Runnable onStartCommand = new Runnable() {
                 public void run() {
                     registryUpdater.onStartActivity();
+                    if (standbyDaemonPool != null) {
+                        // This daemon is no longer available to other builds, so start a replacement
+                        standbyDaemonPool.replenish();
+                    }
                 }
             };
 
@@ -160,8 +176,9 @@ public class Daemon implements Stoppable {
             // 2. remove presence from registry
             // 3. stop accepting new connections
             // 4. wait for commands in progress to finish (except for abandoned long running commands, like running a build)
+            // 5. wait for any standby daemon being started to detach
 
-            CompositeStoppable.stoppable(stateCoordinator, registryUpdater, connector, connectionHandler).stop();
+            CompositeStoppable.stoppable(stateCoordinator, registryUpdater, connector, connectionHandler, standbyDaemonPool).stop();
         } finally {
             lifecyleLock.unlock();
         }
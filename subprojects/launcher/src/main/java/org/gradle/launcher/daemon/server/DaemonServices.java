@@ -18,6 +18,7 @@ package org.gradle.launcher.daemon.server;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.initialization.DefaultGradleLauncherFactory;
+import org.gradle.initialization.GradleLauncherFactory;
 import org.gradle.internal.concurrent.DefaultExecutorFactory;
 import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.nativeplatform.ProcessEnvironment;
@@ -79,6 +80,24 @@ public class DaemonServices extends DefaultServiceRegistry {
         return new File(get(DaemonDir.class).getVersionedDir(), fileName);
     }
 
+    protected GradleLauncherFactory createGradleLauncherFactory() {
+        return new DefaultGradleLauncherFactory(loggingServices);
+    }
+
+    protected DaemonWarmUp createDaemonWarmUp() {
+        // Each standby daemon warms up in its own directory, as several may be starting at the same time
+        File projectDir = new File(new File(get(DaemonDir.class).getVersionedDir(), "warm-up"), configuration.getUid());
+        return new DaemonWarmUp(get(GradleLauncherFactory.class), projectDir, configuration.getGradleUserHomeDir());
+    }
+
+    /**
+     * Requires a {@link StandbyDaemonStarter} to have been added to this registry.
+     */
+    protected StandbyDaemonPool createStandbyDaemonPool() {
+        return new StandbyDaemonPool(configuration.getStandbyDaemons(), get(DaemonRegistry.class), get(DaemonContext.class), get(StandbyDaemonStarter.class),
+                get(ExecutorFactory.class));
+    }
+
     protected Daemon createDaemon() {
         return new Daemon(
                 new DaemonTcpServerConnector(),
@@ -86,11 +105,12 @@ public class DaemonServices extends DefaultServiceRegistry {
                 get(DaemonContext.class),
                 "password",
                 new DefaultDaemonCommandExecuter(
-                        new DefaultGradleLauncherFactory(loggingServices),
+                        get(GradleLauncherFactory.class),
                         get(ProcessEnvironment.class),
                         loggingManager,
                         getDaemonLogFile()),
-                get(ExecutorFactory.class));
+                get(ExecutorFactory.class),
+                configuration.getStandbyDaemons() > 0 ? get(StandbyDaemonPool.class) : null);
     }
 
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.launcher.daemon.server;
+
+import org.gradle.StartParameter;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.initialization.GradleLauncherFactory;
+import org.gradle.util.Clock;
+import org.gradle.util.GFileUtils;
+
+import java.io.File;
+import java.util.Collections;
+
+/**
+ * Warms up a standby daemon by running a small synthetic build, so that the classes used to configure a build are loaded and compiled by the time
+ * the daemon is used for a real build.
+ */
+public class DaemonWarmUp {
+    private static final Logger LOGGER = Logging.getLogger(DaemonWarmUp.class);
+
+    private final GradleLauncherFactory launcherFactory;
+    private final File projectDir;
+    private final File gradleUserHomeDir;
+
+    /**
+     * @param gradleUserHomeDir The Gradle user home directory to use for the warm-up build. Can be null, in which case the default is used.
+     */
+    public DaemonWarmUp(GradleLauncherFactory launcherFactory, File projectDir, File gradleUserHomeDir) {
+        this.launcherFactory = launcherFactory;
+        this.projectDir = projectDir;
+        this.gradleUserHomeDir = gradleUserHomeDir;
+    }
+
+    /**
+     * Runs the warm-up build. Failures are logged rather than rethrown, as a daemon that has not been warmed up is still perfectly usable.
+     */
+    public void run() {
+        LOGGER.info("Warming up the daemon using a build in {}.", projectDir);
+        Clock clock = new Clock();
+        try {
+            GFileUtils.mkdirs(projectDir);
+            GFileUtils.writeFile("", new File(projectDir, "settings.gradle"));
+            GFileUtils.writeFile("apply plugin: 'java'\n\nsourceSets { warmUp }\n", new File(projectDir, "build.gradle"));
+
+            StartParameter startParameter = new StartParameter();
+            startParameter.setCurrentDir(projectDir);
+            if (gradleUserHomeDir != null) {
+                startParameter.setGradleUserHomeDir(gradleUserHomeDir);
+            }
+            startParameter.setSearchUpwards(false);
+            startParameter.setTaskNames(Collections.singletonList("help"));
+            launcherFactory.newInstance(startParameter).run().rethrowFailure();
+            LOGGER.info("Daemon warm-up completed in {}.", clock.getTime());
+        } catch (Throwable t) {
+            LOGGER.warn("Daemon warm-up failed. The daemon will be used without warming it up.", t);
+        } finally {
+            GFileUtils.deleteQuietly(projectDir);
+        }
+    }
+}
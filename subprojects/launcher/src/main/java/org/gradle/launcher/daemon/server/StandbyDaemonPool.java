@@ -0,0 +1,118 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.launcher.daemon.server;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.internal.Stoppable;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.StoppableExecutor;
+import org.gradle.launcher.daemon.context.DaemonCompatibilitySpec;
+import org.gradle.launcher.daemon.context.DaemonContext;
+import org.gradle.launcher.daemon.registry.DaemonInfo;
+import org.gradle.launcher.daemon.registry.DaemonRegistry;
+
+/**
+ * Keeps a number of warmed up daemons idle in the registry, so that a build rarely has to wait for a new daemon to start. Whenever this daemon is
+ * claimed by a build, the pool starts standby daemons in the background until there are enough idle daemons compatible with this daemon.
+ *
+ * <p>The standby daemons are started from the daemon process rather than from the client, as the client exits as soon as its build completes.
+ * Each daemon replenishes the pool independently of the others, so concurrent builds may start a few more standby daemons than requested. The
+ * extra daemons stop once they hit their idle timeout.</p>
+ */
+public class StandbyDaemonPool implements Stoppable {
+    private static final Logger LOGGER = Logging.getLogger(StandbyDaemonPool.class);
+
+    private final int size;
+    private final DaemonRegistry daemonRegistry;
+    private final DaemonCompatibilitySpec compatibilitySpec;
+    private final StandbyDaemonStarter daemonStarter;
+    private final ExecutorFactory executorFactory;
+    private final Object lock = new Object();
+    private StoppableExecutor executor;
+    private boolean replenishing;
+
+    public StandbyDaemonPool(int size, DaemonRegistry daemonRegistry, DaemonContext daemonContext, StandbyDaemonStarter daemonStarter, ExecutorFactory executorFactory) {
+        this.size = size;
+        this.daemonRegistry = daemonRegistry;
+        this.compatibilitySpec = new DaemonCompatibilitySpec(daemonContext);
+        this.daemonStarter = daemonStarter;
+        this.executorFactory = executorFactory;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Starts standby daemons in the background until there are enough idle daemons that are compatible with this daemon. Does nothing when the
+     * pool is already being replenished.
+     */
+    public void replenish() {
+        if (size == 0) {
+            return;
+        }
+        synchronized (lock) {
+            if (replenishing) {
+                return;
+            }
+            replenishing = true;
+            if (executor == null) {
+                executor = executorFactory.create("Standby daemon starter");
+            }
+        }
+        executor.execute(new Runnable() {
+            public void run() {
+                try {
+                    startMissingDaemons();
+                } catch (Throwable t) {
+                    LOGGER.info("Could not start a standby daemon.", t);
+                } finally {
+                    synchronized (lock) {
+                        replenishing = false;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits for any standby daemon that is being started to detach.
+     */
+    public void stop() {
+        StoppableExecutor executor;
+        synchronized (lock) {
+            executor = this.executor;
+            this.executor = null;
+        }
+        if (executor != null) {
+            executor.stop();
+        }
+    }
+
+    private void startMissingDaemons() {
+        int idle = 0;
+        for (DaemonInfo daemonInfo : daemonRegistry.getIdle()) {
+            if (compatibilitySpec.isSatisfiedBy(daemonInfo.getContext())) {
+                idle++;
+            }
+        }
+        for (int i = idle; i < size; i++) {
+            LOGGER.info("Starting a standby daemon ({} of {} standby daemons are idle).", i, size);
+            daemonStarter.startStandbyDaemon();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.launcher.daemon.server;
+
+/**
+ * Starts a daemon that nobody is waiting for. The daemon warms itself up once started and then advertises itself as idle, so that it can be picked
+ * up by some later build.
+ */
+public interface StandbyDaemonStarter {
+    /**
+     * Starts a standby daemon that is compatible with this daemon, and waits until it has detached.
+     */
+    void startStandbyDaemon();
+}
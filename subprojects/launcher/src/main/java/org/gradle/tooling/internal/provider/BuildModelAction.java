@@ -16,27 +16,38 @@
 package org.gradle.tooling.internal.provider;
 
 import org.gradle.api.Action;
+import org.gradle.api.Project;
 import org.gradle.api.internal.GradleInternal;
 import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.api.specs.Spec;
 import org.gradle.initialization.*;
 import org.gradle.tooling.provider.model.ToolingModelBuilder;
 import org.gradle.tooling.provider.model.ToolingModelBuilderRegistry;
+import org.gradle.tooling.provider.model.internal.PartialToolingModelBuilder;
 import org.gradle.util.ClasspathUtil;
 import org.gradle.util.GUtil;
 
 import java.io.Serializable;
 import java.net.URL;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 
 public class BuildModelAction implements BuildAction<ToolingModel>, Serializable {
     private final boolean runTasks;
     private final String modelName;
+    private final List<String> projectPaths;
     private Object model;
 
     public BuildModelAction(String modelName, boolean runTasks) {
+        this(modelName, runTasks, null);
+    }
+
+    /**
+     * @param projectPaths The paths of the projects to include the details of in the model, or null to include all projects.
+     */
+    public BuildModelAction(String modelName, boolean runTasks, List<String> projectPaths) {
         this.modelName = modelName;
         this.runTasks = runTasks;
+        this.projectPaths = projectPaths;
     }
 
     public ToolingModel run(BuildController buildController) {
@@ -44,17 +55,14 @@ public class BuildModelAction implements BuildAction<ToolingModel>, Serializable
         if (runTasks) {
             launcher.addListener(new TasksCompletionListener() {
                 public void onTasksFinished(GradleInternal gradle) {
-                    ToolingModelBuilder builder = getToolingModelBuilderRegistry(gradle).getBuilder(modelName);
-                    model = builder.buildAll(modelName, gradle.getDefaultProject());
+                    model = buildModel(gradle);
                 }
             });
             buildController.run();
         } else {
             launcher.addListener(new ModelConfigurationListener() {
                 public void onConfigure(GradleInternal gradle) {
-                    ensureAllProjectsEvaluated(gradle);
-                    ToolingModelBuilder builder = getToolingModelBuilderRegistry(gradle).getBuilder(modelName);
-                    model = builder.buildAll(modelName, gradle.getDefaultProject());
+                    model = buildModel(gradle);
                 }
             });
             buildController.configure();
@@ -65,6 +73,46 @@ public class BuildModelAction implements BuildAction<ToolingModel>, Serializable
         return new ToolingModel(classpath, serializedModel);
     }
 
+    private Object buildModel(GradleInternal gradle) {
+        if (projectPaths == null) {
+            ensureAllProjectsEvaluated(gradle);
+            return getToolingModelBuilderRegistry(gradle).getBuilder(modelName).buildAll(modelName, gradle.getDefaultProject());
+        }
+
+        // The builders are registered when the default project is evaluated
+        ensureEvaluated(gradle.getDefaultProject());
+        ToolingModelBuilder builder = getToolingModelBuilderRegistry(gradle).getBuilder(modelName);
+        if (!(builder instanceof PartialToolingModelBuilder)) {
+            ensureAllProjectsEvaluated(gradle);
+            return builder.buildAll(modelName, gradle.getDefaultProject());
+        }
+
+        final Set<String> selectedPaths = new HashSet<String>();
+        for (String path : projectPaths) {
+            ProjectInternal project = gradle.getRootProject().project(path);
+            ensureEvaluated(project);
+            selectedPaths.add(project.getPath());
+        }
+        return ((PartialToolingModelBuilder) builder).buildAll(modelName, gradle.getDefaultProject(), new Spec<Project>() {
+            public boolean isSatisfiedBy(Project project) {
+                return selectedPaths.contains(project.getPath());
+            }
+        });
+    }
+
+    /**
+     * Evaluates the given project and its ancestors, starting with the root project, so that the project sees any configuration injected by its ancestors.
+     */
+    private void ensureEvaluated(ProjectInternal project) {
+        LinkedList<ProjectInternal> projects = new LinkedList<ProjectInternal>();
+        for (ProjectInternal current = project; current != null; current = current.getParent()) {
+            projects.addFirst(current);
+        }
+        for (ProjectInternal current : projects) {
+            current.evaluate();
+        }
+    }
+
     private ToolingModelBuilderRegistry getToolingModelBuilderRegistry(GradleInternal gradle) {
         return gradle.getDefaultProject().getServices().get(ToolingModelBuilderRegistry.class);
     }
@@ -90,7 +90,7 @@ public class ProviderConnection {
                     params.daemonParams.getEffectiveJvmArgs());
         }
 
-        BuildAction<ToolingModel> action = new BuildModelAction(modelName, tasks != null);
+        BuildAction<ToolingModel> action = new BuildModelAction(modelName, tasks != null, providerParameters.getProjects(null));
 
         // TODO:ADAM - need to clean up error handling here
 
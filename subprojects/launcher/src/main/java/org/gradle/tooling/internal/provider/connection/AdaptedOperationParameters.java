@@ -123,4 +123,8 @@ public class AdaptedOperationParameters implements ProviderOperationParameters {
     public List<String> getTasks() {
         return tasks;
     }
+
+    public List<String> getProjects(List<String> defaultProjects) {
+        return maybeGet(defaultProjects, "getProjects");
+    }
 }
@@ -64,4 +64,9 @@ public interface ProviderOperationParameters {
     List<String> getArguments(List<String> defaultArguments);
 
     List<String> getTasks();
+
+    /**
+     * @since 1.7
+     */
+    List<String> getProjects(List<String> defaultProjects);
 }
@@ -64,6 +64,7 @@ class PropertiesToDaemonParametersConverterTest extends Specification {
                 (DAEMON_ENABLED_PROPERTY): "true",
                 (BASE_DIR_PROPERTY): new File("baseDir").absolutePath,
                 (IDLE_TIMEOUT_PROPERTY): "115",
+                (STANDBY_DAEMONS_PROPERTY): "2",
                 (DEBUG_MODE_PROPERTY): "true",
         ], params)
 
@@ -74,6 +75,7 @@ class PropertiesToDaemonParametersConverterTest extends Specification {
         params.enabled
         params.baseDir == new File("baseDir").absoluteFile
         params.idleTimeout == 115
+        params.standbyDaemons == 2
     }
 
     def "shows nice message for dummy java home"() {
@@ -106,4 +108,17 @@ class PropertiesToDaemonParametersConverterTest extends Specification {
         ex.message.contains 'org.gradle.daemon.idletimeout'
         ex.message.contains 'asdf'
     }
+
+    def "shows nice message for invalid number of standby daemons"() {
+        when:
+        converter.convert((GradleProperties.STANDBY_DAEMONS_PROPERTY): value, params)
+
+        then:
+        def ex = thrown(GradleException)
+        ex.message.contains 'org.gradle.daemon.standby'
+        ex.message.contains value
+
+        where:
+        value << ['asdf', '-1']
+    }
 }
@@ -18,7 +18,10 @@ package org.gradle.launcher.daemon.bootstrap
 
 import org.gradle.api.GradleException
 import org.gradle.api.internal.DocumentationRegistry
+import org.gradle.launcher.daemon.context.DefaultDaemonContext
+import org.gradle.launcher.daemon.diagnostics.DaemonDiagnostics
 import org.gradle.launcher.daemon.logging.DaemonMessages
+import org.gradle.messaging.remote.internal.inet.MultiChoiceAddress
 import org.gradle.process.ExecResult
 import spock.lang.Specification
 
@@ -28,19 +31,25 @@ import spock.lang.Specification
 class DaemonGreeterTest extends Specification {
 
     DocumentationRegistry registry = Mock()
+    def address = new MultiChoiceAddress(UUID.randomUUID(), 1234, [InetAddress.getByName("127.0.0.1")])
+    def context = new DefaultDaemonContext("uid", new File("java-home"), new File("registry"), 12, 1000, [])
 
     def "parses the process output"() {
         given:
         def output = """hey joe!
 another line of output...
-${new DaemonStartupCommunication().daemonStartedMessage(12, new File("12.log"))}"""
+${new DaemonStartupCommunication().daemonStartedMessage(new DaemonDiagnostics(new File("12.log"), 12), address, context)}"""
 
         when:
-        def diagnostics = new DaemonGreeter(registry).parseDaemonOutput(output, Mock(ExecResult))
+        def greeter = new DaemonGreeter(registry)
+        def diagnostics = greeter.parseDaemonOutput(output, Mock(ExecResult))
+        def daemonInfo = greeter.parseDaemonInfo(output)
 
         then:
         diagnostics.pid == 12
         diagnostics.daemonLog == new File("12.log")
+        daemonInfo.address == address
+        daemonInfo.context.uid == "uid"
     }
 
     def "shouts if daemon did not start"() {
@@ -16,6 +16,9 @@
 
 package org.gradle.launcher.daemon.bootstrap
 
+import org.gradle.launcher.daemon.context.DefaultDaemonContext
+import org.gradle.launcher.daemon.diagnostics.DaemonDiagnostics
+import org.gradle.messaging.remote.internal.inet.MultiChoiceAddress
 import spock.lang.Specification
 
 /**
@@ -24,13 +27,15 @@ import spock.lang.Specification
 class DaemonStartupCommunicationSpec extends Specification {
 
     def comm = new DaemonStartupCommunication()
+    def address = new MultiChoiceAddress(UUID.randomUUID(), 1234, [InetAddress.getByName("127.0.0.1")])
+    def context = new DefaultDaemonContext("uid", new File("java-home"), new File("registry"), 123, 1000, ["-Xmx1g"])
 
     def "can simply communicate diagnostics"() {
         given:
         def dummyFile = new File("C:\\foo;;\\daemon-123.log")
 
         when:
-        def message = comm.daemonStartedMessage(123, dummyFile)
+        def message = comm.daemonStartedMessage(new DaemonDiagnostics(dummyFile, 123), address, context)
         def diagnostics = comm.readDiagnostics(message)
 
         then:
@@ -43,7 +48,7 @@ class DaemonStartupCommunicationSpec extends Specification {
         def dummyFile = new File("C:\\foo;;\\daemon-123.log")
 
         when:
-        def message = comm.daemonStartedMessage(null, dummyFile)
+        def message = comm.daemonStartedMessage(new DaemonDiagnostics(dummyFile, null), address, context)
         def diagnostics = comm.readDiagnostics(message)
 
         then:
@@ -54,11 +59,42 @@ class DaemonStartupCommunicationSpec extends Specification {
     def "knows if a message contains a greeting"() {
         expect:
         !comm.containsGreeting("foo")
-        comm.containsGreeting(comm.daemonStartedMessage(null, new File("foo")))
+        comm.containsGreeting(comm.daemonStartedMessage(new DaemonDiagnostics(new File("foo"), null), address, context))
 
         when:
         comm.containsGreeting(null)
         then:
         thrown(IllegalArgumentException)
     }
+
+    def "communicates the daemon address, context and startup phases"() {
+        given:
+        def diagnostics = new DaemonDiagnostics(new File("daemon-123.log"), 123, ["jvm startup": 100L, "daemon server start": 20L])
+
+        when:
+        def message = comm.daemonStartedMessage(diagnostics, address, context)
+        def daemonInfo = comm.readDaemonInfo(message)
+
+        then:
+        daemonInfo.address == address
+        daemonInfo.context.uid == "uid"
+        daemonInfo.context.pid == 123
+        daemonInfo.context.daemonOpts == ["-Xmx1g"]
+        !daemonInfo.idle
+
+        and:
+        comm.readDiagnostics(message).startupPhases == ["jvm startup": 100L, "daemon server start": 20L]
+    }
+
+    def "greeting without the daemon address is supported"() {
+        given:
+        def message = comm.daemonStartedMessage(new DaemonDiagnostics(new File("daemon-123.log"), 123), address, context)
+        def withoutAddress = message.substring(0, message.lastIndexOf(";:"))
+
+        expect:
+        comm.readDaemonInfo(withoutAddress) == null
+        comm.readDiagnostics(withoutAddress).pid == 123
+        comm.readDiagnostics(withoutAddress).daemonLog == new File("daemon-123.log")
+        comm.readDiagnostics(withoutAddress).startupPhases.isEmpty()
+    }
 }
@@ -20,7 +20,10 @@ import org.gradle.api.internal.specs.ExplainingSpec
 import org.gradle.api.internal.specs.ExplainingSpecs
 import org.gradle.launcher.daemon.context.DaemonContext
 import org.gradle.launcher.daemon.context.DefaultDaemonContext
+import org.gradle.launcher.daemon.diagnostics.DaemonDiagnostics
 import org.gradle.launcher.daemon.diagnostics.DaemonStartupInfo
+import org.gradle.launcher.daemon.registry.DaemonInfo
+import org.gradle.launcher.daemon.registry.DaemonRegistry
 import org.gradle.launcher.daemon.registry.EmbeddedDaemonRegistry
 import org.gradle.messaging.remote.Address
 import org.gradle.messaging.remote.internal.ConnectException
@@ -194,4 +197,37 @@ class DefaultDaemonConnectorTest extends Specification {
         then:
         thrown(GradleException)
     }
-}
\ No newline at end of file
+
+    def "connect() connects to the address announced by a newly started daemon without waiting for the registry"() {
+        given:
+        def registry = Mock(DaemonRegistry)
+        def context = new DefaultDaemonContext("12", javaHome, javaHome, 12, 1000, [])
+        def diagnostics = new DaemonDiagnostics(new File("daemon.log"), 12, ["jvm startup": 100L])
+        def starter = { new DaemonStartupInfo("12", diagnostics, new DaemonInfo(createAddress(12), context, null, false)) } as DaemonStarter
+        def connector = new DefaultDaemonConnector(registry, new OutgoingConnectorStub(), starter)
+
+        when:
+        def connection = connector.connect({ it.pid == 12 } as DummyExplainingSpec)
+
+        then:
+        connection.connection.num == 12
+        connection.uid == "12"
+
+        and:
+        1 * registry.getIdle() >> []
+        0 * registry._
+    }
+
+    def "connect() fails if the address announced by a newly started daemon has an incompatible context"() {
+        given:
+        def context = new DefaultDaemonContext("12", javaHome, javaHome, 12, 1000, [])
+        def starter = { new DaemonStartupInfo("12", null, new DaemonInfo(createAddress(12), context, null, false)) } as DaemonStarter
+        def connector = new DefaultDaemonConnector(new EmbeddedDaemonRegistry(), new OutgoingConnectorStub(), starter)
+
+        when:
+        connector.connect(ExplainingSpecs.satisfyNone())
+
+        then:
+        thrown(GradleException)
+    }
+}
@@ -52,4 +52,14 @@ class DaemonDiagnosticsTest extends Specification {
         desc.contains log.name
         desc.contains "hey joe!"
     }
+
+    def "can describe startup phases"() {
+        given:
+        def diagnostics = new DaemonDiagnostics(new File("does not exist"), 123, ["jvm startup": 100L]).withStartupPhase("connect", 5)
+
+        expect:
+        diagnostics.startupPhases == ["jvm startup": 100L, "connect": 5L]
+        diagnostics.describeStartupPhases() == "jvm startup: 100ms, connect: 5ms"
+        diagnostics.describe().contains("startup phases: jvm startup: 100ms, connect: 5ms")
+    }
 }
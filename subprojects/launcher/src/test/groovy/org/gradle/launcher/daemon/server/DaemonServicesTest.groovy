@@ -46,4 +46,21 @@ class DaemonServicesTest extends Specification {
         expect:
         services.get(Daemon.class) != null
     }
+
+    def "makes a DaemonWarmUp available"() {
+        expect:
+        services.get(DaemonWarmUp.class) != null
+    }
+
+    def "makes a StandbyDaemonPool available once a StandbyDaemonStarter has been added"() {
+        def services = new DaemonServices(new DefaultDaemonServerConfiguration("uid", tmp.testDirectory, 100, asList(), tmp.testDirectory, 2, false),
+                LoggingServiceRegistry.newEmbeddableLogging(), Mock(LoggingManagerInternal))
+
+        when:
+        services.add(StandbyDaemonStarter, Mock(StandbyDaemonStarter))
+
+        then:
+        services.get(StandbyDaemonPool.class).size == 2
+        services.get(Daemon.class) != null
+    }
 }
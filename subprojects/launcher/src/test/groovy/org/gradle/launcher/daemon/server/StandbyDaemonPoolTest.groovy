@@ -0,0 +1,139 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.launcher.daemon.server
+
+import org.gradle.internal.concurrent.ExecutorFactory
+import org.gradle.internal.concurrent.StoppableExecutor
+import org.gradle.launcher.daemon.context.DefaultDaemonContext
+import org.gradle.launcher.daemon.registry.DaemonInfo
+import org.gradle.launcher.daemon.registry.DaemonRegistry
+import org.gradle.messaging.remote.Address
+import spock.lang.Specification
+
+class StandbyDaemonPoolTest extends Specification {
+    final DaemonRegistry registry = Mock()
+    final StandbyDaemonStarter starter = Mock()
+    final ExecutorFactory executorFactory = Mock()
+    final StoppableExecutor executor = Mock()
+    final DefaultDaemonContext context = daemonContext("current", ["-Xmx1024m"])
+
+    def setup() {
+        _ * executorFactory.create(_) >> executor
+        _ * executor.execute(_) >> { Runnable runnable -> runnable.run() }
+    }
+
+    def "starts standby daemons until there are enough idle daemons compatible with this daemon"() {
+        def pool = new StandbyDaemonPool(3, registry, context, starter, executorFactory)
+
+        when:
+        pool.replenish()
+
+        then:
+        1 * registry.getIdle() >> [daemon("compatible", ["-Xmx1024m"]), daemon("incompatible", ["-Xmx256m"])]
+        2 * starter.startStandbyDaemon()
+        0 * starter._
+    }
+
+    def "does not start standby daemons when there are enough idle daemons"() {
+        def pool = new StandbyDaemonPool(1, registry, context, starter, executorFactory)
+
+        when:
+        pool.replenish()
+
+        then:
+        1 * registry.getIdle() >> [daemon("compatible", ["-Xmx1024m"])]
+        0 * starter._
+    }
+
+    def "does nothing when the pool is empty"() {
+        def pool = new StandbyDaemonPool(0, registry, context, starter, executorFactory)
+
+        when:
+        pool.replenish()
+
+        then:
+        0 * executorFactory._
+        0 * registry._
+        0 * starter._
+    }
+
+    def "does not replenish the pool while it is already being replenished"() {
+        def pool = new StandbyDaemonPool(1, registry, context, starter, executorFactory)
+        Runnable pending = null
+
+        when:
+        pool.replenish()
+        pool.replenish()
+
+        then:
+        1 * executor.execute(_) >> { Runnable runnable -> pending = runnable }
+        0 * registry._
+
+        when:
+        pending.run()
+        pool.replenish()
+
+        then:
+        1 * executor.execute(_) >> { Runnable runnable -> runnable.run() }
+        2 * registry.getIdle() >> []
+        2 * starter.startStandbyDaemon()
+    }
+
+    def "failure to start a standby daemon does not propagate"() {
+        def pool = new StandbyDaemonPool(1, registry, context, starter, executorFactory)
+
+        when:
+        pool.replenish()
+
+        then:
+        1 * registry.getIdle() >> []
+        1 * starter.startStandbyDaemon() >> { throw new RuntimeException("broken") }
+        noExceptionThrown()
+    }
+
+    def "stop waits for the standby daemons being started"() {
+        def pool = new StandbyDaemonPool(1, registry, context, starter, executorFactory)
+
+        when:
+        pool.replenish()
+        pool.stop()
+
+        then:
+        1 * registry.getIdle() >> []
+        1 * starter.startStandbyDaemon()
+
+        then:
+        1 * executor.stop()
+    }
+
+    def "stop does nothing when no standby daemon has been started"() {
+        def pool = new StandbyDaemonPool(1, registry, context, starter, executorFactory)
+
+        when:
+        pool.stop()
+
+        then:
+        0 * executorFactory._
+    }
+
+    def daemon(String uid, List<String> daemonOpts) {
+        return new DaemonInfo(Mock(Address), daemonContext(uid, daemonOpts), "password", true)
+    }
+
+    def daemonContext(String uid, List<String> daemonOpts) {
+        return new DefaultDaemonContext(uid, new File("java-home"), new File("registry"), 123, 1000, daemonOpts)
+    }
+}
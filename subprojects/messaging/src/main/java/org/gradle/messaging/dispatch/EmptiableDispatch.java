@@ -0,0 +1,24 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.messaging.dispatch;
+
+/**
+ * A {@link Dispatch} which can tell whether it currently has anything to deliver events to. Allows a {@link ProxyDispatchAdapter} to skip
+ * creating a {@link MethodInvocation} when nobody is listening.
+ */
+public interface EmptiableDispatch extends Dispatch<MethodInvocation> {
+    boolean isEmpty();
+}
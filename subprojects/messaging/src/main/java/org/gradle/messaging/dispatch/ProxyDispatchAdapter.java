@@ -22,7 +22,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Adapts from interface T to a {@link Dispatch}
+ * Adapts from interface T to a {@link Dispatch}. When the dispatch is an {@link EmptiableDispatch} that is currently empty, method calls return
+ * immediately.
  *
  * @param <T>
  */
@@ -90,6 +91,9 @@ public class ProxyDispatchAdapter<T> {
             if (method.getName().equals("toString")) {
                 return String.format("%s broadcast", type.getSimpleName());
             }
+            if (dispatch instanceof EmptiableDispatch && ((EmptiableDispatch) dispatch).isEmpty()) {
+                return null;
+            }
             dispatch.dispatch(new MethodInvocation(method, parameters));
             return null;
         }
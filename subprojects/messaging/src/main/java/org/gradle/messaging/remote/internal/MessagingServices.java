@@ -23,18 +23,20 @@ import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.id.IdGenerator;
 import org.gradle.internal.id.UUIDGenerator;
 import org.gradle.internal.service.DefaultServiceRegistry;
+import org.gradle.internal.service.ServiceLocator;
 import org.gradle.messaging.dispatch.DiscardingFailureHandler;
 import org.gradle.messaging.dispatch.MethodInvocation;
 import org.gradle.messaging.remote.MessagingClient;
 import org.gradle.messaging.remote.MessagingServer;
+import org.gradle.messaging.remote.internal.hub.ArgumentSerializer;
 import org.gradle.messaging.remote.internal.hub.InterHubMessageSerializer;
 import org.gradle.messaging.remote.internal.hub.MessageHubBackedClient;
 import org.gradle.messaging.remote.internal.hub.MessageHubBackedServer;
+import org.gradle.messaging.remote.internal.hub.MethodArgsSerializer;
 import org.gradle.messaging.remote.internal.hub.MethodInvocationSerializer;
 import org.gradle.messaging.remote.internal.inet.*;
 import org.gradle.messaging.remote.internal.protocol.DiscoveryMessage;
 import org.gradle.messaging.remote.internal.protocol.DiscoveryProtocolSerializer;
-import org.gradle.messaging.serialize.kryo.JavaSerializer;
 import org.gradle.messaging.serialize.kryo.TypeSafeSerializer;
 import org.slf4j.LoggerFactory;
 
@@ -143,8 +145,9 @@ public class MessagingServices extends DefaultServiceRegistry implements Stoppab
                         MethodInvocation.class,
                         new MethodInvocationSerializer(
                                 messageClassLoader,
-                                new JavaSerializer<Object[]>(
-                                        messageClassLoader))));
+                                new MethodArgsSerializer(
+                                        messageClassLoader,
+                                        new ServiceLocator(messageClassLoader).getAll(ArgumentSerializer.class)))));
     }
 
     protected MessagingClient createMessagingClient() {
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.messaging.remote.internal.hub;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.gradle.messaging.serialize.ObjectReader;
+import org.gradle.messaging.serialize.ObjectWriter;
+
+/**
+ * A compact serializer for remote method arguments of exactly the given type. Used by {@link MethodArgsSerializer} in preference to Java
+ * serialization.
+ *
+ * <p>Implementations are located using the {@code META-INF/services/org.gradle.messaging.remote.internal.hub.ArgumentSerializer} resource, and must be
+ * available to both peers of a connection.</p>
+ */
+public interface ArgumentSerializer<T> {
+    /**
+     * Returns the type that this serializer handles. Subtypes of this type are not handled by this serializer.
+     */
+    Class<T> getType();
+
+    /**
+     * Reads the next value from the given input.
+     *
+     * @param values Reads nested values, which may be null and of any type.
+     */
+    T read(Input input, ObjectReader<Object> values) throws Exception;
+
+    /**
+     * Writes the given value to the given output.
+     *
+     * @param values Writes nested values, which may be null and of any type.
+     */
+    void write(Output output, T value, ObjectWriter<Object> values) throws Exception;
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.messaging.remote.internal.hub;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.gradle.internal.id.CompositeIdGenerator;
+import org.gradle.messaging.remote.internal.Message;
+import org.gradle.messaging.serialize.ObjectReader;
+import org.gradle.messaging.serialize.ObjectWriter;
+import org.gradle.messaging.serialize.kryo.KryoAwareSerializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serializes the arguments of a remote method invocation. Each argument is written using the {@link ArgumentSerializer} registered for its type, or
+ * using Java serialization when there is no such serializer.
+ *
+ * <p>The first time an argument of a given type is written to a connection, the type is assigned an integer ID and its name is sent along with
+ * whether a compact serializer was used for it. Later arguments of the type are prefixed with the ID only.</p>
+ */
+public class MethodArgsSerializer implements KryoAwareSerializer<Object[]> {
+    private final Map<Class<?>, ArgumentSerializer<?>> serializersByType = new HashMap<Class<?>, ArgumentSerializer<?>>();
+    private final Map<String, ArgumentSerializer<?>> serializersByName = new HashMap<String, ArgumentSerializer<?>>();
+    private final ArgumentSerializer<Object> javaSerializer;
+
+    public MethodArgsSerializer(ClassLoader classLoader, Iterable<? extends ArgumentSerializer> serializers) {
+        javaSerializer = new JavaArgumentSerializer(classLoader);
+        register(new StringSerializer());
+        register(new LongSerializer());
+        register(new IntegerSerializer());
+        register(new BooleanSerializer());
+        register(new CompositeIdSerializer());
+        for (ArgumentSerializer<?> serializer : serializers) {
+            register(serializer);
+        }
+    }
+
+    private void register(ArgumentSerializer<?> serializer) {
+        serializersByType.put(serializer.getType(), serializer);
+        serializersByName.put(serializer.getType().getName(), serializer);
+    }
+
+    public ObjectReader<Object[]> newReader(Input input) {
+        return new ArgsReader(input, new ValueReader(input));
+    }
+
+    public ObjectWriter<Object[]> newWriter(Output output) {
+        return new ArgsWriter(output, new ValueWriter(output));
+    }
+
+    private static class ArgsWriter implements ObjectWriter<Object[]> {
+        private final Output output;
+        private final ObjectWriter<Object> valueWriter;
+
+        public ArgsWriter(Output output, ObjectWriter<Object> valueWriter) {
+            this.output = output;
+            this.valueWriter = valueWriter;
+        }
+
+        public void write(Object[] args) throws Exception {
+            output.writeInt(args.length, true);
+            for (Object arg : args) {
+                valueWriter.write(arg);
+            }
+        }
+    }
+
+    private static class ArgsReader implements ObjectReader<Object[]> {
+        private final Input input;
+        private final ObjectReader<Object> valueReader;
+
+        public ArgsReader(Input input, ObjectReader<Object> valueReader) {
+            this.input = input;
+            this.valueReader = valueReader;
+        }
+
+        public Object[] read() throws Exception {
+            Object[] args = new Object[input.readInt(true)];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = valueReader.read();
+            }
+            return args;
+        }
+    }
+
+    private class ValueWriter implements ObjectWriter<Object> {
+        private final Output output;
+        private final Map<Class<?>, Integer> types = new HashMap<Class<?>, Integer>();
+
+        public ValueWriter(Output output) {
+            this.output = output;
+        }
+
+        @SuppressWarnings("unchecked")
+        public void write(Object value) throws Exception {
+            if (value == null) {
+                output.writeInt(0, true);
+                return;
+            }
+            Class<?> type = value.getClass();
+            ArgumentSerializer<Object> serializer = (ArgumentSerializer<Object>) serializersByType.get(type);
+            Integer typeId = types.get(type);
+            if (typeId == null) {
+                typeId = types.size() + 1;
+                types.put(type, typeId);
+                output.writeInt(typeId, true);
+                output.writeString(type.getName());
+                output.writeBoolean(serializer != null);
+            } else {
+                output.writeInt(typeId, true);
+            }
+            if (serializer == null) {
+                serializer = javaSerializer;
+            }
+            serializer.write(output, value, this);
+        }
+    }
+
+    private class ValueReader implements ObjectReader<Object> {
+        private final Input input;
+        private final Map<Integer, ArgumentSerializer<?>> types = new HashMap<Integer, ArgumentSerializer<?>>();
+
+        public ValueReader(Input input) {
+            this.input = input;
+        }
+
+        public Object read() throws Exception {
+            int typeId = input.readInt(true);
+            if (typeId == 0) {
+                return null;
+            }
+            ArgumentSerializer<?> serializer = types.get(typeId);
+            if (serializer == null) {
+                String typeName = input.readString();
+                if (input.readBoolean()) {
+                    serializer = serializersByName.get(typeName);
+                    if (serializer == null) {
+                        throw new IllegalArgumentException(String.format("No serializer is registered for remote method argument type '%s'.", typeName));
+                    }
+                } else {
+                    serializer = javaSerializer;
+                }
+                types.put(typeId, serializer);
+            }
+            return serializer.read(input, this);
+        }
+    }
+
+    private static class JavaArgumentSerializer implements ArgumentSerializer<Object> {
+        private final ClassLoader classLoader;
+
+        public JavaArgumentSerializer(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+
+        public Class<Object> getType() {
+            return Object.class;
+        }
+
+        public Object read(Input input, ObjectReader<Object> values) throws Exception {
+            return Message.receive(input, classLoader);
+        }
+
+        public void write(Output output, Object value, ObjectWriter<Object> values) throws Exception {
+            Message.send(value, output);
+        }
+    }
+
+    private static class StringSerializer implements ArgumentSerializer<String> {
+        public Class<String> getType() {
+            return String.class;
+        }
+
+        public String read(Input input, ObjectReader<Object> values) {
+            return input.readString();
+        }
+
+        public void write(Output output, String value, ObjectWriter<Object> values) {
+            output.writeString(value);
+        }
+    }
+
+    private static class LongSerializer implements ArgumentSerializer<Long> {
+        public Class<Long> getType() {
+            return Long.class;
+        }
+
+        public Long read(Input input, ObjectReader<Object> values) {
+            return input.readLong(true);
+        }
+
+        public void write(Output output, Long value, ObjectWriter<Object> values) {
+            output.writeLong(value, true);
+        }
+    }
+
+    private static class IntegerSerializer implements ArgumentSerializer<Integer> {
+        public Class<Integer> getType() {
+            return Integer.class;
+        }
+
+        public Integer read(Input input, ObjectReader<Object> values) {
+            return input.readInt();
+        }
+
+        public void write(Output output, Integer value, ObjectWriter<Object> values) {
+            output.writeInt(value);
+        }
+    }
+
+    private static class BooleanSerializer implements ArgumentSerializer<Boolean> {
+        public Class<Boolean> getType() {
+            return Boolean.class;
+        }
+
+        public Boolean read(Input input, ObjectReader<Object> values) {
+            return input.readBoolean();
+        }
+
+        public void write(Output output, Boolean value, ObjectWriter<Object> values) {
+            output.writeBoolean(value);
+        }
+    }
+
+    private static class CompositeIdSerializer implements ArgumentSerializer<CompositeIdGenerator.CompositeId> {
+        public Class<CompositeIdGenerator.CompositeId> getType() {
+            return CompositeIdGenerator.CompositeId.class;
+        }
+
+        public CompositeIdGenerator.CompositeId read(Input input, ObjectReader<Object> values) throws Exception {
+            Object scope = values.read();
+            Object id = values.read();
+            return new CompositeIdGenerator.CompositeId(scope, id);
+        }
+
+        public void write(Output output, CompositeIdGenerator.CompositeId value, ObjectWriter<Object> values) throws Exception {
+            values.write(value.getScope());
+            values.write(value.getId());
+        }
+    }
+}
@@ -31,6 +31,25 @@ class ProxyDispatchAdapterTest extends Specification {
         1 * dispatch.dispatch(new MethodInvocation(ProxyTest.class.getMethod('doStuff', String.class), ['param'] as Object[]))
     }
     
+    def proxyDoesNotDispatchWhenDispatchIsEmpty() {
+        EmptiableDispatch emptiableDispatch = Mock()
+        def source = new ProxyDispatchAdapter<ProxyTest>(emptiableDispatch, ProxyTest.class).source
+
+        when:
+        source.doStuff('param')
+
+        then:
+        1 * emptiableDispatch.isEmpty() >> true
+        0 * emptiableDispatch._
+
+        when:
+        source.doStuff('param')
+
+        then:
+        1 * emptiableDispatch.isEmpty() >> false
+        1 * emptiableDispatch.dispatch(new MethodInvocation(ProxyTest.class.getMethod('doStuff', String.class), ['param'] as Object[]))
+    }
+
     def proxyIsEqualWhenItHasTheSameTypeAndDispatch() {
         def other = new ProxyDispatchAdapter<ProxyTest>(dispatch, ProxyTest.class)
         def differentType = new ProxyDispatchAdapter<Runnable>(dispatch, Runnable.class)
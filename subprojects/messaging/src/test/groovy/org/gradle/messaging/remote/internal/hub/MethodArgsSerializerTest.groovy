@@ -0,0 +1,167 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.messaging.remote.internal.hub
+
+import com.esotericsoftware.kryo.io.Input
+import com.esotericsoftware.kryo.io.Output
+import org.gradle.internal.id.CompositeIdGenerator
+import org.gradle.messaging.serialize.ObjectReader
+import org.gradle.messaging.serialize.ObjectWriter
+import spock.lang.Specification
+
+class MethodArgsSerializerTest extends Specification {
+    final classLoader = getClass().classLoader
+    final serializer = new MethodArgsSerializer(classLoader, [new PointSerializer()])
+
+    def "serializes arguments of built-in types"() {
+        def id = new CompositeIdGenerator.CompositeId("worker", 12L)
+        def args = ["string", 12L, 3, true, null, id] as Object[]
+
+        when:
+        def result = deserialize(serialize(args))
+
+        then:
+        result == args
+    }
+
+    def "serializes arguments using registered serializer"() {
+        def args = [new Point(x: 1, y: 2), "label"] as Object[]
+
+        when:
+        def result = deserialize(serialize(args))
+
+        then:
+        result == args
+    }
+
+    def "uses Java serialization for arguments whose type has no registered serializer"() {
+        def failure = new RuntimeException("broken")
+        def args = [new Date(1234), failure] as Object[]
+
+        when:
+        def result = deserialize(serialize(args))
+
+        then:
+        result[0] == new Date(1234)
+        result[1] instanceof RuntimeException
+        result[1].message == "broken"
+    }
+
+    def "does not use registered serializer for subtypes of the registered type"() {
+        def args = [new SubPoint(x: 1, y: 2)] as Object[]
+
+        when:
+        def result = deserialize(serialize(args))
+
+        then:
+        result == args
+        result[0] instanceof SubPoint
+    }
+
+    def "replaces a type that has already been seen with an integer ID"() {
+        def args1 = [new Point(x: 1, y: 2)] as Object[]
+        def args2 = [new Point(x: 3, y: 4)] as Object[]
+
+        when:
+        def first = serialize(args1)
+        def both = serializeAll(serializer, [args1, args2])
+        def result = deserializeMultiple(both, 2)
+
+        then:
+        result == [args1, args2]
+        both.length - first.length == 4
+    }
+
+    def "is more compact than Java serialization for registered types"() {
+        def args = [new Point(x: 1, y: 2)] as Object[]
+        def javaSerializer = new MethodArgsSerializer(classLoader, [])
+
+        expect:
+        serializeAll(serializer, [args, args]).length < serializeAll(javaSerializer, [args, args]).length
+    }
+
+    def "fails when receiving a type for which no serializer is registered"() {
+        def args = [new Point(x: 1, y: 2)] as Object[]
+        def serialized = serialize(args)
+        def receiver = new MethodArgsSerializer(classLoader, [])
+
+        when:
+        receiver.newReader(new Input(serialized)).read()
+
+        then:
+        IllegalArgumentException e = thrown()
+        e.message == "No serializer is registered for remote method argument type '${Point.name}'."
+    }
+
+    def serialize(Object[] args) {
+        return serializeAll(serializer, [args])
+    }
+
+    def serializeAll(MethodArgsSerializer argsSerializer, List<Object[]> args) {
+        def outStr = new ByteArrayOutputStream()
+        def output = new Output(outStr)
+        def writer = argsSerializer.newWriter(output)
+        args.each {
+            writer.write(it)
+        }
+        output.flush()
+        return outStr.toByteArray()
+    }
+
+    def deserialize(byte[] data) {
+        return serializer.newReader(new Input(data)).read()
+    }
+
+    def deserializeMultiple(byte[] data, int count) {
+        def reader = serializer.newReader(new Input(data))
+        def result = []
+        count.times {
+            result << reader.read()
+        }
+        return result
+    }
+
+    static class Point implements Serializable {
+        int x
+        int y
+
+        boolean equals(Object o) {
+            return o.getClass() == getClass() && o.x == x && o.y == y
+        }
+
+        int hashCode() {
+            return x ^ y
+        }
+    }
+
+    static class SubPoint extends Point {
+    }
+
+    static class PointSerializer implements ArgumentSerializer<Point> {
+        Class<Point> getType() {
+            return Point
+        }
+
+        Point read(Input input, ObjectReader<Object> values) {
+            return new Point(x: input.readInt(true), y: input.readInt(true))
+        }
+
+        void write(Output output, Point value, ObjectWriter<Object> values) {
+            output.writeInt(value.x, true)
+            output.writeInt(value.y, true)
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.messaging.serialize
+
+import spock.lang.Specification
+
+class StringSerializerTest extends Specification {
+
+    def serializer = new StringSerializer()
+
+    def "writes and reads Strings"() {
+        def bytes = new ByteArrayOutputStream();
+
+        when:
+        serializer.write(bytes, "some value é")
+
+        then:
+        serializer.read(new ByteArrayInputStream(bytes.toByteArray())) == "some value é"
+    }
+
+    def "does not permit null"() {
+        when:
+        serializer.write(new ByteArrayOutputStream(), null)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
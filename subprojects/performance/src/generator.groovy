@@ -109,6 +109,7 @@ class ProjectGeneratorTask extends DefaultTask {
                 .withArtifacts(dependencyGraph.size)
                 .withDepth(dependencyGraph.depth)
                 .withSnapshotVersions(dependencyGraph.useSnapshotVersions)
+                .withConflictingVersions(dependencyGraph.useConflictingVersions)
                 .create()
         return repo;
     }
@@ -239,6 +240,7 @@ class DependencyGraph {
     int size = 0
     int depth = 1
     boolean useSnapshotVersions = false
+    boolean useConflictingVersions = false
     boolean isEmpty(){
         size==0
     }
@@ -272,7 +274,7 @@ class MavenRepository {
     }
 
     List<MavenModule> getDependenciesOfTransitiveLevel(int level){
-        return modules.findAll{((int)(it.artifactId - "artifact").toInteger() % depth) == level - 1 }
+        return modules.findAll{((int)(it.artifactId - "artifact").toInteger() % depth) == level - 1 && it.version == modules[0].version }
     }
 }
 
@@ -373,14 +375,18 @@ class MavenModule {
             pomFile << "\n$parentPomSection\n"
         }
 
-        dependencies.each { dependency ->
+        if (dependencies) {
             pomFile << """
-  <dependencies>
+  <dependencies>"""
+            dependencies.each { dependency ->
+                pomFile << """
     <dependency>
       <groupId>$dependency.groupId</groupId>
       <artifactId>$dependency.artifactId</artifactId>
       <version>$dependency.version</version>
-    </dependency>
+    </dependency>"""
+            }
+            pomFile << """
   </dependencies>"""
         }
 
@@ -467,6 +473,7 @@ class RepositoryBuilder {
     private int numberOfArtifacts = 0
     private File targetDir
     boolean withSnapshotVersions = false
+    boolean withConflictingVersions = false
 
     public RepositoryBuilder(File targetDir) {
         this.targetDir = targetDir;
@@ -487,28 +494,44 @@ class RepositoryBuilder {
         return this;
     }
 
+    /**
+     * Publishes a second version of each module. The last module of each dependency chain also depends on the second version of the first module of
+     * the next chain, so that resolution has to evict versions that it has already traversed.
+     */
+    RepositoryBuilder withConflictingVersions(boolean withConflictingVersions) {
+        this.withConflictingVersions = withConflictingVersions
+        return this;
+    }
+
     MavenRepository create() {
         if(numberOfArtifacts==0){
             return null;
         }
         targetDir.mkdirs();
         MavenRepository repo = new MavenRepository(new File(targetDir, "mavenRepo"))
-        numberOfArtifacts.times {
-            if(withSnapshotVersions){
-                repo.addModule('group', "artifact$it", "1.0-SNAPSHOT")
-            }else{
-                repo.addModule('group', "artifact$it")
+        def versions = withSnapshotVersions ? ["1.0-SNAPSHOT"] : ["1.0"]
+        if (withConflictingVersions) {
+            versions << (withSnapshotVersions ? "1.1-SNAPSHOT" : "1.1")
+        }
+        versions.each { version ->
+            numberOfArtifacts.times {
+                repo.addModule('group', "artifact$it", version)
             }
         }
 
-        transformGraphToDepth(repo.modules, depth)
+        versions.each { version ->
+            transformGraphToDepth(repo.modules.findAll { it.version == version }, depth)
+        }
+        if (withConflictingVersions) {
+            addConflicts(repo.modules, versions[0], versions[1], depth)
+        }
         repo.setDepth(depth)
         repo.publish()
         repo
     }
 
     void transformGraphToDepth(List<MavenModule> modules, int depth) {
-        def depGroups = modules.groupBy { (int) (it.artifactId - "artifact").toInteger() / depth }
+        def depGroups = modules.groupBy { (it.artifactId - "artifact").toInteger().intdiv(depth) }
         depGroups.each {idx, groupModules ->
             for (int i = 0; i < groupModules.size() - 1; i++) {
                 def next = groupModules[i + 1]
@@ -516,4 +539,15 @@ class RepositoryBuilder {
             }
         }
     }
+
+    void addConflicts(List<MavenModule> modules, String version, String conflictingVersion, int depth) {
+        def depGroups = modules.findAll { it.version == version }.groupBy { (it.artifactId - "artifact").toInteger().intdiv(depth) }
+        depGroups.each {idx, groupModules ->
+            def nextGroup = depGroups[idx + 1]
+            if (nextGroup) {
+                def next = nextGroup[0]
+                groupModules[-1].dependsOn(next.groupId, next.artifactId, conflictingVersion)
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.performance
+
+import org.gradle.performance.fixture.AbstractPerformanceTest
+import spock.lang.Unroll
+
+import static org.gradle.performance.measure.Duration.millis
+
+class ConfigurationPerformanceTest extends AbstractPerformanceTest {
+    @Unroll("Project '#testProject' configuration")
+    def "configuration"() {
+        given:
+        runner.testId = "configuration $testProject"
+        runner.testProject = testProject
+        runner.tasksToRun = ['help']
+        runner.maxExecutionTimeRegression = maxExecutionTimeRegression
+
+        when:
+        def result = runner.run()
+
+        then:
+        result.assertCurrentVersionHasNotRegressed()
+
+        where:
+        testProject    | maxExecutionTimeRegression
+        "manyProjects" | millis(500)
+        "lotProjects"  | millis(1500)
+    }
+
+    @Unroll("Project '#testProject' configuration in the daemon")
+    def "configuration in the daemon"() {
+        given:
+        runner.testId = "configuration $testProject in the daemon"
+        runner.testProject = testProject
+        runner.tasksToRun = ['help']
+        runner.args = ['--daemon']
+        runner.maxExecutionTimeRegression = maxExecutionTimeRegression
+
+        when:
+        def result = runner.run()
+
+        then:
+        result.assertCurrentVersionHasNotRegressed()
+
+        where:
+        testProject    | maxExecutionTimeRegression
+        "manyProjects" | millis(500)
+        "lotProjects"  | millis(1500)
+    }
+}
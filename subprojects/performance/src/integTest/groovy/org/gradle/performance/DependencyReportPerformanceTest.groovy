@@ -40,7 +40,9 @@ class DependencyReportPerformanceTest extends AbstractPerformanceTest {
         result.assertCurrentVersionHasNotRegressed()
 
         where:
-        testProject       | maxExecutionTimeRegression
-        "lotDependencies" | millis(500)
+        testProject           | maxExecutionTimeRegression
+        "lotDependencies"     | millis(500)
+        "manyDependencies"    | millis(500)
+        "dependencyConflicts" | millis(500)
     }
 }
\ No newline at end of file
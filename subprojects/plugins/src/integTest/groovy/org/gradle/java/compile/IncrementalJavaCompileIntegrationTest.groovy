@@ -89,6 +89,76 @@ class IncrementalJavaCompileIntegrationTest extends AbstractIntegrationTest {
         file("build/dependency-cache/dependencies.txt").assertExists();
     }
 
+    @Test
+    public void recompilesDependentClassesWhenUsingIncrementalCompilation() {
+        file("build.gradle").writelns(
+                "apply plugin: 'java'",
+                "compileJava.options.incremental = true"
+        );
+        writeShortInterface();
+        writeTestClass();
+
+        executer.withTasks("classes").run();
+
+        // Update interface, compile should fail because the dependent class is recompiled
+        writeLongInterface();
+        ExecutionFailure failure = executer.withTasks("classes").runWithFailure();
+        failure.assertHasDescription("Execution failed for task ':compileJava'.");
+    }
+
+    @Test
+    public void recompilesOnlyAffectedClassesWhenUsingIncrementalCompilation() {
+        file("build.gradle").writelns(
+                "apply plugin: 'java'",
+                "compileJava.options.incremental = true"
+        );
+        writeShortInterface();
+        writeTestClass();
+        file("src/main/java/Other.java").writelns(
+                "public class Other {",
+                "}"
+        );
+
+        executer.withTasks("classes").run();
+        def personClass = file("build/classes/main/Person.class").snapshot()
+        def otherClass = file("build/classes/main/Other.class").snapshot()
+
+        // file system time stamp may not see change without this wait
+        Thread.sleep(1000L);
+
+        file("src/main/java/IPerson.java").writelns(
+                "interface IPerson {",
+                "    String DEFAULT_NAME = \"default\";",
+                "    String getName();",
+                "}"
+        );
+        executer.withTasks("classes").run().assertTaskNotSkipped(":compileJava");
+
+        file("build/classes/main/Person.class").assertHasChangedSince(personClass)
+        file("build/classes/main/Other.class").assertHasNotChangedSince(otherClass)
+    }
+
+    @Test
+    public void recompilesAllClassesWhenIncrementalCompilationIsSwitchedOff() {
+        file("build.gradle").writelns(
+                "apply plugin: 'java'",
+                "compileJava.options.incremental = true"
+        );
+        writeShortInterface();
+        writeTestClass();
+
+        executer.withTasks("compileJava").run().assertTasksNotSkipped(":compileJava");
+        executer.withTasks("compileJava").run().assertTasksSkipped(":compileJava");
+
+        file("build.gradle").writelns(
+                "apply plugin: 'java'",
+                "compileJava.options.incremental = false"
+        );
+
+        executer.withTasks("compileJava").run().assertTasksNotSkipped(":compileJava");
+        executer.withTasks("compileJava").run().assertTasksSkipped(":compileJava");
+    }
+
     private void writeShortInterface() {
         file("src/main/java/IPerson.java").writelns(
                 "interface IPerson {",
@@ -23,10 +23,16 @@ import java.io.Serializable;
 public class CompileResult implements WorkResult, Serializable {
     private final boolean didWork;
     private final Throwable exception;
+    private final double heapUsage;
 
     public CompileResult(boolean didWork, @Nullable Throwable exception) {
+        this(didWork, exception, -1);
+    }
+
+    public CompileResult(boolean didWork, @Nullable Throwable exception, double heapUsage) {
         this.didWork = didWork;
         this.exception = exception;
+        this.heapUsage = heapUsage;
     }
 
     public boolean getDidWork() {
@@ -41,4 +47,11 @@ public class CompileResult implements WorkResult, Serializable {
     public boolean isSuccess() {
         return exception == null;
     }
+
+    /**
+     * Returns the fraction of the tenured heap of the compiler daemon that was in use after its most recent garbage collection, or -1 when not known.
+     */
+    public double getHeapUsage() {
+        return heapUsage;
+    }
 }
@@ -17,12 +17,16 @@ package org.gradle.api.internal.tasks.compile.daemon;
 
 import net.jcip.annotations.ThreadSafe;
 
+import org.gradle.api.Nullable;
 import org.gradle.api.internal.tasks.compile.CompileSpec;
 import org.gradle.api.internal.tasks.compile.Compiler;
 import org.gradle.internal.Stoppable;
 import org.gradle.internal.UncheckedException;
 import org.gradle.process.internal.WorkerProcess;
 
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.locks.Lock;
@@ -35,11 +39,14 @@ public class CompilerDaemonClient implements CompilerDaemon, CompilerDaemonClien
     private final CompilerDaemonServerProtocol server;
     private final BlockingQueue<CompileResult> compileResults = new SynchronousQueue<CompileResult>();
     private final Lock lock = new ReentrantLock(true);
+    private final Map<File, String> classpathState;
+    private volatile double heapUsage = -1;
 
     public CompilerDaemonClient(DaemonForkOptions forkOptions, WorkerProcess workerProcess, CompilerDaemonServerProtocol server) {
         this.forkOptions = forkOptions;
         this.workerProcess = workerProcess;
         this.server = server;
+        this.classpathState = snapshot(forkOptions.getClasspath());
     }
 
     public <T extends CompileSpec> CompileResult execute(Compiler<T> compiler, T spec) {
@@ -48,7 +55,9 @@ public class CompilerDaemonClient implements CompilerDaemon, CompilerDaemonClien
         lock.lock();
         try {
             server.execute(compiler, spec);
-            return compileResults.take();
+            CompileResult result = compileResults.take();
+            heapUsage = result.getHeapUsage();
+            return result;
         } catch (InterruptedException e) {
             throw UncheckedException.throwAsUncheckedException(e);
         } finally {
@@ -60,6 +69,34 @@ public class CompilerDaemonClient implements CompilerDaemon, CompilerDaemonClien
         return forkOptions.isCompatibleWith(required);
     }
 
+    /**
+     * Checks whether this daemon can be used for further compilations.
+     *
+     * @param maxHeapUsage The maximum fraction of its tenured heap the daemon may retain between compilations.
+     * @return The reason why this daemon should be stopped, or null when it can be used.
+     */
+    @Nullable
+    public String getRetirementReason(double maxHeapUsage) {
+        if (!workerProcess.isRunning()) {
+            return "it is no longer running";
+        }
+        if (heapUsage > maxHeapUsage) {
+            return String.format("it is using %.0f%% of its heap", heapUsage * 100);
+        }
+        if (!snapshot(forkOptions.getClasspath()).equals(classpathState)) {
+            return "its classpath has changed";
+        }
+        return null;
+    }
+
+    private static Map<File, String> snapshot(Iterable<File> classpath) {
+        Map<File, String> state = new LinkedHashMap<File, String>();
+        for (File file : classpath) {
+            state.put(file, file.length() + ":" + file.lastModified());
+        }
+        return state;
+    }
+
     public void stop() {
         lock.lock();
         try {
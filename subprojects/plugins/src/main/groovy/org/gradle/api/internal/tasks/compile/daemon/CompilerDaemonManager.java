@@ -20,65 +20,153 @@ import net.jcip.annotations.ThreadSafe;
 import org.gradle.BuildAdapter;
 import org.gradle.BuildResult;
 import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.logging.LogLevel;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
+import org.gradle.initialization.DaemonProcess;
 import org.gradle.internal.CompositeStoppable;
 import org.gradle.internal.jvm.Jvm;
 import org.gradle.process.internal.JavaExecHandleBuilder;
 import org.gradle.process.internal.WorkerProcess;
 import org.gradle.process.internal.WorkerProcessBuilder;
+import org.gradle.process.internal.shutdown.ShutdownHookActionRegister;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 /**
- * Controls the lifecycle of the compiler daemon and provides access to it.
+ * Controls the lifecycle of the compiler daemons and provides access to them.
+ *
+ * <p>When running in the Gradle daemon, the compiler daemons are kept for the lifetime of the process, so that later builds can reuse the warmed up
+ * compiler daemons of earlier builds. A compiler daemon is reused only while it is still running, its classpath is unchanged and the memory it retains
+ * between compilations is below a threshold. At the end of each build, the daemons that cannot be reused are stopped, along with the least recently
+ * used daemons in excess of {@link #MAX_IDLE_DAEMONS}. The remaining daemons are stopped when the process exits.</p>
+ *
+ * <p>Otherwise, the compiler daemons are stopped at the end of the build.</p>
  */
 @ThreadSafe
 public class CompilerDaemonManager implements CompilerDaemonFactory {
     private static final Logger LOGGER = Logging.getLogger(CompilerDaemonManager.class);
-    private static final CompilerDaemonManager INSTANCE = new CompilerDaemonManager();
-    
-    private final List<CompilerDaemonClient> clients = new ArrayList<CompilerDaemonClient>();
+    private static final CompilerDaemonManager INSTANCE = create();
+    static final int MAX_IDLE_DAEMONS = 2;
+    static final double MAX_HEAP_USAGE = 0.75;
+
+    // Ordered from most to least recently used
+    private final LinkedList<PooledDaemon> daemons = new LinkedList<PooledDaemon>();
+    private final Set<Gradle> builds = new HashSet<Gradle>();
+    private final boolean keepIdleDaemons;
+
+    CompilerDaemonManager(boolean keepIdleDaemons) {
+        this.keepIdleDaemons = keepIdleDaemons;
+    }
 
     public static CompilerDaemonManager getInstance() {
         return INSTANCE;
     }
 
+    private static CompilerDaemonManager create() {
+        final CompilerDaemonManager manager = new CompilerDaemonManager(DaemonProcess.isDaemon());
+        if (manager.keepIdleDaemons) {
+            ShutdownHookActionRegister.addAction(new Runnable() {
+                public void run() {
+                    manager.stop();
+                }
+            });
+        }
+        return manager;
+    }
+
     public synchronized CompilerDaemon getDaemon(ProjectInternal project, DaemonForkOptions forkOptions) {
-        if (clients.isEmpty()) {
-            registerStopOnBuildFinished(project);
+        if (builds.add(project.getGradle())) {
+            registerReleaseOnBuildFinished(project.getGradle());
         }
 
-        for (CompilerDaemonClient client: clients) {
-            if (client.isCompatibleWith(forkOptions)) {
-                return client;
+        LogLevel logLevel = project.getGradle().getStartParameter().getLogLevel();
+        File workingDir = project.getRootProject().getProjectDir();
+        Iterator<PooledDaemon> iterator = daemons.iterator();
+        while (iterator.hasNext()) {
+            PooledDaemon daemon = iterator.next();
+            if (daemon.logLevel != logLevel || !daemon.workingDir.equals(workingDir) || !daemon.client.isCompatibleWith(forkOptions)) {
+                continue;
+            }
+            String reason = daemon.client.getRetirementReason(MAX_HEAP_USAGE);
+            if (reason != null) {
+                iterator.remove();
+                retire(Collections.singletonMap(daemon.client, reason));
+                continue;
             }
+            iterator.remove();
+            daemons.addFirst(daemon);
+            return daemon.client;
         }
 
-        CompilerDaemonClient client = startDaemon(project, forkOptions);
-        clients.add(client);
+        CompilerDaemonClient client = startDaemon(project, forkOptions, workingDir);
+        daemons.addFirst(new PooledDaemon(client, logLevel, workingDir));
         return client;
     }
 
     public synchronized void stop() {
-        LOGGER.info("Stopping {} Gradle compiler daemon(s).", clients.size());
+        LOGGER.info("Stopping {} Gradle compiler daemon(s).", daemons.size());
+        List<CompilerDaemonClient> clients = new ArrayList<CompilerDaemonClient>();
+        for (PooledDaemon daemon : daemons) {
+            clients.add(daemon.client);
+        }
         CompositeStoppable.stoppable(clients).stop();
-        LOGGER.info("Stopped {} Gradle compiler daemon(s).", clients.size());
-        clients.clear();
+        LOGGER.info("Stopped {} Gradle compiler daemon(s).", daemons.size());
+        daemons.clear();
+    }
+
+    /**
+     * Called when a build has finished. Once no build is using the daemons, stops all of them, or, when idle daemons are kept, those that cannot be
+     * reused by later builds and the least recently used daemons in excess of {@link #MAX_IDLE_DAEMONS}.
+     */
+    synchronized void release(Gradle build) {
+        builds.remove(build);
+        if (!builds.isEmpty()) {
+            return;
+        }
+        if (!keepIdleDaemons) {
+            stop();
+            return;
+        }
+        Map<CompilerDaemonClient, String> retired = new LinkedHashMap<CompilerDaemonClient, String>();
+        int retained = 0;
+        Iterator<PooledDaemon> iterator = daemons.iterator();
+        while (iterator.hasNext()) {
+            CompilerDaemonClient client = iterator.next().client;
+            String reason = client.getRetirementReason(MAX_HEAP_USAGE);
+            if (reason == null && retained == MAX_IDLE_DAEMONS) {
+                reason = String.format("only %s idle compiler daemons are kept", MAX_IDLE_DAEMONS);
+            }
+            if (reason == null) {
+                retained++;
+            } else {
+                iterator.remove();
+                retired.put(client, reason);
+            }
+        }
+        retire(retired);
+        LOGGER.info("Keeping {} Gradle compiler daemon(s) for later builds.", retained);
+    }
+
+    private void retire(Map<CompilerDaemonClient, String> clients) {
+        for (Map.Entry<CompilerDaemonClient, String> entry : clients.entrySet()) {
+            LOGGER.info("Stopping Gradle compiler daemon, as {}.", entry.getValue());
+        }
+        CompositeStoppable.stoppable(clients.keySet()).stop();
     }
 
-    private void registerStopOnBuildFinished(ProjectInternal project) {
-        project.getGradle().addBuildListener(new BuildAdapter() {
+    private void registerReleaseOnBuildFinished(final Gradle build) {
+        build.addBuildListener(new BuildAdapter() {
             @Override
             public void buildFinished(BuildResult result) {
-                stop();
+                release(build);
             }
         });
     }
 
-    private CompilerDaemonClient startDaemon(ProjectInternal project, DaemonForkOptions forkOptions) {
+    CompilerDaemonClient startDaemon(ProjectInternal project, DaemonForkOptions forkOptions, File workingDir) {
         LOGGER.info("Starting Gradle compiler daemon with fork options {}.", forkOptions);
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(forkOptions.toString());
@@ -96,7 +184,7 @@ public class CompilerDaemonManager implements CompilerDaemonFactory {
         javaCommand.setMinHeapSize(forkOptions.getMinHeapSize());
         javaCommand.setMaxHeapSize(forkOptions.getMaxHeapSize());
         javaCommand.setJvmArgs(forkOptions.getJvmArgs());
-        javaCommand.setWorkingDir(project.getRootProject().getProjectDir());
+        javaCommand.setWorkingDir(workingDir);
         WorkerProcess process = builder.worker(new CompilerDaemonServer()).build();
         process.start();
         CompilerDaemonServerProtocol server = process.getConnection().addOutgoing(CompilerDaemonServerProtocol.class);
@@ -107,4 +195,16 @@ public class CompilerDaemonManager implements CompilerDaemonFactory {
 
         return client;
     }
+
+    private static class PooledDaemon {
+        final CompilerDaemonClient client;
+        final LogLevel logLevel;
+        final File workingDir;
+
+        private PooledDaemon(CompilerDaemonClient client, LogLevel logLevel, File workingDir) {
+            this.client = client;
+            this.logLevel = logLevel;
+            this.workingDir = workingDir;
+        }
+    }
 }
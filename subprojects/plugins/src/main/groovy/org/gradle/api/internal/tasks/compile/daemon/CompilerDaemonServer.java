@@ -25,6 +25,10 @@ import org.gradle.internal.UncheckedException;
 import org.gradle.process.internal.WorkerProcessContext;
 
 import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
 import java.util.concurrent.CountDownLatch;
 
 
@@ -51,13 +55,33 @@ public class CompilerDaemonServer implements Action<WorkerProcessContext>, Compi
             LOGGER.info("Executing {} in compiler daemon.", compiler);
             WorkResult result = compiler.execute(spec);
             LOGGER.info("Successfully executed {} in compiler daemon.", compiler);
-            client.executed(new CompileResult(result.getDidWork(), null));
+            client.executed(new CompileResult(result.getDidWork(), null, getHeapUsage()));
         } catch (Throwable t) {
             LOGGER.info("Exception executing {} in compiler daemon: {}.", compiler, t);
-            client.executed(new CompileResult(true, t));
+            client.executed(new CompileResult(true, t, getHeapUsage()));
         }
     }
 
+    /**
+     * Calculates the usage of the heap pools which are collected less often, measured after their most recent collection. This is the memory that
+     * the compiler daemon retains between compilations, such as cached compiler state.
+     */
+    private static double getHeapUsage() {
+        double usage = -1;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            // Only the tenured pools support a usage threshold
+            if (pool.getType() != MemoryType.HEAP || !pool.isUsageThresholdSupported() || !pool.isCollectionUsageThresholdSupported()) {
+                continue;
+            }
+            MemoryUsage collectionUsage = pool.getCollectionUsage();
+            if (collectionUsage == null || collectionUsage.getMax() <= 0) {
+                continue;
+            }
+            usage = Math.max(usage, (double) collectionUsage.getUsed() / collectionUsage.getMax());
+        }
+        return usage;
+    }
+
     public void stop() {
         stop.countDown();
     }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.compile.incremental;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * The details of a compiled class that are relevant for incremental compilation.
+ */
+public class ClassAnalysis implements Serializable {
+    private final String className;
+    private final String sourcePath;
+    private final Set<String> dependencies;
+    private final boolean declaresConstants;
+
+    public ClassAnalysis(String className, String sourcePath, Set<String> dependencies, boolean declaresConstants) {
+        this.className = className;
+        this.sourcePath = sourcePath;
+        this.dependencies = dependencies;
+        this.declaresConstants = declaresConstants;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Returns the path of the source file of this class, relative to its source directory, or null if the class file does not record its source file.
+     */
+    public String getSourcePath() {
+        return sourcePath;
+    }
+
+    /**
+     * Returns the names of the other classes referenced by this class.
+     */
+    public Set<String> getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * Returns true if this class declares a non-private compile time constant. The compiler inlines such constants into the classes that use them,
+     * so those classes do not reference this class in their bytecode.
+     */
+    public boolean isDeclaresConstants() {
+        return declaresConstants;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.compile.incremental;
+
+import org.objectweb.asm.*;
+import org.objectweb.asm.commons.Remapper;
+import org.objectweb.asm.commons.RemappingClassAdapter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Extracts the {@link ClassAnalysis} of a class from its bytecode. Every class mentioned in the class file is treated as a dependency, whether it is
+ * used by an instruction, or appears in a signature, an annotation or a constant.
+ */
+public class ClassDependenciesAnalyzer {
+    public ClassAnalysis analyze(InputStream classFile) throws IOException {
+        ClassReader reader = new ClassReader(classFile);
+        final String className = reader.getClassName().replace('/', '.');
+        final Set<String> dependencies = new HashSet<String>();
+        Remapper dependencyCollector = new Remapper() {
+            @Override
+            public String map(String typeName) {
+                String name = typeName.replace('/', '.');
+                if (!name.equals(className) && !name.startsWith("java.")) {
+                    dependencies.add(name);
+                }
+                return typeName;
+            }
+        };
+        ClassDetailsVisitor detailsVisitor = new ClassDetailsVisitor();
+        reader.accept(new RemappingClassAdapter(detailsVisitor, dependencyCollector), ClassReader.SKIP_FRAMES);
+
+        String sourcePath = null;
+        if (detailsVisitor.sourceFile != null) {
+            int packageEnd = className.lastIndexOf('.');
+            String packagePath = packageEnd < 0 ? "" : className.substring(0, packageEnd + 1).replace('.', '/');
+            sourcePath = packagePath + detailsVisitor.sourceFile;
+        }
+        return new ClassAnalysis(className, sourcePath, dependencies, detailsVisitor.declaresConstants);
+    }
+
+    /**
+     * Collects the source file and constants of a class. Returns no-op visitors for the members of the class, so that the remapping adapter visits
+     * their contents.
+     */
+    private static class ClassDetailsVisitor extends ClassVisitor {
+        private String sourceFile;
+        private boolean declaresConstants;
+
+        public ClassDetailsVisitor() {
+            super(Opcodes.ASM4);
+        }
+
+        @Override
+        public void visitSource(String source, String debug) {
+            sourceFile = source;
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+            return new AnnotationVisitor(Opcodes.ASM4) {
+            };
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String desc, String signature, Object value) {
+            if (value != null && (access & Opcodes.ACC_PRIVATE) == 0) {
+                declaresConstants = true;
+            }
+            return new FieldVisitor(Opcodes.ASM4) {
+            };
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+            return new MethodVisitor(Opcodes.ASM4) {
+            };
+        }
+    }
+}
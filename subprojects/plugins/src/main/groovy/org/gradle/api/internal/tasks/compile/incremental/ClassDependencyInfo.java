@@ -0,0 +1,122 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.compile.incremental;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * The classes in the output of a Java compilation, along with the source file that each class was compiled from and the other classes that it
+ * depends on.
+ */
+public class ClassDependencyInfo implements Serializable {
+    private final Map<String, ClassAnalysis> classes = new HashMap<String, ClassAnalysis>();
+
+    public void add(ClassAnalysis analysis) {
+        classes.put(analysis.getClassName(), analysis);
+    }
+
+    public void removeAll(Collection<String> classNames) {
+        for (String className : classNames) {
+            classes.remove(className);
+        }
+    }
+
+    public boolean contains(String className) {
+        return classes.containsKey(className);
+    }
+
+    public ClassAnalysis get(String className) {
+        return classes.get(className);
+    }
+
+    /**
+     * Returns the names of the classes that do not record the source file they were compiled from.
+     */
+    public Set<String> getClassesWithoutSource() {
+        Set<String> result = new TreeSet<String>();
+        for (ClassAnalysis analysis : classes.values()) {
+            if (analysis.getSourcePath() == null) {
+                result.add(analysis.getClassName());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the names of the classes compiled from each of the given source files, keyed by source path.
+     */
+    public Map<String, Set<String>> getClassesBySource(Collection<String> sourcePaths) {
+        Map<String, Set<String>> result = new HashMap<String, Set<String>>();
+        for (String sourcePath : sourcePaths) {
+            result.put(sourcePath, new TreeSet<String>());
+        }
+        for (ClassAnalysis analysis : classes.values()) {
+            Set<String> classNames = result.get(analysis.getSourcePath());
+            if (classNames != null) {
+                classNames.add(analysis.getClassName());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the names of the classes compiled from the given source file, which may no longer exist. The classes are matched using the path of the
+     * source file relative to its source directory, as recorded in their class files.
+     */
+    public Set<String> getClassesForSourceFile(File sourceFile) {
+        String path = "/" + sourceFile.getAbsolutePath().replace(File.separatorChar, '/');
+        Set<String> result = new TreeSet<String>();
+        for (ClassAnalysis analysis : classes.values()) {
+            if (analysis.getSourcePath() != null && path.endsWith("/" + analysis.getSourcePath())) {
+                result.add(analysis.getClassName());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the given classes along with all classes that depend on them, directly or transitively.
+     */
+    public Set<String> getDependentsOf(Collection<String> classNames) {
+        Map<String, Set<String>> dependents = new HashMap<String, Set<String>>();
+        for (ClassAnalysis analysis : classes.values()) {
+            for (String dependency : analysis.getDependencies()) {
+                Set<String> classDependents = dependents.get(dependency);
+                if (classDependents == null) {
+                    classDependents = new HashSet<String>();
+                    dependents.put(dependency, classDependents);
+                }
+                classDependents.add(analysis.getClassName());
+            }
+        }
+
+        Set<String> result = new TreeSet<String>();
+        LinkedList<String> queue = new LinkedList<String>(classNames);
+        while (!queue.isEmpty()) {
+            String className = queue.removeFirst();
+            if (!result.add(className)) {
+                continue;
+            }
+            Set<String> classDependents = dependents.get(className);
+            if (classDependents != null) {
+                queue.addAll(classDependents);
+            }
+        }
+        return result;
+    }
+}
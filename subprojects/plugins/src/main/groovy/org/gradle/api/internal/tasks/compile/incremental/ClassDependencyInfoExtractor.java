@@ -0,0 +1,69 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.compile.incremental;
+
+import org.gradle.api.UncheckedIOException;
+
+import java.io.*;
+
+/**
+ * Extracts the {@link ClassDependencyInfo} of the classes in a directory.
+ */
+public class ClassDependencyInfoExtractor {
+    private final ClassDependenciesAnalyzer analyzer;
+
+    public ClassDependencyInfoExtractor(ClassDependenciesAnalyzer analyzer) {
+        this.analyzer = analyzer;
+    }
+
+    /**
+     * Adds the classes in the given directory that are not yet known to the given info.
+     */
+    public void update(ClassDependencyInfo info, File classesDir) {
+        addClasses(info, classesDir, "");
+    }
+
+    private void addClasses(ClassDependencyInfo info, File dir, String packagePrefix) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            if (file.isDirectory()) {
+                addClasses(info, file, packagePrefix + name + ".");
+            } else if (name.endsWith(".class")) {
+                String className = packagePrefix + name.substring(0, name.length() - ".class".length());
+                if (!info.contains(className)) {
+                    info.add(analyze(file));
+                }
+            }
+        }
+    }
+
+    private ClassAnalysis analyze(File classFile) {
+        try {
+            InputStream inputStream = new BufferedInputStream(new FileInputStream(classFile));
+            try {
+                return analyzer.analyze(inputStream);
+            } finally {
+                inputStream.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Could not read class file %s.", classFile), e);
+        }
+    }
+}
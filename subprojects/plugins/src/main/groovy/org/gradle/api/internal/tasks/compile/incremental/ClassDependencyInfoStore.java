@@ -0,0 +1,71 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.compile.incremental;
+
+import org.gradle.api.UncheckedIOException;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+import java.io.*;
+
+/**
+ * Persists the {@link ClassDependencyInfo} of a compile task between executions.
+ */
+public class ClassDependencyInfoStore {
+    private static final Logger LOGGER = Logging.getLogger(ClassDependencyInfoStore.class);
+    private final File file;
+
+    public ClassDependencyInfoStore(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the stored info, or null if there is none or it cannot be read.
+     */
+    public ClassDependencyInfo get() {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            ObjectInputStream inputStream = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                return (ClassDependencyInfo) inputStream.readObject();
+            } finally {
+                inputStream.close();
+            }
+        } catch (Exception e) {
+            LOGGER.info(String.format("Could not read class dependency info from %s.", file), e);
+            return null;
+        }
+    }
+
+    public void put(ClassDependencyInfo info) {
+        try {
+            ObjectOutputStream outputStream = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            try {
+                outputStream.writeObject(info);
+            } finally {
+                outputStream.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Could not write class dependency info to %s.", file), e);
+        }
+    }
+
+    public void remove() {
+        file.delete();
+    }
+}
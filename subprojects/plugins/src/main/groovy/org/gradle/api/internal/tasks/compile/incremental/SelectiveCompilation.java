@@ -0,0 +1,147 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.compile.incremental;
+
+import org.gradle.api.Action;
+import org.gradle.api.file.EmptyFileVisitor;
+import org.gradle.api.file.FileTree;
+import org.gradle.api.file.FileVisitDetails;
+import org.gradle.api.tasks.incremental.IncrementalTaskInputs;
+import org.gradle.api.tasks.incremental.InputFileDetails;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * Works out which source files need to be recompiled, given the changes to the inputs of a compile task since its previous execution and the
+ * {@link ClassDependencyInfo} recorded by that execution.
+ *
+ * <p>A changed source file is recompiled along with the source files of all classes that depend on the classes compiled from it, directly or
+ * transitively. A full recompilation is required when the changes cannot be mapped to classes, such as when the compile classpath has changed, or
+ * when a changed class declares constants, whose uses cannot be found in the bytecode.</p>
+ */
+public class SelectiveCompilation {
+    private final Set<File> sourcesToCompile = new LinkedHashSet<File>();
+    private final Set<String> staleClasses = new TreeSet<String>();
+    private String fullRebuildReason;
+
+    public SelectiveCompilation(IncrementalTaskInputs inputs, FileTree source, ClassDependencyInfo info) {
+        if (info == null) {
+            fullRebuildReason = "no class dependency information is available from a previous compilation";
+            return;
+        }
+        if (!inputs.isIncremental()) {
+            fullRebuildReason = "the changes to the task inputs or outputs cannot be determined";
+            return;
+        }
+        Set<String> classesWithoutSource = info.getClassesWithoutSource();
+        if (!classesWithoutSource.isEmpty()) {
+            fullRebuildReason = String.format("class %s does not record its source file", classesWithoutSource.iterator().next());
+            return;
+        }
+
+        final Map<File, String> sourcePaths = new HashMap<File, String>();
+        source.visit(new EmptyFileVisitor() {
+            @Override
+            public void visitFile(FileVisitDetails fileDetails) {
+                sourcePaths.put(fileDetails.getFile(), fileDetails.getRelativePath().getPathString());
+            }
+        });
+
+        final Set<String> changedSources = new HashSet<String>();
+        final List<File> unknownChanges = new ArrayList<File>();
+        final List<File> removedFiles = new ArrayList<File>();
+        inputs.outOfDate(new Action<InputFileDetails>() {
+            public void execute(InputFileDetails details) {
+                String sourcePath = sourcePaths.get(details.getFile());
+                if (sourcePath == null) {
+                    unknownChanges.add(details.getFile());
+                } else if (details.isAdded()) {
+                    sourcesToCompile.add(details.getFile());
+                } else {
+                    changedSources.add(sourcePath);
+                }
+            }
+        });
+        inputs.removed(new Action<InputFileDetails>() {
+            public void execute(InputFileDetails details) {
+                removedFiles.add(details.getFile());
+            }
+        });
+        if (!unknownChanges.isEmpty()) {
+            fullRebuildReason = String.format("%s has changed and is not a source file", unknownChanges.get(0));
+            return;
+        }
+
+        Set<String> changedClasses = new HashSet<String>();
+        for (Map.Entry<String, Set<String>> entry : info.getClassesBySource(changedSources).entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                fullRebuildReason = String.format("the classes compiled from source file %s are not known", entry.getKey());
+                return;
+            }
+            changedClasses.addAll(entry.getValue());
+        }
+        for (File removedFile : removedFiles) {
+            Set<String> removedClasses = info.getClassesForSourceFile(removedFile);
+            if (removedClasses.isEmpty()) {
+                fullRebuildReason = String.format("%s has been removed and the classes compiled from it are not known", removedFile);
+                return;
+            }
+            changedClasses.addAll(removedClasses);
+        }
+        for (String className : changedClasses) {
+            if (info.get(className).isDeclaresConstants()) {
+                fullRebuildReason = String.format("class %s declares constants, which may have been inlined into other classes", className);
+                return;
+            }
+        }
+
+        Set<String> affectedSources = new HashSet<String>();
+        for (String className : info.getDependentsOf(changedClasses)) {
+            affectedSources.add(info.get(className).getSourcePath());
+        }
+        Map<String, File> sourceFiles = new HashMap<String, File>();
+        for (Map.Entry<File, String> entry : sourcePaths.entrySet()) {
+            sourceFiles.put(entry.getValue(), entry.getKey());
+        }
+        for (Map.Entry<String, Set<String>> entry : info.getClassesBySource(affectedSources).entrySet()) {
+            staleClasses.addAll(entry.getValue());
+            File sourceFile = sourceFiles.get(entry.getKey());
+            if (sourceFile != null) {
+                sourcesToCompile.add(sourceFile);
+            }
+        }
+        staleClasses.addAll(changedClasses);
+    }
+
+    /**
+     * Returns a description of why all source files need to be recompiled, or null if only {@link #getSourcesToCompile()} need to be.
+     */
+    public String getFullRebuildReason() {
+        return fullRebuildReason;
+    }
+
+    public Set<File> getSourcesToCompile() {
+        return sourcesToCompile;
+    }
+
+    /**
+     * Returns the names of the classes that need to be deleted before compiling.
+     */
+    public Set<String> getStaleClasses() {
+        return staleClasses;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.compile.incremental;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.api.file.FileTree;
+import org.gradle.api.internal.file.collections.SimpleFileCollection;
+import org.gradle.api.internal.tasks.compile.Compiler;
+import org.gradle.api.internal.tasks.compile.JavaCompileSpec;
+import org.gradle.api.internal.tasks.compile.SimpleWorkResult;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.tasks.WorkResult;
+import org.gradle.api.tasks.incremental.IncrementalTaskInputs;
+
+import java.io.File;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recompiles only the Java source files affected by the changes since the previous compilation, using the {@link ClassDependencyInfo} extracted
+ * from the output of that compilation. Falls back to recompiling all source files when that is not possible, as described by
+ * {@link SelectiveCompilation}.
+ */
+public class SelectiveJavaCompiler {
+    private static final Logger LOGGER = Logging.getLogger(SelectiveJavaCompiler.class);
+    private final Compiler<JavaCompileSpec> fullCompiler;
+    private final Compiler<JavaCompileSpec> compiler;
+    private final ClassDependencyInfoStore store;
+    private final ClassDependencyInfoExtractor extractor;
+
+    /**
+     * @param fullCompiler Compiles all source files, removing any stale classes first.
+     * @param compiler Compiles the given source files only.
+     */
+    public SelectiveJavaCompiler(Compiler<JavaCompileSpec> fullCompiler, Compiler<JavaCompileSpec> compiler, ClassDependencyInfoStore store,
+                                 ClassDependencyInfoExtractor extractor) {
+        this.fullCompiler = fullCompiler;
+        this.compiler = compiler;
+        this.store = store;
+        this.extractor = extractor;
+    }
+
+    public WorkResult execute(JavaCompileSpec spec, FileTree source, IncrementalTaskInputs inputs) {
+        ClassDependencyInfo info = store.get();
+        SelectiveCompilation compilation = new SelectiveCompilation(inputs, source, info);
+        // Discard the stored info until the compilation succeeds, as the output is in an unknown state if it fails
+        store.remove();
+
+        WorkResult result;
+        if (compilation.getFullRebuildReason() != null) {
+            LOGGER.info("Compiling all source files because {}.", compilation.getFullRebuildReason());
+            result = fullCompiler.execute(spec);
+            info = new ClassDependencyInfo();
+        } else {
+            Set<String> staleClasses = compilation.getStaleClasses();
+            Set<File> sourcesToCompile = compilation.getSourcesToCompile();
+            LOGGER.info("Compiling {} source files incrementally, removing {} stale classes.", sourcesToCompile.size(), staleClasses.size());
+            deleteClasses(spec.getDestinationDir(), staleClasses);
+            info.removeAll(staleClasses);
+            if (sourcesToCompile.isEmpty()) {
+                result = new SimpleWorkResult(!staleClasses.isEmpty());
+            } else {
+                spec.setSource(new SimpleFileCollection(sourcesToCompile));
+                // Compile against the classes that are not recompiled
+                List<File> classpath = Lists.newArrayList(spec.getDestinationDir());
+                if (spec.getClasspath() != null) {
+                    Iterables.addAll(classpath, spec.getClasspath());
+                }
+                spec.setClasspath(classpath);
+                result = compiler.execute(spec);
+            }
+        }
+
+        extractor.update(info, spec.getDestinationDir());
+        store.put(info);
+        return result;
+    }
+
+    private void deleteClasses(File destinationDir, Set<String> classNames) {
+        for (String className : classNames) {
+            File classFile = new File(destinationDir, className.replace('.', '/') + ".class");
+            if (classFile.exists() && !classFile.delete()) {
+                throw new UncheckedIOException(String.format("Could not delete stale class file %s.", classFile));
+            }
+        }
+    }
+}
@@ -19,7 +19,11 @@ package org.gradle.api.internal.tasks.testing.processors;
 import org.gradle.internal.Factory;
 import org.gradle.api.internal.tasks.testing.TestClassProcessor;
 import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent;
+import org.gradle.api.internal.tasks.testing.TestDescriptorInternal;
 import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+import org.gradle.api.internal.tasks.testing.TestStartEvent;
+import org.gradle.api.tasks.testing.TestOutputEvent;
 import org.gradle.internal.CompositeStoppable;
 import org.gradle.internal.UncheckedException;
 import org.gradle.messaging.actor.Actor;
@@ -31,7 +35,7 @@ import java.util.List;
 
 /**
  * Manages a set of parallel TestClassProcessors. Uses a simple round-robin algorithm to assign test classes to
- * processors.
+ * processors. The processors receive a {@link NotifyingTestResultProcessor}, which handles the test events asynchronously.
  */
 public class MaxNParallelTestClassProcessor implements TestClassProcessor {
     private final int maxProcessors;
@@ -50,8 +54,8 @@ public class MaxNParallelTestClassProcessor implements TestClassProcessor {
     }
 
     public void startProcessing(TestResultProcessor resultProcessor) {
-        resultProcessorActor = actorFactory.createActor(resultProcessor);
-        this.resultProcessor = resultProcessorActor.getProxy(TestResultProcessor.class);
+        resultProcessorActor = actorFactory.createActor(new NotifyingResultProcessor(resultProcessor));
+        this.resultProcessor = resultProcessorActor.getProxy(NotifyingTestResultProcessor.class);
     }
 
     public void processTestClass(TestClassRunInfo testClass) {
@@ -77,4 +81,33 @@ public class MaxNParallelTestClassProcessor implements TestClassProcessor {
             throw UncheckedException.throwAsUncheckedException(e.getCause());
         }
     }
+
+    private static class NotifyingResultProcessor implements NotifyingTestResultProcessor {
+        private final TestResultProcessor resultProcessor;
+
+        public NotifyingResultProcessor(TestResultProcessor resultProcessor) {
+            this.resultProcessor = resultProcessor;
+        }
+
+        public void started(TestDescriptorInternal test, TestStartEvent event) {
+            resultProcessor.started(test, event);
+        }
+
+        public void completed(Object testId, TestCompleteEvent event) {
+            resultProcessor.completed(testId, event);
+        }
+
+        public void output(Object testId, TestOutputEvent event) {
+            resultProcessor.output(testId, event);
+        }
+
+        public void failure(Object testId, Throwable result) {
+            resultProcessor.failure(testId, result);
+        }
+
+        public void whenEventsHandled(Runnable action) {
+            // Called by the actor, so all events received before this call have already been handled
+            action.run();
+        }
+    }
 }
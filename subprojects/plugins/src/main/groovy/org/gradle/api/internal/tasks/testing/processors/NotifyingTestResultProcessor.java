@@ -0,0 +1,29 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.testing.processors;
+
+import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+
+/**
+ * A {@link TestResultProcessor} that can notify its caller once the test events it has received so far have been handled.
+ */
+public interface NotifyingTestResultProcessor extends TestResultProcessor {
+    /**
+     * Runs the given action once all test events received before this call have been handled. The action is run by the thread that handles the
+     * test events.
+     */
+    void whenEventsHandled(Runnable action);
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.testing.worker;
+
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent;
+import org.gradle.api.internal.tasks.testing.TestDescriptorInternal;
+import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+import org.gradle.api.internal.tasks.testing.TestStartEvent;
+import org.gradle.api.tasks.testing.TestOutputEvent;
+import org.gradle.internal.Stoppable;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.StoppableExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Queues the test events reported in a test worker, and sends them to the build process in batches from a separate thread.
+ *
+ * <p>An event is sent only once the build process has granted a credit for it, so that the number of events in flight is bounded by the build
+ * process. The queue is bounded too: when it is full, the thread reporting a test event blocks until the queue has drained, which slows down a test
+ * that produces output faster than the build process can handle it.</p>
+ *
+ * <p>When stopping, the remaining events are sent as credits are granted. Stopping fails when the build process grants no credits for a while, so that
+ * the worker does not wait forever for a build process that is no longer handling its events.</p>
+ */
+public class BatchingTestResultProcessor implements TestResultProcessor, TestEventCredits, Stoppable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchingTestResultProcessor.class);
+    static final long STOP_TIMEOUT_MILLIS = 60000;
+    private final RemoteTestResultProcessor target;
+    private final int maxQueueSize;
+    private final int maxBatchSize;
+    private final long stopTimeoutMillis;
+    private final StoppableExecutor executor;
+    private final Lock lock = new ReentrantLock();
+    private final Condition condition = lock.newCondition();
+    // All guarded by lock
+    private final LinkedList<TestEventBatch.Event> queue = new LinkedList<TestEventBatch.Event>();
+    private int credits;
+    private boolean stopping;
+    private Throwable failure;
+    private int maxQueueDepth;
+    private long eventCount;
+    private int batchCount;
+    private int creditWaits;
+    private int queueFullWaits;
+
+    public BatchingTestResultProcessor(RemoteTestResultProcessor target, ExecutorFactory executorFactory, int maxQueueSize, int maxBatchSize) {
+        this(target, executorFactory, maxQueueSize, maxBatchSize, STOP_TIMEOUT_MILLIS);
+    }
+
+    BatchingTestResultProcessor(RemoteTestResultProcessor target, ExecutorFactory executorFactory, int maxQueueSize, int maxBatchSize, long stopTimeoutMillis) {
+        if (maxQueueSize < 1 || maxBatchSize < 1) {
+            throw new IllegalArgumentException(String.format("Not a valid queue size (%s) or batch size (%s).", maxQueueSize, maxBatchSize));
+        }
+        this.target = target;
+        this.maxQueueSize = maxQueueSize;
+        this.maxBatchSize = maxBatchSize;
+        this.stopTimeoutMillis = stopTimeoutMillis;
+        this.executor = executorFactory.create("Test event sender");
+        executor.execute(new Runnable() {
+            public void run() {
+                sendEvents();
+            }
+        });
+    }
+
+    public void started(TestDescriptorInternal test, TestStartEvent event) {
+        add(TestEventBatch.Event.started(test, event));
+    }
+
+    public void completed(Object testId, TestCompleteEvent event) {
+        add(TestEventBatch.Event.completed(testId, event));
+    }
+
+    public void output(Object testId, TestOutputEvent event) {
+        add(TestEventBatch.Event.output(testId, event));
+    }
+
+    public void failure(Object testId, Throwable result) {
+        add(TestEventBatch.Event.failure(testId, result));
+    }
+
+    public void grant(int credits) {
+        lock.lock();
+        try {
+            this.credits += credits;
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until all queued events have been sent.
+     *
+     * @throws IllegalStateException When the build process grants no credits for the remaining events within the stop timeout.
+     */
+    public void stop() {
+        lock.lock();
+        try {
+            stopping = true;
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        executor.stop();
+
+        lock.lock();
+        try {
+            LOGGER.info("Sent {} test events in {} batches. Maximum queue depth was {} of {} events. Waited {} times for credits and {} times for space in the queue.",
+                    new Object[]{eventCount, batchCount, maxQueueDepth, maxQueueSize, creditWaits, queueFullWaits});
+            rethrowFailure();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(TestEventBatch.Event event) {
+        lock.lock();
+        try {
+            if (stopping) {
+                throw new IllegalStateException("Cannot report a test event after the test worker has stopped.");
+            }
+            if (queue.size() >= maxQueueSize && failure == null) {
+                queueFullWaits++;
+                while (queue.size() >= maxQueueSize && failure == null) {
+                    condition.awaitUninterruptibly();
+                }
+            }
+            rethrowFailure();
+            queue.add(event);
+            maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rethrowFailure() {
+        if (failure != null) {
+            throw UncheckedException.throwAsUncheckedException(failure);
+        }
+    }
+
+    private void sendEvents() {
+        while (true) {
+            TestEventBatch batch = takeBatch();
+            if (batch == null) {
+                return;
+            }
+            try {
+                target.processBatch(batch);
+            } catch (Throwable t) {
+                lock.lock();
+                try {
+                    failure = t;
+                    queue.clear();
+                    condition.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+        }
+    }
+
+    private boolean awaitUntil(Date deadline) {
+        try {
+            return condition.awaitUntil(deadline);
+        } catch (InterruptedException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private TestEventBatch takeBatch() {
+        lock.lock();
+        try {
+            boolean waitingForCredits = false;
+            Date stopDeadline = null;
+            while (queue.isEmpty() ? !stopping : credits == 0) {
+                if (!queue.isEmpty() && !waitingForCredits) {
+                    creditWaits++;
+                    waitingForCredits = true;
+                }
+                if (!stopping) {
+                    condition.awaitUninterruptibly();
+                    continue;
+                }
+                if (stopDeadline == null) {
+                    stopDeadline = new Date(System.currentTimeMillis() + stopTimeoutMillis);
+                }
+                if (!awaitUntil(stopDeadline) && credits == 0) {
+                    failure = new IllegalStateException(String.format("Timed out after %s ms waiting for the build process to accept the remaining %s test events.",
+                            stopTimeoutMillis, queue.size()));
+                    queue.clear();
+                    condition.signalAll();
+                    return null;
+                }
+            }
+            if (queue.isEmpty()) {
+                return null;
+            }
+            int count = Math.min(queue.size(), Math.min(credits, maxBatchSize));
+            TestEventBatch batch = new TestEventBatch();
+            for (int i = 0; i < count; i++) {
+                batch.add(queue.removeFirst());
+            }
+            credits -= count;
+            eventCount += count;
+            batchCount++;
+            condition.signalAll();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
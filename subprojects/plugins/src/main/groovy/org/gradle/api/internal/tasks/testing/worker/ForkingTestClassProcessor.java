@@ -29,6 +29,7 @@ import org.gradle.process.internal.WorkerProcessBuilder;
 import java.io.File;
 
 public class ForkingTestClassProcessor implements TestClassProcessor {
+    private static final int MAX_EVENTS_IN_FLIGHT = 2000;
     private final Factory<WorkerProcessBuilder> workerFactory;
     private final WorkerTestClassProcessorFactory processorFactory;
     private final JavaForkOptions options;
@@ -37,6 +38,7 @@ public class ForkingTestClassProcessor implements TestClassProcessor {
     private RemoteTestClassProcessor remoteProcessor;
     private WorkerProcess workerProcess;
     private TestResultProcessor resultProcessor;
+    private TestEventBatchReceiver eventReceiver;
 
     public ForkingTestClassProcessor(Factory<WorkerProcessBuilder> workerFactory, WorkerTestClassProcessorFactory processorFactory, JavaForkOptions options, Iterable<File> classPath, Action<WorkerProcessBuilder> buildConfigAction) {
         this.workerFactory = workerFactory;
@@ -62,9 +64,13 @@ public class ForkingTestClassProcessor implements TestClassProcessor {
             workerProcess = builder.build();
             workerProcess.start();
 
-            workerProcess.getConnection().addIncoming(TestResultProcessor.class, resultProcessor);
+            TestEventCredits credits = workerProcess.getConnection().addOutgoing(TestEventCredits.class);
+            eventReceiver = new TestEventBatchReceiver(resultProcessor, credits, MAX_EVENTS_IN_FLIGHT);
+            workerProcess.getConnection().addIncoming(RemoteTestResultProcessor.class, eventReceiver);
             remoteProcessor = workerProcess.getConnection().addOutgoing(RemoteTestClassProcessor.class);
 
+            eventReceiver.start();
+
             remoteProcessor.startProcessing();
         }
 
@@ -75,6 +81,7 @@ public class ForkingTestClassProcessor implements TestClassProcessor {
         if (remoteProcessor != null) {
             remoteProcessor.stop();
             workerProcess.waitForStop();
+            eventReceiver.logStatistics();
         }
     }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.testing.worker;
+
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent;
+import org.gradle.api.internal.tasks.testing.TestDescriptorInternal;
+import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+import org.gradle.api.internal.tasks.testing.TestStartEvent;
+import org.gradle.api.tasks.testing.TestOutputEvent;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A sequence of test events, which are sent from a test worker to the build process in a single remote call.
+ */
+public class TestEventBatch implements Serializable {
+    static final byte STARTED = 1;
+    static final byte COMPLETED = 2;
+    static final byte OUTPUT = 3;
+    static final byte FAILURE = 4;
+
+    private final List<Event> events = new ArrayList<Event>();
+
+    public void add(Event event) {
+        events.add(event);
+    }
+
+    public int size() {
+        return events.size();
+    }
+
+    List<Event> getEvents() {
+        return events;
+    }
+
+    /**
+     * Delivers the events of this batch to the given processor, in the order they were added.
+     */
+    public void dispatchTo(TestResultProcessor processor) {
+        for (Event event : events) {
+            switch (event.kind) {
+                case STARTED:
+                    processor.started((TestDescriptorInternal) event.test, (TestStartEvent) event.payload);
+                    break;
+                case COMPLETED:
+                    processor.completed(event.test, (TestCompleteEvent) event.payload);
+                    break;
+                case OUTPUT:
+                    processor.output(event.test, (TestOutputEvent) event.payload);
+                    break;
+                case FAILURE:
+                    processor.failure(event.test, (Throwable) event.payload);
+                    break;
+                default:
+                    throw new IllegalArgumentException(String.format("Unexpected test event type %s.", event.kind));
+            }
+        }
+    }
+
+    /**
+     * A call to one of the methods of {@link TestResultProcessor}.
+     */
+    public static class Event implements Serializable {
+        private final byte kind;
+        private final Object test;
+        private final Object payload;
+
+        Event(byte kind, Object test, Object payload) {
+            this.kind = kind;
+            this.test = test;
+            this.payload = payload;
+        }
+
+        public static Event started(TestDescriptorInternal test, TestStartEvent event) {
+            return new Event(STARTED, test, event);
+        }
+
+        public static Event completed(Object testId, TestCompleteEvent event) {
+            return new Event(COMPLETED, testId, event);
+        }
+
+        public static Event output(Object testId, TestOutputEvent event) {
+            return new Event(OUTPUT, testId, event);
+        }
+
+        public static Event failure(Object testId, Throwable failure) {
+            return new Event(FAILURE, testId, failure);
+        }
+
+        byte getKind() {
+            return kind;
+        }
+
+        Object getTest() {
+            return test;
+        }
+
+        Object getPayload() {
+            return payload;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.testing.worker;
+
+import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+import org.gradle.api.internal.tasks.testing.processors.NotifyingTestResultProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Receives batches of test events from a test worker in the build process, and grants the worker a credit for each event it has handled. At most
+ * {@code maxEventsInFlight} events are sent by the worker and not yet handled at any time.
+ *
+ * <p>When the result processor handles the events asynchronously, the credits are granted only once it has handled them, so that a slow result
+ * processor slows down the worker.</p>
+ */
+public class TestEventBatchReceiver implements RemoteTestResultProcessor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestEventBatchReceiver.class);
+    private final TestResultProcessor resultProcessor;
+    private final TestEventCredits credits;
+    private final int maxEventsInFlight;
+    private long eventCount;
+    private int batchCount;
+    private int maxBatchSize;
+
+    public TestEventBatchReceiver(TestResultProcessor resultProcessor, TestEventCredits credits, int maxEventsInFlight) {
+        this.resultProcessor = resultProcessor;
+        this.credits = credits;
+        this.maxEventsInFlight = maxEventsInFlight;
+    }
+
+    /**
+     * Grants the worker its initial credits.
+     */
+    public void start() {
+        credits.grant(maxEventsInFlight);
+    }
+
+    public void processBatch(TestEventBatch batch) {
+        batch.dispatchTo(resultProcessor);
+        final int size = batch.size();
+        synchronized (this) {
+            eventCount += size;
+            batchCount++;
+            maxBatchSize = Math.max(maxBatchSize, size);
+        }
+        if (resultProcessor instanceof NotifyingTestResultProcessor) {
+            ((NotifyingTestResultProcessor) resultProcessor).whenEventsHandled(new Runnable() {
+                public void run() {
+                    credits.grant(size);
+                }
+            });
+        } else {
+            credits.grant(size);
+        }
+    }
+
+    public synchronized void logStatistics() {
+        LOGGER.debug("Received {} test events in {} batches. Largest batch contained {} of at most {} events in flight.",
+                new Object[]{eventCount, batchCount, maxBatchSize, maxEventsInFlight});
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.testing.worker;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.gradle.api.internal.tasks.testing.*;
+import org.gradle.api.tasks.testing.TestOutputEvent;
+import org.gradle.api.tasks.testing.TestResult;
+import org.gradle.messaging.remote.internal.hub.ArgumentSerializer;
+import org.gradle.messaging.serialize.ObjectReader;
+import org.gradle.messaging.serialize.ObjectWriter;
+
+/**
+ * Compact serializers for the messages passed between the build process and a test worker, which are sent once or more for every test that is
+ * executed. These are registered in {@code META-INF/services/org.gradle.messaging.remote.internal.hub.ArgumentSerializer}.
+ */
+public class TestEventSerializers {
+    private static final TestResult.ResultType[] RESULT_TYPES = TestResult.ResultType.values();
+    private static final TestOutputEvent.Destination[] DESTINATIONS = TestOutputEvent.Destination.values();
+
+    public static class TestClassRunInfoSerializer implements ArgumentSerializer<DefaultTestClassRunInfo> {
+        public Class<DefaultTestClassRunInfo> getType() {
+            return DefaultTestClassRunInfo.class;
+        }
+
+        public DefaultTestClassRunInfo read(Input input, ObjectReader<Object> values) {
+            return new DefaultTestClassRunInfo(input.readString());
+        }
+
+        public void write(Output output, DefaultTestClassRunInfo value, ObjectWriter<Object> values) {
+            output.writeString(value.getTestClassName());
+        }
+    }
+
+    public static class TestStartEventSerializer implements ArgumentSerializer<TestStartEvent> {
+        public Class<TestStartEvent> getType() {
+            return TestStartEvent.class;
+        }
+
+        public TestStartEvent read(Input input, ObjectReader<Object> values) throws Exception {
+            long startTime = input.readLong(true);
+            Object parentId = values.read();
+            return new TestStartEvent(startTime, parentId);
+        }
+
+        public void write(Output output, TestStartEvent value, ObjectWriter<Object> values) throws Exception {
+            output.writeLong(value.getStartTime(), true);
+            values.write(value.getParentId());
+        }
+    }
+
+    public static class TestCompleteEventSerializer implements ArgumentSerializer<TestCompleteEvent> {
+        public Class<TestCompleteEvent> getType() {
+            return TestCompleteEvent.class;
+        }
+
+        public TestCompleteEvent read(Input input, ObjectReader<Object> values) {
+            long endTime = input.readLong(true);
+            int resultType = input.readInt(true);
+            return new TestCompleteEvent(endTime, resultType == 0 ? null : RESULT_TYPES[resultType - 1]);
+        }
+
+        public void write(Output output, TestCompleteEvent value, ObjectWriter<Object> values) {
+            output.writeLong(value.getEndTime(), true);
+            output.writeInt(value.getResultType() == null ? 0 : value.getResultType().ordinal() + 1, true);
+        }
+    }
+
+    public static class TestOutputEventSerializer implements ArgumentSerializer<DefaultTestOutputEvent> {
+        public Class<DefaultTestOutputEvent> getType() {
+            return DefaultTestOutputEvent.class;
+        }
+
+        public DefaultTestOutputEvent read(Input input, ObjectReader<Object> values) {
+            TestOutputEvent.Destination destination = DESTINATIONS[input.readInt(true)];
+            String message = input.readString();
+            return new DefaultTestOutputEvent(destination, message);
+        }
+
+        public void write(Output output, DefaultTestOutputEvent value, ObjectWriter<Object> values) {
+            output.writeInt(value.getDestination().ordinal(), true);
+            output.writeString(value.getMessage());
+        }
+    }
+
+    public static class TestSuiteDescriptorSerializer implements ArgumentSerializer<DefaultTestSuiteDescriptor> {
+        public Class<DefaultTestSuiteDescriptor> getType() {
+            return DefaultTestSuiteDescriptor.class;
+        }
+
+        public DefaultTestSuiteDescriptor read(Input input, ObjectReader<Object> values) throws Exception {
+            Object id = values.read();
+            String name = input.readString();
+            return new DefaultTestSuiteDescriptor(id, name);
+        }
+
+        public void write(Output output, DefaultTestSuiteDescriptor value, ObjectWriter<Object> values) throws Exception {
+            values.write(value.getId());
+            output.writeString(value.getName());
+        }
+    }
+
+    public static class TestClassDescriptorSerializer implements ArgumentSerializer<DefaultTestClassDescriptor> {
+        public Class<DefaultTestClassDescriptor> getType() {
+            return DefaultTestClassDescriptor.class;
+        }
+
+        public DefaultTestClassDescriptor read(Input input, ObjectReader<Object> values) throws Exception {
+            Object id = values.read();
+            String className = input.readString();
+            return new DefaultTestClassDescriptor(id, className);
+        }
+
+        public void write(Output output, DefaultTestClassDescriptor value, ObjectWriter<Object> values) throws Exception {
+            values.write(value.getId());
+            output.writeString(value.getClassName());
+        }
+    }
+
+    public static class TestDescriptorSerializer implements ArgumentSerializer<DefaultTestDescriptor> {
+        public Class<DefaultTestDescriptor> getType() {
+            return DefaultTestDescriptor.class;
+        }
+
+        public DefaultTestDescriptor read(Input input, ObjectReader<Object> values) throws Exception {
+            Object id = values.read();
+            String className = input.readString();
+            String name = input.readString();
+            return new DefaultTestDescriptor(id, className, name);
+        }
+
+        public void write(Output output, DefaultTestDescriptor value, ObjectWriter<Object> values) throws Exception {
+            values.write(value.getId());
+            output.writeString(value.getClassName());
+            output.writeString(value.getName());
+        }
+    }
+
+    public static class TestMethodDescriptorSerializer implements ArgumentSerializer<DefaultTestMethodDescriptor> {
+        public Class<DefaultTestMethodDescriptor> getType() {
+            return DefaultTestMethodDescriptor.class;
+        }
+
+        public DefaultTestMethodDescriptor read(Input input, ObjectReader<Object> values) throws Exception {
+            Object id = values.read();
+            String className = input.readString();
+            String name = input.readString();
+            return new DefaultTestMethodDescriptor(id, className, name);
+        }
+
+        public void write(Output output, DefaultTestMethodDescriptor value, ObjectWriter<Object> values) throws Exception {
+            values.write(value.getId());
+            output.writeString(value.getClassName());
+            output.writeString(value.getName());
+        }
+    }
+
+    public static class TestEventBatchSerializer implements ArgumentSerializer<TestEventBatch> {
+        public Class<TestEventBatch> getType() {
+            return TestEventBatch.class;
+        }
+
+        public TestEventBatch read(Input input, ObjectReader<Object> values) throws Exception {
+            TestEventBatch batch = new TestEventBatch();
+            int count = input.readInt(true);
+            for (int i = 0; i < count; i++) {
+                byte kind = input.readByte();
+                Object test = values.read();
+                Object payload = values.read();
+                batch.add(new TestEventBatch.Event(kind, test, payload));
+            }
+            return batch;
+        }
+
+        public void write(Output output, TestEventBatch value, ObjectWriter<Object> values) throws Exception {
+            output.writeInt(value.size(), true);
+            for (TestEventBatch.Event event : value.getEvents()) {
+                output.writeByte(event.getKind());
+                values.write(event.getTest());
+                values.write(event.getPayload());
+            }
+        }
+    }
+}
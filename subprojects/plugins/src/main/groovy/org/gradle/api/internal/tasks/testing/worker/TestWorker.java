@@ -19,7 +19,6 @@ package org.gradle.api.internal.tasks.testing.worker;
 import org.gradle.api.Action;
 import org.gradle.api.internal.tasks.testing.TestClassProcessor;
 import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
-import org.gradle.api.internal.tasks.testing.TestResultProcessor;
 import org.gradle.api.internal.tasks.testing.WorkerTestClassProcessorFactory;
 import org.gradle.internal.TrueTimeProvider;
 import org.gradle.internal.UncheckedException;
@@ -44,10 +43,12 @@ import java.util.concurrent.CountDownLatch;
 public class TestWorker implements Action<WorkerProcessContext>, RemoteTestClassProcessor, Serializable {
     private static final Logger LOGGER = LoggerFactory.getLogger(TestWorker.class);
     public static final String WORKER_ID_SYS_PROPERTY = "org.gradle.test.worker";
+    private static final int MAX_QUEUED_EVENTS = 1000;
+    private static final int MAX_BATCH_SIZE = 200;
     private final WorkerTestClassProcessorFactory factory;
     private CountDownLatch completed;
     private TestClassProcessor processor;
-    private TestResultProcessor resultProcessor;
+    private BatchingTestResultProcessor resultProcessor;
 
     public TestWorker(WorkerTestClassProcessorFactory factory) {
         this.factory = factory;
@@ -88,7 +89,10 @@ public class TestWorker implements Action<WorkerProcessContext>, RemoteTestClass
         processor = proxy.getSource();
 
         ObjectConnection serverConnection = workerProcessContext.getServerConnection();
-        this.resultProcessor = serverConnection.addOutgoing(TestResultProcessor.class);
+        RemoteTestResultProcessor remoteResultProcessor = serverConnection.addOutgoing(RemoteTestResultProcessor.class);
+        this.resultProcessor = new BatchingTestResultProcessor(remoteResultProcessor, testServices.get(ExecutorFactory.class),
+                MAX_QUEUED_EVENTS, MAX_BATCH_SIZE);
+        serverConnection.addIncoming(TestEventCredits.class, resultProcessor);
         serverConnection.addIncoming(RemoteTestClassProcessor.class, this);
     }
 
@@ -110,7 +114,11 @@ public class TestWorker implements Action<WorkerProcessContext>, RemoteTestClass
     public void stop() {
         Thread.currentThread().setName("Test worker");
         try {
-            processor.stop();
+            try {
+                processor.stop();
+            } finally {
+                resultProcessor.stop();
+            }
         } finally {
             completed.countDown();
         }
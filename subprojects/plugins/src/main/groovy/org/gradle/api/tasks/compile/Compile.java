@@ -21,11 +21,16 @@ import org.gradle.api.internal.file.TemporaryFileProvider;
 import org.gradle.api.internal.project.ProjectInternal;
 import org.gradle.api.internal.tasks.compile.*;
 import org.gradle.api.internal.tasks.compile.Compiler;
+import org.gradle.api.internal.tasks.compile.incremental.ClassDependenciesAnalyzer;
+import org.gradle.api.internal.tasks.compile.incremental.ClassDependencyInfoExtractor;
+import org.gradle.api.internal.tasks.compile.incremental.ClassDependencyInfoStore;
+import org.gradle.api.internal.tasks.compile.incremental.SelectiveJavaCompiler;
 import org.gradle.internal.Factory;
 import org.gradle.api.tasks.Nested;
 import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.WorkResult;
+import org.gradle.api.tasks.incremental.IncrementalTaskInputs;
 import org.gradle.util.DeprecationLogger;
 
 import java.io.File;
@@ -39,6 +44,8 @@ import java.io.File;
 @Deprecated
 public class Compile extends AbstractCompile {
     private Compiler<JavaCompileSpec> javaCompiler;
+    private final Compiler<JavaCompileSpec> defaultJavaCompiler;
+    private final Compiler<JavaCompileSpec> nonCleaningJavaCompiler;
     private File dependencyCacheDir;
     private final CompileOptions compileOptions = new CompileOptions();
 
@@ -53,10 +60,39 @@ public class Compile extends AbstractCompile {
         JavaCompilerFactory defaultCompilerFactory = new DefaultJavaCompilerFactory(projectInternal, tempFileProvider, antBuilderFactory, inProcessCompilerFactory);
         Compiler<JavaCompileSpec> delegatingCompiler = new DelegatingJavaCompiler(defaultCompilerFactory);
         javaCompiler = new IncrementalJavaCompiler(delegatingCompiler, antBuilderFactory, getOutputs());
+        defaultJavaCompiler = javaCompiler;
+        nonCleaningJavaCompiler = delegatingCompiler;
     }
 
     @TaskAction
+    protected void compile(IncrementalTaskInputs inputs) {
+        ClassDependencyInfoStore store = new ClassDependencyInfoStore(new File(getTemporaryDir(), "class-dependencies.bin"));
+        if (!compileOptions.isIncremental()) {
+            // The stored info does not describe the classes compiled now, so must not be used by a later incremental compilation
+            store.remove();
+            compile();
+            return;
+        }
+        if (javaCompiler != defaultJavaCompiler) {
+            getLogger().info("Compiling all source files because a custom Java compiler is used.");
+            store.remove();
+            compile();
+            return;
+        }
+
+        ClassDependencyInfoExtractor extractor = new ClassDependencyInfoExtractor(new ClassDependenciesAnalyzer());
+        SelectiveJavaCompiler compiler = new SelectiveJavaCompiler(javaCompiler, nonCleaningJavaCompiler, store, extractor);
+        WorkResult result = compiler.execute(createSpec(), getSource(), inputs);
+        setDidWork(result.getDidWork());
+    }
+
     protected void compile() {
+        DefaultJavaCompileSpec spec = createSpec();
+        WorkResult result = javaCompiler.execute(spec);
+        setDidWork(result.getDidWork());
+    }
+
+    private DefaultJavaCompileSpec createSpec() {
         DefaultJavaCompileSpec spec = new DefaultJavaCompileSpec();
         spec.setSource(getSource());
         spec.setDestinationDir(getDestinationDir());
@@ -65,8 +101,7 @@ public class Compile extends AbstractCompile {
         spec.setSourceCompatibility(getSourceCompatibility());
         spec.setTargetCompatibility(getTargetCompatibility());
         spec.setCompileOptions(compileOptions);
-        WorkResult result = javaCompiler.execute(spec);
-        setDidWork(result.getDidWork());
+        return spec;
     }
 
     @OutputDirectory
@@ -18,6 +18,7 @@ package org.gradle.api.tasks.compile;
 
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import org.gradle.api.Incubating;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.Nested;
 import org.gradle.api.tasks.Optional;
@@ -35,7 +36,7 @@ public class CompileOptions extends AbstractOptions {
     private static final long serialVersionUID = 0;
 
     private static final ImmutableSet<String> EXCLUDE_FROM_ANT_PROPERTIES =
-            ImmutableSet.of("debugOptions", "forkOptions", "compilerArgs", "dependOptions", "useDepend", "useAnt");
+            ImmutableSet.of("debugOptions", "forkOptions", "compilerArgs", "dependOptions", "useDepend", "useAnt", "incremental");
 
     private boolean failOnError = true;
 
@@ -75,6 +76,8 @@ public class CompileOptions extends AbstractOptions {
 
     private boolean useAnt;
 
+    private boolean incremental;
+
     /**
      * Tells whether to fail the build when compilation fails. Defaults to {@code true}.
      */
@@ -300,6 +303,40 @@ public class CompileOptions extends AbstractOptions {
         this.useDepend = useDepend;
     }
 
+    /**
+     * Tells whether to recompile only the source files affected by the changes since the previous compilation. The affected source files are
+     * found using the dependencies between the compiled classes. All source files are recompiled when the affected source files cannot be
+     * determined, such as when the compile classpath has changed. Defaults to {@code false}.
+     *
+     * @since 1.7
+     */
+    @Incubating
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Tells whether to recompile only the source files affected by the changes since the previous compilation. Defaults to {@code false}.
+     *
+     * @since 1.7
+     */
+    // @Input not recognized if there is only an "is" method
+    @Input
+    @Incubating
+    public boolean getIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Sets whether to recompile only the source files affected by the changes since the previous compilation. Defaults to {@code false}.
+     *
+     * @since 1.7
+     */
+    @Incubating
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
     /**
      * Returns options for using the Ant {@code <depend>} task.
      */
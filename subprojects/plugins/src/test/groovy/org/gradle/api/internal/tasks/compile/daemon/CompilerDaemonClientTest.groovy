@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.compile.daemon
+
+import org.gradle.api.internal.tasks.compile.CompileSpec
+import org.gradle.api.internal.tasks.compile.Compiler
+import org.gradle.process.internal.WorkerProcess
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class CompilerDaemonClientTest extends Specification {
+    @Rule TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+    final workerProcess = Mock(WorkerProcess)
+    final server = Mock(CompilerDaemonServerProtocol)
+    final jar = tmpDir.createFile("compiler.jar")
+    final client = new CompilerDaemonClient(new DaemonForkOptions(null, null, [], [jar], []), workerProcess, server)
+
+    def "can be reused while running"() {
+        given:
+        workerProcess.running >> true
+
+        expect:
+        client.getRetirementReason(0.75) == null
+    }
+
+    def "is retired when the worker process has stopped"() {
+        given:
+        workerProcess.running >> false
+
+        expect:
+        client.getRetirementReason(0.75) == "it is no longer running"
+    }
+
+    def "is retired when the classpath has changed"() {
+        given:
+        workerProcess.running >> true
+
+        when:
+        jar.text = "changed"
+
+        then:
+        client.getRetirementReason(0.75) == "its classpath has changed"
+    }
+
+    def "is retired when the daemon retains too much memory"() {
+        def compiler = Mock(Compiler)
+        def spec = Mock(CompileSpec)
+
+        given:
+        workerProcess.running >> true
+        server.execute(compiler, spec) >> { Thread.start { client.executed(new CompileResult(true, null, 0.9)) } }
+
+        when:
+        def result = client.execute(compiler, spec)
+
+        then:
+        result.success
+        client.getRetirementReason(0.75) == "it is using 90% of its heap"
+        client.getRetirementReason(0.95) == null
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.compile.daemon
+
+import org.gradle.StartParameter
+import org.gradle.api.internal.GradleInternal
+import org.gradle.api.internal.project.ProjectInternal
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class CompilerDaemonManagerTest extends Specification {
+    @Rule TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+    final gradle = Mock(GradleInternal)
+    final forkOptions = new DaemonForkOptions(null, null, [], [], [])
+    final client1 = Mock(CompilerDaemonClient)
+    final client2 = Mock(CompilerDaemonClient)
+    final client3 = Mock(CompilerDaemonClient)
+
+    def setup() {
+        gradle.startParameter >> new StartParameter()
+    }
+
+    def "reuses a compatible daemon"() {
+        def manager = manager(false)
+        def project = projectIn(tmpDir.testDirectory)
+
+        given:
+        client1.isCompatibleWith(forkOptions) >> true
+
+        when:
+        def first = manager.getDaemon(project, forkOptions)
+        def second = manager.getDaemon(project, forkOptions)
+
+        then:
+        1 * manager.startDaemon(project, forkOptions, tmpDir.testDirectory) >> client1
+        first == client1
+        second == client1
+    }
+
+    def "starts a new daemon when no daemon is compatible"() {
+        def manager = manager(false)
+        def project = projectIn(tmpDir.testDirectory)
+
+        given:
+        client1.isCompatibleWith(forkOptions) >> false
+
+        when:
+        def first = manager.getDaemon(project, forkOptions)
+        def second = manager.getDaemon(project, forkOptions)
+
+        then:
+        2 * manager.startDaemon(project, forkOptions, tmpDir.testDirectory) >>> [client1, client2]
+        first == client1
+        second == client2
+    }
+
+    def "starts a new daemon for a build with a different working directory"() {
+        def manager = manager(true)
+        def project = projectIn(tmpDir.file("build1"))
+        def otherProject = projectIn(tmpDir.file("build2"))
+
+        given:
+        client1.isCompatibleWith(forkOptions) >> true
+
+        when:
+        def first = manager.getDaemon(project, forkOptions)
+        def second = manager.getDaemon(otherProject, forkOptions)
+
+        then:
+        1 * manager.startDaemon(project, forkOptions, tmpDir.file("build1")) >> client1
+        1 * manager.startDaemon(otherProject, forkOptions, tmpDir.file("build2")) >> client2
+        first == client1
+        second == client2
+    }
+
+    def "stops a daemon that cannot be reused instead of handing it out"() {
+        def manager = manager(true)
+        def project = projectIn(tmpDir.testDirectory)
+
+        given:
+        client1.isCompatibleWith(forkOptions) >> true
+        client1.getRetirementReason(CompilerDaemonManager.MAX_HEAP_USAGE) >> "it is no longer running"
+
+        when:
+        manager.getDaemon(project, forkOptions)
+        def daemon = manager.getDaemon(project, forkOptions)
+
+        then:
+        2 * manager.startDaemon(project, forkOptions, tmpDir.testDirectory) >>> [client1, client2]
+        1 * client1.stop()
+        daemon == client2
+    }
+
+    def "stops all daemons at the end of the build when not running in the Gradle daemon"() {
+        def manager = manager(false)
+        def project = projectIn(tmpDir.testDirectory)
+
+        given:
+        manager.startDaemon(project, forkOptions, tmpDir.testDirectory) >>> [client1, client2]
+        manager.getDaemon(project, forkOptions)
+        manager.getDaemon(project, forkOptions)
+
+        when:
+        manager.release(gradle)
+
+        then:
+        1 * client1.stop()
+        1 * client2.stop()
+    }
+
+    def "keeps idle daemons for later builds when running in the Gradle daemon"() {
+        def manager = manager(true)
+        def project = projectIn(tmpDir.testDirectory)
+
+        given:
+        client1.isCompatibleWith(forkOptions) >> true
+        manager.getDaemon(project, forkOptions)
+
+        when:
+        manager.release(gradle)
+        def daemon = manager.getDaemon(project, forkOptions)
+
+        then:
+        1 * manager.startDaemon(project, forkOptions, tmpDir.testDirectory) >> client1
+        0 * client1.stop()
+        daemon == client1
+    }
+
+    def "stops the least recently used daemons in excess of the maximum number of idle daemons"() {
+        def manager = manager(true)
+        def project = projectIn(tmpDir.testDirectory)
+
+        given:
+        manager.startDaemon(project, forkOptions, tmpDir.testDirectory) >>> [client1, client2, client3]
+        manager.getDaemon(project, forkOptions)
+        manager.getDaemon(project, forkOptions)
+        manager.getDaemon(project, forkOptions)
+
+        when:
+        manager.release(gradle)
+
+        then:
+        1 * client1.stop()
+        0 * client2.stop()
+        0 * client3.stop()
+    }
+
+    def "stops daemons that cannot be reused at the end of the build"() {
+        def manager = manager(true)
+        def project = projectIn(tmpDir.testDirectory)
+
+        given:
+        manager.startDaemon(project, forkOptions, tmpDir.testDirectory) >>> [client1, client2]
+        manager.getDaemon(project, forkOptions)
+        manager.getDaemon(project, forkOptions)
+
+        when:
+        manager.release(gradle)
+
+        then:
+        _ * client1.getRetirementReason(CompilerDaemonManager.MAX_HEAP_USAGE) >> "its classpath has changed"
+        1 * client1.stop()
+        0 * client2.stop()
+    }
+
+    def "stop stops all daemons"() {
+        def manager = manager(true)
+        def project = projectIn(tmpDir.testDirectory)
+
+        given:
+        manager.startDaemon(project, forkOptions, tmpDir.testDirectory) >>> [client1, client2]
+        manager.getDaemon(project, forkOptions)
+        manager.getDaemon(project, forkOptions)
+
+        when:
+        manager.stop()
+
+        then:
+        1 * client1.stop()
+        1 * client2.stop()
+    }
+
+    private CompilerDaemonManager manager(boolean keepIdleDaemons) {
+        return Spy(CompilerDaemonManager, constructorArgs: [keepIdleDaemons])
+    }
+
+    private ProjectInternal projectIn(File rootDir) {
+        ProjectInternal project
+        project = [getGradle: { gradle }, getRootProject: { project }, getProjectDir: { rootDir }] as ProjectInternal
+        return project
+    }
+}
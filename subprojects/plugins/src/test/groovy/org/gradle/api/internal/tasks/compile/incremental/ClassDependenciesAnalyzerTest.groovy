@@ -0,0 +1,52 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.compile.incremental
+
+import org.gradle.api.internal.tasks.testing.worker.TestWorker
+import spock.lang.Specification
+
+class ClassDependenciesAnalyzerTest extends Specification {
+    final ClassDependenciesAnalyzer analyzer = new ClassDependenciesAnalyzer()
+
+    def "finds the source file and dependencies of a class"() {
+        when:
+        def analysis = analyze(SelectiveJavaCompiler)
+
+        then:
+        analysis.className == SelectiveJavaCompiler.name
+        analysis.sourcePath == "org/gradle/api/internal/tasks/compile/incremental/SelectiveJavaCompiler.java"
+        analysis.dependencies.contains(ClassDependencyInfoStore.name)
+        analysis.dependencies.contains(ClassDependencyInfoExtractor.name)
+        analysis.dependencies.contains(SelectiveCompilation.name)
+        !analysis.dependencies.contains(SelectiveJavaCompiler.name)
+        !analysis.dependencies.any { it.startsWith("java.") }
+        !analysis.declaresConstants
+    }
+
+    def "detects classes that declare constants"() {
+        expect:
+        analyze(TestWorker).declaresConstants
+    }
+
+    private ClassAnalysis analyze(Class<?> type) {
+        def inputStream = type.classLoader.getResourceAsStream(type.name.replace('.', '/') + ".class")
+        try {
+            return analyzer.analyze(inputStream)
+        } finally {
+            inputStream.close()
+        }
+    }
+}
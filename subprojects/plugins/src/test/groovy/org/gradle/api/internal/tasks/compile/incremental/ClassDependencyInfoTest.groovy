@@ -0,0 +1,87 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.compile.incremental
+
+import spock.lang.Specification
+
+class ClassDependencyInfoTest extends Specification {
+    final ClassDependencyInfo info = new ClassDependencyInfo()
+
+    def "finds transitive dependents of classes"() {
+        given:
+        add("A", "A.java")
+        add("B", "B.java", "A")
+        add("C", "C.java", "B")
+        add("D", "D.java", "C", "A")
+        add("E", "E.java", "D")
+        add("Other", "Other.java", "Unrelated")
+
+        expect:
+        info.getDependentsOf(["A"]) == ["A", "B", "C", "D", "E"] as Set
+        info.getDependentsOf(["D"]) == ["D", "E"] as Set
+        info.getDependentsOf(["Unrelated"]) == ["Unrelated", "Other"] as Set
+        info.getDependentsOf([]).empty
+    }
+
+    def "handles dependency cycles"() {
+        given:
+        add("A", "A.java", "B")
+        add("B", "B.java", "A")
+
+        expect:
+        info.getDependentsOf(["A"]) == ["A", "B"] as Set
+    }
+
+    def "maps source files to the classes compiled from them"() {
+        given:
+        add("org.A", "org/A.java")
+        add("org.A\$Inner", "org/A.java")
+        add("org.B", "org/B.java")
+
+        expect:
+        info.getClassesBySource(["org/A.java", "org/C.java"]) == ["org/A.java": ["org.A", "org.A\$Inner"] as Set, "org/C.java": [] as Set]
+        info.getClassesForSourceFile(new File("src/main/java/org/A.java")) == ["org.A", "org.A\$Inner"] as Set
+        info.getClassesForSourceFile(new File("src/main/java/other/org/B.java")) == ["org.B"] as Set
+        info.getClassesForSourceFile(new File("src/main/java/B.java")).empty
+    }
+
+    def "reports classes that do not record their source file"() {
+        given:
+        add("A", "A.java")
+        add("B", null)
+
+        expect:
+        info.getClassesWithoutSource() == ["B"] as Set
+    }
+
+    def "can remove classes"() {
+        given:
+        add("A", "A.java")
+        add("B", "B.java", "A")
+
+        when:
+        info.removeAll(["A"])
+
+        then:
+        !info.contains("A")
+        info.contains("B")
+        info.get("B").dependencies == ["A"] as Set
+    }
+
+    private void add(String className, String sourcePath, String... dependencies) {
+        info.add(new ClassAnalysis(className, sourcePath, dependencies as Set, false))
+    }
+}
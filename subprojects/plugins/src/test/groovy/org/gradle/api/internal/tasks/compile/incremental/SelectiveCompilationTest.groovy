@@ -0,0 +1,183 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.compile.incremental
+
+import org.gradle.api.Action
+import org.gradle.api.internal.file.collections.DirectoryFileTree
+import org.gradle.api.internal.file.collections.FileTreeAdapter
+import org.gradle.api.tasks.incremental.IncrementalTaskInputs
+import org.gradle.api.tasks.incremental.InputFileDetails
+import org.gradle.test.fixtures.file.TestFile
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class SelectiveCompilationTest extends Specification {
+    @Rule public final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+    final IncrementalTaskInputs inputs = Mock()
+    final ClassDependencyInfo info = new ClassDependencyInfo()
+    final List<InputFileDetails> outOfDateFiles = []
+    final List<InputFileDetails> removedFiles = []
+    TestFile a
+    TestFile b
+    TestFile c
+
+    def setup() {
+        a = tmpDir.file("src/org/A.java").createFile()
+        b = tmpDir.file("src/org/B.java").createFile()
+        c = tmpDir.file("src/org/C.java").createFile()
+        add("org.A", "org/A.java")
+        add("org.A\$Inner", "org/A.java")
+        add("org.B", "org/B.java", "org.A\$Inner")
+        add("org.C", "org/C.java")
+
+        inputs.incremental >> true
+        inputs.outOfDate(_) >> { Action action -> outOfDateFiles.each { action.execute(it) } }
+        inputs.removed(_) >> { Action action -> removedFiles.each { action.execute(it) } }
+    }
+
+    def "recompiles a modified source file along with the sources of its dependents"() {
+        given:
+        modified(a)
+
+        when:
+        def compilation = compile()
+
+        then:
+        compilation.fullRebuildReason == null
+        compilation.sourcesToCompile == [a, b] as Set
+        compilation.staleClasses == ["org.A", "org.A\$Inner", "org.B"] as Set
+    }
+
+    def "recompiles only a modified source file that has no dependents"() {
+        given:
+        modified(b)
+
+        when:
+        def compilation = compile()
+
+        then:
+        compilation.fullRebuildReason == null
+        compilation.sourcesToCompile == [b] as Set
+        compilation.staleClasses == ["org.B"] as Set
+    }
+
+    def "compiles an added source file"() {
+        given:
+        def d = tmpDir.file("src/org/D.java").createFile()
+        added(d)
+
+        when:
+        def compilation = compile()
+
+        then:
+        compilation.fullRebuildReason == null
+        compilation.sourcesToCompile == [d] as Set
+        compilation.staleClasses.empty
+    }
+
+    def "removes the classes of a removed source file and recompiles its dependents"() {
+        given:
+        a.delete()
+        removed(a)
+
+        when:
+        def compilation = compile()
+
+        then:
+        compilation.fullRebuildReason == null
+        compilation.sourcesToCompile == [b] as Set
+        compilation.staleClasses == ["org.A", "org.A\$Inner", "org.B"] as Set
+    }
+
+    def "requires a full rebuild when there is no class dependency information"() {
+        expect:
+        new SelectiveCompilation(inputs, sourceTree(), null).fullRebuildReason == "no class dependency information is available from a previous compilation"
+    }
+
+    def "requires a full rebuild when the changes to the inputs are not known"() {
+        given:
+        def inputs = Mock(IncrementalTaskInputs)
+        inputs.incremental >> false
+
+        expect:
+        new SelectiveCompilation(inputs, sourceTree(), info).fullRebuildReason == "the changes to the task inputs or outputs cannot be determined"
+    }
+
+    def "requires a full rebuild when a file other than a source file has changed"() {
+        given:
+        def jar = tmpDir.file("lib.jar").createFile()
+        modified(jar)
+
+        expect:
+        compile().fullRebuildReason == "$jar has changed and is not a source file"
+    }
+
+    def "requires a full rebuild when a class does not record its source file"() {
+        given:
+        add("org.D", null)
+        modified(a)
+
+        expect:
+        compile().fullRebuildReason == "class org.D does not record its source file"
+    }
+
+    def "requires a full rebuild when the classes of a modified source file are not known"() {
+        given:
+        def d = tmpDir.file("src/org/D.java").createFile()
+        modified(d)
+
+        expect:
+        compile().fullRebuildReason == "the classes compiled from source file org/D.java are not known"
+    }
+
+    def "requires a full rebuild when a changed class declares constants"() {
+        given:
+        info.add(new ClassAnalysis("org.C", "org/C.java", [] as Set, true))
+        modified(c)
+
+        expect:
+        compile().fullRebuildReason == "class org.C declares constants, which may have been inlined into other classes"
+    }
+
+    private SelectiveCompilation compile() {
+        return new SelectiveCompilation(inputs, sourceTree(), info)
+    }
+
+    private FileTreeAdapter sourceTree() {
+        return new FileTreeAdapter(new DirectoryFileTree(tmpDir.file("src")))
+    }
+
+    private void add(String className, String sourcePath, String... dependencies) {
+        info.add(new ClassAnalysis(className, sourcePath, dependencies as Set, false))
+    }
+
+    private void added(File file) {
+        outOfDateFiles << details(file, 'added')
+    }
+
+    private void modified(File file) {
+        outOfDateFiles << details(file, 'modified')
+    }
+
+    private void removed(File file) {
+        removedFiles << details(file, 'removed')
+    }
+
+    private InputFileDetails details(File file, String change) {
+        return [getFile: { file }, isAdded: { change == 'added' }, isModified: { change == 'modified' }, isRemoved: { change == 'removed' }] as InputFileDetails
+    }
+}
@@ -27,7 +27,7 @@ import org.gradle.internal.Factory
 class MaxNParallelTestClassProcessorTest extends Specification {
     private final Factory<TestClassProcessor> factory = Mock()
     private final TestResultProcessor resultProcessor = Mock()
-    private final TestResultProcessor asyncResultProcessor = Mock()
+    private final NotifyingTestResultProcessor asyncResultProcessor = Mock()
     private final Actor resultProcessorActor = Mock()
     private final ActorFactory actorFactory = Mock()
     private final MaxNParallelTestClassProcessor processor = new MaxNParallelTestClassProcessor(2, factory, actorFactory)
@@ -37,8 +37,27 @@ class MaxNParallelTestClassProcessorTest extends Specification {
         processor.startProcessing(resultProcessor)
 
         then:
-        1 * actorFactory.createActor(resultProcessor) >> resultProcessorActor
-        1 * resultProcessorActor.getProxy(TestResultProcessor) >> asyncResultProcessor
+        1 * actorFactory.createActor({ it instanceof NotifyingTestResultProcessor }) >> resultProcessorActor
+        1 * resultProcessorActor.getProxy(NotifyingTestResultProcessor) >> asyncResultProcessor
+    }
+
+    def wrapperForResultProcessorForwardsEventsAndRunsCallbacks() {
+        NotifyingTestResultProcessor target
+        Runnable action = Mock()
+
+        given:
+        1 * actorFactory.createActor(_) >> { target = it[0]; resultProcessorActor }
+        processor.startProcessing(resultProcessor)
+
+        when:
+        target.failure("test", null)
+        target.whenEventsHandled(action)
+
+        then:
+        1 * resultProcessor.failure("test", null)
+
+        then:
+        1 * action.run()
     }
 
     def doesNothingWhenNoTestsProcessed() {
@@ -53,8 +72,8 @@ class MaxNParallelTestClassProcessorTest extends Specification {
     }
 
     def startProcessor() {
-        1 * actorFactory.createActor(resultProcessor) >> resultProcessorActor
-        1 * resultProcessorActor.getProxy(TestResultProcessor) >> asyncResultProcessor
+        1 * actorFactory.createActor({ it instanceof NotifyingTestResultProcessor }) >> resultProcessorActor
+        1 * resultProcessorActor.getProxy(NotifyingTestResultProcessor) >> asyncResultProcessor
         processor.startProcessing(resultProcessor)
     }
 
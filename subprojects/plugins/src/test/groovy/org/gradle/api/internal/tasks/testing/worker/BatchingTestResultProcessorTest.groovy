@@ -0,0 +1,165 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.testing.worker
+
+import org.gradle.api.internal.tasks.testing.DefaultTestOutputEvent
+import org.gradle.api.internal.tasks.testing.TestResultProcessor
+import org.gradle.api.tasks.testing.TestOutputEvent
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
+
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+class BatchingTestResultProcessorTest extends ConcurrentSpec {
+    final batches = new LinkedBlockingQueue<TestEventBatch>()
+    final target = { TestEventBatch batch -> batches.add(batch) } as RemoteTestResultProcessor
+
+    def "sends queued events in order once credits have been granted"() {
+        def processor = new BatchingTestResultProcessor(target, executorFactory, 10, 10)
+        def received = Mock(TestResultProcessor)
+        def failure = new RuntimeException()
+
+        when:
+        processor.output("test", output("1"))
+        processor.output("test", output("2"))
+        processor.failure("test", failure)
+        processor.grant(3)
+        processor.stop()
+
+        and:
+        batches.each { it.dispatchTo(received) }
+
+        then:
+        1 * received.output("test", { it.message == "1" })
+
+        then:
+        1 * received.output("test", { it.message == "2" })
+
+        then:
+        1 * received.failure("test", failure)
+        0 * received._
+    }
+
+    def "does not send more events than the number of credits granted"() {
+        def processor = new BatchingTestResultProcessor(target, executorFactory, 10, 10)
+
+        when:
+        3.times { processor.output("test", output("message")) }
+        processor.grant(2)
+
+        then:
+        batches.poll(5, TimeUnit.SECONDS).size() == 2
+        batches.poll(200, TimeUnit.MILLISECONDS) == null
+
+        when:
+        processor.grant(1)
+        processor.stop()
+
+        then:
+        batches.size() == 1
+        batches.poll().size() == 1
+    }
+
+    def "sends events in batches of at most the maximum batch size"() {
+        def processor = new BatchingTestResultProcessor(target, executorFactory, 10, 2)
+
+        when:
+        5.times { processor.output("test", output("message")) }
+        processor.grant(10)
+        processor.stop()
+
+        then:
+        batches.collect { it.size() }.sum() == 5
+        batches.every { it.size() <= 2 }
+    }
+
+    def "blocks the reporting thread while the queue is full"() {
+        def processor = new BatchingTestResultProcessor(target, executorFactory, 1, 10)
+        processor.output("test", output("1"))
+        def reporter = new Thread({ processor.output("test", output("2")) } as Runnable)
+
+        when:
+        reporter.start()
+        reporter.join(200)
+
+        then:
+        reporter.alive
+
+        when:
+        processor.grant(2)
+        reporter.join(5000)
+        processor.stop()
+
+        then:
+        !reporter.alive
+        batches.collect { it.size() }.sum() == 2
+    }
+
+    def "rethrows failure to send events"() {
+        def broken = new RuntimeException("broken")
+        def processor = new BatchingTestResultProcessor({ throw broken } as RemoteTestResultProcessor, executorFactory, 10, 10)
+
+        when:
+        processor.output("test", output("message"))
+        processor.grant(1)
+        processor.stop()
+
+        then:
+        RuntimeException e = thrown()
+        e == broken
+    }
+
+    def "fails to stop when the build process grants no credits for the remaining events"() {
+        def processor = new BatchingTestResultProcessor(target, executorFactory, 10, 10, 100)
+
+        when:
+        3.times { processor.output("test", output("message")) }
+        processor.grant(1)
+        processor.stop()
+
+        then:
+        IllegalStateException e = thrown()
+        e.message == "Timed out after 100 ms waiting for the build process to accept the remaining 2 test events."
+        batches.size() == 1
+    }
+
+    def "waits for credits when stopping"() {
+        def processor = new BatchingTestResultProcessor(target, executorFactory, 10, 10, 5000)
+        processor.output("test", output("message"))
+
+        when:
+        async {
+            start {
+                instant.stopping
+                processor.stop()
+                instant.stopped
+            }
+            start {
+                thread.blockUntil.stopping
+                instant.granted
+                processor.grant(1)
+            }
+        }
+
+        then:
+        instant.granted < instant.stopped
+        batches.size() == 1
+    }
+
+    def output(String message) {
+        return new DefaultTestOutputEvent(TestOutputEvent.Destination.StdOut, message)
+    }
+}
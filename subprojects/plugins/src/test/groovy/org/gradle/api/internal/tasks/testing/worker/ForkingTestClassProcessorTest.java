@@ -37,6 +37,8 @@ import java.io.File;
 import java.util.List;
 
 import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.notNullValue;
 
 @RunWith(JMock.class)
@@ -47,6 +49,7 @@ public class ForkingTestClassProcessorTest {
     private final Factory<WorkerProcessBuilder> workerFactory = context.mock(Factory.class);
     private final WorkerProcess workerProcess = context.mock(WorkerProcess.class);
     private final RemoteTestClassProcessor worker = context.mock(RemoteTestClassProcessor.class);
+    private final TestEventCredits credits = context.mock(TestEventCredits.class);
     private final TestClassRunInfo test1 = context.mock(TestClassRunInfo.class, "test1");
     private final TestClassRunInfo test2 = context.mock(TestClassRunInfo.class, "test2");
     private final TestResultProcessor resultProcessor = context.mock(TestResultProcessor.class);
@@ -128,11 +131,16 @@ public class ForkingTestClassProcessorTest {
             allowing(workerProcess).getConnection();
             will(returnValue(connection));
 
-            one(connection).addIncoming(TestResultProcessor.class, resultProcessor);
-            
+            one(connection).addOutgoing(TestEventCredits.class);
+            will(returnValue(credits));
+
+            one(connection).addIncoming(with(equalTo(RemoteTestResultProcessor.class)), with(notNullValue(TestEventBatchReceiver.class)));
+
             one(connection).addOutgoing(RemoteTestClassProcessor.class);
             will(returnValue(worker));
 
+            one(credits).grant(with(greaterThan(0)));
+
             one(workerProcess).start();
 
             one(worker).startProcessing();
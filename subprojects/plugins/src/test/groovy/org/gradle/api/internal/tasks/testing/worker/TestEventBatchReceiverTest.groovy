@@ -0,0 +1,131 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.testing.worker
+
+import org.gradle.api.internal.tasks.testing.DefaultTestOutputEvent
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent
+import org.gradle.api.internal.tasks.testing.TestResultProcessor
+import org.gradle.api.internal.tasks.testing.processors.NotifyingTestResultProcessor
+import org.gradle.api.tasks.testing.TestOutputEvent
+import org.gradle.messaging.actor.internal.DefaultActorFactory
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+class TestEventBatchReceiverTest extends ConcurrentSpec {
+    final resultProcessor = Mock(TestResultProcessor)
+    final credits = Mock(TestEventCredits)
+    final receiver = new TestEventBatchReceiver(resultProcessor, credits, 100)
+
+    def "grants initial credits on start"() {
+        when:
+        receiver.start()
+
+        then:
+        1 * credits.grant(100)
+        0 * _
+    }
+
+    def "dispatches events to result processor and grants a credit for each event"() {
+        def event1 = new TestCompleteEvent(1L)
+        def event2 = new TestCompleteEvent(2L)
+        def batch = new TestEventBatch()
+        batch.add(TestEventBatch.Event.completed("test1", event1))
+        batch.add(TestEventBatch.Event.completed("test2", event2))
+
+        when:
+        receiver.processBatch(batch)
+
+        then:
+        1 * resultProcessor.completed("test1", event1)
+
+        then:
+        1 * resultProcessor.completed("test2", event2)
+
+        then:
+        1 * credits.grant(2)
+        0 * _
+    }
+
+    def "grants credits only once an asynchronous result processor has handled the events"() {
+        def notifyingProcessor = Mock(NotifyingTestResultProcessor)
+        def receiver = new TestEventBatchReceiver(notifyingProcessor, credits, 100)
+        def event = new TestCompleteEvent(1L)
+        def batch = new TestEventBatch()
+        batch.add(TestEventBatch.Event.completed("test", event))
+        def callback
+
+        when:
+        receiver.processBatch(batch)
+
+        then:
+        1 * notifyingProcessor.completed("test", event)
+
+        then:
+        1 * notifyingProcessor.whenEventsHandled(_) >> { callback = it[0] }
+        0 * _
+
+        when:
+        callback.run()
+
+        then:
+        1 * credits.grant(1)
+        0 * _
+    }
+
+    def "test worker sends an event only once the result processor has handled an earlier one"() {
+        def actorFactory = new DefaultActorFactory(executorFactory)
+        def handled = new CopyOnWriteArrayList<String>()
+        def sent = new CopyOnWriteArrayList<String>()
+        def target = [
+                output: { testId, TestOutputEvent event ->
+                    handled.add(event.message)
+                    instant."handled${event.message}"
+                },
+                whenEventsHandled: { Runnable action -> action.run() }
+        ] as NotifyingTestResultProcessor
+        def actor = actorFactory.createActor(target)
+        TestEventBatchReceiver receiver
+        BatchingTestResultProcessor worker
+        receiver = new TestEventBatchReceiver(actor.getProxy(NotifyingTestResultProcessor), { int count -> worker.grant(count) } as TestEventCredits, 2)
+        worker = new BatchingTestResultProcessor({ TestEventBatch batch ->
+            batch.dispatchTo([output: { testId, TestOutputEvent event ->
+                sent.add(event.message)
+                instant."sent${event.message}"
+            }] as TestResultProcessor)
+            receiver.processBatch(batch)
+        } as RemoteTestResultProcessor, executorFactory, 10, 10)
+
+        when:
+        async {
+            receiver.start()
+            5.times { worker.output("test", new DefaultTestOutputEvent(TestOutputEvent.Destination.StdOut, "$it")) }
+            worker.stop()
+            actor.stop()
+            actorFactory.stop()
+        }
+
+        then:
+        sent == ["0", "1", "2", "3", "4"]
+        handled == ["0", "1", "2", "3", "4"]
+
+        and:
+        // The receiver allows 2 events in flight
+        instant.handled0 < instant.sent2
+        instant.handled1 < instant.sent3
+        instant.handled2 < instant.sent4
+    }
+}
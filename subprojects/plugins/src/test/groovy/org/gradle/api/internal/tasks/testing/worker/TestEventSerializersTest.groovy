@@ -0,0 +1,146 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.testing.worker
+
+import com.esotericsoftware.kryo.io.Input
+import com.esotericsoftware.kryo.io.Output
+import org.gradle.api.internal.tasks.testing.*
+import org.gradle.api.tasks.testing.TestOutputEvent
+import org.gradle.api.tasks.testing.TestResult
+import org.gradle.internal.id.CompositeIdGenerator
+import org.gradle.internal.service.ServiceLocator
+import org.gradle.messaging.remote.internal.hub.ArgumentSerializer
+import org.gradle.messaging.remote.internal.hub.MethodArgsSerializer
+import spock.lang.Specification
+
+class TestEventSerializersTest extends Specification {
+    final classLoader = getClass().classLoader
+    final serializer = new MethodArgsSerializer(classLoader, new ServiceLocator(classLoader).getAll(ArgumentSerializer))
+    final id = new CompositeIdGenerator.CompositeId(1L, 2L)
+
+    def "serializes test class run info"() {
+        def result = serialize(new DefaultTestClassRunInfo("org.gradle.SomeTest"))
+
+        expect:
+        result instanceof DefaultTestClassRunInfo
+        result.testClassName == "org.gradle.SomeTest"
+    }
+
+    def "serializes test start event"() {
+        def result = serialize(new TestStartEvent(123L, id))
+
+        expect:
+        result instanceof TestStartEvent
+        result.startTime == 123L
+        result.parentId == id
+    }
+
+    def "serializes test start event without parent"() {
+        def result = serialize(new TestStartEvent(123L))
+
+        expect:
+        result.startTime == 123L
+        result.parentId == null
+    }
+
+    def "serializes test complete event"() {
+        def result = serialize(new TestCompleteEvent(123L, TestResult.ResultType.SKIPPED))
+
+        expect:
+        result instanceof TestCompleteEvent
+        result.endTime == 123L
+        result.resultType == TestResult.ResultType.SKIPPED
+    }
+
+    def "serializes test complete event without result type"() {
+        def result = serialize(new TestCompleteEvent(123L))
+
+        expect:
+        result.endTime == 123L
+        result.resultType == null
+    }
+
+    def "serializes test output event"() {
+        def result = serialize(new DefaultTestOutputEvent(TestOutputEvent.Destination.StdErr, "message"))
+
+        expect:
+        result instanceof DefaultTestOutputEvent
+        result.destination == TestOutputEvent.Destination.StdErr
+        result.message == "message"
+    }
+
+    def "serializes test descriptors"() {
+        expect:
+        def suite = serialize(new DefaultTestSuiteDescriptor(id, "suite"))
+        suite.class == DefaultTestSuiteDescriptor
+        suite.id == id
+        suite.name == "suite"
+
+        def testClass = serialize(new DefaultTestClassDescriptor(id, "SomeTest"))
+        testClass.class == DefaultTestClassDescriptor
+        testClass.id == id
+        testClass.className == "SomeTest"
+
+        def test = serialize(new DefaultTestDescriptor(id, "SomeTest", "test"))
+        test.class == DefaultTestDescriptor
+        test.id == id
+        test.className == "SomeTest"
+        test.name == "test"
+
+        def method = serialize(new DefaultTestMethodDescriptor(id, "SomeTest", "method"))
+        method.class == DefaultTestMethodDescriptor
+        method.id == id
+        method.className == "SomeTest"
+        method.name == "method"
+    }
+
+    def "serializes batch of test events"() {
+        def descriptor = new DefaultTestClassDescriptor(id, "SomeTest")
+        def failure = new RuntimeException("broken")
+        def batch = new TestEventBatch()
+        batch.add(TestEventBatch.Event.started(descriptor, new TestStartEvent(1L)))
+        batch.add(TestEventBatch.Event.output(id, new DefaultTestOutputEvent(TestOutputEvent.Destination.StdOut, "message")))
+        batch.add(TestEventBatch.Event.failure(id, failure))
+        batch.add(TestEventBatch.Event.completed(id, new TestCompleteEvent(2L)))
+        def processor = Mock(TestResultProcessor)
+
+        when:
+        serialize(batch).dispatchTo(processor)
+
+        then:
+        1 * processor.started({ it.id == id && it.className == "SomeTest" }, { it.startTime == 1L })
+
+        then:
+        1 * processor.output(id, { it.message == "message" })
+
+        then:
+        1 * processor.failure(id, { it.message == "broken" })
+
+        then:
+        1 * processor.completed(id, { it.endTime == 2L })
+        0 * processor._
+    }
+
+    def serialize(Object value) {
+        def outStr = new ByteArrayOutputStream()
+        def output = new Output(outStr)
+        serializer.newWriter(output).write([value] as Object[])
+        output.flush()
+        def result = serializer.newReader(new Input(outStr.toByteArray())).read()
+        assert result.length == 1
+        return result[0]
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.integtests.tooling.r17
+
+import org.gradle.integtests.tooling.fixture.MinTargetGradleVersion
+import org.gradle.integtests.tooling.fixture.MinToolingApiVersion
+import org.gradle.integtests.tooling.fixture.ToolingApiSpecification
+import org.gradle.tooling.model.GradleProject
+import org.gradle.tooling.model.eclipse.EclipseProject
+
+@MinToolingApiVersion("1.7-rc-1")
+@MinTargetGradleVersion("1.7-rc-1")
+class ModelForProjectsCrossVersionSpec extends ToolingApiSpecification {
+    def setup() {
+        file("settings.gradle") << "include 'api', 'impl'"
+        file("build.gradle") << """
+            subprojects {
+                apply plugin: 'java'
+                task custom
+                dependencies { compile files('lib.jar') }
+            }
+        """
+    }
+
+    def "builds the details of the requested projects only"() {
+        when:
+        GradleProject model = withConnection { connection ->
+            connection.model(GradleProject).forProjects(":api").get()
+        }
+
+        then:
+        model.findByPath(":api").tasks.find { it.name == 'custom' }
+        model.findByPath(":impl") != null
+        model.findByPath(":impl").tasks.empty
+    }
+
+    def "builds the eclipse classpath of the requested projects only"() {
+        when:
+        EclipseProject model = withConnection { connection ->
+            connection.model(EclipseProject).forProjects(":impl").get()
+        }
+
+        then:
+        def api = model.children.find { it.name == 'api' }
+        def impl = model.children.find { it.name == 'impl' }
+        api.classpath.empty
+        impl.classpath.collect { it.file.name } == ['lib.jar']
+    }
+
+    def "does not configure the projects that are not requested when configuring on demand"() {
+        given:
+        file("gradle.properties") << "org.gradle.configureondemand=true"
+        file("impl/build.gradle") << "assert false: 'should not be evaluated'"
+
+        when:
+        GradleProject model = withConnection { connection ->
+            connection.model(GradleProject).forProjects(":api").get()
+        }
+
+        then:
+        model.findByPath(":api").tasks.find { it.name == 'custom' }
+        model.findByPath(":impl").tasks.empty
+    }
+}
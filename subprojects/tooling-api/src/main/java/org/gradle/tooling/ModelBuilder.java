@@ -121,6 +121,26 @@ public interface ModelBuilder<T> extends LongRunningOperation {
     @Incubating
     ModelBuilder<T> forTasks(String... tasks);
 
+    /**
+     * Specifies the projects to include the details of in the model. By default, the details of all projects are included.
+     *
+     * <p>The model still contains the complete project hierarchy, but the details that are expensive to calculate, such as the dependencies and
+     * tasks of a project, are only included for the given projects. For a large build, an IDE can use this to fetch the details of the projects the
+     * user is working on first, and fetch the remaining projects in later requests. When the build uses configuration on demand, only the given
+     * projects, their parent projects and the projects they depend on are configured.</p>
+     *
+     * <p>This is a hint. The complete model is returned when the model type or the target Gradle version does not support building a partial model.
+     * Only the {@link org.gradle.tooling.model.eclipse.EclipseProject}, {@link org.gradle.tooling.model.eclipse.HierarchicalEclipseProject},
+     * {@link org.gradle.tooling.model.idea.IdeaProject} and {@link org.gradle.tooling.model.GradleProject} models currently support this.</p>
+     *
+     * @param projectPaths The paths of the projects, for example {@code :app}.
+     * @return this
+     *
+     * @since 1.7
+     */
+    @Incubating
+    ModelBuilder<T> forProjects(String... projectPaths);
+
     /**
      * Fetch the model, blocking until it is available.
      *
@@ -44,8 +44,21 @@ public class ProtocolToModelAdapter implements Serializable {
     private static final Pattern IS_SUPPORT_METHOD = Pattern.compile("is(\\w+)Supported");
     private static final Pattern GETTER_METHOD = Pattern.compile("get(\\w+)");
     private static final Pattern IS_METHOD = Pattern.compile("is(\\w+)");
+    private static final Method EQUALS_METHOD;
+    private static final Method HASHCODE_METHOD;
     private final TargetTypeProvider targetTypeProvider;
     private final CollectionMapper collectionMapper = new CollectionMapper();
+    private transient MethodLookupCache methodLookupCache = new MethodLookupCache();
+    private transient ProxyConstructorCache proxyConstructorCache = new ProxyConstructorCache();
+
+    static {
+        try {
+            EQUALS_METHOD = Object.class.getMethod("equals", Object.class);
+            HASHCODE_METHOD = Object.class.getMethod("hashCode");
+        } catch (NoSuchMethodException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
 
     public ProtocolToModelAdapter() {
         this(IDENTITY_TYPE_PROVIDER);
@@ -55,6 +68,12 @@ public class ProtocolToModelAdapter implements Serializable {
         this.targetTypeProvider = targetTypeProvider;
     }
 
+    private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        methodLookupCache = new MethodLookupCache();
+        proxyConstructorCache = new ProxyConstructorCache();
+    }
+
     public <T, S> T adapt(Class<T> targetType, S sourceObject) {
         return adapt(targetType, sourceObject, NO_OP_MAPPER);
     }
@@ -97,7 +116,7 @@ public class ProtocolToModelAdapter implements Serializable {
             mixInMethodInvoker = new MixInMethodInvoker(mapping.mixInType, new ReflectionMethodInvoker(mapper));
             overrideMethodInvoker = mixInMethodInvoker;
         }
-        Object proxy = Proxy.newProxyInstance(wrapperType.getClassLoader(), new Class<?>[]{wrapperType}, new InvocationHandlerImpl(sourceObject, overrideMethodInvoker, mapper));
+        Object proxy = proxyConstructorCache.newInstance(wrapperType, new InvocationHandlerImpl(sourceObject, overrideMethodInvoker, mapper));
         if (mixInMethodInvoker != null) {
             mixInMethodInvoker.setProxy(proxy);
         }
@@ -156,8 +175,6 @@ public class ProtocolToModelAdapter implements Serializable {
         private final Object delegate;
         private final MethodInvoker overrideMethodInvoker;
         private final Action<? super SourceObjectMapping> mapper;
-        private transient Method equalsMethod;
-        private transient Method hashCodeMethod;
         private transient MethodInvoker invoker;
 
         public InvocationHandlerImpl(Object delegate, MethodInvoker overrideMethodInvoker, Action<? super SourceObjectMapping> mapper) {
@@ -180,12 +197,6 @@ public class ProtocolToModelAdapter implements Serializable {
                                     new ChainedMethodInvoker(
                                             overrideMethodInvoker,
                                             new ReflectionMethodInvoker(mapper)))));
-            try {
-                equalsMethod = Object.class.getMethod("equals", Object.class);
-                hashCodeMethod = Object.class.getMethod("hashCode");
-            } catch (NoSuchMethodException e) {
-                throw UncheckedException.throwAsUncheckedException(e);
-            }
         }
 
         @Override
@@ -207,14 +218,14 @@ public class ProtocolToModelAdapter implements Serializable {
         }
 
         public Object invoke(Object target, Method method, Object[] params) throws Throwable {
-            if (method.equals(equalsMethod)) {
+            if (method.equals(EQUALS_METHOD)) {
                 Object param = params[0];
                 if (param == null || !Proxy.isProxyClass(param.getClass())) {
                     return false;
                 }
                 InvocationHandler other = Proxy.getInvocationHandler(param);
                 return equals(other);
-            } else if (method.equals(hashCodeMethod)) {
+            } else if (method.equals(HASHCODE_METHOD)) {
                 return hashCode();
             }
 
@@ -251,8 +262,7 @@ public class ProtocolToModelAdapter implements Serializable {
         }
 
         public void invoke(MethodInvocation invocation) throws Throwable {
-            // TODO - cache method lookup
-            Method targetMethod = locateMethod(invocation);
+            Method targetMethod = methodLookupCache.locateMethod(invocation.getDelegate().getClass(), invocation.getName(), invocation.getParameterTypes());
             if (targetMethod == null) {
                 return;
             }
@@ -272,35 +282,6 @@ public class ProtocolToModelAdapter implements Serializable {
             invocation.setResult(convert(returnValue, invocation.getGenericReturnType()));
         }
 
-        private Method locateMethod(MethodInvocation invocation) {
-            Class<?> sourceClass = invocation.getDelegate().getClass();
-            Method match;
-            try {
-                match = sourceClass.getMethod(invocation.getName(), invocation.getParameterTypes());
-            } catch (NoSuchMethodException e) {
-                return null;
-            }
-
-            LinkedList<Class<?>> queue = new LinkedList<Class<?>>();
-            queue.add(sourceClass);
-            while (!queue.isEmpty()) {
-                Class<?> c = queue.removeFirst();
-                try {
-                    match = c.getMethod(invocation.getName(), invocation.getParameterTypes());
-                } catch (NoSuchMethodException e) {
-                    // ignore
-                }
-                for (Class<?> interfaceType : c.getInterfaces()) {
-                    queue.addFirst(interfaceType);
-                }
-                if (c.getSuperclass() != null) {
-                    queue.addFirst(c.getSuperclass());
-                }
-            }
-            match.setAccessible(true);
-            return match;
-        }
-
         private Object convert(Object value, Type targetType) {
             if (targetType instanceof ParameterizedType) {
                 ParameterizedType parameterizedTargetType = (ParameterizedType) targetType;
@@ -348,6 +329,119 @@ public class ProtocolToModelAdapter implements Serializable {
         }
     }
 
+    /**
+     * Caches the method of a source class that implements a given method of a target type. Locating the method means walking the hierarchy of the
+     * source class and handling a {@link NoSuchMethodException} for each type that does not declare the method, which is much more expensive than
+     * invoking it. An adapter is created for each provider class loader, so the cache holds the methods of the source classes loaded by that class loader.
+     */
+    private static class MethodLookupCache {
+        private final Map<MethodSignature, Method> methods = new HashMap<MethodSignature, Method>();
+
+        /**
+         * Returns the method with the given signature, or null if the source class does not have such a method.
+         */
+        public Method locateMethod(Class<?> sourceClass, String name, Class<?>[] parameterTypes) {
+            MethodSignature signature = new MethodSignature(sourceClass, name, parameterTypes);
+            synchronized (methods) {
+                if (methods.containsKey(signature)) {
+                    return methods.get(signature);
+                }
+            }
+            Method method = findMethod(sourceClass, name, parameterTypes);
+            synchronized (methods) {
+                methods.put(signature, method);
+            }
+            return method;
+        }
+
+        private Method findMethod(Class<?> sourceClass, String name, Class<?>[] parameterTypes) {
+            Method match;
+            try {
+                match = sourceClass.getMethod(name, parameterTypes);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+
+            LinkedList<Class<?>> queue = new LinkedList<Class<?>>();
+            queue.add(sourceClass);
+            while (!queue.isEmpty()) {
+                Class<?> c = queue.removeFirst();
+                try {
+                    match = c.getMethod(name, parameterTypes);
+                } catch (NoSuchMethodException e) {
+                    // ignore
+                }
+                for (Class<?> interfaceType : c.getInterfaces()) {
+                    queue.addFirst(interfaceType);
+                }
+                if (c.getSuperclass() != null) {
+                    queue.addFirst(c.getSuperclass());
+                }
+            }
+            match.setAccessible(true);
+            return match;
+        }
+    }
+
+    /**
+     * Caches the constructor of the proxy class generated for each wrapper type. {@link Proxy#newProxyInstance} looks up the proxy class for each
+     * call, which involves loading each of the interfaces again and is expensive when adapting a large model.
+     */
+    private static class ProxyConstructorCache {
+        private final Map<Class<?>, Constructor<?>> constructors = new HashMap<Class<?>, Constructor<?>>();
+
+        public Object newInstance(Class<?> wrapperType, InvocationHandler handler) {
+            Constructor<?> constructor;
+            synchronized (constructors) {
+                constructor = constructors.get(wrapperType);
+                if (constructor == null) {
+                    try {
+                        constructor = Proxy.getProxyClass(wrapperType.getClassLoader(), wrapperType).getConstructor(InvocationHandler.class);
+                    } catch (NoSuchMethodException e) {
+                        throw UncheckedException.throwAsUncheckedException(e);
+                    }
+                    constructors.put(wrapperType, constructor);
+                }
+            }
+            try {
+                return constructor.newInstance(handler);
+            } catch (InvocationTargetException e) {
+                throw UncheckedException.throwAsUncheckedException(e.getCause());
+            } catch (Exception e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+    }
+
+    private static class MethodSignature {
+        private final Class<?> sourceClass;
+        private final String name;
+        private final Class<?>[] parameterTypes;
+
+        private MethodSignature(Class<?> sourceClass, String name, Class<?>[] parameterTypes) {
+            this.sourceClass = sourceClass;
+            this.name = name;
+            this.parameterTypes = parameterTypes;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj == null || obj.getClass() != getClass()) {
+                return false;
+            }
+            MethodSignature other = (MethodSignature) obj;
+            return sourceClass.equals(other.sourceClass) && name.equals(other.name) && Arrays.equals(parameterTypes, other.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return sourceClass.hashCode() ^ name.hashCode() ^ Arrays.hashCode(parameterTypes);
+        }
+    }
+
     private static class PropertyCachingMethodInvoker implements MethodInvoker {
         private final Map<String, Object> properties = new HashMap<String, Object>();
         private final Set<String> unknown = new HashSet<String>();
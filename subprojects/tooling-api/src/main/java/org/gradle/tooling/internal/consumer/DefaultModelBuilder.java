@@ -99,4 +99,9 @@ public class DefaultModelBuilder<T> implements ModelBuilder<T> {
         operationParameters.setTasks(Arrays.asList(tasks));
         return this;
     }
+
+    public DefaultModelBuilder<T> forProjects(String... projectPaths) {
+        operationParameters.setProjects(Arrays.asList(projectPaths));
+        return this;
+    }
 }
@@ -47,6 +47,7 @@ public class ConsumerOperationParameters implements BuildOperationParametersVers
     private List<String> jvmArguments;
     private List<String> arguments;
     private List<String> tasks;
+    private List<String> projects;
 
     public ConsumerOperationParameters(ConnectionParameters parameters) {
         this.parameters = parameters;
@@ -161,4 +162,12 @@ public class ConsumerOperationParameters implements BuildOperationParametersVers
     public void setTasks(List<String> tasks) {
         this.tasks = tasks;
     }
+
+    public List<String> getProjects() {
+        return projects;
+    }
+
+    public void setProjects(List<String> projects) {
+        this.projects = projects;
+    }
 }
@@ -49,6 +49,7 @@ public class DefaultEclipseProject implements EclipseProjectVersion3, Serializab
         this.classpath = Collections.emptyList();
         this.sourceDirectories = Collections.emptyList();
         this.projectDependencies = Collections.emptyList();
+        this.linkedResources = Collections.emptyList();
     }
 
     @Override
@@ -377,6 +377,23 @@ class ProtocolToModelAdapterTest extends Specification {
         copiedModel != model
         copiedModel.name == "name"
     }
+
+    def "can traverse a large model"() {
+        def protocolModel = new TestProtocolModelImpl()
+        500.times { protocolModel.children << new TestProtocolProjectImpl(name: "module$it") }
+
+        when:
+        def model = adapter.adapt(TestModel.class, protocolModel)
+        def names = model.children.collect { it.name }
+
+        then:
+        names.size() == 500
+        names[0] == "module0"
+        names[499] == "module499"
+
+        and:
+        adapter.adapt(TestModel.class, protocolModel).children.collect { it.name } == names
+    }
 }
 
 interface TestModel {
@@ -428,6 +445,11 @@ class TestProtocolProjectImpl implements Serializable {
     String name = "name"
 }
 
+class TestProtocolModelImpl {
+    String name = "model"
+    List<TestProtocolProjectImpl> children = []
+}
+
 class ConfigMixin {
     TestModel model
 
@@ -44,6 +44,7 @@ class DefaultModelBuilderTest extends ConcurrentSpec {
             assert params.standardError == null
             assert params.progressListener != null
             assert params.tasks == null
+            assert params.projects == null
             adaptedHandler = args[2]
         }
 
@@ -81,6 +82,20 @@ class DefaultModelBuilderTest extends ConcurrentSpec {
         0 * _._
     }
 
+    def canRestrictTheModelToSomeProjects() {
+        ResultHandler<GradleProject> handler = Mock()
+
+        when:
+        builder.forProjects(':a', ':b:c').get(handler)
+
+        then:
+        1 * protocolConnection.run(GradleProject, !null, !null) >> {args ->
+            def params = args[1]
+            assert params.projects == [':a', ':b:c']
+            assert params.tasks == null
+        }
+    }
+
     def getModelWrapsFailureToFetchModel() {
         ResultHandler<GradleProject> handler = Mock()
         ResultHandlerVersion1<ProjectVersion3> adaptedHandler